@@ -14,6 +14,7 @@ import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.jsonrpc.JsonRpcRequestHandler;
 import io.openems.backend.metadata.api.Metadata;
 import io.openems.backend.timedata.api.Timedata;
+import io.openems.common.websocket.SubscriptionScheduler;
 
 @Designate(ocd = Config.class, factory = true)
 @Component(//
@@ -27,6 +28,8 @@ public class B2bWebsocket extends AbstractOpenemsBackendComponent {
 
 	private WebsocketServer server = null;
 
+	private SubscriptionScheduler subscriptionScheduler = null;
+
 	@Reference(cardinality = ReferenceCardinality.MANDATORY, policy = ReferencePolicy.DYNAMIC)
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
 
@@ -42,12 +45,26 @@ public class B2bWebsocket extends AbstractOpenemsBackendComponent {
 
 	@Activate
 	void activate(Config config) {
+		this.subscriptionScheduler = new SubscriptionScheduler();
 		this.startServer(config.port());
 	}
 
 	@Deactivate
 	void deactivate() {
 		this.stopServer();
+		if (this.subscriptionScheduler != null) {
+			this.subscriptionScheduler.shutdown();
+		}
+	}
+
+	/**
+	 * Gets the {@link SubscriptionScheduler} for the
+	 * SubscribedEdgesChannelsWorkers.
+	 * 
+	 * @return the {@link SubscriptionScheduler}
+	 */
+	protected SubscriptionScheduler getSubscriptionScheduler() {
+		return this.subscriptionScheduler;
 	}
 
 	/**
@@ -1,14 +1,13 @@
 package io.openems.backend.b2bwebsocket;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,32 +20,23 @@ import io.openems.backend.metadata.api.BackendUser;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.session.Role;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.websocket.SubscriptionScheduler;
 
-public class SubscribedEdgesChannelsWorker {
+public class SubscribedEdgesChannelsWorker implements SubscriptionScheduler.Subscription {
 
-	protected static final int UPDATE_INTERVAL_IN_SECONDS = 2;
+	protected static final int UPDATE_INTERVAL_IN_SECONDS = SubscriptionScheduler.UPDATE_INTERVAL_IN_SECONDS;
 
 	private final Logger log = LoggerFactory.getLogger(SubscribedEdgesChannelsWorker.class);
 
 	/**
-	 * Executor for subscriptions task.
+	 * Holds subscribed edges; replaced on every change.
 	 */
-	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
+	private Set<String> edgeIds = Collections.emptySet();
 
 	/**
-	 * Holds subscribed edges.
+	 * Holds subscribed channels; replaced on every change.
 	 */
-	private final TreeSet<String> edgeIds = new TreeSet<>();
-
-	/**
-	 * Holds subscribed channels.
-	 */
-	private final TreeSet<ChannelAddress> channels = new TreeSet<>();
-
-	/**
-	 * Holds the scheduled task for currentData.
-	 */
-	private Optional<ScheduledFuture<?>> futureOpt = Optional.empty();
+	private Set<ChannelAddress> channels = Collections.emptySet();
 
 	protected final WsData wsData;
 
@@ -78,67 +68,94 @@ public class SubscribedEdgesChannelsWorker {
 	 * @param channels Set of ChannelAddresses
 	 */
 	private synchronized void updateSubscription(Set<String> edgeIds, Set<ChannelAddress> channels) {
-		// stop current thread
-		if (this.futureOpt.isPresent()) {
-			this.futureOpt.get().cancel(true);
-			this.futureOpt = Optional.empty();
-		}
-
-		// clear existing data
-		this.edgeIds.clear();
-		this.channels.clear();
-
-		// set new channels
-		this.edgeIds.addAll(edgeIds);
-		this.channels.addAll(channels);
-
-		if (!channels.isEmpty() && !edgeIds.isEmpty()) {
-			// registered channels -> create new thread
-			this.futureOpt = Optional.of(this.executor.scheduleWithFixedDelay(() -> {
-				/*
-				 * This task is executed regularly. Sends data to Websocket.
-				 */
-				WebSocket ws = this.wsData.getWebsocket();
-				if (ws == null || !ws.isOpen()) {
-					// disconnected; stop worker
-					this.dispose();
-					return;
-				}
-
-				try {
-					this.wsData.send(this.getCurrentDataNotification());
-				} catch (OpenemsNamedException e) {
-					this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
-				}
-
-			}, 0, UPDATE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS));
+		this.edgeIds = Collections.unmodifiableSet(new TreeSet<>(edgeIds));
+		this.channels = Collections.unmodifiableSet(new TreeSet<>(channels));
+
+		if (channels.isEmpty() || edgeIds.isEmpty()) {
+			this.dispose();
+		} else {
+			// registered channels -> send now and then regularly
+			this.parent.getSubscriptionScheduler().add(this);
 		}
 	}
 
 	public void dispose() {
 		// unsubscribe regular task
-		if (this.futureOpt.isPresent()) {
-			futureOpt.get().cancel(true);
+		this.parent.getSubscriptionScheduler().remove(this);
+	}
+
+	/**
+	 * Every B2B session is served on its own, so a slow session does not delay
+	 * the others.
+	 */
+	@Override
+	public Object getGroupKey() {
+		return this.wsData;
+	}
+
+	/**
+	 * This task is executed regularly. Sends data to Websocket.
+	 * 
+	 * @param snapshot the {@link SubscriptionScheduler.Snapshot} of the group
+	 * @return false if the websocket is disconnected
+	 */
+	@Override
+	public boolean update(SubscriptionScheduler.Snapshot snapshot) {
+		WebSocket ws = this.wsData.getWebsocket();
+		if (ws == null || !ws.isOpen()) {
+			// disconnected; stop worker
+			return false;
+		}
+
+		Set<String> edgeIds;
+		Set<ChannelAddress> channels;
+		synchronized (this) {
+			edgeIds = this.edgeIds;
+			channels = this.channels;
+		}
+		if (edgeIds.isEmpty() || channels.isEmpty()) {
+			return false;
+		}
+
+		Optional<BackendUser> userOpt = this.wsData.getUserOpt();
+		if (!userOpt.isPresent()) {
+			// not authenticated yet; try again on next update
+			return true;
 		}
+
+		try {
+			// assure read permissions of this User for the Edges.
+			BackendUser user = userOpt.get();
+			for (String edgeId : edgeIds) {
+				user.assertEdgeRoleIsAtLeast("EdgesCurrentDataNotification", edgeId, Role.GUEST);
+			}
+
+			ws.send(this.getCurrentDataNotification(edgeIds, channels, snapshot).toString());
+
+		} catch (OpenemsNamedException | WebsocketNotConnectedException e) {
+			this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
+		}
+		return true;
 	}
 
 	/**
 	 * Gets a JSON-RPC Notification with all subscribed channels data.
 	 *
+	 * @param edgeIds  the subscribed Edge-IDs
+	 * @param channels the subscribed Channels
+	 * @param snapshot the {@link SubscriptionScheduler.Snapshot} of the group
 	 * @return the EdgesCurrentDataNotification
-	 * @throws OpenemsNamedException on error
 	 */
-	private EdgesCurrentDataNotification getCurrentDataNotification() throws OpenemsNamedException {
+	private EdgesCurrentDataNotification getCurrentDataNotification(Set<String> edgeIds,
+			Set<ChannelAddress> channels, SubscriptionScheduler.Snapshot snapshot) {
 		EdgesCurrentDataNotification result = new EdgesCurrentDataNotification();
-		BackendUser user = this.wsData.getUserWithTimeout(5, TimeUnit.SECONDS);
-
-		for (String edgeId : this.edgeIds) {
-			// assure read permissions of this User for this Edge.
-			user.assertEdgeRoleIsAtLeast("EdgesCurrentDataNotification", edgeId, Role.GUEST);
-
-			for (ChannelAddress channel : this.channels) {
-				Optional<JsonElement> value = this.parent.timeData.getChannelValue(edgeId, channel);
-				result.addValue(edgeId, channel, value.orElse(JsonNull.INSTANCE));
+		for (String edgeId : edgeIds) {
+			for (ChannelAddress channel : channels) {
+				JsonElement value = snapshot.computeIfAbsent(Arrays.asList(edgeId, channel), key -> {
+					Optional<JsonElement> v = this.parent.timeData.getChannelValue(edgeId, channel);
+					return v.orElse(JsonNull.INSTANCE);
+				});
+				result.addValue(edgeId, channel, value);
 			}
 		}
 		return result;
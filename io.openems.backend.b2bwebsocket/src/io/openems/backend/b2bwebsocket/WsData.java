@@ -21,6 +21,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 
 	@Override
 	public void dispose() {
+		super.dispose();
 		this.worker.dispose();
 	}
 
@@ -213,8 +213,8 @@ public class EdgeRpcRequestHandler {
 			GetEdgeConfigRequest request) throws OpenemsNamedException {
 		EdgeConfig config = this.parent.metadata.getEdgeOrError(edgeId).getConfig();
 
-		// JSON-RPC response
-		return CompletableFuture.completedFuture(new GetEdgeConfigResponse(request.getId(), config));
+		// JSON-RPC response; the hash allows the UI to verify following deltas
+		return CompletableFuture.completedFuture(new GetEdgeConfigResponse(request.getId(), config, true));
 	}
 
 	/**
@@ -31,6 +31,7 @@ import io.openems.common.jsonrpc.request.AuthenticatedRpcRequest;
 import io.openems.common.jsonrpc.request.SubscribeSystemLogRequest;
 import io.openems.common.jsonrpc.response.AuthenticatedRpcResponse;
 import io.openems.common.session.User;
+import io.openems.common.websocket.WsDataIndex;
 
 @Designate(ocd = Config.class, factory = false)
 @Component(name = "Edge.Websocket", configurationPolicy = ConfigurationPolicy.REQUIRE, immediate = true)
@@ -40,6 +41,9 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 
 	private WebsocketServer server = null;
 
+	// Index of authenticated connections
+	private final WsDataIndex<String, WsData> edgeIdIndex = new WsDataIndex<>();
+
 	private final SystemLogHandler systemLogHandler;
 
 	@Reference
@@ -92,7 +96,35 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 	 * @return true if it is online
 	 */
 	protected boolean isOnline(String edgeId) {
-		return this.server.isOnline(edgeId);
+		return this.edgeIdIndex.contains(edgeId);
+	}
+
+	/**
+	 * Adds an authenticated connection to the Edge-ID index.
+	 * 
+	 * @param wsData the WsData with Edge-ID set
+	 */
+	protected void addToIndex(WsData wsData) {
+		Optional<String> edgeId = wsData.getEdgeId();
+		if (edgeId.isPresent()) {
+			this.edgeIdIndex.add(edgeId.get(), wsData);
+			if (wsData.isDisposed()) {
+				// connection was closed in the meantime
+				this.edgeIdIndex.remove(edgeId.get(), wsData);
+			}
+		}
+	}
+
+	/**
+	 * Removes a connection from the Edge-ID index.
+	 * 
+	 * @param wsData the WsData
+	 */
+	protected void removeFromIndex(WsData wsData) {
+		Optional<String> edgeId = wsData.getEdgeId();
+		if (edgeId.isPresent()) {
+			this.edgeIdIndex.remove(edgeId.get(), wsData);
+		}
 	}
 
 	@Override
@@ -140,18 +172,15 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 
 	/**
 	 * Gets the WebSocket connection for an Edge-ID. If more than one connection
-	 * exists, the first one is returned. Returns null if none is found.
+	 * exists, any of them is returned. Returns null if none is found.
 	 * 
 	 * @param edgeId the Edge-ID
 	 * @return the WebSocket connection
 	 */
 	private final WebSocket getWebSocketForEdgeId(String edgeId) {
-		for (WebSocket ws : this.server.getConnections()) {
-			WsData wsData = ws.getAttachment();
-			Optional<String> wsEdgeId = wsData.getEdgeId();
-			if (wsEdgeId.isPresent() && wsEdgeId.get().equals(edgeId)) {
-				return ws;
-			}
+		Optional<WsData> wsData = this.edgeIdIndex.getAny(edgeId);
+		if (wsData.isPresent()) {
+			return wsData.get().getWebsocket();
 		}
 		return null;
 	}
@@ -23,6 +23,8 @@ public class OnClose implements io.openems.common.websocket.OnClose {
 	public void run(WebSocket ws, int code, String reason, boolean remote) throws OpenemsException {
 		// get edgeId from websocket
 		WsData wsData = ws.getAttachment();
+		wsData.dispose();
+		this.parent.removeFromIndex(wsData);
 		Optional<String> edgeIdOpt = wsData.getEdgeId();
 		String edgeId;
 		if (edgeIdOpt.isPresent()) {
@@ -1,8 +1,6 @@
 package io.openems.backend.edgewebsocket.impl;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -11,11 +9,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
 
 import io.openems.backend.metadata.api.Edge;
+import io.openems.backend.uiwebsocket.api.UiWebsocket;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
@@ -24,13 +21,12 @@ import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.ChannelAddress;
-import io.openems.common.types.EdgeConfig;
-import io.openems.common.types.EdgeConfig.Component.Channel;
 import io.openems.common.types.SemanticVersion;
-import io.openems.common.utils.JsonUtils;
 
 public class OnNotification implements io.openems.common.websocket.OnNotification {
 
+	private static final ChannelAddress META_VERSION = new ChannelAddress("_meta", "Version");
+
 	private final Logger log = LoggerFactory.getLogger(OnNotification.class);
 	private final EdgeWebsocketImpl parent;
 
@@ -58,7 +54,8 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 		// Handle notification
 		switch (notification.getMethod()) {
 		case EdgeConfigNotification.METHOD:
-			this.handleEdgeConfigNotification(EdgeConfigNotification.from(notification), wsData);
+			this.handleEdgeConfigNotification(EdgeConfigNotification.from(notification), notification.getParams(),
+					wsData);
 			return;
 
 		case TimestampedDataNotification.METHOD:
@@ -76,17 +73,23 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 	/**
 	 * Handles EdgeConfigNotification.
 	 * 
-	 * @param message the EdgeConfigNotification
-	 * @param wsData  the WebSocket attachment
+	 * @param message    the EdgeConfigNotification
+	 * @param configJson the EdgeConfig as it was received; base for following
+	 *                   EdgeConfigDeltaRequests
+	 * @param wsData     the WebSocket attachment
 	 * @throws OpenemsException
 	 * @throws OpenemsNamedException on error
 	 */
-	private void handleEdgeConfigNotification(EdgeConfigNotification message, WsData wsData) throws OpenemsException {
+	private void handleEdgeConfigNotification(EdgeConfigNotification message, JsonObject configJson, WsData wsData)
+			throws OpenemsException {
 		String edgeId = wsData.assertEdgeId(message);
 
 		// save config in metadata
 		Edge edge = this.parent.metadata.getEdgeOrError(edgeId);
-		edge.setConfig(message.getConfig());
+		synchronized (wsData) {
+			edge.setConfig(message.getConfig());
+			wsData.setConfig(configJson);
+		}
 
 		// forward
 		try {
@@ -113,12 +116,19 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			e.printStackTrace();
 		}
 
-		// Read some specific channels
+		// push changed values to subscribed UI sessions
+		UiWebsocket uiWebsocket = this.parent.uiWebsocket;
+		if (uiWebsocket != null) {
+			uiWebsocket.sendSubscribedChannels(edgeId, message.getData());
+		}
+
+		// Read some specific channels; directly from the data table, as the
+		// notification might have been decoded from binary format
 		Edge edge = this.parent.metadata.getEdgeOrError(edgeId);
-		for (Entry<String, JsonElement> entry : message.getParams().entrySet()) {
-			JsonObject data = JsonUtils.getAsJsonObject(entry.getValue());
+		for (Map<ChannelAddress, JsonElement> data : message.getData().rowMap().values()) {
 			// set Edge last update timestamp only for those channels
-			for (String channel : data.keySet()) {
+			for (ChannelAddress address : data.keySet()) {
+				String channel = address.getChannelId();
 				if (channel.endsWith("ActivePower")
 						|| channel.endsWith("ActivePowerL1") | channel.endsWith("ActivePowerL2")
 								| channel.endsWith("ActivePowerL3") | channel.endsWith("Soc")) {
@@ -127,37 +137,13 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			}
 
 			// set specific Edge values
-			if (data.has("_meta/Version") && data.get("_meta/Version").isJsonPrimitive()) {
-				String version = JsonUtils.getAsPrimitive(data, "_meta/Version").getAsString();
-				edge.setVersion(SemanticVersion.fromString(version));
+			JsonElement version = data.get(META_VERSION);
+			if (version != null && version.isJsonPrimitive()) {
+				edge.setVersion(SemanticVersion.fromString(version.getAsString()));
 			}
 
-			// parse State-Channels
-			Map<ChannelAddress, EdgeConfig.Component.Channel> activeStateChannels = new HashMap<>();
-			for (Entry<String, JsonElement> dataEntry : data.entrySet()) {
-				JsonElement value = dataEntry.getValue();
-				if (value == JsonNull.INSTANCE || !value.isJsonPrimitive()) {
-					// not active -> ignore
-					continue;
-				}
-				JsonPrimitive primitive = value.getAsJsonPrimitive();
-				if (!primitive.isNumber()) {
-					// cannot be a StateChannel
-					continue;
-				}
-				Number number = primitive.getAsNumber();
-				if (number.intValue() != 1) {
-					// not active -> ignore
-					continue;
-				}
-
-				ChannelAddress channelAddress = ChannelAddress.fromString(dataEntry.getKey());
-				Optional<Channel> channel = edge.getConfig().getStateChannel(channelAddress);
-				if (channel.isPresent()) {
-					activeStateChannels.put(channelAddress, channel.get());
-				}
-			}
-			edge.setComponentState(activeStateChannels);
+			// update active State-Channels; listeners are only called on change
+			edge.updateComponentState(data);
 		}
 	}
 
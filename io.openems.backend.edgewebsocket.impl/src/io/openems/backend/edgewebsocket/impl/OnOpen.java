@@ -60,6 +60,9 @@ public class OnOpen implements io.openems.common.websocket.OnOpen {
 			edge.setLastMessageTimestamp();
 			wsData.setAuthenticated(true);
 
+			// make connection available for lookups by Edge-ID
+			this.parent.addToIndex(wsData);
+
 			// TODO send notification to UI
 		} catch (OpenemsException e) {
 			if (this.parent.metadata.isInitialized()) {
@@ -1,16 +1,27 @@
 package io.openems.backend.edgewebsocket.impl;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonObject;
+
+import io.openems.backend.metadata.api.Edge;
+import io.openems.backend.uiwebsocket.api.UiWebsocket;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcResponseSuccess;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.notification.EdgeConfigDeltaNotification;
+import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
+import io.openems.common.jsonrpc.request.EdgeConfigDeltaRequest;
+import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfigDelta;
 
 public class OnRequest implements io.openems.common.websocket.OnRequest {
 
@@ -24,8 +35,66 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	@Override
 	public CompletableFuture<? extends JsonrpcResponseSuccess> run(WebSocket ws, JsonrpcRequest request)
 			throws OpenemsException, OpenemsNamedException {
+		WsData wsData = ws.getAttachment();
+
+		switch (request.getMethod()) {
+		case EdgeConfigDeltaRequest.METHOD:
+			wsData.assertAuthenticatedWithTimeout(request, 5, TimeUnit.SECONDS);
+			return this.handleEdgeConfigDeltaRequest(EdgeConfigDeltaRequest.from(request), wsData);
+		}
+
 		this.parent.logWarn(this.log, "Unhandled Request: " + request);
 		throw OpenemsError.JSONRPC_UNHANDLED_METHOD.exception(request.getMethod());
 	}
 
+	/**
+	 * Handles EdgeConfigDeltaRequest.
+	 * 
+	 * <p>
+	 * The delta is only applied if it is based on the EdgeConfig version that
+	 * was received last on this connection and if the result has the announced
+	 * version; otherwise an error is returned and the Edge sends its complete
+	 * EdgeConfig.
+	 * 
+	 * @param request the EdgeConfigDeltaRequest
+	 * @param wsData  the WebSocket attachment
+	 * @return the JSON-RPC Success Response Future
+	 * @throws OpenemsNamedException on error
+	 */
+	private CompletableFuture<JsonrpcResponseSuccess> handleEdgeConfigDeltaRequest(EdgeConfigDeltaRequest request,
+			WsData wsData) throws OpenemsNamedException {
+		String edgeId = wsData.assertEdgeId(request);
+		EdgeConfigDelta delta = request.getDelta();
+
+		// apply delta and save config in metadata
+		Edge edge = this.parent.metadata.getEdgeOrError(edgeId);
+		synchronized (wsData) {
+			if (!delta.getBaseHash().equals(wsData.getConfigHash())) {
+				throw OpenemsError.BACKEND_EDGE_CONFIG_VERSION_MISMATCH.exception(edgeId, delta.getBaseHash());
+			}
+			// apply on the JSON as it was received; EdgeConfig.fromJson() is not
+			// guaranteed to reproduce it exactly
+			JsonObject configJson = delta.apply(wsData.getConfig());
+			if (!delta.getHash().equals(EdgeConfigDelta.hash(configJson))) {
+				// result differs from the EdgeConfig of the Edge -> request full resync
+				wsData.setConfig(null);
+				throw OpenemsError.BACKEND_EDGE_CONFIG_VERSION_MISMATCH.exception(edgeId, delta.getHash());
+			}
+			edge.setConfig(EdgeConfig.fromJson(configJson));
+			wsData.setConfig(configJson);
+		}
+
+		// forward only the delta
+		UiWebsocket uiWebsocket = this.parent.uiWebsocket;
+		if (uiWebsocket != null) {
+			try {
+				uiWebsocket.send(edgeId, new EdgeRpcNotification(edgeId, new EdgeConfigDeltaNotification(delta)));
+			} catch (OpenemsNamedException e) {
+				this.parent.logWarn(this.log, "Unable to forward EdgeConfigDeltaNotification to UI: " + e.getMessage());
+			}
+		}
+
+		return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId()));
+	}
+
 }
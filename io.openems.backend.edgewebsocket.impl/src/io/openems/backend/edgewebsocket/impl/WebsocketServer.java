@@ -6,7 +6,6 @@ import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +44,9 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		this.onNotification = new OnNotification(parent);
 		this.onError = new OnError(parent);
 		this.onClose = new OnClose(parent);
+
+		// Read TimestampedData straight into its data table
+		this.jsonrpcMessageReader.register(TimestampedDataNotification.METHOD, TimestampedDataNotification::from);
 	}
 
 	@Override
@@ -53,12 +55,6 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		return wsData;
 	}
 
-	public boolean isOnline(String edgeId) {
-		final Optional<String> edgeIdOpt = Optional.of(edgeId);
-		return this.getConnections().parallelStream().anyMatch(
-				ws -> ws.getAttachment() != null && ((WsData) ws.getAttachment()).getEdgeId().equals(edgeIdOpt));
-	}
-
 	@Override
 	protected OnOpen getOnOpen() {
 		return this.onOpen;
@@ -84,6 +80,11 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		return this.onClose;
 	}
 
+	@Override
+	protected boolean isBinaryTimestampedDataSupported() {
+		return true;
+	}
+
 	@Override
 	protected JsonrpcMessage handleNonJsonrpcMessage(String stringMessage, OpenemsNamedException lastException)
 			throws OpenemsNamedException {
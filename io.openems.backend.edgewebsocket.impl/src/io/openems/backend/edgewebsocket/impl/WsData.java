@@ -6,10 +6,13 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import com.google.gson.JsonObject;
+
 import io.openems.backend.metadata.api.Edge;
 import io.openems.backend.metadata.api.Metadata;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.types.EdgeConfigDelta;
 import io.openems.common.utils.StringUtils;
 
 public class WsData extends io.openems.common.websocket.WsData {
@@ -18,6 +21,13 @@ public class WsData extends io.openems.common.websocket.WsData {
 	private Optional<String> apikey = Optional.empty();
 	private Optional<String> edgeId = Optional.empty();
 
+	/**
+	 * The EdgeConfig version the Edge sent last on this connection, as it was
+	 * received, and its hash; null if no EdgeConfig was received yet.
+	 */
+	private JsonObject config = null;
+	private String configHash = null;
+
 	public WsData() {
 	}
 
@@ -77,6 +87,37 @@ public class WsData extends io.openems.common.websocket.WsData {
 		return Optional.empty();
 	}
 
+	/**
+	 * Sets the EdgeConfig version that was received last.
+	 * 
+	 * @param config the EdgeConfig in JSON format as it was received; null to
+	 *               force a complete EdgeConfig with the next change
+	 */
+	public synchronized void setConfig(JsonObject config) {
+		this.config = config;
+		this.configHash = config == null ? null : EdgeConfigDelta.hash(config);
+	}
+
+	/**
+	 * Gets the EdgeConfig version that was received last.
+	 * 
+	 * @return the EdgeConfig in JSON format; null if no EdgeConfig was received
+	 *         yet
+	 */
+	public synchronized JsonObject getConfig() {
+		return this.config;
+	}
+
+	/**
+	 * Gets the hash of the EdgeConfig version that was received last.
+	 * 
+	 * @return the hash, see {@link EdgeConfigDelta#hash(JsonObject)}; null if no
+	 *         EdgeConfig was received yet
+	 */
+	public synchronized String getConfigHash() {
+		return this.configHash;
+	}
+
 	public String assertEdgeId(JsonrpcMessage message) throws OpenemsException {
 		if (this.edgeId.isPresent()) {
 			return this.edgeId.get();
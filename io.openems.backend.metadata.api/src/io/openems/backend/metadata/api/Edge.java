@@ -11,8 +11,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Objects;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import io.openems.common.types.ActiveStateChannels;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.types.SemanticVersion;
@@ -301,6 +303,7 @@ public class Edge {
 	 * Component States
 	 */
 	private final List<Consumer<Map<ChannelAddress, EdgeConfig.Component.Channel>>> onSetComponentStates = new CopyOnWriteArrayList<>();
+	private final ActiveStateChannels activeStateChannels = new ActiveStateChannels();
 
 	public void onSetComponentState(Consumer<Map<ChannelAddress, EdgeConfig.Component.Channel>> listener) {
 		this.onSetComponentStates.add(listener);
@@ -310,4 +313,16 @@ public class Edge {
 		this.onSetComponentStates.forEach(listener -> listener.accept(activeStateChannels));
 	}
 
+	/**
+	 * Applies Channel values to the active StateChannels of this Edge; calls the
+	 * SetComponentState-Listeners only if the set of active StateChannels changed.
+	 * 
+	 * @param values the Channel values, e.g. of a TimestampedDataNotification
+	 */
+	public synchronized void updateComponentState(Map<ChannelAddress, JsonElement> values) {
+		if (this.activeStateChannels.apply(this.getConfig(), values)) {
+			this.setComponentState(this.activeStateChannels.getActiveStateChannels());
+		}
+	}
+
 }
@@ -0,0 +1,100 @@
+package io.openems.backend.timedata.influx;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Reduces the data of one Edge to the values that need to be written to
+ * InfluxDB in 'write changed values only' mode.
+ *
+ * <p>
+ * A value is written if it differs from the last written value of its Channel
+ * or if the last written value is older than the 'fill-forward' interval. The
+ * latter guarantees that a historic data query finds a valid value within this
+ * interval, see
+ * {@link io.openems.shared.influxdb.InfluxConnector#queryHistoricData}.
+ */
+public class ChangedValuesFilter {
+
+	private static class WrittenValue {
+		private final long timestamp;
+		private final JsonElement value;
+
+		private WrittenValue(long timestamp, JsonElement value) {
+			this.timestamp = timestamp;
+			this.value = value;
+		}
+	}
+
+	private final long fillForwardMillis;
+	private final Map<ChannelAddress, WrittenValue> writtenValues = new HashMap<>();
+
+	private long lastFilterMillis = System.currentTimeMillis();
+
+	/**
+	 * Creates a {@link ChangedValuesFilter}.
+	 *
+	 * @param fillForwardMillis unchanged values are written again after this
+	 *                          time in [ms]
+	 */
+	public ChangedValuesFilter(long fillForwardMillis) {
+		this.fillForwardMillis = fillForwardMillis;
+	}
+
+	/**
+	 * Filters the data. Takes entries starting with eldest timestamp (ascending
+	 * order).
+	 *
+	 * @param data the data
+	 * @return a new table with the values that need to be written
+	 */
+	public synchronized TreeBasedTable<Long, ChannelAddress, JsonElement> filter(
+			TreeBasedTable<Long, ChannelAddress, JsonElement> data) {
+		this.lastFilterMillis = System.currentTimeMillis();
+		TreeBasedTable<Long, ChannelAddress, JsonElement> result = TreeBasedTable.create();
+		for (Entry<Long, Map<ChannelAddress, JsonElement>> row : data.rowMap().entrySet()) {
+			long timestamp = row.getKey();
+			for (Entry<ChannelAddress, JsonElement> entry : row.getValue().entrySet()) {
+				JsonElement value = entry.getValue();
+				if (value == null || value.isJsonNull()) {
+					// nothing is written for null values
+					continue;
+				}
+				WrittenValue written = this.writtenValues.get(entry.getKey());
+				if (written != null) {
+					if (timestamp < written.timestamp) {
+						// late data: write, but keep the more recent value
+						result.put(timestamp, entry.getKey(), value);
+						continue;
+					}
+					if (value.equals(written.value) && timestamp - written.timestamp < this.fillForwardMillis) {
+						// unchanged
+						continue;
+					}
+				}
+				result.put(timestamp, entry.getKey(), value);
+				this.writtenValues.put(entry.getKey(), new WrittenValue(timestamp, value));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Is this filter expired, i.e. was it not used for longer than the
+	 * 'fill-forward' interval? All its written values would be written again
+	 * anyway, so it can be dropped.
+	 *
+	 * @param nowMillis the current time in [ms]
+	 * @return true if it is expired
+	 */
+	public synchronized boolean isExpired(long nowMillis) {
+		return nowMillis - this.lastFilterMillis > this.fillForwardMillis;
+	}
+
+}
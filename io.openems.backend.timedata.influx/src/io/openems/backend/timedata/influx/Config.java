@@ -29,6 +29,15 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Retention-Policy", description = "The InfluxDB retention policy")
 	String retentionPolicy() default "autogen";
 
+	@AttributeDefinition(name = "Write changed values only", description = "Write only values that changed - and unchanged values every five minutes - instead of the complete state of the Edge on every timestamp. Historic data is aggregated as time-weighted mean when querying.")
+	boolean isWriteChangedValuesOnly() default false;
+
+	@AttributeDefinition(name = "Batch size", description = "The number of points - for all Edges - that are collected before they are written")
+	int batchSize() default 5000;
+
+	@AttributeDefinition(name = "Flush interval [ms]", description = "The maximum time points are collected before they are written")
+	int flushInterval() default 1000;
+
 	@AttributeDefinition(name = "Read-Only mode", description = "Activates the read-only mode. Then no data is written to InfluxDB.")
 	boolean isReadOnly() default false;
 
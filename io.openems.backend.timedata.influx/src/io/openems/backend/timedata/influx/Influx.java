@@ -8,7 +8,9 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -50,11 +52,20 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 
 	private static final Pattern NAME_NUMBER_PATTERN = Pattern.compile("[^0-9]+([0-9]+)$");
 
+	/**
+	 * Cached values are valid for five minutes. In 'write changed values only'
+	 * mode unchanged values are written again after this time.
+	 */
+	private static final int CACHE_VALIDITY_SECONDS = 5 * 60;
+
 	private final Logger log = LoggerFactory.getLogger(Influx.class);
 	private final Map<String, EdgeCache> edgeCacheMap = new HashMap<>();
+	private final Map<String, ChangedValuesFilter> changedValuesFilters = new ConcurrentHashMap<>();
+	private final AtomicLong lastChangedValuesFiltersCleanup = new AtomicLong(System.currentTimeMillis());
 	private final FieldTypeConflictHandler fieldTypeConflictHandler;
 
 	private InfluxConnector influxConnector = null;
+	private boolean isWriteChangedValuesOnly = false;
 
 	public Influx() {
 		super("Timedata.InfluxDB");
@@ -74,11 +85,16 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 				";username=" + config.username() + //
 				";password=" + (config.password() != null ? "ok" : "NOT_SET") + //
 				";measurement=" + config.measurement() + //
+				";batchSize=" + config.batchSize() + //
+				";flushInterval=" + config.flushInterval() + //
 				(config.isReadOnly() ? ";READ_ONLY_MODE" : "") + //
+				(config.isWriteChangedValuesOnly() ? ";WRITE_CHANGED_VALUES_ONLY" : "") + //
 				"]");
 
+		this.isWriteChangedValuesOnly = config.isWriteChangedValuesOnly();
 		this.influxConnector = new InfluxConnector(config.url(), config.port(), config.username(), config.password(),
-				config.database(), config.retentionPolicy(), config.isReadOnly(), //
+				config.database(), config.retentionPolicy(), config.isReadOnly(), config.batchSize(),
+				config.flushInterval(), config.isWriteChangedValuesOnly() ? CACHE_VALIDITY_SECONDS : 0, //
 				(failedPoints, throwable) -> {
 					if (throwable instanceof FieldTypeConflictException) {
 						this.fieldTypeConflictHandler.handleException((FieldTypeConflictException) throwable);
@@ -126,16 +142,20 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 
 			} else {
 				// incoming data is more recent than cache
-				if (timestamp < cacheTimestamp + 5 * 60 * 1000) {
+				if (timestamp < cacheTimestamp + CACHE_VALIDITY_SECONDS * 1000) {
 					// cache is valid (not elder than 5 minutes)
-					for (Entry<ChannelAddress, JsonElement> cacheEntry : edgeCache.getChannelCacheEntries()
-							.entrySet()) {
-						ChannelAddress channel = cacheEntry.getKey();
-						// check if there is a current value for this timestamp + channel
-						JsonElement existingValue = data.get(timestamp, channel);
-						if (existingValue == null) {
-							// if not -> add cache data to write data
-							data.put(timestamp, channel, cacheEntry.getValue());
+					if (!this.isWriteChangedValuesOnly) {
+						// in 'write changed values only' mode missing values are filled at query
+						// time
+						for (Entry<ChannelAddress, JsonElement> cacheEntry : edgeCache.getChannelCacheEntries()
+								.entrySet()) {
+							ChannelAddress channel = cacheEntry.getKey();
+							// check if there is a current value for this timestamp + channel
+							JsonElement existingValue = data.get(timestamp, channel);
+							if (existingValue == null) {
+								// if not -> add cache data to write data
+								data.put(timestamp, channel, cacheEntry.getValue());
+							}
 						}
 					}
 				} else {
@@ -156,10 +176,33 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 			}
 		}
 
+		if (this.isWriteChangedValuesOnly) {
+			// reduce to changed values
+			this.removeExpiredChangedValuesFilters();
+			data = this.changedValuesFilters
+					.computeIfAbsent(edgeId, id -> new ChangedValuesFilter(CACHE_VALIDITY_SECONDS * 1000)) //
+					.filter(data);
+		}
+
 		// Write data to default location
 		this.writeData(influxEdgeId, data);
 	}
 
+	/**
+	 * Drops the {@link ChangedValuesFilter}s of Edges that did not send data for
+	 * longer than the cache validity, e.g. because they went offline or were
+	 * removed. Runs at most once per cache validity period.
+	 */
+	private void removeExpiredChangedValuesFilters() {
+		long now = System.currentTimeMillis();
+		long lastCleanup = this.lastChangedValuesFiltersCleanup.get();
+		if (now - lastCleanup < CACHE_VALIDITY_SECONDS * 1000
+				|| !this.lastChangedValuesFiltersCleanup.compareAndSet(lastCleanup, now)) {
+			return;
+		}
+		this.changedValuesFilters.values().removeIf(filter -> filter.isExpired(now));
+	}
+
 	/**
 	 * Actually writes the data to InfluxDB.
 	 * 
@@ -0,0 +1,122 @@
+package io.openems.backend.timedata.influx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.influxdb.dto.Point;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.shared.influxdb.InfluxConnector;
+import io.openems.shared.influxdb.InfluxConstants;
+
+/**
+ * Benchmark for 'write changed values only' mode; not part of the unit tests.
+ *
+ * <p>
+ * Simulates 100 minutes of 50 Edges with 500 Channels each, where 5 % of the
+ * Channels change every 2 seconds. Prints the throughput of the
+ * {@link ChangedValuesFilter} in points per second and the growth of the
+ * database - as fields and as bytes of InfluxDB line protocol - compared to
+ * full state mode. Line protocol is measured on the first Edge and
+ * extrapolated.
+ *
+ * <p>
+ * Run as Java application; optional arguments: number of Edges, number of
+ * Channels per Edge, number of minutes.
+ */
+public class ChangedValuesFilterBenchmark {
+
+	public static void main(String[] args) {
+		final int noOfEdges = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+		final int noOfChannels = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+		final int noOfCycles = (args.length > 2 ? Integer.parseInt(args[2]) : 100) * 60 / 2;
+
+		Random random = new Random(0);
+		List<ChannelAddress> channels = new ArrayList<>();
+		for (int i = 0; i < noOfChannels; i++) {
+			channels.add(new ChannelAddress("component" + i / 50, "Channel" + i));
+		}
+		List<ChangedValuesFilter> filters = new ArrayList<>();
+		List<int[]> states = new ArrayList<>();
+		for (int i = 0; i < noOfEdges; i++) {
+			filters.add(new ChangedValuesFilter(300_000));
+			states.add(new int[noOfChannels]);
+		}
+
+		long inputFields = 0;
+		long fullFields = 0;
+		long changedFields = 0;
+		long changedPoints = 0;
+		long fullBytesFirstEdge = 0;
+		long changedBytesFirstEdge = 0;
+		long nanos = 0;
+		for (int cycle = 0; cycle < noOfCycles; cycle++) {
+			long timestamp = cycle * 2_000L;
+			for (int edge = 0; edge < noOfEdges; edge++) {
+				int[] state = states.get(edge);
+				TreeBasedTable<Long, ChannelAddress, JsonElement> data = TreeBasedTable.create();
+				for (int i = 0; i < noOfChannels; i++) {
+					if (cycle == 0 || random.nextInt(100) < 5) {
+						state[i] = random.nextInt(1000);
+						data.put(timestamp, channels.get(i), new JsonPrimitive(state[i]));
+					}
+				}
+				inputFields += data.size();
+				// full state mode writes every Channel on every timestamp
+				fullFields += noOfChannels;
+
+				long start = System.nanoTime();
+				TreeBasedTable<Long, ChannelAddress, JsonElement> changed = filters.get(edge).filter(data);
+				nanos += System.nanoTime() - start;
+				changedFields += changed.size();
+				changedPoints += changed.rowKeySet().size();
+
+				if (edge == 0) {
+					Point.Builder full = createPoint(timestamp);
+					for (int i = 0; i < noOfChannels; i++) {
+						full.addField(channels.get(i).toString(), state[i]);
+					}
+					fullBytesFirstEdge += full.build().lineProtocol().length() + 1;
+					for (Entry<Long, Map<ChannelAddress, JsonElement>> row : changed.rowMap().entrySet()) {
+						Point.Builder point = createPoint(row.getKey());
+						for (Entry<ChannelAddress, JsonElement> field : row.getValue().entrySet()) {
+							point.addField(field.getKey().toString(), field.getValue().getAsInt());
+						}
+						changedBytesFirstEdge += point.build().lineProtocol().length() + 1;
+					}
+				}
+			}
+		}
+
+		long rows = (long) noOfEdges * noOfCycles;
+		System.out.println(String.format("Edges [%d] Channels [%d] Minutes [%d]", noOfEdges, noOfChannels,
+				noOfCycles * 2 / 60));
+		System.out.println(String.format("Filter throughput: [%,d] Edge-rows/s, [%,d] input fields/s",
+				rows * 1_000_000_000L / Math.max(nanos, 1),
+				inputFields * 1_000_000_000L / Math.max(nanos, 1)));
+		System.out.println(String.format("Points written: full state [%,d] changed values only [%,d]", rows,
+				changedPoints));
+		System.out.println(String.format("Fields written: full state [%,d] changed values only [%,d] (%.1f %%)",
+				fullFields, changedFields, changedFields * 100.0 / fullFields));
+		System.out.println(String.format(
+				"Line protocol: full state [%,d] bytes changed values only [%,d] bytes (%.1f %%)",
+				fullBytesFirstEdge * noOfEdges, changedBytesFirstEdge * noOfEdges,
+				changedBytesFirstEdge * 100.0 / fullBytesFirstEdge));
+	}
+
+	private static Point.Builder createPoint(long timestamp) {
+		return Point //
+				.measurement(InfluxConnector.MEASUREMENT) //
+				.tag(InfluxConstants.TAG, "0") //
+				.time(timestamp, TimeUnit.MILLISECONDS);
+	}
+
+}
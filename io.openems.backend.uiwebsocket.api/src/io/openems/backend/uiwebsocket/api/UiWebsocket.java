@@ -5,10 +5,14 @@ import java.util.concurrent.CompletableFuture;
 
 import org.osgi.annotation.versioning.ProviderType;
 
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.types.ChannelAddress;
 
 @ProviderType
 public interface UiWebsocket {
@@ -44,4 +48,15 @@ public interface UiWebsocket {
 	 */
 	public void send(String edgeId, JsonrpcNotification notification) throws OpenemsNamedException;
 
+	/**
+	 * Publishes new data of an Edge to the UI sessions that subscribed to its
+	 * Channels. A session is notified only if one of its subscribed Channels
+	 * changed; changes are coalesced per tick. Has no effect if push mode is not
+	 * activated.
+	 * 
+	 * @param edgeId the Edge-ID
+	 * @param data   the data of a TimestampedDataNotification
+	 */
+	public void sendSubscribedChannels(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data);
+
 }
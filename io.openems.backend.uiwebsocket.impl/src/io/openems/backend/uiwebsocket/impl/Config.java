@@ -11,6 +11,9 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Port", description = "The port of the websocket server.")
 	int port() default 8082;
 
+	@AttributeDefinition(name = "Push current data", description = "Publish changed Channel values to subscribed UI sessions as soon as they arrive from the Edge, instead of polling them every 2 seconds.")
+	boolean pushCurrentData() default true;
+
 	String webconsole_configurationFactory_nameHint() default "Ui Websocket";
 
 }
@@ -0,0 +1,166 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Function;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.jsonrpc.notification.CurrentDataNotification;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Holds the newest pushed values of the subscribed Channels of one Edge. It is
+ * shared by all UI sessions that view the Edge in push mode, so data from the
+ * Edge is applied once per Edge - not once per session.
+ *
+ * <p>
+ * Every change of a value gets a new version number. A
+ * {@link SubscribedChannelsWorker} remembers the version it sent last and sends
+ * again only if the version of its Channels increased; all changes in between
+ * are coalesced into one notification.
+ *
+ * <p>
+ * Only Channels that were subscribed at least once are held. They are
+ * initialized from the Timedata cache.
+ */
+public class CurrentDataCache {
+
+	/**
+	 * The values of a set of Channels at one point in time.
+	 */
+	public static class Values {
+		private final long version;
+		private final CurrentDataNotification currentData;
+
+		private Values(long version, CurrentDataNotification currentData) {
+			this.version = version;
+			this.currentData = currentData;
+		}
+
+		/**
+		 * Gets the version of the newest change of any of the Channels.
+		 *
+		 * @return the version
+		 */
+		public long getVersion() {
+			return this.version;
+		}
+
+		/**
+		 * Gets the values as {@link CurrentDataNotification}.
+		 *
+		 * @return the {@link CurrentDataNotification}
+		 */
+		public CurrentDataNotification getCurrentData() {
+			return this.currentData;
+		}
+	}
+
+	private static class Value {
+		private JsonElement value;
+		// The timestamp of the newest row; Long.MIN_VALUE if from Timedata
+		private long timestamp = Long.MIN_VALUE;
+		private long version;
+	}
+
+	private final Function<ChannelAddress, JsonElement> initialValue;
+	private final Map<ChannelAddress, Value> values = new HashMap<>();
+	private long version = 0;
+
+	/**
+	 * Creates a {@link CurrentDataCache}.
+	 *
+	 * @param initialValue gets the initial value of a Channel, e.g. from the
+	 *                     Timedata cache
+	 */
+	public CurrentDataCache(Function<ChannelAddress, JsonElement> initialValue) {
+		this.initialValue = initialValue;
+	}
+
+	/**
+	 * Applies new data from the Edge.
+	 *
+	 * <p>
+	 * Rows that are older than the newest value of a Channel - e.g. from a
+	 * replayed spool or a resent cache of the Edge - are ignored, like in the
+	 * Timedata cache.
+	 *
+	 * @param data the Channel values per timestamp, sorted by timestamp
+	 */
+	public synchronized void handleData(SortedMap<Long, Map<ChannelAddress, JsonElement>> data) {
+		if (this.values.isEmpty()) {
+			return;
+		}
+		for (Entry<Long, Map<ChannelAddress, JsonElement>> row : data.entrySet()) {
+			long timestamp = row.getKey();
+			for (Entry<ChannelAddress, JsonElement> entry : row.getValue().entrySet()) {
+				Value value = this.values.get(entry.getKey());
+				if (value == null || timestamp < value.timestamp) {
+					// not subscribed or stale data
+					continue;
+				}
+				value.timestamp = timestamp;
+				if (!entry.getValue().equals(value.value)) {
+					value.value = entry.getValue();
+					value.version = ++this.version;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the values of the given Channels. Channels that are not held yet are
+	 * initialized.
+	 *
+	 * @param channels the Channels
+	 * @return the {@link Values}
+	 */
+	public Values get(Set<ChannelAddress> channels) {
+		this.initialize(channels);
+		long version = 0;
+		CurrentDataNotification currentData = new CurrentDataNotification();
+		synchronized (this) {
+			for (ChannelAddress channel : channels) {
+				Value value = this.values.get(channel);
+				version = Math.max(version, value.version);
+				currentData.add(channel, value.value);
+			}
+		}
+		return new Values(version, currentData);
+	}
+
+	private void initialize(Set<ChannelAddress> channels) {
+		Map<ChannelAddress, JsonElement> initialValues = new HashMap<>();
+		synchronized (this) {
+			for (ChannelAddress channel : channels) {
+				if (!this.values.containsKey(channel)) {
+					initialValues.put(channel, null);
+				}
+			}
+		}
+		if (initialValues.isEmpty()) {
+			return;
+		}
+		// Read Timedata outside of lock
+		for (Entry<ChannelAddress, JsonElement> entry : initialValues.entrySet()) {
+			entry.setValue(this.initialValue.apply(entry.getKey()));
+		}
+		synchronized (this) {
+			for (Entry<ChannelAddress, JsonElement> entry : initialValues.entrySet()) {
+				if (this.values.containsKey(entry.getKey())) {
+					// initialized in the meantime
+					continue;
+				}
+				Value value = new Value();
+				value.value = entry.getValue();
+				value.version = ++this.version;
+				this.values.put(entry.getKey(), value);
+			}
+		}
+	}
+
+}
@@ -31,6 +31,7 @@ public class OnClose implements io.openems.common.websocket.OnClose {
 		}
 
 		wsData.dispose();
+		this.parent.removeFromIndex(wsData);
 	}
 
 }
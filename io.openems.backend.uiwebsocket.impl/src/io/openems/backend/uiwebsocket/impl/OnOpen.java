@@ -67,6 +67,10 @@ public class OnOpen implements io.openems.common.websocket.OnOpen {
 		UUID token = UUID.randomUUID();
 		wsData.setToken(token);
 
+		// make connection available for lookups by token and Edge-ID
+		wsData.setEdgeIds(user.getEdgeRoles().keySet());
+		this.parent.addToIndex(wsData);
+
 		// send connection successful reply
 		List<EdgeMetadata> metadatas = new ArrayList<>();
 		for (Entry<String, Role> edgeRole : user.getEdgeRoles().entrySet()) {
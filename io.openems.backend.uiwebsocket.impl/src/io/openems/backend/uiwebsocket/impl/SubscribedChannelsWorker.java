@@ -1,26 +1,147 @@
 package io.openems.backend.uiwebsocket.impl;
 
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
+
+import org.java_websocket.WebSocket;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 
+import io.openems.backend.metadata.api.Edge;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.notification.CurrentDataNotification;
 import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.SemanticVersion;
+import io.openems.common.websocket.SubscriptionScheduler;
 
+/**
+ * Sends the subscribed Channel values of one Edge to a UI session.
+ *
+ * <p>
+ * In push mode the values are taken from the {@link CurrentDataCache} of the
+ * Edge, which {@link UiWebsocketImpl} updates as soon as data arrives from the
+ * Edge. On every tick of the push scheduler the session receives a
+ * notification only if a subscribed Channel changed. The notification still
+ * holds all subscribed Channels, as the UI replaces its current data on every
+ * notification. Sessions with the same subscription share the values and the
+ * serialized notification via the {@link SubscriptionScheduler.Snapshot} of the
+ * Edge.
+ *
+ * <p>
+ * Edges older than 2018.11.0 require compatibility formulas on the Timedata
+ * cache; they are polled every {@link #UPDATE_INTERVAL_IN_SECONDS} like before.
+ */
 public class SubscribedChannelsWorker extends io.openems.common.websocket.SubscribedChannelsWorker {
 
+	private static final SemanticVersion PUSH_MIN_VERSION = new SemanticVersion(2018, 11, 0);
+
 	private final UiWebsocketImpl parent;
 	private final String edgeId;
 
+	/**
+	 * The subscribed Channels and the {@link CurrentDataCache} version that were
+	 * sent last in push mode; null if nothing was sent yet.
+	 */
+	private Set<ChannelAddress> pushedChannels = null;
+	private long pushedVersion = 0;
+	private CurrentDataCache currentDataCache = null;
+	private Set<ChannelAddress> polledChannels = null;
+	private long lastPoll = 0;
+
 	public SubscribedChannelsWorker(UiWebsocketImpl parent, String edgeId, WsData wsData) {
 		super(wsData);
 		this.parent = parent;
 		this.edgeId = edgeId;
 	}
 
+	/**
+	 * Groups all Subscriptions for the same Edge, so they share one snapshot of
+	 * the Channel values.
+	 */
+	@Override
+	public Object getGroupKey() {
+		if (this.edgeId == null) {
+			return this;
+		}
+		return this.edgeId;
+	}
+
+	@Override
+	protected SubscriptionScheduler getScheduler() {
+		return this.parent.getSubscriptionScheduler();
+	}
+
+	@Override
+	public boolean update(SubscriptionScheduler.Snapshot snapshot) {
+		if (!this.parent.isPushCurrentData() || !this.isPushSupported()) {
+			// Polling mode: the scheduler might tick faster than the polling interval;
+			// changed subscriptions are served immediately
+			synchronized (this) {
+				Set<ChannelAddress> channels = this.getChannels();
+				long now = System.currentTimeMillis();
+				if (channels == this.polledChannels && now - this.lastPoll < UPDATE_INTERVAL_IN_SECONDS * 1000) {
+					return true;
+				}
+				this.polledChannels = channels;
+				this.lastPoll = now;
+				this.pushedChannels = null;
+			}
+			return super.update(snapshot);
+		}
+
+		WebSocket ws = this.wsData.getWebsocket();
+		if (ws == null || !ws.isOpen()) {
+			// disconnected; stop worker
+			return false;
+		}
+
+		Set<ChannelAddress> channels = this.getChannels();
+		if (channels.isEmpty()) {
+			return false;
+		}
+		CurrentDataCache cache;
+		synchronized (this) {
+			if (this.currentDataCache == null) {
+				// Keeps the cache of the Edge alive while this worker exists
+				this.currentDataCache = this.parent.getCurrentDataCache(this.edgeId);
+			}
+			cache = this.currentDataCache;
+		}
+
+		// Viewers with the same subscription share the values and the serialized
+		// message. The key differs from the one of polling mode.
+		CurrentDataCache.Values values = snapshot.computeIfAbsent(Arrays.asList(CurrentDataCache.class, channels),
+				key -> cache.get(channels));
+		synchronized (this) {
+			if (channels == this.pushedChannels && values.getVersion() == this.pushedVersion) {
+				// no subscribed Channel changed
+				return true;
+			}
+			this.pushedChannels = channels;
+			this.pushedVersion = values.getVersion();
+		}
+		String message = snapshot.computeIfAbsent(values,
+				key -> this.getJsonRpcNotification(values.getCurrentData()).toString());
+		return this.send(ws, message);
+	}
+
+	/**
+	 * Can the values of this Edge be pushed? Elder Edges need compatibility
+	 * formulas that are only applied when reading from Timedata.
+	 *
+	 * @return true if push mode is supported
+	 */
+	private boolean isPushSupported() {
+		if (this.edgeId == null) {
+			return false;
+		}
+		Optional<Edge> edge = this.parent.metadata.getEdge(this.edgeId);
+		return edge.isPresent() && edge.get().getVersion().isAtLeast(PUSH_MIN_VERSION);
+	}
+
 	@Override
 	protected JsonElement getChannelValue(ChannelAddress channelAddress) {
 		if (this.edgeId == null) {
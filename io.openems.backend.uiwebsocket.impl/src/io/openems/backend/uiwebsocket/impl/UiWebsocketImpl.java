@@ -1,14 +1,12 @@
 package io.openems.backend.uiwebsocket.impl;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
-import org.java_websocket.WebSocket;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
@@ -17,6 +15,12 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.jsonrpc.JsonRpcRequestHandler;
 import io.openems.backend.edgewebsocket.api.EdgeWebsocket;
@@ -30,6 +34,9 @@ import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
 import io.openems.common.session.Role;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.websocket.SubscriptionScheduler;
+import io.openems.common.websocket.WsDataIndex;
 
 @Designate(ocd = Config.class, factory = false)
 @Component(name = "Ui.Websocket", configurationPolicy = ConfigurationPolicy.REQUIRE, immediate = true)
@@ -37,8 +44,29 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 
 	// private final Logger log = LoggerFactory.getLogger(UiWebsocket.class);
 
+	/**
+	 * Interval of the push scheduler; pushed Channel values are coalesced per
+	 * tick.
+	 */
+	private static final int PUSH_INTERVAL_IN_MILLISECONDS = 250;
+
 	protected WebsocketServer server = null;
 
+	private boolean pushCurrentData = false;
+	private SubscriptionScheduler subscriptionScheduler = null;
+
+	/**
+	 * The {@link CurrentDataCache} per Edge-ID in push mode. Values are weak; a
+	 * cache is released when no SubscribedChannelsWorker uses it anymore.
+	 */
+	private final Cache<String, CurrentDataCache> currentDataCaches = CacheBuilder.newBuilder() //
+			.weakValues() //
+			.build();
+
+	// Indexes of authenticated connections
+	private final WsDataIndex<UUID, WsData> tokenIndex = new WsDataIndex<>();
+	private final WsDataIndex<String, WsData> edgeIdIndex = new WsDataIndex<>();
+
 	@Reference
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
 
@@ -57,12 +85,23 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 
 	@Activate
 	void activate(Config config) {
+		this.pushCurrentData = config.pushCurrentData();
+		if (this.pushCurrentData) {
+			this.subscriptionScheduler = new SubscriptionScheduler(
+					Math.max(2, Runtime.getRuntime().availableProcessors()), PUSH_INTERVAL_IN_MILLISECONDS,
+					TimeUnit.MILLISECONDS);
+		} else {
+			this.subscriptionScheduler = new SubscriptionScheduler();
+		}
 		this.startServer(config.port());
 	}
 
 	@Deactivate
 	void deactivate() {
 		this.stopServer();
+		if (this.subscriptionScheduler != null) {
+			this.subscriptionScheduler.shutdown();
+		}
 	}
 
 	/**
@@ -123,6 +162,86 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 		}
 	}
 
+	@Override
+	public void sendSubscribedChannels(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) {
+		if (!this.pushCurrentData) {
+			return;
+		}
+		CurrentDataCache currentDataCache = this.currentDataCaches.getIfPresent(edgeId);
+		if (currentDataCache != null) {
+			currentDataCache.handleData(data.rowMap());
+		}
+	}
+
+	/**
+	 * Gets the {@link CurrentDataCache} of an Edge for push mode; creates it if it
+	 * does not exist.
+	 * 
+	 * @param edgeId the Edge-ID
+	 * @return the {@link CurrentDataCache}
+	 */
+	protected CurrentDataCache getCurrentDataCache(String edgeId) {
+		return this.currentDataCaches.asMap().computeIfAbsent(edgeId,
+				key -> new CurrentDataCache(channel -> this.timeData.getChannelValue(edgeId, channel) //
+						.orElse(JsonNull.INSTANCE)));
+	}
+
+	/**
+	 * Is push mode for current data activated?.
+	 * 
+	 * @return true for push mode
+	 */
+	protected boolean isPushCurrentData() {
+		return this.pushCurrentData;
+	}
+
+	/**
+	 * Gets the {@link SubscriptionScheduler} for the SubscribedChannelsWorkers.
+	 * 
+	 * <p>
+	 * In push mode the scheduler runs with a short interval, so that pushed
+	 * values are coalesced per tick.
+	 * 
+	 * @return the {@link SubscriptionScheduler}
+	 */
+	protected SubscriptionScheduler getSubscriptionScheduler() {
+		return this.subscriptionScheduler;
+	}
+
+	/**
+	 * Adds an authenticated connection to the token and Edge-ID indexes.
+	 * 
+	 * @param wsData the WsData with token and Edge-IDs set
+	 */
+	protected void addToIndex(WsData wsData) {
+		Optional<UUID> token = wsData.getToken();
+		if (token.isPresent()) {
+			this.tokenIndex.add(token.get(), wsData);
+		}
+		for (String edgeId : wsData.getEdgeIds()) {
+			this.edgeIdIndex.add(edgeId, wsData);
+		}
+		if (wsData.isDisposed()) {
+			// connection was closed in the meantime
+			this.removeFromIndex(wsData);
+		}
+	}
+
+	/**
+	 * Removes a connection from the token and Edge-ID indexes.
+	 * 
+	 * @param wsData the WsData
+	 */
+	protected void removeFromIndex(WsData wsData) {
+		Optional<UUID> token = wsData.getToken();
+		if (token.isPresent()) {
+			this.tokenIndex.remove(token.get(), wsData);
+		}
+		for (String edgeId : wsData.getEdgeIds()) {
+			this.edgeIdIndex.remove(edgeId, wsData);
+		}
+	}
+
 	/**
 	 * Gets the WebSocket connection attachment for a UI token.
 	 * 
@@ -131,14 +250,9 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	 * @throws OpenemsNamedException if there is no connection with this token
 	 */
 	private WsData getWsDataForTokenOrError(UUID token) throws OpenemsNamedException {
-		Collection<WebSocket> connections = this.server.getConnections();
-		for (Iterator<WebSocket> iter = connections.iterator(); iter.hasNext();) {
-			WebSocket websocket = iter.next();
-			WsData wsData = websocket.getAttachment();
-			Optional<UUID> thisToken = wsData.getToken();
-			if (thisToken.isPresent() && thisToken.get().equals(token)) {
-				return wsData;
-			}
+		Optional<WsData> wsData = this.tokenIndex.getAny(token);
+		if (wsData.isPresent()) {
+			return wsData.get();
 		}
 		throw OpenemsError.BACKEND_NO_UI_WITH_TOKEN.exception(token);
 	}
@@ -147,28 +261,24 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	 * Gets the WebSocket connection attachments of all connections accessing an
 	 * Edge-ID.
 	 * 
+	 * <p>
+	 * Candidates are taken from the Edge-ID index; the current Role of the User
+	 * is still validated, as it might have been revoked since authentication.
+	 * 
 	 * @param edgeId the Edge-ID
 	 * @return the WsDatas; empty list if there are none
 	 */
 	private List<WsData> getWsDatasForEdgeId(String edgeId) {
 		List<WsData> result = new ArrayList<>();
-		Collection<WebSocket> connections = this.server.getConnections();
-		for (Iterator<WebSocket> iter = connections.iterator(); iter.hasNext();) {
-			WebSocket websocket = iter.next();
-			WsData wsData = websocket.getAttachment();
-			// get attachment User-ID
-			Optional<String> userIdOpt = wsData.getUserId();
-			if (userIdOpt.isPresent()) {
-				String userId = userIdOpt.get();
-				// get BackendUser for User-ID
-				Optional<BackendUser> userOpt = this.metadata.getUser(userId);
-				if (userOpt.isPresent()) {
-					BackendUser user = userOpt.get();
-					Optional<Role> edgeRoleOpt = user.getEdgeRole(edgeId);
-					if (edgeRoleOpt.isPresent()) {
-						// User has access to this Edge-ID
-						result.add(wsData);
-					}
+		for (WsData wsData : this.edgeIdIndex.get(edgeId)) {
+			// get BackendUser for User-ID
+			Optional<BackendUser> userOpt = wsData.getUser(this.metadata);
+			if (userOpt.isPresent()) {
+				BackendUser user = userOpt.get();
+				Optional<Role> edgeRoleOpt = user.getEdgeRole(edgeId);
+				if (edgeRoleOpt.isPresent()) {
+					// User has access to this Edge-ID
+					result.add(wsData);
 				}
 			}
 		}
@@ -1,8 +1,11 @@
 package io.openems.backend.uiwebsocket.impl;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import io.openems.backend.metadata.api.BackendUser;
@@ -16,6 +19,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 	private final Map<String, SubscribedChannelsWorker> subscribedChannelsWorkers = new HashMap<>();
 	private Optional<String> userId = Optional.empty();
 	private Optional<UUID> token = Optional.empty();
+	private Set<String> edgeIds = Collections.emptySet();
 
 	public WsData(UiWebsocketImpl parent) {
 		this.parent = parent;
@@ -23,6 +27,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 
 	@Override
 	public synchronized void dispose() {
+		super.dispose();
 		for (SubscribedChannelsWorker subscribedChannelsWorker : this.subscribedChannelsWorkers.values()) {
 			subscribedChannelsWorker.dispose();
 		}
@@ -65,6 +70,25 @@ public class WsData extends io.openems.common.websocket.WsData {
 		return this.token;
 	}
 
+	/**
+	 * Sets the Edge-IDs the authenticated User has access to; used for the
+	 * Edge-ID index of {@link UiWebsocketImpl}.
+	 * 
+	 * @param edgeIds the Edge-IDs
+	 */
+	public synchronized void setEdgeIds(Set<String> edgeIds) {
+		this.edgeIds = Collections.unmodifiableSet(new HashSet<>(edgeIds));
+	}
+
+	/**
+	 * Gets the Edge-IDs the authenticated User had access to on authentication.
+	 * 
+	 * @return the Edge-IDs
+	 */
+	public synchronized Set<String> getEdgeIds() {
+		return this.edgeIds;
+	}
+
 	/**
 	 * Gets the token or throws an error if no token was set.
 	 * 
@@ -0,0 +1,132 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+
+public class CurrentDataCacheTest {
+
+	private static final ChannelAddress SUM_SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress SUM_GRID = new ChannelAddress("_sum", "GridActivePower");
+	private static final ChannelAddress SUM_PRODUCTION = new ChannelAddress("_sum", "ProductionActivePower");
+
+	private static final Set<ChannelAddress> SOC = ImmutableSet.of(SUM_SOC);
+	private static final Set<ChannelAddress> SOC_AND_GRID = ImmutableSet.of(SUM_SOC, SUM_GRID);
+
+	private AtomicInteger noOfTimedataReads;
+	private CurrentDataCache sut;
+
+	@Before
+	public void before() {
+		this.noOfTimedataReads = new AtomicInteger();
+		// Timedata holds '0' for every Channel
+		this.sut = new CurrentDataCache(channel -> {
+			this.noOfTimedataReads.incrementAndGet();
+			return new JsonPrimitive(0);
+		});
+	}
+
+	private static SortedMap<Long, Map<ChannelAddress, JsonElement>> data(long timestamp, ChannelAddress channel,
+			int value) {
+		TreeBasedTable<Long, ChannelAddress, JsonElement> result = TreeBasedTable.create();
+		result.put(timestamp, channel, new JsonPrimitive(value));
+		return result.rowMap();
+	}
+
+	private static JsonElement get(CurrentDataCache.Values values, ChannelAddress channel) {
+		JsonObject params = values.getCurrentData().getParams();
+		return params.get(channel.toString());
+	}
+
+	@Test
+	public void testPush() {
+		// initialized from Timedata
+		CurrentDataCache.Values values = this.sut.get(SOC_AND_GRID);
+		assertEquals(new JsonPrimitive(0), get(values, SUM_SOC));
+		assertEquals(2, this.noOfTimedataReads.get());
+
+		this.sut.handleData(data(1000, SUM_SOC, 50));
+		CurrentDataCache.Values pushed = this.sut.get(SOC_AND_GRID);
+		assertNotEquals(values.getVersion(), pushed.getVersion());
+		assertEquals(new JsonPrimitive(50), get(pushed, SUM_SOC));
+		assertEquals(new JsonPrimitive(0), get(pushed, SUM_GRID));
+
+		// Timedata is read only once per Channel
+		assertEquals(2, this.noOfTimedataReads.get());
+	}
+
+	@Test
+	public void testVersionChangesOnlyOnChange() {
+		this.sut.get(SOC_AND_GRID);
+		this.sut.handleData(data(1000, SUM_SOC, 50));
+		CurrentDataCache.Values values = this.sut.get(SOC_AND_GRID);
+		this.sut.handleData(data(2000, SUM_SOC, 50));
+		assertEquals(values.getVersion(), this.sut.get(SOC_AND_GRID).getVersion());
+
+		// change of another Channel does not affect this subscription
+		this.sut.get(ImmutableSet.of(SUM_PRODUCTION));
+		this.sut.handleData(data(3000, SUM_PRODUCTION, 100));
+		assertEquals(values.getVersion(), this.sut.get(SOC_AND_GRID).getVersion());
+
+		this.sut.handleData(data(4000, SUM_GRID, -100));
+		assertNotEquals(values.getVersion(), this.sut.get(SOC_AND_GRID).getVersion());
+		assertEquals(values.getVersion(), this.sut.get(SOC).getVersion());
+	}
+
+	@Test
+	public void testCoalesce() {
+		CurrentDataCache.Values values = this.sut.get(SOC);
+
+		// several changes within one tick -> one new version with the newest value
+		this.sut.handleData(data(1000, SUM_SOC, 50));
+		this.sut.handleData(data(2000, SUM_SOC, 51));
+		this.sut.handleData(data(3000, SUM_SOC, 52));
+		CurrentDataCache.Values coalesced = this.sut.get(SOC);
+		assertNotEquals(values.getVersion(), coalesced.getVersion());
+		assertEquals(new JsonPrimitive(52), get(coalesced, SUM_SOC));
+		assertEquals(coalesced.getVersion(), this.sut.get(SOC).getVersion());
+	}
+
+	@Test
+	public void testIgnoreStaleRows() {
+		this.sut.get(SOC);
+		this.sut.handleData(data(2000, SUM_SOC, 50));
+		CurrentDataCache.Values values = this.sut.get(SOC);
+
+		// older row, e.g. from a replayed spool
+		this.sut.handleData(data(1000, SUM_SOC, 40));
+		assertEquals(values.getVersion(), this.sut.get(SOC).getVersion());
+		assertEquals(new JsonPrimitive(50), get(this.sut.get(SOC), SUM_SOC));
+
+		// rows of one notification are applied in order
+		TreeBasedTable<Long, ChannelAddress, JsonElement> rows = TreeBasedTable.create();
+		rows.put(3000L, SUM_SOC, new JsonPrimitive(52));
+		rows.put(2500L, SUM_SOC, new JsonPrimitive(51));
+		this.sut.handleData(rows.rowMap());
+		assertEquals(new JsonPrimitive(52), get(this.sut.get(SOC), SUM_SOC));
+	}
+
+	@Test
+	public void testIgnoreNotSubscribedChannels() {
+		this.sut.handleData(data(1000, SUM_SOC, 50));
+
+		// value was not held -> initialized from Timedata
+		assertEquals(new JsonPrimitive(0), get(this.sut.get(SOC), SUM_SOC));
+	}
+
+}
@@ -251,6 +251,31 @@ public enum Unit {
 		return symbol;
 	}
 
+	/**
+	 * Gets the Unit with the given symbol, as written by {@link #getSymbol()}.
+	 * 
+	 * <p>
+	 * For compatibility the name of the Unit is accepted as well. Symbols that are
+	 * shared by multiple Units, like the empty symbol of {@link #NONE} and
+	 * {@link #ON_OFF}, resolve to the first of them.
+	 * 
+	 * @param symbol the symbol, e.g. "W"
+	 * @return the Unit; {@link #NONE} if no Unit matches
+	 */
+	public static Unit fromSymbol(String symbol) {
+		for (Unit unit : Unit.values()) {
+			if (unit.symbol.equals(symbol)) {
+				return unit;
+			}
+		}
+		for (Unit unit : Unit.values()) {
+			if (unit.name().equals(symbol)) {
+				return unit;
+			}
+		}
+		return NONE;
+	}
+
 	public String format(Object value, OpenemsType type) {
 		switch (this) {
 		case NONE:
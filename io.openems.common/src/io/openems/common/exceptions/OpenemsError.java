@@ -39,6 +39,7 @@ public enum OpenemsError {
 	BACKEND_EDGE_NOT_CONNECTED(3000, "Edge [%s] is not connected"), //
 	BACKEND_UI_TOKEN_MISSING(3001, "Token for UI connection is missing"), //
 	BACKEND_NO_UI_WITH_TOKEN(3002, "No open connection with Token [%s]"), //
+	BACKEND_EDGE_CONFIG_VERSION_MISMATCH(3003, "EdgeConfig of Edge [%s] is not at version [%s]"), //
 	/*
 	 * JSON-RPC Request/Response/Notification. 4000-4999
 	 */
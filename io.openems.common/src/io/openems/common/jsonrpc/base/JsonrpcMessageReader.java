@@ -0,0 +1,162 @@
+package io.openems.common.jsonrpc.base;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import io.openems.common.exceptions.OpenemsError;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+
+/**
+ * Reads JSON-RPC messages from a String in a streaming way.
+ *
+ * <p>
+ * The message is read with a Gson {@link JsonReader}. For Notifications with a
+ * registered {@link NotificationReader} the 'params' are decoded directly into
+ * the typed Notification, without building a Gson tree first - e.g.
+ * {@link io.openems.common.jsonrpc.notification.TimestampedDataNotification}
+ * is read straight into its data table. All other messages are handled like
+ * {@link JsonrpcMessage#from(String)}.
+ *
+ * <p>
+ * Typed decoding requires 'method' to appear before 'params' in the message,
+ * as it is the case for all messages created by OpenEMS; otherwise the generic
+ * way is used.
+ */
+public class JsonrpcMessageReader {
+
+	/**
+	 * Reads the 'params' of a Notification.
+	 */
+	@FunctionalInterface
+	public interface NotificationReader {
+
+		/**
+		 * Reads the 'params' of a Notification.
+		 *
+		 * @param params the {@link JsonReader}, positioned at the 'params' value
+		 * @return the typed {@link JsonrpcNotification}
+		 * @throws IOException           on JSON error
+		 * @throws OpenemsNamedException on error
+		 */
+		public JsonrpcNotification read(JsonReader params) throws IOException, OpenemsNamedException;
+
+	}
+
+	private static final JsonParser PARSER = new JsonParser();
+
+	private final Map<String, NotificationReader> notificationReaders = new HashMap<>();
+
+	/**
+	 * Registers a {@link NotificationReader} for a JSON-RPC method.
+	 *
+	 * @param method the JSON-RPC method
+	 * @param reader the {@link NotificationReader}
+	 * @return myself
+	 */
+	public synchronized JsonrpcMessageReader register(String method, NotificationReader reader) {
+		this.notificationReaders.put(method, reader);
+		return this;
+	}
+
+	/**
+	 * Reads a JSON-RPC message.
+	 *
+	 * @param json the message as String
+	 * @return the {@link JsonrpcMessage}
+	 * @throws OpenemsNamedException if the String is not a valid JSON-RPC message
+	 */
+	public JsonrpcMessage read(String json) throws OpenemsNamedException {
+		try (JsonReader reader = new JsonReader(new StringReader(json))) {
+			return this.read(reader);
+		} catch (IOException | IllegalStateException | NumberFormatException | JsonParseException e) {
+			throw OpenemsError.JSON_PARSE_FAILED.exception(e.getMessage(), json);
+		}
+	}
+
+	private JsonrpcMessage read(JsonReader reader) throws IOException, OpenemsNamedException {
+		// holds all members that are not decoded by a NotificationReader
+		JsonObject j = new JsonObject();
+		String method = null;
+		JsonrpcNotification notification = null;
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			if (name.equals("method") && reader.peek() == JsonToken.STRING) {
+				method = reader.nextString();
+				j.addProperty(name, method);
+				continue;
+			}
+			if (name.equals("params") && method != null && !j.has("id")) {
+				NotificationReader notificationReader = this.getNotificationReader(method);
+				if (notificationReader != null) {
+					notification = notificationReader.read(reader);
+					continue;
+				}
+			}
+			j.add(name, PARSER.parse(reader));
+		}
+		reader.endObject();
+
+		if (notification != null) {
+			if (!j.has("id")) {
+				return notification;
+			}
+			// 'id' came after 'params' -> this is a Request after all
+			j.add("params", notification.getParams());
+		}
+		return JsonrpcMessage.from(j);
+	}
+
+	private synchronized NotificationReader getNotificationReader(String method) {
+		return this.notificationReaders.get(method);
+	}
+
+	/**
+	 * Reads the next value as {@link JsonElement}. Numbers keep their JSON
+	 * representation, i.e. '5' is read as integer and '5.0' as floating point
+	 * number.
+	 *
+	 * @param reader the {@link JsonReader}
+	 * @return the {@link JsonElement}
+	 * @throws IOException on JSON error
+	 */
+	public static JsonElement readElement(JsonReader reader) throws IOException {
+		switch (reader.peek()) {
+		case NULL:
+			reader.nextNull();
+			return JsonNull.INSTANCE;
+		case BOOLEAN:
+			return new JsonPrimitive(reader.nextBoolean());
+		case STRING:
+			return new JsonPrimitive(reader.nextString());
+		case NUMBER:
+			return new JsonPrimitive(parseNumber(reader.nextString()));
+		default:
+			return PARSER.parse(reader);
+		}
+	}
+
+	private static Number parseNumber(String number) {
+		if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+			try {
+				return Long.parseLong(number);
+			} catch (NumberFormatException e) {
+				// too big for long
+			}
+		}
+		return Double.parseDouble(number);
+	}
+
+}
@@ -0,0 +1,53 @@
+package io.openems.common.jsonrpc.notification;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcNotification;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.types.EdgeConfigDelta;
+
+/**
+ * Represents a JSON-RPC Notification with the changes of an OpenEMS Edge
+ * configuration; sent from Backend to UI instead of a complete
+ * {@link EdgeConfigNotification}.
+ * 
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "method": "edgeConfigDelta",
+ *   "params": {
+ *     {@link EdgeConfigDelta#toJson()}
+ *   }
+ * }
+ * </pre>
+ */
+public class EdgeConfigDeltaNotification extends JsonrpcNotification {
+
+	public static EdgeConfigDeltaNotification from(JsonObject j) throws OpenemsNamedException {
+		return from(GenericJsonrpcNotification.from(j));
+	}
+
+	public static EdgeConfigDeltaNotification from(JsonrpcNotification r) throws OpenemsNamedException {
+		return new EdgeConfigDeltaNotification(EdgeConfigDelta.fromJson(r.getParams()));
+	}
+
+	public final static String METHOD = "edgeConfigDelta";
+
+	private final EdgeConfigDelta delta;
+
+	public EdgeConfigDeltaNotification(EdgeConfigDelta delta) {
+		super(METHOD);
+		this.delta = delta;
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return this.delta.toJson();
+	}
+
+	public EdgeConfigDelta getDelta() {
+		return this.delta;
+	}
+
+}
@@ -1,13 +1,16 @@
 package io.openems.common.jsonrpc.notification;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import com.google.common.collect.TreeBasedTable;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcMessageReader;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.JsonUtils;
@@ -31,6 +34,10 @@ import io.openems.common.utils.JsonUtils;
 public class TimestampedDataNotification extends JsonrpcNotification {
 
 	public static TimestampedDataNotification from(JsonrpcNotification notification) throws OpenemsNamedException {
+		if (notification instanceof TimestampedDataNotification) {
+			// e.g. decoded from binary format
+			return (TimestampedDataNotification) notification;
+		}
 		TimestampedDataNotification result = new TimestampedDataNotification();
 		JsonObject j = notification.getParams();
 		for (Entry<String, JsonElement> e1 : j.entrySet()) {
@@ -43,6 +50,32 @@ public class TimestampedDataNotification extends JsonrpcNotification {
 		return result;
 	}
 
+	/**
+	 * Reads the 'params' of a {@link TimestampedDataNotification} directly into
+	 * the data table, without building a Gson tree first.
+	 * 
+	 * @param params the {@link JsonReader}, positioned at the 'params' value
+	 * @return the {@link TimestampedDataNotification}
+	 * @throws IOException           on JSON error
+	 * @throws OpenemsNamedException on error
+	 * @see JsonrpcMessageReader
+	 */
+	public static TimestampedDataNotification from(JsonReader params) throws IOException, OpenemsNamedException {
+		TimestampedDataNotification result = new TimestampedDataNotification();
+		params.beginObject();
+		while (params.hasNext()) {
+			long timestamp = Long.parseLong(params.nextName());
+			params.beginObject();
+			while (params.hasNext()) {
+				ChannelAddress address = ChannelAddress.fromString(params.nextName());
+				result.add(timestamp, address, JsonrpcMessageReader.readElement(params));
+			}
+			params.endObject();
+		}
+		params.endObject();
+		return result;
+	}
+
 	public static final String METHOD = "timestampedData";
 
 	private final TreeBasedTable<Long, ChannelAddress, JsonElement> data = TreeBasedTable.create();
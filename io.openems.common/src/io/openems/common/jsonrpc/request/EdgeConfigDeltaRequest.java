@@ -0,0 +1,66 @@
+package io.openems.common.jsonrpc.request;
+
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcRequest;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.types.EdgeConfigDelta;
+
+/**
+ * Represents a JSON-RPC Request from Edge to Backend with the changes of the
+ * EdgeConfig since the last acknowledged version.
+ * 
+ * <p>
+ * A success response acknowledges the new version. If the Backend does not have
+ * the base version, it responds with an error; the Edge then sends the complete
+ * EdgeConfig via
+ * {@link io.openems.common.jsonrpc.notification.EdgeConfigNotification}.
+ * 
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": UUID,
+ *   "method": "edgeConfigDelta",
+ *   "params": {
+ *     {@link EdgeConfigDelta#toJson()}
+ *   }
+ * }
+ * </pre>
+ */
+public class EdgeConfigDeltaRequest extends JsonrpcRequest {
+
+	public static final String METHOD = "edgeConfigDelta";
+
+	public static EdgeConfigDeltaRequest from(JsonrpcRequest r) throws OpenemsNamedException {
+		EdgeConfigDelta delta = EdgeConfigDelta.fromJson(r.getParams());
+		return new EdgeConfigDeltaRequest(r.getId(), delta);
+	}
+
+	public static EdgeConfigDeltaRequest from(JsonObject j) throws OpenemsNamedException {
+		return from(GenericJsonrpcRequest.from(j));
+	}
+
+	private final EdgeConfigDelta delta;
+
+	public EdgeConfigDeltaRequest(EdgeConfigDelta delta) {
+		this(UUID.randomUUID(), delta);
+	}
+
+	private EdgeConfigDeltaRequest(UUID id, EdgeConfigDelta delta) {
+		super(id, METHOD);
+		this.delta = delta;
+	}
+
+	public EdgeConfigDelta getDelta() {
+		return this.delta;
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return this.delta.toJson();
+	}
+
+}
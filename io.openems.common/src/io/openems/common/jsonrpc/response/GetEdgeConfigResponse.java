@@ -6,6 +6,7 @@ import com.google.gson.JsonObject;
 
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
 import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfigDelta;
 
 /**
  * Represents a JSON-RPC Response for 'getEdgeConfig'.
@@ -15,27 +16,43 @@ import io.openems.common.types.EdgeConfig;
  *   "jsonrpc": "2.0",
  *   "id": "UUID",
  *   "result": {
- *      {@link EdgeConfig#toJson()}   
+ *      {@link EdgeConfig#toJson()}
+ *      "hash"?: string
  *   }
  * }
  * </pre>
+ * 
+ * <p>
+ * The optional 'hash' identifies the version of the EdgeConfig, see
+ * {@link EdgeConfigDelta#hash(JsonObject)}. It is the base for following
+ * 'edgeConfigDelta' notifications.
  */
 public class GetEdgeConfigResponse extends JsonrpcResponseSuccess {
 
 	private final EdgeConfig config;
+	private final boolean withHash;
 
 	public GetEdgeConfigResponse(EdgeConfig config) {
 		this(UUID.randomUUID(), config);
 	}
 
 	public GetEdgeConfigResponse(UUID id, EdgeConfig config) {
+		this(id, config, false);
+	}
+
+	public GetEdgeConfigResponse(UUID id, EdgeConfig config, boolean withHash) {
 		super(id);
 		this.config = config;
+		this.withHash = withHash;
 	}
 
 	@Override
 	public JsonObject getResult() {
-		return this.config.toJson();
+		JsonObject result = this.config.toJson();
+		if (this.withHash) {
+			result.addProperty("hash", EdgeConfigDelta.hash(result));
+		}
+		return result;
 	}
 
 }
@@ -0,0 +1,157 @@
+package io.openems.common.types;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Keeps track of the active StateChannels of an Edge.
+ *
+ * <p>
+ * The state of every Component is held as a {@link BitSet}, indexed by
+ * {@link EdgeConfig.Component#getStateChannelIndex(String)}. Incoming values
+ * only touch the bits of the StateChannels they contain, so partial data - like
+ * only changed values - keeps the state of all other StateChannels.
+ * {@link #apply(EdgeConfig, Map)} reports whether the set of active
+ * StateChannels actually changed.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+public class ActiveStateChannels {
+
+	private EdgeConfig config = null;
+	private final Map<String, BitSet> bitmaps = new HashMap<>();
+
+	/**
+	 * Applies Channel values.
+	 *
+	 * <p>
+	 * A StateChannel is active if its value is 1. If the {@link EdgeConfig}
+	 * changed since the last call, the previous states are remapped to the
+	 * positions of the new {@link EdgeConfig}; states of StateChannels that do not
+	 * exist anymore are discarded.
+	 *
+	 * @param config the current {@link EdgeConfig}
+	 * @param values the Channel values; values of non-StateChannels are ignored
+	 * @return true if the set of active StateChannels changed
+	 */
+	public boolean apply(EdgeConfig config, Map<ChannelAddress, JsonElement> values) {
+		boolean isChanged = false;
+		if (config != this.config) {
+			// positions are only valid for one EdgeConfig
+			if (this.remap(config)) {
+				isChanged = true;
+			}
+			this.config = config;
+		}
+
+		for (Entry<ChannelAddress, JsonElement> entry : values.entrySet()) {
+			ChannelAddress address = entry.getKey();
+			Optional<EdgeConfig.Component> component = config.getComponent(address.getComponentId());
+			if (!component.isPresent()) {
+				continue;
+			}
+			int index = component.get().getStateChannelIndex(address.getChannelId());
+			if (index < 0) {
+				// not a StateChannel
+				continue;
+			}
+
+			BitSet bitmap = this.bitmaps.get(address.getComponentId());
+			if (isActive(entry.getValue())) {
+				if (bitmap == null) {
+					bitmap = new BitSet();
+					this.bitmaps.put(address.getComponentId(), bitmap);
+				}
+				if (!bitmap.get(index)) {
+					bitmap.set(index);
+					isChanged = true;
+				}
+
+			} else if (bitmap != null && bitmap.get(index)) {
+				bitmap.clear(index);
+				if (bitmap.isEmpty()) {
+					this.bitmaps.remove(address.getComponentId());
+				}
+				isChanged = true;
+			}
+		}
+		return isChanged;
+	}
+
+	/**
+	 * Remaps the bitmaps from the positions of the current {@link EdgeConfig} to
+	 * the positions of the new {@link EdgeConfig} by {@link ChannelAddress}.
+	 *
+	 * @param config the new {@link EdgeConfig}
+	 * @return true if an active StateChannel was discarded
+	 */
+	private boolean remap(EdgeConfig config) {
+		boolean isChanged = false;
+		Iterator<Entry<String, BitSet>> iterator = this.bitmaps.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Entry<String, BitSet> entry = iterator.next();
+			Optional<EdgeConfig.Component> oldComponent = this.config.getComponent(entry.getKey());
+			Optional<EdgeConfig.Component> newComponent = config.getComponent(entry.getKey());
+			BitSet oldBitmap = entry.getValue();
+			BitSet newBitmap = new BitSet();
+			if (oldComponent.isPresent() && newComponent.isPresent()) {
+				for (int i = oldBitmap.nextSetBit(0); i >= 0; i = oldBitmap.nextSetBit(i + 1)) {
+					String channelId = oldComponent.get().getStateChannel(i).getId();
+					int index = newComponent.get().getStateChannelIndex(channelId);
+					if (index < 0) {
+						isChanged = true;
+					} else {
+						newBitmap.set(index);
+					}
+				}
+			} else {
+				isChanged = true;
+			}
+			if (newBitmap.isEmpty()) {
+				iterator.remove();
+			} else {
+				entry.setValue(newBitmap);
+			}
+		}
+		return isChanged;
+	}
+
+	/**
+	 * Gets the currently active StateChannels.
+	 *
+	 * @return a Map of ChannelAddress to StateChannel
+	 */
+	public Map<ChannelAddress, EdgeConfig.Component.Channel> getActiveStateChannels() {
+		Map<ChannelAddress, EdgeConfig.Component.Channel> result = new TreeMap<>();
+		for (Entry<String, BitSet> entry : this.bitmaps.entrySet()) {
+			Optional<EdgeConfig.Component> component = this.config.getComponent(entry.getKey());
+			if (!component.isPresent()) {
+				continue;
+			}
+			BitSet bitmap = entry.getValue();
+			for (int i = bitmap.nextSetBit(0); i >= 0; i = bitmap.nextSetBit(i + 1)) {
+				EdgeConfig.Component.Channel channel = component.get().getStateChannel(i);
+				result.put(new ChannelAddress(entry.getKey(), channel.getId()), channel);
+			}
+		}
+		return result;
+	}
+
+	private static boolean isActive(JsonElement value) {
+		if (value == null || !value.isJsonPrimitive()) {
+			return false;
+		}
+		JsonPrimitive primitive = value.getAsJsonPrimitive();
+		return primitive.isNumber() && primitive.getAsNumber().intValue() == 1;
+	}
+
+}
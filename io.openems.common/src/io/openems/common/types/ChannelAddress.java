@@ -8,6 +8,13 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 	private final String componentId;
 	private final String channelId;
 
+	/*
+	 * ChannelAddresses are used as keys in many maps; the String representation
+	 * and the hash code are calculated once on first use.
+	 */
+	private transient String string = null;
+	private transient int hash = 0;
+
 	public ChannelAddress(String componentId, String channelId) {
 		super();
 		this.componentId = componentId;
@@ -34,7 +41,12 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 
 	@Override
 	public String toString() {
-		return componentId + "/" + channelId;
+		String string = this.string;
+		if (string == null) {
+			string = this.componentId + "/" + this.channelId;
+			this.string = string;
+		}
+		return string;
 	}
 
 	/**
@@ -62,7 +74,12 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 
 	@Override
 	public int hashCode() {
-		return this.toString().hashCode();
+		int hash = this.hash;
+		if (hash == 0) {
+			hash = this.toString().hashCode();
+			this.hash = hash;
+		}
+		return hash;
 	}
 
 	@Override
@@ -77,6 +94,6 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 			return false;
 		}
 		ChannelAddress other = (ChannelAddress) obj;
-		return this.toString().equals(other.toString());
+		return this.hashCode() == other.hashCode() && this.toString().equals(other.toString());
 	}
 }
@@ -1,13 +1,15 @@
 package io.openems.common.types;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.TreeMap;
-import java.util.stream.Collectors;
 
 import org.osgi.service.metatype.AttributeDefinition;
 import org.osgi.service.metatype.ObjectClassDefinition;
@@ -152,7 +154,7 @@ public class EdgeConfig {
 					}
 				}
 				String text = JsonUtils.getAsOptionalString(json, "text").orElse("");
-				Unit unit = JsonUtils.getAsOptionalEnum(Unit.class, json, "unit").orElse(Unit.NONE);
+				Unit unit = Unit.fromSymbol(JsonUtils.getAsOptionalString(json, "unit").orElse(""));
 				ChannelCategory category = JsonUtils.getAsOptionalEnum(ChannelCategory.class, json, "category")
 						.orElse(ChannelCategory.OPENEMS_TYPE);
 				ChannelDetail detail = null;
@@ -163,7 +165,8 @@ public class EdgeConfig {
 				}
 
 				case ENUM: {
-					Map<String, JsonElement> values = new HashMap<>();
+					// keep the order of the options as they were received
+					Map<String, JsonElement> values = new LinkedHashMap<>();
 					Optional<JsonObject> optionsOpt = JsonUtils.getAsOptionalJsonObject(json, "options");
 					if (optionsOpt.isPresent()) {
 						for (Entry<String, JsonElement> entry : optionsOpt.get().entrySet()) {
@@ -250,6 +253,20 @@ public class EdgeConfig {
 		private final TreeMap<String, JsonElement> properties;
 		private final TreeMap<String, Channel> channels;
 
+		/**
+		 * Index of the Channels by {@link ChannelCategory}; updated on every
+		 * {@link #setChannels(Map)}.
+		 */
+		private final EnumMap<ChannelCategory, Map<String, Channel>> channelsByCategory = new EnumMap<>(
+				ChannelCategory.class);
+
+		/**
+		 * Position of every StateChannel, e.g. for bitmaps; updated on every
+		 * {@link #setChannels(Map)}.
+		 */
+		private final Map<String, Integer> stateChannelIndexes = new HashMap<>();
+		private final List<Channel> stateChannelsByIndex = new ArrayList<>();
+
 		public Component(String servicePid, String id, String alias, String factoryId,
 				TreeMap<String, JsonElement> properties, TreeMap<String, Channel> channels) {
 			this.servicePid = servicePid;
@@ -258,6 +275,7 @@ public class EdgeConfig {
 			this.factoryId = factoryId;
 			this.properties = properties;
 			this.channels = channels;
+			this.updateChannelIndex();
 		}
 
 		public String getPid() {
@@ -291,12 +309,39 @@ public class EdgeConfig {
 		public void setChannels(Map<String, Channel> channels) {
 			this.channels.clear();
 			this.channels.putAll(channels);
+			this.updateChannelIndex();
 		}
 
+		/**
+		 * Rebuilds the indexes of the Channels.
+		 */
+		private void updateChannelIndex() {
+			this.channelsByCategory.clear();
+			this.stateChannelIndexes.clear();
+			this.stateChannelsByIndex.clear();
+			for (Entry<String, Channel> entry : this.channels.entrySet()) {
+				ChannelCategory category = entry.getValue().getDetail().getCategory();
+				this.channelsByCategory.computeIfAbsent(category, c -> new TreeMap<>()) //
+						.put(entry.getKey(), entry.getValue());
+				if (category == ChannelCategory.STATE) {
+					this.stateChannelIndexes.put(entry.getKey(), this.stateChannelsByIndex.size());
+					this.stateChannelsByIndex.add(entry.getValue());
+				}
+			}
+		}
+
+		/**
+		 * Gets the Channels of the given {@link ChannelCategory}.
+		 * 
+		 * @param channelCategory the {@link ChannelCategory}
+		 * @return an unmodifiable Map of Channel-ID to Channel
+		 */
 		public Map<String, Channel> getChannelsOfCategory(ChannelCategory channelCategory) {
-			return this.channels.entrySet().stream()
-					.filter(entry -> entry.getValue().getDetail().getCategory() == channelCategory) //
-					.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+			Map<String, Channel> result = this.channelsByCategory.get(channelCategory);
+			if (result == null) {
+				return Collections.emptyMap();
+			}
+			return Collections.unmodifiableMap(result);
 		}
 
 		public Map<String, Channel> getStateChannels() {
@@ -310,12 +355,7 @@ public class EdgeConfig {
 		 * @return true if it is a StateChannel
 		 */
 		public boolean isStateChannel(String channelId) {
-			return this.channels.entrySet().stream() //
-					.anyMatch(entry ->
-					/* find Channel-ID */
-					entry.getKey().equals(channelId)
-							/* is of type StateChannel */
-							&& entry.getValue().getDetail().getCategory() == ChannelCategory.STATE);
+			return this.stateChannelIndexes.containsKey(channelId);
 		}
 
 		/**
@@ -326,14 +366,39 @@ public class EdgeConfig {
 		 *         StateChannel.
 		 */
 		public Optional<Component.Channel> getStateChannel(String channelId) {
-			return this.channels.entrySet().stream() //
-					.filter(entry ->
-					/* find Channel-ID */
-					entry.getKey().equals(channelId)
-							/* is of type StateChannel */
-							&& entry.getValue().getDetail().getCategory() == ChannelCategory.STATE) //
-					.map(entry -> entry.getValue()) //
-					.findFirst();
+			Integer index = this.stateChannelIndexes.get(channelId);
+			if (index == null) {
+				return Optional.empty();
+			}
+			return Optional.of(this.stateChannelsByIndex.get(index));
+		}
+
+		/**
+		 * Gets the position of the StateChannel with the given Channel-ID among all
+		 * StateChannels of this Component, e.g. for bitmaps.
+		 * 
+		 * @param channelId the Channel-ID
+		 * @return the position; or -1 if the Channel does not exist or is not a
+		 *         StateChannel.
+		 */
+		public int getStateChannelIndex(String channelId) {
+			Integer index = this.stateChannelIndexes.get(channelId);
+			if (index == null) {
+				return -1;
+			}
+			return index;
+		}
+
+		/**
+		 * Gets the StateChannel at the given position.
+		 * 
+		 * @param index the position as returned by {@link #getStateChannelIndex(String)}
+		 * @return the Channel
+		 * @throws IndexOutOfBoundsException if there is no StateChannel at this
+		 *                                   position
+		 */
+		public Component.Channel getStateChannel(int index) {
+			return this.stateChannelsByIndex.get(index);
 		}
 
 		/**
@@ -0,0 +1,247 @@
+package io.openems.common.types;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Describes how to get from one version of an {@link EdgeConfig} to the next.
+ *
+ * <p>
+ * In contrast to {@link EdgeConfigDiff}, which lists changed Component
+ * properties in human readable form, a delta holds the complete JSON of every
+ * created or changed Component and Factory, so it can be applied to the old
+ * version. Deleted Components and Factories are marked with 'null'.
+ *
+ * <p>
+ * Versions are identified by the hash of their JSON representation, see
+ * {@link #hash(JsonObject)}. A delta may only be applied to the version with
+ * its 'baseHash'; the result is the version with its 'hash'.
+ *
+ * <pre>
+ * {
+ *   "baseHash": string,
+ *   "hash": string,
+ *   "components": {
+ *     [id: string]: {@link EdgeConfig.Component#toJson(EdgeConfig.Component.JsonFormat)} | null
+ *   },
+ *   "factories": {
+ *     [id: string]: {@link EdgeConfig.Factory#toJson()} | null
+ *   }
+ * }
+ * </pre>
+ */
+public class EdgeConfigDelta {
+
+	/**
+	 * Gets the hash of an {@link EdgeConfig} in JSON format, as created by
+	 * {@link EdgeConfig#toJson()}.
+	 *
+	 * <p>
+	 * The keys of all JSON Objects are sorted before hashing, so the hash does not
+	 * depend on the order in which the Edge serialized them.
+	 *
+	 * @param config the EdgeConfig as JSON
+	 * @return the hash as hex string
+	 */
+	public static String hash(JsonObject config) {
+		return Hashing.sha256().hashString(canonicalize(config).toString(), StandardCharsets.UTF_8).toString();
+	}
+
+	/**
+	 * Creates a copy of the JSON with the keys of all JSON Objects sorted.
+	 *
+	 * @param element the JSON
+	 * @return the sorted copy
+	 */
+	private static JsonElement canonicalize(JsonElement element) {
+		if (element.isJsonObject()) {
+			TreeMap<String, JsonElement> sorted = new TreeMap<>();
+			for (Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+				sorted.put(entry.getKey(), entry.getValue());
+			}
+			JsonObject result = new JsonObject();
+			for (Entry<String, JsonElement> entry : sorted.entrySet()) {
+				result.add(entry.getKey(), canonicalize(entry.getValue()));
+			}
+			return result;
+
+		} else if (element.isJsonArray()) {
+			JsonArray result = new JsonArray();
+			for (JsonElement item : element.getAsJsonArray()) {
+				result.add(canonicalize(item));
+			}
+			return result;
+
+		} else {
+			return element;
+		}
+	}
+
+	/**
+	 * Finds the delta between two EdgeConfigs.
+	 *
+	 * @param newConfig the new EdgeConfig as JSON
+	 * @param oldConfig the old EdgeConfig as JSON
+	 * @return the {@link EdgeConfigDelta}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static EdgeConfigDelta diff(JsonObject newConfig, JsonObject oldConfig) throws OpenemsNamedException {
+		return new EdgeConfigDelta(hash(oldConfig), hash(newConfig), //
+				diffElements(JsonUtils.getAsJsonObject(newConfig, "components"),
+						JsonUtils.getAsJsonObject(oldConfig, "components")), //
+				diffElements(JsonUtils.getAsJsonObject(newConfig, "factories"),
+						JsonUtils.getAsJsonObject(oldConfig, "factories")));
+	}
+
+	private static TreeMap<String, JsonElement> diffElements(JsonObject newElements, JsonObject oldElements) {
+		TreeMap<String, JsonElement> result = new TreeMap<>();
+		for (Entry<String, JsonElement> entry : newElements.entrySet()) {
+			if (!entry.getValue().equals(oldElements.get(entry.getKey()))) {
+				// created or changed
+				result.put(entry.getKey(), entry.getValue());
+			}
+		}
+		for (Entry<String, JsonElement> entry : oldElements.entrySet()) {
+			if (!newElements.has(entry.getKey())) {
+				// deleted
+				result.put(entry.getKey(), JsonNull.INSTANCE);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates an EdgeConfigDelta from JSON.
+	 *
+	 * @param json the delta in JSON format
+	 * @return the {@link EdgeConfigDelta}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static EdgeConfigDelta fromJson(JsonObject json) throws OpenemsNamedException {
+		String baseHash = JsonUtils.getAsString(json, "baseHash");
+		String hash = JsonUtils.getAsString(json, "hash");
+		TreeMap<String, JsonElement> components = new TreeMap<>();
+		for (Entry<String, JsonElement> entry : JsonUtils.getAsJsonObject(json, "components").entrySet()) {
+			components.put(entry.getKey(), entry.getValue());
+		}
+		TreeMap<String, JsonElement> factories = new TreeMap<>();
+		for (Entry<String, JsonElement> entry : JsonUtils.getAsJsonObject(json, "factories").entrySet()) {
+			factories.put(entry.getKey(), entry.getValue());
+		}
+		return new EdgeConfigDelta(baseHash, hash, components, factories);
+	}
+
+	private final String baseHash;
+	private final String hash;
+	private final TreeMap<String, JsonElement> components;
+	private final TreeMap<String, JsonElement> factories;
+
+	public EdgeConfigDelta(String baseHash, String hash, TreeMap<String, JsonElement> components,
+			TreeMap<String, JsonElement> factories) {
+		this.baseHash = baseHash;
+		this.hash = hash;
+		this.components = components;
+		this.factories = factories;
+	}
+
+	/**
+	 * Gets the hash of the version this delta applies to.
+	 *
+	 * @return the hash
+	 */
+	public String getBaseHash() {
+		return this.baseHash;
+	}
+
+	/**
+	 * Gets the hash of the version this delta results in.
+	 *
+	 * @return the hash
+	 */
+	public String getHash() {
+		return this.hash;
+	}
+
+	/**
+	 * Is this delta empty, i.e. nothing changed?.
+	 *
+	 * @return true if empty
+	 */
+	public boolean isEmpty() {
+		return this.components.isEmpty() && this.factories.isEmpty();
+	}
+
+	/**
+	 * Applies the delta to an {@link EdgeConfig} in JSON format, as created by
+	 * {@link EdgeConfig#toJson()}.
+	 *
+	 * <p>
+	 * The JSON of the Edge is kept as it is, so the 'hash' of the result can be
+	 * verified; a round trip via {@link EdgeConfig#fromJson(JsonObject)} could
+	 * normalize details of older Edges. The base JSON is not modified; unchanged
+	 * Components and Factories are shared.
+	 *
+	 * @param base the EdgeConfig with version 'baseHash' as JSON
+	 * @return a new EdgeConfig with version 'hash' as JSON
+	 * @throws OpenemsNamedException on error
+	 */
+	public JsonObject apply(JsonObject base) throws OpenemsNamedException {
+		return JsonUtils.buildJsonObject() //
+				.add("components", applyElements(JsonUtils.getAsJsonObject(base, "components"), this.components)) //
+				.add("factories", applyElements(JsonUtils.getAsJsonObject(base, "factories"), this.factories)) //
+				.build();
+	}
+
+	private static JsonObject applyElements(JsonObject baseElements, TreeMap<String, JsonElement> delta) {
+		// EdgeConfig holds Components and Factories sorted by ID
+		TreeMap<String, JsonElement> elements = new TreeMap<>();
+		for (Entry<String, JsonElement> entry : baseElements.entrySet()) {
+			elements.put(entry.getKey(), entry.getValue());
+		}
+		for (Entry<String, JsonElement> entry : delta.entrySet()) {
+			if (entry.getValue().isJsonNull()) {
+				elements.remove(entry.getKey());
+			} else {
+				elements.put(entry.getKey(), entry.getValue());
+			}
+		}
+		JsonObject result = new JsonObject();
+		for (Entry<String, JsonElement> entry : elements.entrySet()) {
+			result.add(entry.getKey(), entry.getValue());
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the delta as a JSON Object.
+	 *
+	 * @return the delta as JSON
+	 */
+	public JsonObject toJson() {
+		JsonObject components = new JsonObject();
+		for (Entry<String, JsonElement> entry : this.components.entrySet()) {
+			components.add(entry.getKey(), entry.getValue());
+		}
+		JsonObject factories = new JsonObject();
+		for (Entry<String, JsonElement> entry : this.factories.entrySet()) {
+			factories.add(entry.getKey(), entry.getValue());
+		}
+		return JsonUtils.buildJsonObject() //
+				.addProperty("baseHash", this.baseHash) //
+				.addProperty("hash", this.hash) //
+				.add("components", components) //
+				.add("factories", factories) //
+				.build();
+	}
+
+}
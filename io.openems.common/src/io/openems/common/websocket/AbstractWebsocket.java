@@ -4,10 +4,19 @@ import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 
+import io.openems.common.jsonrpc.base.JsonrpcMessageReader;
+
 public abstract class AbstractWebsocket<T extends WsData> {
 
 	private final String name;
 
+	/**
+	 * Reads incoming JSON-RPC messages. Register a
+	 * {@link JsonrpcMessageReader.NotificationReader} to decode high-volume
+	 * Notifications without building a Gson tree first.
+	 */
+	protected final JsonrpcMessageReader jsonrpcMessageReader = new JsonrpcMessageReader();
+
 	/**
 	 * Creates an empty WsData object that is attached to the WebSocket as early as
 	 * possible
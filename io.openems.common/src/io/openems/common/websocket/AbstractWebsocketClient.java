@@ -24,6 +24,7 @@ import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponse;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.utils.StringUtils;
 
 /**
@@ -44,6 +45,13 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 	private final URI serverUri;
 	private final ClientReconnectorWorker reconnectorWorker;
 
+	/**
+	 * Holds the Encoder for binary TimestampedData, if it was accepted by the
+	 * server on handshake; it is replaced on every new connection.
+	 */
+	private volatile TimestampedDataCodec.Encoder timestampedDataEncoder = null;
+	private boolean timestampedDataDeflate = false;
+
 	protected AbstractWebsocketClient(String name, URI serverUri) {
 		this(name, serverUri, DEFAULT_DRAFT, NO_HTTP_HEADERS, NO_PROXY);
 	}
@@ -65,6 +73,12 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 			@Override
 			public void onOpen(ServerHandshake handshake) {
 				JsonObject jHandshake = WebsocketUtils.handshakeToJsonObject(handshake);
+				if (TimestampedDataCodec.isAccepted(jHandshake)) {
+					AbstractWebsocketClient.this.timestampedDataEncoder = new TimestampedDataCodec.Encoder(
+							AbstractWebsocketClient.this.timestampedDataDeflate);
+				} else {
+					AbstractWebsocketClient.this.timestampedDataEncoder = null;
+				}
 				CompletableFuture.runAsync(
 						new OnOpenHandler(AbstractWebsocketClient.this, AbstractWebsocketClient.this.ws, jHandshake));
 			}
@@ -72,7 +86,8 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 			@Override
 			public void onMessage(String stringMessage) {
 				try {
-					JsonrpcMessage message = JsonrpcMessage.from(stringMessage);
+					JsonrpcMessage message = AbstractWebsocketClient.this.jsonrpcMessageReader
+							.read(stringMessage);
 					if (message instanceof JsonrpcRequest) {
 						CompletableFuture.runAsync(new OnRequestHandler(AbstractWebsocketClient.this, ws,
 								(JsonrpcRequest) message, (response) -> {
@@ -100,6 +115,7 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 
 			@Override
 			public void onClose(int code, String reason, boolean remote) {
+				AbstractWebsocketClient.this.timestampedDataEncoder = null;
 				CompletableFuture.runAsync(new OnCloseHandler(AbstractWebsocketClient.this, ws, code, reason, remote));
 
 				AbstractWebsocketClient.this.log.info(
@@ -161,9 +177,28 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 		};
 	};
 
+	/**
+	 * Compress binary TimestampedData with deflate. Binary TimestampedData is
+	 * offered to the server via the {@link TimestampedDataCodec#HTTP_HEADER}
+	 * HTTP header.
+	 * 
+	 * @param deflate true to compress
+	 */
+	public void setTimestampedDataDeflate(boolean deflate) {
+		this.timestampedDataDeflate = deflate;
+	}
+
 	public void sendMessageOrError(JsonrpcMessage message) throws OpenemsException {
 		try {
-			this.ws.send(message.toString());
+			TimestampedDataCodec.Encoder encoder = this.timestampedDataEncoder;
+			if (encoder != null && message instanceof TimestampedDataNotification) {
+				// Encoding and sending must keep the order of frames
+				synchronized (encoder) {
+					this.ws.send(encoder.encode((TimestampedDataNotification) message));
+				}
+			} else {
+				this.ws.send(message.toString());
+			}
 		} catch (Exception e) {
 			if (e instanceof WebsocketNotConnectedException) {
 				AbstractWebsocketClient.this.reconnectorWorker.triggerNextRun();
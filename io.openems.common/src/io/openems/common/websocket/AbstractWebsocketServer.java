@@ -3,11 +3,16 @@ package io.openems.common.websocket;
 import java.io.IOException;
 import java.net.BindException;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.exceptions.InvalidDataException;
+import org.java_websocket.framing.CloseFrame;
 import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.handshake.ServerHandshakeBuilder;
 import org.java_websocket.server.WebSocketServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +25,7 @@ import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponse;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 
 public abstract class AbstractWebsocketServer<T extends WsData> extends AbstractWebsocket<T> {
 
@@ -40,12 +46,28 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 			public void onStart() {
 			}
 
+			@Override
+			public ServerHandshakeBuilder onWebsocketHandshakeReceivedAsServer(WebSocket ws, Draft draft,
+					ClientHandshake request) throws InvalidDataException {
+				ServerHandshakeBuilder response = super.onWebsocketHandshakeReceivedAsServer(ws, draft, request);
+				// Accept binary TimestampedData if offered by the client
+				if (AbstractWebsocketServer.this.isBinaryTimestampedDataSupported() && TimestampedDataCodec.BINARY_V1
+						.equalsIgnoreCase(request.getFieldValue(TimestampedDataCodec.HTTP_HEADER).trim())) {
+					response.put(TimestampedDataCodec.HTTP_HEADER, TimestampedDataCodec.BINARY_V1);
+				}
+				return response;
+			}
+
 			@Override
 			public void onOpen(WebSocket ws, ClientHandshake handshake) {
 				T wsData = AbstractWebsocketServer.this.createWsData();
 				wsData.setWebsocket(ws);
 				ws.setAttachment(wsData);
 				JsonObject jHandshake = WebsocketUtils.handshakeToJsonObject(handshake);
+				if (AbstractWebsocketServer.this.isBinaryTimestampedDataSupported()
+						&& TimestampedDataCodec.isAccepted(jHandshake)) {
+					wsData.setTimestampedDataDecoder(new TimestampedDataCodec.Decoder());
+				}
 				CompletableFuture.runAsync(new OnOpenHandler(AbstractWebsocketServer.this, ws, jHandshake));
 			}
 
@@ -54,7 +76,7 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 				try {
 					JsonrpcMessage message;
 					try {
-						message = JsonrpcMessage.from(stringMessage);
+						message = AbstractWebsocketServer.this.jsonrpcMessageReader.read(stringMessage);
 
 					} catch (OpenemsNamedException e) {
 						// handle deprecated non-JSON-RPC messages
@@ -81,6 +103,25 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 				}
 			}
 
+			@Override
+			public void onMessage(WebSocket ws, ByteBuffer bytes) {
+				WsData wsData = ws.getAttachment();
+				try {
+					TimestampedDataCodec.Decoder decoder = wsData.getTimestampedDataDecoder();
+					if (decoder == null) {
+						throw new OpenemsException("Binary message was not negotiated");
+					}
+					// Decode synchronously to keep the order of frames
+					TimestampedDataNotification message = decoder.decode(bytes);
+					CompletableFuture.runAsync(new OnNotificationHandler(AbstractWebsocketServer.this, ws, message));
+
+				} catch (OpenemsNamedException e) {
+					AbstractWebsocketServer.this.handleInternalErrorAsync(e);
+					// State of the Decoder is undefined -> force reconnect
+					ws.close(CloseFrame.PROTOCOL_ERROR, "Invalid binary message: " + e.getMessage());
+				}
+			}
+
 			@Override
 			public void onError(WebSocket ws, Exception ex) {
 				if (ws == null) {
@@ -166,6 +207,17 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		this.log.error("Stopping websocket server [" + this.getName() + "] failed too often.");
 	}
 
+	/**
+	 * Does this server accept {@link TimestampedDataNotification}s in the binary
+	 * format of {@link TimestampedDataCodec}?. Defaults to false; only clients
+	 * that offer the format on handshake make use of it.
+	 * 
+	 * @return true if binary TimestampedData is supported
+	 */
+	protected boolean isBinaryTimestampedDataSupported() {
+		return false;
+	}
+
 	/**
 	 * Convert deprecated Non-JSON-RPC messages to JSON-RPC messages.
 	 * 
@@ -1,46 +1,38 @@
 package io.openems.common.websocket;
 
-import java.util.Optional;
+import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
 
-import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.notification.CurrentDataNotification;
 import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
 import io.openems.common.session.Role;
 import io.openems.common.types.ChannelAddress;
 
-public abstract class SubscribedChannelsWorker {
+/**
+ * Regularly sends the values of the subscribed Channels to a websocket. The
+ * updates are scheduled by the {@link SubscriptionScheduler} of the websocket
+ * server.
+ */
+public abstract class SubscribedChannelsWorker implements SubscriptionScheduler.Subscription {
 
-	protected final static int UPDATE_INTERVAL_IN_SECONDS = 2;
+	protected final static int UPDATE_INTERVAL_IN_SECONDS = SubscriptionScheduler.UPDATE_INTERVAL_IN_SECONDS;
 
 	private final Logger log = LoggerFactory.getLogger(SubscribedChannelsWorker.class);
 
 	/**
-	 * Executor for subscriptions task
+	 * Holds subscribed channels; replaced on every change, so it can be shared as
+	 * key in a {@link SubscriptionScheduler.Snapshot}.
 	 */
-	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
-
-	/**
-	 * Holds subscribed channels
-	 */
-	private final TreeSet<ChannelAddress> channels = new TreeSet<>();
-
-	/**
-	 * Holds the scheduled task for currentData
-	 */
-	private Optional<ScheduledFuture<?>> futureOpt = Optional.empty();
+	private Set<ChannelAddress> channels = Collections.emptySet();
 
 	protected final WsData wsData;
 
@@ -69,57 +61,105 @@ public abstract class SubscribedChannelsWorker {
 	 * @param channels Set of ChannelAddresses
 	 */
 	private synchronized void setChannels(Set<ChannelAddress> channels) {
-		// stop current thread
-		if (this.futureOpt.isPresent()) {
-			this.futureOpt.get().cancel(true);
-			this.futureOpt = Optional.empty();
-		}
+		this.channels = Collections.unmodifiableSet(new TreeSet<>(channels));
 
-		// clear existing channels
-		this.channels.clear();
-
-		// set new channels
-		this.channels.addAll(channels);
-
-		if (!channels.isEmpty()) {
-			// registered channels -> create new thread
-			this.futureOpt = Optional.of(this.executor.scheduleWithFixedDelay(() -> {
-				/*
-				 * This task is executed regularly. Sends data to Websocket.
-				 */
-				WebSocket ws = this.wsData.getWebsocket();
-				if (ws == null || !ws.isOpen()) {
-					// disconnected; stop worker
-					this.dispose();
-					return;
-				}
-
-				try {
-					this.wsData.send(this.getJsonRpcNotification(this.getCurrentData()));
-				} catch (OpenemsException e) {
-					this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
-				}
-
-			}, 0, UPDATE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS));
+		if (channels.isEmpty()) {
+			this.dispose();
+		} else {
+			// registered channels -> send now and then regularly
+			this.getScheduler().add(this);
 		}
 	}
 
 	public void dispose() {
 		// unsubscribe regular task
-		if (this.futureOpt.isPresent()) {
-			futureOpt.get().cancel(true);
+		this.getScheduler().remove(this);
+	}
+
+	/**
+	 * Gets the {@link SubscriptionScheduler} that serves this worker, i.e. the one
+	 * of the websocket server.
+	 * 
+	 * @return the {@link SubscriptionScheduler}
+	 */
+	protected abstract SubscriptionScheduler getScheduler();
+
+	/**
+	 * Gets the subscribed Channels.
+	 * 
+	 * @return an unmodifiable Set of ChannelAddresses
+	 */
+	protected synchronized Set<ChannelAddress> getChannels() {
+		return this.channels;
+	}
+
+	/**
+	 * Gets the key of the group of this Subscription. All workers of one websocket
+	 * server share their Channel values by default; override to group e.g. by
+	 * Edge-ID.
+	 * 
+	 * @return the group key
+	 */
+	@Override
+	public Object getGroupKey() {
+		return this.getClass();
+	}
+
+	/**
+	 * This task is executed regularly. Sends data to Websocket.
+	 * 
+	 * @param snapshot the {@link SubscriptionScheduler.Snapshot} of the group
+	 * @return false if the websocket is disconnected
+	 */
+	@Override
+	public boolean update(SubscriptionScheduler.Snapshot snapshot) {
+		WebSocket ws = this.wsData.getWebsocket();
+		if (ws == null || !ws.isOpen()) {
+			// disconnected; stop worker
+			return false;
+		}
+
+		Set<ChannelAddress> channels = this.getChannels();
+		if (channels.isEmpty()) {
+			return false;
+		}
+
+		// Viewers with the same subscription share one serialized message
+		String message = snapshot.computeIfAbsent(channels,
+				key -> this.getJsonRpcNotification(this.getCurrentData(channels, snapshot)).toString());
+		return this.send(ws, message);
+	}
+
+	/**
+	 * Sends a serialized JSON-RPC Notification to the websocket.
+	 * 
+	 * @param ws      the {@link WebSocket}
+	 * @param message the serialized Notification
+	 * @return false if the websocket is disconnected
+	 */
+	protected boolean send(WebSocket ws, String message) {
+		try {
+			ws.send(message);
+			return true;
+		} catch (WebsocketNotConnectedException e) {
+			this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
+			return false;
 		}
 	}
 
 	/**
-	 * Gets a JSON-RPC Notification with all subscribed channels data
+	 * Gets a JSON-RPC Notification with all subscribed channels data.
 	 *
-	 * @return
+	 * @param channels the subscribed Channels
+	 * @param snapshot the {@link SubscriptionScheduler.Snapshot} of the group
+	 * @return the CurrentDataNotification
 	 */
-	private CurrentDataNotification getCurrentData() {
+	private CurrentDataNotification getCurrentData(Set<ChannelAddress> channels,
+			SubscriptionScheduler.Snapshot snapshot) {
 		CurrentDataNotification result = new CurrentDataNotification();
-		for (ChannelAddress channel : this.channels) {
-			JsonElement value = this.getChannelValue(channel);
+		for (ChannelAddress channel : channels) {
+			JsonElement value = snapshot.computeIfAbsent(channel,
+					key -> this.getChannelValue(channel));
 			result.add(channel, value);
 		}
 		return result;
@@ -0,0 +1,266 @@
+package io.openems.common.websocket;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves the subscriptions of all websocket connections - like
+ * {@link SubscribedChannelsWorker} - from one timer thread and a bounded pool
+ * of worker threads, instead of one thread per connection.
+ *
+ * <p>
+ * On every tick the {@link Subscription}s are grouped by their
+ * {@link Subscription#getGroupKey()}, e.g. the Edge-ID. Every group is served
+ * by one job on the worker pool; the Subscriptions of a group share one
+ * {@link Snapshot}, so values and even whole serialized notifications are
+ * created only once per group and tick - no matter how many connections view
+ * the same Edge.
+ *
+ * <p>
+ * A Subscription is never served by two threads at the same time. If it is
+ * requested while it is being served - e.g. by {@link #add(Subscription)}
+ * during a tick - it is served once more afterwards.
+ *
+ * <p>
+ * Every websocket server owns its {@link SubscriptionScheduler} and stops it
+ * via {@link #shutdown()} when it is deactivated.
+ */
+public class SubscriptionScheduler {
+
+	public static final int UPDATE_INTERVAL_IN_SECONDS = 2;
+
+	/**
+	 * A subscription that is served regularly.
+	 */
+	public interface Subscription {
+
+		/**
+		 * Gets the key of the group of this Subscription. Subscriptions with equal
+		 * keys share one {@link Snapshot} per tick.
+		 *
+		 * @return the group key; not null
+		 */
+		public Object getGroupKey();
+
+		/**
+		 * Serves the Subscription, e.g. sends current data to the websocket.
+		 *
+		 * @param snapshot the {@link Snapshot} shared within the group
+		 * @return false if the Subscription should be removed, e.g. because the
+		 *         websocket was closed
+		 */
+		public boolean update(Snapshot snapshot);
+
+	}
+
+	/**
+	 * Values that are shared by the Subscriptions of one group within one tick.
+	 * Not thread-safe; it is only used by the job of one group.
+	 */
+	public static class Snapshot {
+
+		private final Map<Object, Object> values = new HashMap<>();
+
+		/**
+		 * Gets the value for the given key; computes it once per tick.
+		 *
+		 * @param <T>      the type of the value
+		 * @param key      the key
+		 * @param function computes the value
+		 * @return the value
+		 */
+		@SuppressWarnings("unchecked")
+		public <T> T computeIfAbsent(Object key, Function<Object, T> function) {
+			return (T) this.values.computeIfAbsent(key, function);
+		}
+
+	}
+
+	private final Logger log = LoggerFactory.getLogger(SubscriptionScheduler.class);
+
+	private final ScheduledExecutorService timer;
+	private final ExecutorService workers;
+
+	/**
+	 * The Subscriptions with the number of requests to serve them; see
+	 * {@link #serve(Subscription, Snapshot)}.
+	 */
+	private final Map<Subscription, AtomicInteger> subscriptions = new ConcurrentHashMap<>();
+
+	/**
+	 * Groups that are currently served; they are skipped on the next tick
+	 * instead of piling up jobs.
+	 */
+	private final Set<Object> busyGroups = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Creates a {@link SubscriptionScheduler} with one worker thread per
+	 * available processor - at least two - and an update interval of
+	 * {@link #UPDATE_INTERVAL_IN_SECONDS}.
+	 */
+	public SubscriptionScheduler() {
+		this(Math.max(2, Runtime.getRuntime().availableProcessors()), UPDATE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Creates a {@link SubscriptionScheduler}.
+	 *
+	 * @param noOfWorkers the number of worker threads
+	 * @param interval    the update interval
+	 * @param unit        the {@link TimeUnit} of the interval
+	 */
+	public SubscriptionScheduler(int noOfWorkers, long interval, TimeUnit unit) {
+		this.timer = Executors.newSingleThreadScheduledExecutor(threadFactory("SubscriptionScheduler-Timer"));
+		this.workers = Executors.newFixedThreadPool(noOfWorkers, threadFactory("SubscriptionScheduler-Worker"));
+		this.timer.scheduleWithFixedDelay(this::tick, interval, interval, unit);
+	}
+
+	/**
+	 * Creates a {@link SubscriptionScheduler} without timer; the
+	 * {@link Subscription}s are served on every call to {@link #tick()}. Used by
+	 * tests.
+	 *
+	 * @param workers the {@link ExecutorService} that serves the Subscriptions
+	 */
+	SubscriptionScheduler(ExecutorService workers) {
+		this.timer = null;
+		this.workers = workers;
+	}
+
+	/**
+	 * Adds a {@link Subscription}. It is served immediately and then on every
+	 * tick. Adding it again triggers another immediate update, e.g. after the
+	 * subscribed Channels changed.
+	 *
+	 * @param subscription the {@link Subscription}
+	 */
+	public void add(Subscription subscription) {
+		this.subscriptions.putIfAbsent(subscription, new AtomicInteger());
+		this.workers.execute(() -> this.serve(subscription, new Snapshot()));
+	}
+
+	/**
+	 * Removes a {@link Subscription}.
+	 *
+	 * @param subscription the {@link Subscription}
+	 */
+	public void remove(Subscription subscription) {
+		this.subscriptions.remove(subscription);
+	}
+
+	/**
+	 * Gets the number of {@link Subscription}s.
+	 *
+	 * @return the number of Subscriptions
+	 */
+	public int getNoOfSubscriptions() {
+		return this.subscriptions.size();
+	}
+
+	/**
+	 * Stops the timer and the worker threads.
+	 */
+	public void shutdown() {
+		if (this.timer != null) {
+			this.timer.shutdownNow();
+		}
+		this.workers.shutdownNow();
+	}
+
+	/**
+	 * Serves all {@link Subscription}s, one job per group. Called by the timer on
+	 * every update interval.
+	 */
+	void tick() {
+		// Group Subscriptions
+		Map<Object, List<Subscription>> groups = new HashMap<>();
+		for (Subscription subscription : this.subscriptions.keySet()) {
+			groups.computeIfAbsent(subscription.getGroupKey(), k -> new ArrayList<>()).add(subscription);
+		}
+
+		// Serve every group in one job
+		for (Entry<Object, List<Subscription>> group : groups.entrySet()) {
+			if (!this.busyGroups.add(group.getKey())) {
+				// still busy from last tick
+				continue;
+			}
+			try {
+				this.workers.execute(() -> {
+					try {
+						Snapshot snapshot = new Snapshot();
+						for (Subscription subscription : group.getValue()) {
+							this.serve(subscription, snapshot);
+						}
+					} finally {
+						this.busyGroups.remove(group.getKey());
+					}
+				});
+			} catch (RuntimeException e) {
+				this.busyGroups.remove(group.getKey());
+				this.log.warn("Unable to serve Subscriptions: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Serves the Subscription, unless it is being served by another thread. That
+	 * thread then sees the additional request and serves it once more with a new
+	 * {@link Snapshot}.
+	 *
+	 * @param subscription the {@link Subscription}
+	 * @param snapshot     the {@link Snapshot} shared within the group
+	 */
+	private void serve(Subscription subscription, Snapshot snapshot) {
+		AtomicInteger requests = this.subscriptions.get(subscription);
+		if (requests == null) {
+			// removed in the meantime
+			return;
+		}
+		if (requests.getAndIncrement() != 0) {
+			// being served by another thread
+			return;
+		}
+		int handled = 1;
+		do {
+			if (this.subscriptions.get(subscription) != requests) {
+				// removed in the meantime
+				return;
+			}
+			try {
+				if (!subscription.update(snapshot)) {
+					this.remove(subscription);
+				}
+			} catch (RuntimeException e) {
+				this.log.warn(
+						"Unable to serve Subscription: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
+			snapshot = new Snapshot();
+			handled = requests.addAndGet(-handled);
+		} while (handled != 0);
+	}
+
+	private static ThreadFactory threadFactory(String name) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+}
@@ -0,0 +1,425 @@
+package io.openems.common.websocket;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Encodes and decodes {@link TimestampedDataNotification}s in a compact binary
+ * format, as an alternative to JSON-RPC text messages.
+ *
+ * <p>
+ * The client offers the format via {@link #HTTP_HEADER} on websocket
+ * handshake; a server that supports it answers with the same header. Without
+ * that answer the client keeps sending JSON-RPC - so old peers on either side
+ * keep working.
+ *
+ * <p>
+ * The format is stateful per websocket connection: ChannelAddresses are
+ * transmitted only once and are referenced by index afterwards; integer values
+ * are transmitted as variable-length delta to the previous value of the same
+ * Channel. {@link Encoder} and {@link Decoder} have to be created freshly for
+ * every connection and frames have to be decoded in the order they were
+ * encoded.
+ *
+ * <pre>
+ * frame     = header body             ; body is deflated if header has FLAG_DEFLATE
+ * header    = 1 byte: VERSION [| FLAG_DEFLATE]
+ * body      = varint noOfNewAddresses, *string   ; appended to the dictionary
+ *             varint noOfTimestamps, *timestamp
+ * timestamp = varlong delta           ; to the previous timestamp; first one absolute
+ *             varint noOfValues, *value
+ * value     = varint index, byte type, payload
+ * string    = varint length, UTF-8 bytes
+ * </pre>
+ */
+public class TimestampedDataCodec {
+
+	/**
+	 * HTTP Header to negotiate the binary format on websocket handshake.
+	 */
+	public static final String HTTP_HEADER = "openems-data-encoding";
+
+	/**
+	 * Value of {@link #HTTP_HEADER} for version 1 of the binary format.
+	 */
+	public static final String BINARY_V1 = "binary-v1";
+
+	private static final byte VERSION = 0x01;
+	private static final byte FLAG_DEFLATE = (byte) 0x80;
+
+	private static final byte TYPE_NULL = 0;
+	private static final byte TYPE_LONG = 1;
+	private static final byte TYPE_DOUBLE = 2;
+	private static final byte TYPE_STRING = 3;
+	private static final byte TYPE_TRUE = 4;
+	private static final byte TYPE_FALSE = 5;
+	private static final byte TYPE_JSON = 6;
+
+	/**
+	 * Limits the memory a peer can allocate on the decoding side.
+	 */
+	private static final int MAX_DICTIONARY_SIZE = 100_000;
+	private static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+	/**
+	 * Is the binary format accepted by the given handshake?.
+	 *
+	 * @param handshake the handshake as JsonObject, see
+	 *                  {@link WebsocketUtils#handshakeToJsonObject}
+	 * @return true if the handshake has {@link #HTTP_HEADER} with value
+	 *         {@link #BINARY_V1}
+	 */
+	public static boolean isAccepted(JsonObject handshake) {
+		for (Entry<String, JsonElement> entry : handshake.entrySet()) {
+			if (entry.getKey().equalsIgnoreCase(HTTP_HEADER) && entry.getValue().isJsonPrimitive()) {
+				return BINARY_V1.equalsIgnoreCase(entry.getValue().getAsString().trim());
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Encodes {@link TimestampedDataNotification}s for one websocket connection.
+	 * Not thread-safe; encoding and sending of a frame must happen atomically.
+	 */
+	public static class Encoder {
+
+		private static class Slot {
+			private final int index;
+			private long lastValue = 0;
+
+			private Slot(int index) {
+				this.index = index;
+			}
+		}
+
+		private final boolean deflate;
+		private final Map<ChannelAddress, Slot> dictionary = new HashMap<>();
+
+		/**
+		 * Creates an {@link Encoder}.
+		 *
+		 * @param deflate compress the frames with deflate
+		 */
+		public Encoder(boolean deflate) {
+			this.deflate = deflate;
+		}
+
+		/**
+		 * Encodes a {@link TimestampedDataNotification} to a binary frame.
+		 *
+		 * @param notification the {@link TimestampedDataNotification}
+		 * @return the frame
+		 */
+		public byte[] encode(TimestampedDataNotification notification) {
+			Map<Long, Map<ChannelAddress, JsonElement>> rows = notification.getData().rowMap();
+
+			// Add new ChannelAddresses to dictionary
+			List<ChannelAddress> newAddresses = new ArrayList<>();
+			for (Map<ChannelAddress, JsonElement> row : rows.values()) {
+				for (ChannelAddress address : row.keySet()) {
+					if (!this.dictionary.containsKey(address)) {
+						this.dictionary.put(address, new Slot(this.dictionary.size()));
+						newAddresses.add(address);
+					}
+				}
+			}
+
+			Output out = new Output();
+			out.writeVarLong(newAddresses.size());
+			for (ChannelAddress address : newAddresses) {
+				out.writeString(address.toString());
+			}
+			out.writeVarLong(rows.size());
+			long lastTimestamp = 0;
+			for (Entry<Long, Map<ChannelAddress, JsonElement>> row : rows.entrySet()) {
+				out.writeVarLong(zigzag(row.getKey() - lastTimestamp));
+				lastTimestamp = row.getKey();
+				out.writeVarLong(row.getValue().size());
+				for (Entry<ChannelAddress, JsonElement> value : row.getValue().entrySet()) {
+					Slot slot = this.dictionary.get(value.getKey());
+					out.writeVarLong(slot.index);
+					this.writeValue(out, slot, value.getValue());
+				}
+			}
+
+			byte[] body = out.toByteArray();
+			if (!this.deflate) {
+				byte[] frame = new byte[body.length + 1];
+				frame[0] = VERSION;
+				System.arraycopy(body, 0, frame, 1, body.length);
+				return frame;
+			}
+
+			Deflater deflater = new Deflater();
+			try {
+				deflater.setInput(body);
+				deflater.finish();
+				ByteArrayOutputStream frame = new ByteArrayOutputStream(body.length / 2 + 16);
+				frame.write(VERSION | FLAG_DEFLATE);
+				byte[] buffer = new byte[4096];
+				while (!deflater.finished()) {
+					int length = deflater.deflate(buffer);
+					frame.write(buffer, 0, length);
+				}
+				return frame.toByteArray();
+			} finally {
+				deflater.end();
+			}
+		}
+
+		private void writeValue(Output out, Slot slot, JsonElement element) {
+			if (element == null || element.isJsonNull()) {
+				out.write(TYPE_NULL);
+
+			} else if (element.isJsonPrimitive()) {
+				JsonPrimitive primitive = element.getAsJsonPrimitive();
+				if (primitive.isBoolean()) {
+					out.write(primitive.getAsBoolean() ? TYPE_TRUE : TYPE_FALSE);
+
+				} else if (primitive.isString()) {
+					out.write(TYPE_STRING);
+					out.writeString(primitive.getAsString());
+
+				} else {
+					Number number = primitive.getAsNumber();
+					Long longValue = toLong(number);
+					if (longValue != null) {
+						out.write(TYPE_LONG);
+						out.writeVarLong(zigzag(longValue - slot.lastValue));
+						slot.lastValue = longValue;
+					} else {
+						out.write(TYPE_DOUBLE);
+						out.writeLong(Double.doubleToLongBits(number.doubleValue()));
+					}
+				}
+
+			} else {
+				out.write(TYPE_JSON);
+				out.writeString(element.toString());
+			}
+		}
+
+		/**
+		 * Gets the value as long if it is integral in its JSON representation - i.e.
+		 * "5" but not "5.0" - so that the decoded value renders exactly like the
+		 * original one.
+		 *
+		 * @param number the Number
+		 * @return the long value; or null
+		 */
+		private static Long toLong(Number number) {
+			if (number instanceof Integer || number instanceof Long || number instanceof Short
+					|| number instanceof Byte) {
+				return number.longValue();
+			}
+			if (number instanceof Double || number instanceof Float) {
+				return null;
+			}
+			try {
+				return Long.parseLong(number.toString());
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Decodes binary frames of one websocket connection to
+	 * {@link TimestampedDataNotification}s. Not thread-safe; frames must be
+	 * decoded in the order they were received.
+	 */
+	public static class Decoder {
+
+		private static class Slot {
+			private final ChannelAddress address;
+			private long lastValue = 0;
+
+			private Slot(ChannelAddress address) {
+				this.address = address;
+			}
+		}
+
+		private final List<Slot> dictionary = new ArrayList<>();
+
+		/**
+		 * Decodes a binary frame.
+		 *
+		 * <p>
+		 * After an error the state of the Decoder is undefined; the connection should
+		 * be closed.
+		 *
+		 * @param frame the frame
+		 * @return the {@link TimestampedDataNotification}
+		 * @throws OpenemsNamedException on error
+		 */
+		public TimestampedDataNotification decode(ByteBuffer frame) throws OpenemsNamedException {
+			try {
+				if (!frame.hasRemaining()) {
+					throw new OpenemsException("Binary frame is empty");
+				}
+				byte header = frame.get();
+				if ((header & ~FLAG_DEFLATE) != VERSION) {
+					throw new OpenemsException("Unsupported binary frame version [" + (header & ~FLAG_DEFLATE) + "]");
+				}
+				ByteBuffer body = (header & FLAG_DEFLATE) != 0 ? inflate(frame) : frame;
+
+				long noOfNewAddresses = readVarLong(body);
+				if (noOfNewAddresses < 0 || this.dictionary.size() + noOfNewAddresses > MAX_DICTIONARY_SIZE) {
+					throw new OpenemsException("Binary frame exceeds the dictionary size [" + MAX_DICTIONARY_SIZE + "]");
+				}
+				for (long i = 0; i < noOfNewAddresses; i++) {
+					this.dictionary.add(new Slot(ChannelAddress.fromString(readString(body))));
+				}
+
+				TimestampedDataNotification result = new TimestampedDataNotification();
+				long noOfTimestamps = readVarLong(body);
+				long timestamp = 0;
+				for (long i = 0; i < noOfTimestamps; i++) {
+					timestamp += unzigzag(readVarLong(body));
+					long noOfValues = readVarLong(body);
+					for (long j = 0; j < noOfValues; j++) {
+						long index = readVarLong(body);
+						if (index < 0 || index >= this.dictionary.size()) {
+							throw new OpenemsException("Binary frame references unknown ChannelAddress [" + index + "]");
+						}
+						Slot slot = this.dictionary.get((int) index);
+						result.add(timestamp, slot.address, this.readValue(body, slot));
+					}
+				}
+				return result;
+
+			} catch (BufferUnderflowException | DataFormatException e) {
+				throw new OpenemsException("Binary frame is invalid: " + e.getClass().getSimpleName());
+			}
+		}
+
+		private JsonElement readValue(ByteBuffer body, Slot slot) throws OpenemsNamedException {
+			byte type = body.get();
+			switch (type) {
+			case TYPE_NULL:
+				return JsonNull.INSTANCE;
+			case TYPE_LONG:
+				slot.lastValue += unzigzag(readVarLong(body));
+				return new JsonPrimitive(slot.lastValue);
+			case TYPE_DOUBLE:
+				return new JsonPrimitive(Double.longBitsToDouble(body.getLong()));
+			case TYPE_STRING:
+				return new JsonPrimitive(readString(body));
+			case TYPE_TRUE:
+				return new JsonPrimitive(true);
+			case TYPE_FALSE:
+				return new JsonPrimitive(false);
+			case TYPE_JSON:
+				return JsonUtils.parse(readString(body));
+			}
+			throw new OpenemsException("Binary frame has unknown value type [" + type + "]");
+		}
+
+		private static ByteBuffer inflate(ByteBuffer frame) throws DataFormatException, OpenemsException {
+			byte[] input = new byte[frame.remaining()];
+			frame.get(input);
+			Inflater inflater = new Inflater();
+			try {
+				inflater.setInput(input);
+				ByteArrayOutputStream body = new ByteArrayOutputStream(input.length * 4);
+				byte[] buffer = new byte[4096];
+				while (!inflater.finished()) {
+					int length = inflater.inflate(buffer);
+					if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+						throw new DataFormatException("Truncated deflate stream");
+					}
+					body.write(buffer, 0, length);
+					if (body.size() > MAX_FRAME_SIZE) {
+						throw new OpenemsException("Binary frame exceeds [" + MAX_FRAME_SIZE + "] bytes");
+					}
+				}
+				return ByteBuffer.wrap(body.toByteArray());
+			} finally {
+				inflater.end();
+			}
+		}
+	}
+
+	/**
+	 * Growable output buffer with varint support.
+	 */
+	private static class Output extends ByteArrayOutputStream {
+
+		private Output() {
+			super(1024);
+		}
+
+		private void writeVarLong(long value) {
+			while ((value & ~0x7FL) != 0) {
+				this.write((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			this.write((int) value);
+		}
+
+		private void writeLong(long value) {
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				this.write((int) (value >>> shift));
+			}
+		}
+
+		private void writeString(String value) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			this.writeVarLong(bytes.length);
+			this.write(bytes, 0, bytes.length);
+		}
+	}
+
+	private static long readVarLong(ByteBuffer buffer) throws OpenemsException {
+		long result = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			result |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new OpenemsException("Binary frame has invalid varint");
+	}
+
+	private static String readString(ByteBuffer buffer) throws OpenemsException {
+		long length = readVarLong(buffer);
+		if (length < 0 || length > buffer.remaining()) {
+			throw new OpenemsException("Binary frame has invalid string length [" + length + "]");
+		}
+		byte[] bytes = new byte[(int) length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+}
@@ -33,12 +33,29 @@ public abstract class WsData {
 	 */
 	private final ConcurrentHashMap<UUID, CompletableFuture<JsonrpcResponseSuccess>> requestFutures = new ConcurrentHashMap<>();
 
+	/**
+	 * Holds the Decoder for binary TimestampedData, if it was negotiated on
+	 * handshake. Possibly null!
+	 */
+	private TimestampedDataCodec.Decoder timestampedDataDecoder = null;
+
+	private volatile boolean isDisposed = false;
+
 	/**
 	 * This method is called on close of the parent websocket. Use it to release
-	 * blocked resources.
+	 * blocked resources. Implementations have to call super.dispose().
 	 */
 	public void dispose() {
-		// nothing here
+		this.isDisposed = true;
+	}
+
+	/**
+	 * Was this WsData disposed, i.e. the websocket connection closed?.
+	 * 
+	 * @return true if disposed
+	 */
+	public boolean isDisposed() {
+		return this.isDisposed;
 	}
 
 	/**
@@ -59,6 +76,24 @@ public abstract class WsData {
 		return websocket;
 	}
 
+	/**
+	 * Sets the Decoder for binary TimestampedData.
+	 * 
+	 * @param decoder the {@link TimestampedDataCodec.Decoder}
+	 */
+	public synchronized void setTimestampedDataDecoder(TimestampedDataCodec.Decoder decoder) {
+		this.timestampedDataDecoder = decoder;
+	}
+
+	/**
+	 * Gets the Decoder for binary TimestampedData. Possibly null!
+	 * 
+	 * @return the {@link TimestampedDataCodec.Decoder}
+	 */
+	public synchronized TimestampedDataCodec.Decoder getTimestampedDataDecoder() {
+		return this.timestampedDataDecoder;
+	}
+
 	/**
 	 * Sends a JSON-RPC request to a Websocket and registers a callback.
 	 * 
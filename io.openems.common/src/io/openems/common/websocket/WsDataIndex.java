@@ -0,0 +1,102 @@
+package io.openems.common.websocket;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A concurrent index from a key - like a token or an Edge-ID - to the
+ * {@link WsData}s of the websocket connections that belong to it.
+ *
+ * <p>
+ * It replaces iterating over all connections of a websocket server, which is
+ * O(connections) per lookup. The index has to be maintained by the owner: add
+ * the WsData once the key is known (e.g. after authentication) and remove it on
+ * close.
+ *
+ * @param <K> the type of the key
+ * @param <T> the type of the {@link WsData}
+ */
+public class WsDataIndex<K, T extends WsData> {
+
+	private final ConcurrentHashMap<K, Set<T>> index = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds a {@link WsData} for the given key.
+	 *
+	 * @param key    the key
+	 * @param wsData the {@link WsData}
+	 */
+	public void add(K key, T wsData) {
+		this.index.compute(key, (k, wsDatas) -> {
+			if (wsDatas == null) {
+				wsDatas = ConcurrentHashMap.newKeySet();
+			}
+			wsDatas.add(wsData);
+			return wsDatas;
+		});
+	}
+
+	/**
+	 * Removes a {@link WsData} for the given key.
+	 *
+	 * @param key    the key
+	 * @param wsData the {@link WsData}
+	 */
+	public void remove(K key, T wsData) {
+		this.index.computeIfPresent(key, (k, wsDatas) -> {
+			wsDatas.remove(wsData);
+			return wsDatas.isEmpty() ? null : wsDatas;
+		});
+	}
+
+	/**
+	 * Gets all {@link WsData}s for the given key.
+	 *
+	 * @param key the key
+	 * @return an unmodifiable view on the WsDatas; empty if there are none
+	 */
+	public Set<T> get(K key) {
+		Set<T> wsDatas = this.index.get(key);
+		if (wsDatas == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(wsDatas);
+	}
+
+	/**
+	 * Gets any {@link WsData} for the given key.
+	 *
+	 * @param key the key
+	 * @return the WsData; or Optional.empty if there is none
+	 */
+	public Optional<T> getAny(K key) {
+		Iterator<T> iterator = this.get(key).iterator();
+		if (iterator.hasNext()) {
+			return Optional.of(iterator.next());
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Is there any {@link WsData} for the given key?.
+	 *
+	 * @param key the key
+	 * @return true if there is at least one WsData
+	 */
+	public boolean contains(K key) {
+		return this.index.containsKey(key);
+	}
+
+	/**
+	 * Gets the number of keys.
+	 *
+	 * @return the number of keys
+	 */
+	public int size() {
+		return this.index.size();
+	}
+
+}
@@ -0,0 +1,52 @@
+package io.openems.common.jsonrpc.base;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+
+/**
+ * Benchmark for {@link JsonrpcMessageReader}; not part of the unit tests.
+ *
+ * <p>
+ * Reads a timestampedData message with 2000 Channels 200 times via the generic
+ * Gson tree and via the streaming {@link JsonrpcMessageReader}. Prints the
+ * message size and the time for all messages of each way after warm-up.
+ *
+ * <p>
+ * Run as Java application; optional arguments: number of Channels, number of
+ * messages.
+ */
+public class JsonrpcMessageReaderBenchmark {
+
+	public static void main(String[] args) throws OpenemsNamedException {
+		final int noOfChannels = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		final int noOfMessages = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+		final JsonrpcMessageReader reader = new JsonrpcMessageReader() //
+				.register(TimestampedDataNotification.METHOD, TimestampedDataNotification::from);
+		final String message = JsonrpcMessageReaderTest.createLargeMessage(noOfChannels);
+
+		// warm up
+		for (int i = 0; i < noOfMessages / 10; i++) {
+			TimestampedDataNotification.from((JsonrpcNotification) JsonrpcMessage.from(message));
+			reader.read(message);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < noOfMessages; i++) {
+			TimestampedDataNotification.from((JsonrpcNotification) JsonrpcMessage.from(message));
+		}
+		long genericNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < noOfMessages; i++) {
+			reader.read(message);
+		}
+		long streamingNanos = System.nanoTime() - start;
+
+		System.out.println(String.format("Messages [%d] Channels [%d] Bytes per message [%,d]", noOfMessages,
+				noOfChannels, message.length()));
+		System.out.println(String.format("Generic   [%,6d] ms", genericNanos / 1_000_000));
+		System.out.println(String.format("Streaming [%,6d] ms", streamingNanos / 1_000_000));
+	}
+
+}
@@ -0,0 +1,103 @@
+package io.openems.common.jsonrpc.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
+
+public class JsonrpcMessageReaderTest {
+
+	private static final ChannelAddress SUM_SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress ESS_FREQUENCY = new ChannelAddress("ess0", "Frequency");
+
+	private final JsonrpcMessageReader sut = new JsonrpcMessageReader() //
+			.register(TimestampedDataNotification.METHOD, TimestampedDataNotification::from);
+
+	@Test
+	public void testTypedNotification() throws OpenemsNamedException {
+		JsonrpcMessage message = this.sut.read("{\"jsonrpc\":\"2.0\",\"method\":\"timestampedData\",\"params\":{"
+				+ "\"1000\":{\"_sum/EssSoc\":50,\"ess0/Frequency\":50.0,\"_meta/Version\":\"2020.10.0\",\"ess0/State\":null},"
+				+ "\"2000\":{\"_sum/EssSoc\":51}}}");
+		assertTrue(message instanceof TimestampedDataNotification);
+		TimestampedDataNotification notification = (TimestampedDataNotification) message;
+		assertEquals(new JsonPrimitive(50), notification.getData().get(1000L, SUM_SOC));
+		assertEquals("50.0", notification.getData().get(1000L, ESS_FREQUENCY).toString());
+		assertEquals(new JsonPrimitive(51), notification.getData().get(2000L, SUM_SOC));
+		assertEquals(5, notification.getData().size());
+	}
+
+	@Test
+	public void testSameAsGeneric() throws OpenemsNamedException {
+		String[] messages = { //
+				// Notification without typed reader
+				"{\"jsonrpc\":\"2.0\",\"method\":\"edgeConfig\",\"params\":{\"components\":{}}}", //
+				// Request
+				"{\"jsonrpc\":\"2.0\",\"id\":\"" + UUID.randomUUID()
+						+ "\",\"method\":\"getEdgeConfig\",\"params\":{}}", //
+				// Request with typed method, 'id' after 'params'
+				"{\"jsonrpc\":\"2.0\",\"method\":\"timestampedData\",\"params\":{\"1000\":{\"_sum/EssSoc\":50}},\"id\":\""
+						+ UUID.randomUUID() + "\"}", //
+				// Notification with 'params' before 'method'
+				"{\"jsonrpc\":\"2.0\",\"params\":{\"1000\":{\"_sum/EssSoc\":50}},\"method\":\"timestampedData\"}", //
+				// Success Response
+				"{\"jsonrpc\":\"2.0\",\"id\":\"" + UUID.randomUUID() + "\",\"result\":{\"foo\":\"bar\"}}" //
+		};
+		for (String message : messages) {
+			JsonrpcMessage expected = JsonrpcMessage.from(message);
+			JsonrpcMessage actual = this.sut.read(message);
+			assertEquals(expected.getClass(), actual.getClass());
+			assertEquals(expected.toJsonObject(), actual.toJsonObject());
+		}
+	}
+
+	@Test(expected = OpenemsNamedException.class)
+	public void testInvalidJson() throws OpenemsNamedException {
+		this.sut.read("{\"jsonrpc\":\"2.0\",\"method\":\"timestampedData\",\"params\":{\"1000\":{");
+	}
+
+	@Test(expected = OpenemsNamedException.class)
+	public void testNoJsonrpc() throws OpenemsNamedException {
+		this.sut.read("{\"timedata\":{}}");
+	}
+
+	/**
+	 * Creates a typical timestampedData message, e.g. the first message after
+	 * connecting.
+	 *
+	 * @param noOfChannels the number of Channels
+	 * @return the message as String
+	 */
+	static String createLargeMessage(int noOfChannels) {
+		TimestampedDataNotification n = new TimestampedDataNotification();
+		for (int i = 0; i < noOfChannels; i++) {
+			ChannelAddress address = new ChannelAddress("meter" + i / 50, "ActivePowerL" + i % 50);
+			n.add(1_577_836_800_000L, address, i % 7 == 0 ? new JsonPrimitive(230.1) : new JsonPrimitive(1000 + i));
+		}
+		return n.toString();
+	}
+
+	/**
+	 * Checks that a timestampedData message with 2000 Channels is read the same
+	 * way as via the generic Gson tree. Throughput is measured separately by
+	 * {@link JsonrpcMessageReaderBenchmark}.
+	 */
+	@Test
+	public void testLargeMessage() throws OpenemsNamedException {
+		String message = createLargeMessage(2000);
+
+		TimestampedDataNotification generic = TimestampedDataNotification
+				.from((JsonrpcNotification) JsonrpcMessage.from(message));
+		TimestampedDataNotification streaming = (TimestampedDataNotification) this.sut.read(message);
+		assertEquals(2000, streaming.getData().size());
+		assertEquals(generic.getData(), streaming.getData());
+	}
+
+}
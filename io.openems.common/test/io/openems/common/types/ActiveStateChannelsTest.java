@@ -0,0 +1,129 @@
+package io.openems.common.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.ChannelCategory;
+import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
+import io.openems.common.types.EdgeConfig.Component.Channel;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetailOpenemsType;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetailState;
+
+public class ActiveStateChannelsTest {
+
+	private static final ChannelAddress ESS_FAULT = new ChannelAddress("ess0", "Fault");
+	private static final ChannelAddress ESS_WARNING = new ChannelAddress("ess0", "Warning");
+	private static final ChannelAddress ESS_SOC = new ChannelAddress("ess0", "Soc");
+	private static final ChannelAddress METER_FAULT = new ChannelAddress("meter0", "Fault");
+
+	private static EdgeConfig createConfig() {
+		EdgeConfig config = new EdgeConfig();
+		config.addComponent("ess0", createComponent("ess0"));
+		config.addComponent("meter0", createComponent("meter0"));
+		return config;
+	}
+
+	private static EdgeConfig.Component createComponent(String id) {
+		TreeMap<String, Channel> channels = new TreeMap<>();
+		channels.put("Fault", new Channel("Fault", OpenemsType.BOOLEAN, AccessMode.READ_ONLY, "", Unit.NONE,
+				new ChannelDetailState(Level.FAULT)));
+		channels.put("Warning", new Channel("Warning", OpenemsType.BOOLEAN, AccessMode.READ_ONLY, "", Unit.NONE,
+				new ChannelDetailState(Level.WARNING)));
+		channels.put("Soc", new Channel("Soc", OpenemsType.INTEGER, AccessMode.READ_ONLY, "", Unit.PERCENT,
+				new ChannelDetailOpenemsType()));
+		return new EdgeConfig.Component("pid-" + id, id, id, "Factory", new TreeMap<>(), channels);
+	}
+
+	private static Map<ChannelAddress, JsonElement> values(Object... addressValuePairs) {
+		Map<ChannelAddress, JsonElement> result = new HashMap<>();
+		for (int i = 0; i < addressValuePairs.length; i += 2) {
+			Object value = addressValuePairs[i + 1];
+			result.put((ChannelAddress) addressValuePairs[i],
+					value == null ? JsonNull.INSTANCE : new JsonPrimitive((Number) value));
+		}
+		return result;
+	}
+
+	@Test
+	public void testComponentIndex() {
+		EdgeConfig.Component component = createComponent("ess0");
+		assertTrue(component.isStateChannel("Fault"));
+		assertFalse(component.isStateChannel("Soc"));
+		assertFalse(component.isStateChannel("Foo"));
+		assertEquals(2, component.getStateChannels().size());
+		assertEquals(1, component.getChannelsOfCategory(ChannelCategory.OPENEMS_TYPE).size());
+		assertEquals("Warning", component.getStateChannel(component.getStateChannelIndex("Warning")).getId());
+		assertEquals(-1, component.getStateChannelIndex("Soc"));
+	}
+
+	@Test
+	public void testApply() {
+		EdgeConfig config = createConfig();
+		ActiveStateChannels sut = new ActiveStateChannels();
+
+		// no active StateChannel
+		assertFalse(sut.apply(config, values(ESS_FAULT, 0, ESS_WARNING, null, ESS_SOC, 1)));
+		assertTrue(sut.getActiveStateChannels().isEmpty());
+
+		// activate
+		assertTrue(sut.apply(config, values(ESS_FAULT, 1, METER_FAULT, 1)));
+		assertEquals(2, sut.getActiveStateChannels().size());
+		assertEquals(Level.FAULT,
+				((ChannelDetailState) sut.getActiveStateChannels().get(ESS_FAULT).getDetail()).getLevel());
+
+		// same state again; also partial data keeps the state
+		assertFalse(sut.apply(config, values(ESS_FAULT, 1)));
+		assertFalse(sut.apply(config, values(ESS_SOC, 50)));
+		assertEquals(2, sut.getActiveStateChannels().size());
+
+		// deactivate
+		assertTrue(sut.apply(config, values(METER_FAULT, 0)));
+		assertEquals(1, sut.getActiveStateChannels().size());
+		assertTrue(sut.getActiveStateChannels().containsKey(ESS_FAULT));
+
+		// new EdgeConfig keeps the state
+		assertFalse(sut.apply(createConfig(), values(ESS_SOC, 50)));
+		assertEquals(1, sut.getActiveStateChannels().size());
+		assertTrue(sut.getActiveStateChannels().containsKey(ESS_FAULT));
+	}
+
+	@Test
+	public void testRemap() {
+		ActiveStateChannels sut = new ActiveStateChannels();
+		assertTrue(sut.apply(createConfig(), values(ESS_WARNING, 1, METER_FAULT, 1)));
+
+		// 'Fault' was removed from ess0 -> 'Warning' moves to another position
+		EdgeConfig config = createConfig();
+		EdgeConfig.Component ess = createComponent("ess0");
+		TreeMap<String, Channel> channels = new TreeMap<>(ess.getChannels());
+		channels.remove("Fault");
+		ess.setChannels(channels);
+		config.addComponent("ess0", ess);
+		assertFalse(sut.apply(config, values()));
+		assertEquals(2, sut.getActiveStateChannels().size());
+		assertEquals(Level.WARNING,
+				((ChannelDetailState) sut.getActiveStateChannels().get(ESS_WARNING).getDetail()).getLevel());
+		assertTrue(sut.apply(config, values(ESS_WARNING, 0)));
+		assertFalse(sut.getActiveStateChannels().containsKey(ESS_WARNING));
+
+		// meter0 was removed
+		config = new EdgeConfig();
+		config.addComponent("ess0", createComponent("ess0"));
+		assertTrue(sut.apply(config, values()));
+		assertTrue(sut.getActiveStateChannels().isEmpty());
+	}
+
+}
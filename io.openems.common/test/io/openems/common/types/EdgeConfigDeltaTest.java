@@ -0,0 +1,170 @@
+package io.openems.common.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.utils.JsonUtils;
+
+public class EdgeConfigDeltaTest {
+
+	private static EdgeConfig.Component createComponent(String id, int value) {
+		TreeMap<String, JsonElement> properties = new TreeMap<>();
+		properties.put("value", new JsonPrimitive(value));
+		return new EdgeConfig.Component("pid-" + id, id, id, "Factory", properties, new TreeMap<>());
+	}
+
+	private static EdgeConfig.Component createComponentWithChannels(String id, int value) {
+		TreeMap<String, JsonElement> properties = new TreeMap<>();
+		properties.put("value", new JsonPrimitive(value));
+		TreeMap<String, EdgeConfig.Component.Channel> channels = new TreeMap<>();
+		channels.put("ActivePower", new EdgeConfig.Component.Channel("ActivePower", OpenemsType.INTEGER,
+				AccessMode.READ_ONLY, "", Unit.WATT, new EdgeConfig.Component.Channel.ChannelDetailOpenemsType()));
+		channels.put("SetActivePowerEquals",
+				new EdgeConfig.Component.Channel("SetActivePowerEquals", OpenemsType.INTEGER, AccessMode.WRITE_ONLY,
+						"Set power", Unit.WATT, new EdgeConfig.Component.Channel.ChannelDetailOpenemsType()));
+		channels.put("Soc", new EdgeConfig.Component.Channel("Soc", OpenemsType.INTEGER, AccessMode.READ_ONLY, "",
+				Unit.PERCENT, new EdgeConfig.Component.Channel.ChannelDetailOpenemsType()));
+		channels.put("Temperature", new EdgeConfig.Component.Channel("Temperature", OpenemsType.INTEGER,
+				AccessMode.READ_ONLY, "", Unit.DEZIDEGREE_CELSIUS,
+				new EdgeConfig.Component.Channel.ChannelDetailOpenemsType()));
+		Map<String, JsonElement> options = new LinkedHashMap<>();
+		// not in alphabetical order
+		options.put("Undefined", new JsonPrimitive(-1));
+		options.put("On-Grid", new JsonPrimitive(1));
+		options.put("Off-Grid", new JsonPrimitive(2));
+		options.put("Grid-Mode-B", new JsonPrimitive(3));
+		channels.put("GridMode", new EdgeConfig.Component.Channel("GridMode", OpenemsType.INTEGER,
+				AccessMode.READ_ONLY, "", Unit.NONE, new EdgeConfig.Component.Channel.ChannelDetailEnum(options)));
+		channels.put("State0", new EdgeConfig.Component.Channel("State0", OpenemsType.BOOLEAN, AccessMode.READ_ONLY,
+				"Fault", Unit.NONE, new EdgeConfig.Component.Channel.ChannelDetailState(Level.FAULT)));
+		return new EdgeConfig.Component("pid-" + id, id, id, "Factory", properties, channels);
+	}
+
+	private static EdgeConfig createConfig() {
+		EdgeConfig config = new EdgeConfig();
+		config.addComponent("ess0", createComponent("ess0", 1));
+		config.addComponent("meter0", createComponent("meter0", 1));
+		config.addFactory("Factory", new EdgeConfig.Factory("Factory", "Factory", "", new EdgeConfig.Factory.Property[0],
+				new String[0]));
+		return config;
+	}
+
+	@Test
+	public void testEmptyDelta() throws OpenemsNamedException {
+		JsonObject config = createConfig().toJson();
+		EdgeConfigDelta delta = EdgeConfigDelta.diff(config, createConfig().toJson());
+		assertTrue(delta.isEmpty());
+		assertEquals(delta.getBaseHash(), delta.getHash());
+	}
+
+	@Test
+	public void testDiffAndApply() throws OpenemsNamedException {
+		EdgeConfig oldConfig = createConfig();
+		EdgeConfig newConfig = createConfig();
+		newConfig.addComponent("ess0", createComponent("ess0", 2));
+		newConfig.removeComponent("meter0");
+		newConfig.addComponent("meter1", createComponent("meter1", 1));
+
+		EdgeConfigDelta delta = EdgeConfigDelta.diff(newConfig.toJson(), oldConfig.toJson());
+		assertFalse(delta.isEmpty());
+		assertEquals(EdgeConfigDelta.hash(oldConfig.toJson()), delta.getBaseHash());
+		assertNotEquals(delta.getBaseHash(), delta.getHash());
+
+		// transport
+		delta = EdgeConfigDelta.fromJson(delta.toJson());
+		JsonObject components = delta.toJson().getAsJsonObject("components");
+		assertEquals(3, components.size());
+		assertTrue(components.get("meter0").isJsonNull());
+
+		JsonObject oldJson = oldConfig.toJson();
+		JsonObject result = delta.apply(oldJson);
+		assertEquals(newConfig.toJson(), result);
+		assertEquals(delta.getHash(), EdgeConfigDelta.hash(result));
+		assertSame(oldJson.getAsJsonObject("factories").get("Factory"),
+				result.getAsJsonObject("factories").get("Factory"));
+
+		// base is not modified
+		assertTrue(oldJson.getAsJsonObject("components").has("meter0"));
+	}
+
+	@Test
+	public void testHashIgnoresKeyOrder() {
+		JsonObject config = JsonUtils.buildJsonObject() //
+				.add("components", JsonUtils.buildJsonObject() //
+						.add("ess0", JsonUtils.buildJsonObject() //
+								.addProperty("alias", "ess0") //
+								.addProperty("factoryId", "Ess") //
+								.build()) //
+						.build()) //
+				.add("factories", new JsonObject()) //
+				.build();
+		JsonObject reordered = JsonUtils.buildJsonObject() //
+				.add("factories", new JsonObject()) //
+				.add("components", JsonUtils.buildJsonObject() //
+						.add("ess0", JsonUtils.buildJsonObject() //
+								.addProperty("factoryId", "Ess") //
+								.addProperty("alias", "ess0") //
+								.build()) //
+						.build()) //
+				.build();
+		assertNotEquals(config.toString(), reordered.toString());
+		assertEquals(EdgeConfigDelta.hash(config), EdgeConfigDelta.hash(reordered));
+	}
+
+	@Test
+	public void testRoundTripWithChannels() throws OpenemsNamedException {
+		EdgeConfig config = createConfig();
+		config.addComponent("ess0", createComponentWithChannels("ess0", 1));
+		JsonObject json = config.toJson();
+
+		// e.g. the Backend rebuilds the EdgeConfig from an EdgeConfigNotification
+		EdgeConfig parsed = EdgeConfig.fromJson(json);
+		assertEquals(json, parsed.toJson());
+		assertEquals(EdgeConfigDelta.hash(json), EdgeConfigDelta.hash(parsed.toJson()));
+		assertEquals(Unit.WATT, parsed.getComponent("ess0").get().getChannels().get("ActivePower").getUnit());
+		assertEquals(Unit.DEZIDEGREE_CELSIUS,
+				parsed.getComponent("ess0").get().getChannels().get("Temperature").getUnit());
+	}
+
+	@Test
+	public void testApplyJsonWithChannels() throws OpenemsNamedException {
+		EdgeConfig oldConfig = createConfig();
+		oldConfig.addComponent("ess0", createComponentWithChannels("ess0", 1));
+		EdgeConfig newConfig = createConfig();
+		newConfig.addComponent("ess0", createComponentWithChannels("ess0", 2));
+		newConfig.addComponent("ess1", createComponentWithChannels("ess1", 1));
+		newConfig.removeComponent("meter0");
+
+		EdgeConfigDelta delta = EdgeConfigDelta.diff(newConfig.toJson(), oldConfig.toJson());
+		delta = EdgeConfigDelta.fromJson(delta.toJson());
+
+		JsonObject result = delta.apply(oldConfig.toJson());
+		assertEquals(newConfig.toJson(), result);
+		assertEquals(delta.getHash(), EdgeConfigDelta.hash(result));
+
+		// applying twice in a row, e.g. after a previous delta
+		EdgeConfig thirdConfig = createConfig();
+		thirdConfig.addComponent("ess0", createComponentWithChannels("ess0", 3));
+		EdgeConfigDelta nextDelta = EdgeConfigDelta.diff(thirdConfig.toJson(), result);
+		assertEquals(delta.getHash(), nextDelta.getBaseHash());
+		assertEquals(nextDelta.getHash(), EdgeConfigDelta.hash(nextDelta.apply(result)));
+	}
+
+}
@@ -0,0 +1,191 @@
+package io.openems.common.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+public class SubscriptionSchedulerTest {
+
+	private static class DummySubscription implements SubscriptionScheduler.Subscription {
+
+		private final Object groupKey;
+		private final AtomicInteger computations;
+		private final CountDownLatch[] latches;
+		private final AtomicInteger updates = new AtomicInteger();
+
+		/**
+		 * Creates a DummySubscription.
+		 * 
+		 * @param groupKey     the group key
+		 * @param computations counts computations of the shared value
+		 * @param latches      one latch per update; the Subscription is removed
+		 *                     after the last one
+		 */
+		public DummySubscription(Object groupKey, AtomicInteger computations, CountDownLatch... latches) {
+			this.groupKey = groupKey;
+			this.computations = computations;
+			this.latches = latches;
+		}
+
+		@Override
+		public Object getGroupKey() {
+			return this.groupKey;
+		}
+
+		@Override
+		public boolean update(SubscriptionScheduler.Snapshot snapshot) {
+			snapshot.computeIfAbsent("value", key -> this.computations.incrementAndGet());
+			int update = this.updates.getAndIncrement();
+			this.latches[update].countDown();
+			return update + 1 < this.latches.length;
+		}
+	}
+
+	@Test
+	public void testRemoveOnFalse() {
+		// serve in the calling thread
+		SubscriptionScheduler sut = new SubscriptionScheduler(MoreExecutors.newDirectExecutorService());
+		DummySubscription subscription = new DummySubscription("edge0", new AtomicInteger(), new CountDownLatch(1),
+				new CountDownLatch(1), new CountDownLatch(1));
+
+		// served immediately on add()
+		sut.add(subscription);
+		assertEquals(1, subscription.updates.get());
+		assertEquals(1, sut.getNoOfSubscriptions());
+
+		sut.tick();
+		assertEquals(2, subscription.updates.get());
+
+		// last update returns false -> removed
+		sut.tick();
+		assertEquals(3, subscription.updates.get());
+		assertEquals(0, sut.getNoOfSubscriptions());
+
+		sut.tick();
+		assertEquals(3, subscription.updates.get());
+	}
+
+	@Test
+	public void testServeSequentially() throws InterruptedException {
+		ThreadPoolExecutor workers = (ThreadPoolExecutor) Executors.newFixedThreadPool(2);
+		SubscriptionScheduler sut = new SubscriptionScheduler(workers);
+		try {
+			CountDownLatch started = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			AtomicInteger updates = new AtomicInteger();
+			AtomicInteger running = new AtomicInteger();
+			AtomicInteger maxRunning = new AtomicInteger();
+			SubscriptionScheduler.Subscription subscription = new SubscriptionScheduler.Subscription() {
+
+				@Override
+				public Object getGroupKey() {
+					return "edge0";
+				}
+
+				@Override
+				public boolean update(SubscriptionScheduler.Snapshot snapshot) {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					try {
+						if (updates.incrementAndGet() == 1) {
+							started.countDown();
+							release.await(5, TimeUnit.SECONDS);
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						running.decrementAndGet();
+					}
+					return true;
+				}
+			};
+
+			// first update blocks
+			sut.add(subscription);
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+
+			// a tick and another add() while it is running
+			sut.tick();
+			sut.add(subscription);
+			awaitIdle(workers, 2);
+			assertEquals(1, updates.get());
+
+			// both requests are served by one more update afterwards
+			release.countDown();
+			awaitIdle(workers, 3);
+			assertEquals(2, updates.get());
+			assertEquals(1, maxRunning.get());
+		} finally {
+			sut.shutdown();
+		}
+	}
+
+	/**
+	 * Waits till the given number of jobs was completed.
+	 */
+	private static void awaitIdle(ThreadPoolExecutor workers, int completedJobs) throws InterruptedException {
+		for (int i = 0; i < 500 && workers.getCompletedTaskCount() < completedJobs; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(completedJobs, workers.getCompletedTaskCount());
+	}
+
+	/**
+	 * 10.000 sessions viewing 100 Edges are served by a fixed number of threads;
+	 * on a tick the shared value is computed only once per Edge.
+	 */
+	@Test
+	public void testSharedSnapshot() throws InterruptedException {
+		final int noOfEdges = 100;
+		final int noOfSessions = 10_000;
+		final int noOfWorkers = 4;
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		ExecutorService workers = Executors.newFixedThreadPool(noOfWorkers, runnable -> {
+			Thread thread = new Thread(() -> {
+				threads.add(Thread.currentThread());
+				runnable.run();
+			});
+			thread.setDaemon(true);
+			return thread;
+		});
+		SubscriptionScheduler sut = new SubscriptionScheduler(workers);
+		try {
+			AtomicInteger computations = new AtomicInteger();
+			CountDownLatch added = new CountDownLatch(noOfSessions);
+			CountDownLatch ticked = new CountDownLatch(noOfSessions);
+			for (int i = 0; i < noOfSessions; i++) {
+				sut.add(new DummySubscription("edge" + i % noOfEdges, computations, added, ticked));
+			}
+
+			// initial update on add() is served individually
+			assertTrue(added.await(5, TimeUnit.SECONDS));
+			awaitIdle((ThreadPoolExecutor) workers, noOfSessions);
+			assertEquals(noOfSessions, computations.get());
+
+			// a tick shares one Snapshot per Edge
+			sut.tick();
+			assertTrue(ticked.await(5, TimeUnit.SECONDS));
+			assertEquals(noOfSessions + noOfEdges, computations.get());
+			assertTrue("Threads: " + threads.size(), threads.size() <= noOfWorkers);
+
+			// last update returned false -> removed
+			workers.shutdown();
+			assertTrue(workers.awaitTermination(5, TimeUnit.SECONDS));
+			assertEquals(0, sut.getNoOfSubscriptions());
+		} finally {
+			sut.shutdown();
+		}
+	}
+
+}
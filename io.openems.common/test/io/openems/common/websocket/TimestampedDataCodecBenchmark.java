@@ -0,0 +1,92 @@
+package io.openems.common.websocket;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+
+/**
+ * Benchmark for {@link TimestampedDataCodec}; not part of the unit tests.
+ *
+ * <p>
+ * Encodes and decodes 500 messages of 1000 Channels - the first one with all
+ * Channels, the others with every tenth Channel - as JSON-RPC text, as binary
+ * frames and as deflated binary frames. Prints the total size and the average
+ * time per run after warm-up.
+ *
+ * <p>
+ * Run as Java application; optional arguments: number of messages, number of
+ * Channels, number of runs.
+ */
+public class TimestampedDataCodecBenchmark {
+
+	public static void main(String[] args) throws OpenemsNamedException {
+		final int noOfMessages = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		final int noOfChannels = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		final int noOfRuns = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+		TimestampedDataNotification[] messages = new TimestampedDataNotification[noOfMessages];
+		for (int i = 0; i < noOfMessages; i++) {
+			messages[i] = TimestampedDataCodecTest.createNotification(i, noOfChannels);
+		}
+
+		System.out.println(String.format("Messages [%d] Channels [%d] Runs [%d]", noOfMessages, noOfChannels,
+				noOfRuns));
+		long[] json = run(noOfRuns, () -> {
+			long bytes = 0;
+			for (TimestampedDataNotification message : messages) {
+				String text = message.toString();
+				bytes += text.getBytes(StandardCharsets.UTF_8).length;
+				TimestampedDataNotification.from((JsonrpcNotification) JsonrpcMessage.from(text));
+			}
+			return bytes;
+		});
+		print("JSON-RPC", json);
+		for (boolean deflate : new boolean[] { false, true }) {
+			long[] binary = run(noOfRuns, () -> {
+				TimestampedDataCodec.Encoder encoder = new TimestampedDataCodec.Encoder(deflate);
+				TimestampedDataCodec.Decoder decoder = new TimestampedDataCodec.Decoder();
+				long bytes = 0;
+				for (TimestampedDataNotification message : messages) {
+					byte[] frame = encoder.encode(message);
+					bytes += frame.length;
+					decoder.decode(ByteBuffer.wrap(frame));
+				}
+				return bytes;
+			});
+			print(deflate ? "Binary+deflate" : "Binary", binary);
+		}
+	}
+
+	private static interface Run {
+		long apply() throws OpenemsNamedException;
+	}
+
+	/**
+	 * Runs encoding and decoding; the first half of the runs is warm-up.
+	 *
+	 * @return bytes and average nanoseconds per measured run
+	 */
+	private static long[] run(int noOfRuns, Run run) throws OpenemsNamedException {
+		long bytes = 0;
+		long nanos = 0;
+		int noOfWarmupRuns = noOfRuns / 2;
+		for (int i = 0; i < noOfRuns; i++) {
+			long start = System.nanoTime();
+			bytes = run.apply();
+			if (i >= noOfWarmupRuns) {
+				nanos += System.nanoTime() - start;
+			}
+		}
+		return new long[] { bytes, nanos / Math.max(1, noOfRuns - noOfWarmupRuns) };
+	}
+
+	private static void print(String name, long[] result) {
+		System.out.println(String.format("%-15s [%,10d] bytes [%,6d] ms encode+decode", name, result[0],
+				result[1] / 1_000_000));
+	}
+
+}
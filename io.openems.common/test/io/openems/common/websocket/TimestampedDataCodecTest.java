@@ -0,0 +1,194 @@
+package io.openems.common.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+
+public class TimestampedDataCodecTest {
+
+	private static final ChannelAddress SUM_SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress SUM_GRID = new ChannelAddress("_sum", "GridActivePower");
+	private static final ChannelAddress META_VERSION = new ChannelAddress("_meta", "Version");
+	private static final ChannelAddress ESS_STATE = new ChannelAddress("ess0", "State");
+	private static final ChannelAddress ESS_FREQUENCY = new ChannelAddress("ess0", "Frequency");
+
+	@Test
+	public void testRoundtrip() throws OpenemsNamedException {
+		TimestampedDataCodec.Encoder encoder = new TimestampedDataCodec.Encoder(false);
+		TimestampedDataCodec.Decoder decoder = new TimestampedDataCodec.Decoder();
+
+		TimestampedDataNotification n1 = new TimestampedDataNotification();
+		n1.add(1_577_836_800_000L, SUM_SOC, new JsonPrimitive(50));
+		n1.add(1_577_836_800_000L, SUM_GRID, new JsonPrimitive(-3_000_000_000L));
+		n1.add(1_577_836_800_000L, META_VERSION, new JsonPrimitive("2020.10.0"));
+		n1.add(1_577_836_800_000L, ESS_STATE, JsonNull.INSTANCE);
+		n1.add(1_577_836_800_000L, ESS_FREQUENCY, new JsonPrimitive(49.98));
+		n1.add(1_577_836_810_000L, SUM_SOC, new JsonPrimitive(true));
+		assertRoundtrip(encoder, decoder, n1);
+
+		// Second frame references the dictionary and deltas of the first frame
+		TimestampedDataNotification n2 = new TimestampedDataNotification();
+		n2.add(1_577_836_820_000L, SUM_GRID, new JsonPrimitive(1234));
+		n2.add(1_577_836_820_000L, ESS_STATE, new JsonPrimitive(2));
+		assertRoundtrip(encoder, decoder, n2);
+	}
+
+	@Test
+	public void testKeepNumberRepresentation() throws OpenemsNamedException {
+		TimestampedDataCodec.Encoder encoder = new TimestampedDataCodec.Encoder(false);
+		TimestampedDataCodec.Decoder decoder = new TimestampedDataCodec.Decoder();
+
+		// Numbers parsed from JSON, e.g. from the spool
+		TimestampedDataNotification n = TimestampedDataNotification.from(
+				(JsonrpcNotification) JsonrpcMessage.from("{\"jsonrpc\":\"2.0\",\"method\":\"timestampedData\","
+						+ "\"params\":{\"1000\":{\"_sum/EssSoc\":5,\"ess0/Frequency\":5.0}}}"));
+		TimestampedDataNotification result = decoder.decode(ByteBuffer.wrap(encoder.encode(n)));
+		assertEquals("5", result.getData().get(1000L, SUM_SOC).toString());
+		assertEquals("5.0", result.getData().get(1000L, ESS_FREQUENCY).toString());
+	}
+
+	@Test
+	public void testDeflate() throws OpenemsNamedException {
+		TimestampedDataNotification n = createNotification(0, 500);
+		byte[] plain = new TimestampedDataCodec.Encoder(false).encode(n);
+		byte[] deflated = new TimestampedDataCodec.Encoder(true).encode(n);
+		assertTrue(deflated.length < plain.length);
+
+		assertEquals(n.getData(), new TimestampedDataCodec.Decoder().decode(ByteBuffer.wrap(deflated)).getData());
+	}
+
+	@Test(expected = OpenemsNamedException.class)
+	public void testMissingFrame() throws OpenemsNamedException {
+		TimestampedDataCodec.Encoder encoder = new TimestampedDataCodec.Encoder(false);
+		encoder.encode(createNotification(0, 10));
+		byte[] frame = encoder.encode(createNotification(1, 10));
+
+		// Decoder did not see the dictionary of the first frame
+		new TimestampedDataCodec.Decoder().decode(ByteBuffer.wrap(frame));
+	}
+
+	@Test(expected = OpenemsNamedException.class)
+	public void testNegativeIndex() throws OpenemsNamedException {
+		ByteBuffer frame = ByteBuffer.allocate(15);
+		frame.put((byte) 0x01); // header: version 1
+		frame.put((byte) 0); // no new addresses
+		frame.put((byte) 1); // one timestamp
+		frame.put((byte) 0); // timestamp delta
+		frame.put((byte) 1); // one value
+		putNegativeVarLong(frame); // index
+		frame.flip();
+		new TimestampedDataCodec.Decoder().decode(frame);
+	}
+
+	@Test(expected = OpenemsNamedException.class)
+	public void testNegativeStringLength() throws OpenemsNamedException {
+		ByteBuffer frame = ByteBuffer.allocate(12);
+		frame.put((byte) 0x01); // header: version 1
+		frame.put((byte) 1); // one new address
+		putNegativeVarLong(frame); // string length
+		frame.flip();
+		new TimestampedDataCodec.Decoder().decode(frame);
+	}
+
+	@Test
+	public void testIsAccepted() {
+		assertTrue(TimestampedDataCodec.isAccepted(JsonUtils.buildJsonObject() //
+				.addProperty("Openems-Data-Encoding", "binary-v1") //
+				.build()));
+		assertFalse(TimestampedDataCodec.isAccepted(JsonUtils.buildJsonObject() //
+				.addProperty("apikey", "foo") //
+				.build()));
+	}
+
+	/**
+	 * Compares the size with JSON-RPC for typical Edge data: 1000 Channels of which
+	 * a few change per message.
+	 */
+	@Test
+	public void testSize() throws OpenemsNamedException {
+		final int noOfMessages = 500;
+		final int noOfChannels = 1000;
+		TimestampedDataNotification[] messages = new TimestampedDataNotification[noOfMessages];
+		for (int i = 0; i < noOfMessages; i++) {
+			messages[i] = createNotification(i, noOfChannels);
+		}
+
+		// JSON-RPC
+		long jsonBytes = 0;
+		for (TimestampedDataNotification message : messages) {
+			jsonBytes += message.toString().getBytes(StandardCharsets.UTF_8).length;
+		}
+
+		// Binary
+		long[] binaryBytes = new long[2];
+		for (int deflate = 0; deflate < 2; deflate++) {
+			TimestampedDataCodec.Encoder encoder = new TimestampedDataCodec.Encoder(deflate == 1);
+			TimestampedDataCodec.Decoder decoder = new TimestampedDataCodec.Decoder();
+			for (TimestampedDataNotification message : messages) {
+				byte[] frame = encoder.encode(message);
+				binaryBytes[deflate] += frame.length;
+				assertEquals(message.getParams(), decoder.decode(ByteBuffer.wrap(frame)).getParams());
+			}
+		}
+
+		assertTrue(binaryBytes[0] * 4 < jsonBytes);
+		assertTrue(binaryBytes[1] < binaryBytes[0]);
+	}
+
+	/**
+	 * Puts '-1' as varint, i.e. all 64 bits set.
+	 */
+	private static void putNegativeVarLong(ByteBuffer buffer) {
+		for (int i = 0; i < 9; i++) {
+			buffer.put((byte) 0xFF);
+		}
+		buffer.put((byte) 0x01);
+	}
+
+	private static void assertRoundtrip(TimestampedDataCodec.Encoder encoder, TimestampedDataCodec.Decoder decoder,
+			TimestampedDataNotification notification) throws OpenemsNamedException {
+		byte[] frame = encoder.encode(notification);
+		TimestampedDataNotification result = decoder.decode(ByteBuffer.wrap(frame));
+		assertEquals(notification.getParams(), result.getParams());
+	}
+
+	/**
+	 * Creates a notification like the ones sent every 10 seconds: all Channels in
+	 * the first one, only changed Channels afterwards.
+	 */
+	static TimestampedDataNotification createNotification(int index, int noOfChannels) {
+		TimestampedDataNotification result = new TimestampedDataNotification();
+		Map<ChannelAddress, JsonElement> data = new HashMap<>();
+		for (int i = 0; i < noOfChannels; i++) {
+			if (index != 0 && (i + index) % 10 != 0) {
+				continue;
+			}
+			ChannelAddress address = new ChannelAddress("meter" + i / 50, "ActivePowerL" + i % 50);
+			if (i % 7 == 0) {
+				data.put(address, new JsonPrimitive(230.0 + index % 5 / 10.0));
+			} else {
+				data.put(address, new JsonPrimitive(1000 + i + index % 20));
+			}
+		}
+		result.add(1_577_836_800_000L + index * 10_000L, data);
+		return result;
+	}
+}
@@ -0,0 +1,140 @@
+package io.openems.common.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class WsDataIndexTest {
+
+	private static class DummyWsData extends WsData {
+
+		// Counts how often a fan-out visited this session
+		private int noOfVisits = 0;
+
+		@Override
+		public String toString() {
+			return "DummyWsData";
+		}
+	}
+
+	@Test
+	public void testAddRemove() {
+		WsDataIndex<String, DummyWsData> sut = new WsDataIndex<>();
+		DummyWsData ws1 = new DummyWsData();
+		DummyWsData ws2 = new DummyWsData();
+
+		sut.add("edge0", ws1);
+		sut.add("edge0", ws2);
+		sut.add("edge1", ws2);
+		assertEquals(2, sut.get("edge0").size());
+		assertTrue(sut.contains("edge1"));
+		assertFalse(sut.getAny("edge2").isPresent());
+
+		sut.remove("edge0", ws1);
+		assertEquals(ws2, sut.getAny("edge0").get());
+		sut.remove("edge0", ws2);
+		sut.remove("edge1", ws2);
+		assertFalse(sut.contains("edge0"));
+		assertEquals(0, sut.size());
+	}
+
+	@Test
+	public void testConcurrentOpenClose() throws InterruptedException {
+		WsDataIndex<Integer, DummyWsData> sut = new WsDataIndex<>();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		for (int thread = 0; thread < 8; thread++) {
+			executor.execute(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					DummyWsData wsData = new DummyWsData();
+					sut.add(i % 10, wsData);
+					sut.remove(i % 10, wsData);
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+		assertEquals(0, sut.size());
+	}
+
+	/**
+	 * Fan-out of a notification for one Edge returns exactly the connections of
+	 * this Edge, independent of the connections of all other Edges.
+	 */
+	@Test
+	public void testFanOut() {
+		final int noOfEdges = 1_000;
+		final int sessionsPerEdge = 5;
+		WsDataIndex<String, DummyWsData> sut = new WsDataIndex<>();
+		Map<String, Set<DummyWsData>> expected = new HashMap<>();
+		for (int i = 0; i < noOfEdges; i++) {
+			String edgeId = "edge" + i;
+			Set<DummyWsData> sessions = new HashSet<>();
+			for (int j = 0; j < sessionsPerEdge; j++) {
+				DummyWsData wsData = new DummyWsData();
+				sessions.add(wsData);
+				sut.add(edgeId, wsData);
+			}
+			expected.put(edgeId, sessions);
+		}
+
+		// one session is subscribed to two Edges
+		DummyWsData shared = expected.get("edge1").iterator().next();
+		sut.add("edge2", shared);
+		expected.get("edge2").add(shared);
+
+		for (Entry<String, Set<DummyWsData>> entry : expected.entrySet()) {
+			assertEquals(entry.getValue(), sut.get(entry.getKey()));
+		}
+
+		// closing the shared session removes it from both Edges
+		sut.remove("edge1", shared);
+		sut.remove("edge2", shared);
+		assertFalse(sut.get("edge1").contains(shared));
+		assertFalse(sut.get("edge2").contains(shared));
+		assertEquals(sessionsPerEdge - 1, sut.get("edge1").size());
+		assertEquals(sessionsPerEdge, sut.get("edge2").size());
+		assertTrue(sut.get("unknown").isEmpty());
+	}
+
+	/**
+	 * The number of sessions visited by a fan-out for one Edge does not grow with
+	 * the total number of sessions.
+	 */
+	@Test
+	public void testFanOutScaling() {
+		final int sessionsPerEdge = 3;
+		for (int noOfEdges : new int[] { 10, 10_000 }) {
+			WsDataIndex<String, DummyWsData> sut = new WsDataIndex<>();
+			Set<DummyWsData> all = new HashSet<>();
+			for (int i = 0; i < noOfEdges; i++) {
+				for (int j = 0; j < sessionsPerEdge; j++) {
+					DummyWsData wsData = new DummyWsData();
+					all.add(wsData);
+					sut.add("edge" + i, wsData);
+				}
+			}
+
+			for (DummyWsData wsData : sut.get("edge7")) {
+				wsData.noOfVisits++;
+			}
+
+			int visited = 0;
+			for (DummyWsData wsData : all) {
+				visited += wsData.noOfVisits;
+			}
+			assertEquals(noOfEdges + " Edges", sessionsPerEdge, visited);
+		}
+	}
+
+}
@@ -401,8 +401,11 @@ public class BmwBatteryImpl extends AbstractOpenemsModbusComponent
 								.m(BMWChannelId.DC_CURRENT, ElementToChannelConverter.SCALE_FACTOR_MINUS_1) //
 								.m(Battery.ChannelId.CURRENT, ElementToChannelConverter.SCALE_FACTOR_3) //
 								.build()), //
+				// Average temperature changes slowly; min/max cell temperatures feed the
+				// battery protection and are read every cycle
 				new FC4ReadInputRegistersTask(1030, Priority.HIGH, //
-						m(BMWChannelId.AVERAGE_TEMPERATURE, new UnsignedWordElement(1030))), //
+						m(BMWChannelId.AVERAGE_TEMPERATURE, new UnsignedWordElement(1030))) //
+								.pollAdaptively(), //
 				new FC4ReadInputRegistersTask(1031, Priority.HIGH, //
 						m(new UnsignedWordElement(1031)) //
 								.m(BMWChannelId.MINIMUM_TEMPERATURE, ElementToChannelConverter.DIRECT_1_TO_1) //
@@ -0,0 +1,163 @@
+package io.openems.edge.battery.bmw;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.io.ModbusTransaction;
+import com.ghgande.j2mod.modbus.msg.ReadInputRegistersRequest;
+import com.ghgande.j2mod.modbus.msg.ReadInputRegistersResponse;
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+import com.ghgande.j2mod.modbus.procimg.SimpleInputRegister;
+
+import io.openems.edge.battery.api.Battery;
+import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
+import io.openems.edge.bridge.modbus.api.AdaptiveReadScheduler;
+import io.openems.edge.bridge.modbus.api.BridgeModbus;
+import io.openems.edge.bridge.modbus.api.ModbusProtocol;
+import io.openems.edge.bridge.modbus.api.task.AbstractReadTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.taskmanager.Priority;
+import io.openems.edge.common.test.ComponentTest;
+import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.common.test.DummyConfigurationAdmin;
+
+public class BmwBatteryImplTest {
+
+	private static final String MODBUS_ID = "modbus0";
+
+	private static final String BATTERY_ID = "battery0";
+
+	private static final int CURRENT = 1029;
+	private static final int MIN_TEMPERATURE = 1031;
+	private static final int MAX_TEMPERATURE = 1032;
+
+	/**
+	 * A Modbus-Bridge that answers Read-Input-Registers requests from a map of
+	 * register values and counts the requests per start address.
+	 */
+	private static class SimulatedModbusBridge extends AbstractModbusBridge {
+
+		private final Map<String, ModbusProtocol> protocols = new HashMap<>();
+		private final Map<Integer, Integer> registers = new HashMap<>();
+		private final Map<Integer, Integer> noOfReads = new HashMap<>();
+
+		public SimulatedModbusBridge(String id) {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					BridgeModbus.ChannelId.values() //
+			);
+			for (Channel<?> channel : this.channels()) {
+				channel.nextProcessImage();
+			}
+			super.activate(null, id, "", true);
+		}
+
+		@Override
+		public void addProtocol(String sourceId, ModbusProtocol protocol) {
+			this.protocols.put(sourceId, protocol);
+		}
+
+		@Override
+		public void removeProtocol(String sourceId) {
+			this.protocols.remove(sourceId);
+		}
+
+		@Override
+		public ModbusTransaction getNewModbusTransaction() {
+			return new ModbusTransaction() {
+
+				@Override
+				public void execute() {
+					ReadInputRegistersRequest request = (ReadInputRegistersRequest) this.request;
+					int startAddress = request.getReference();
+					SimulatedModbusBridge.this.noOfReads.merge(startAddress, 1, Integer::sum);
+					InputRegister[] result = new InputRegister[request.getWordCount()];
+					for (int i = 0; i < result.length; i++) {
+						result[i] = new SimpleInputRegister(
+								SimulatedModbusBridge.this.registers.getOrDefault(startAddress + i, 0));
+					}
+					this.response = new ReadInputRegistersResponse(result);
+				}
+			};
+		}
+
+		@Override
+		public void closeModbusConnection() {
+		}
+
+		public int getNoOfReads(int startAddress) {
+			return this.noOfReads.getOrDefault(startAddress, 0);
+		}
+	}
+
+	/**
+	 * Executes the due High-Priority Read-Tasks of one Cycle, like the
+	 * ModbusWorker does.
+	 */
+	private static void cycle(SimulatedModbusBridge bridge, AdaptiveReadScheduler scheduler, List<ReadTask> tasks)
+			throws Exception {
+		for (ReadTask task : scheduler.apply(tasks)) {
+			((AbstractReadTask<?>) task)._execute(bridge);
+		}
+	}
+
+	private static ReadTask getTask(List<ReadTask> tasks, int startAddress) {
+		return tasks.stream() //
+				.filter(task -> task.getStartAddress() == startAddress) //
+				.findFirst() //
+				.get();
+	}
+
+	@Test
+	public void testPollTemperaturesAdaptively() throws Exception {
+		SimulatedModbusBridge bridge = new SimulatedModbusBridge(MODBUS_ID);
+		BmwBatteryImpl sut = new BmwBatteryImpl();
+		new ComponentTest(sut) //
+				.addReference("cm", new DummyConfigurationAdmin()) //
+				.addReference("manager", new DummyComponentManager()) //
+				.addReference("setModbus", bridge) //
+				.activate(MyConfig.create() //
+						.setId(BATTERY_ID) //
+						.setModbusId(MODBUS_ID) //
+						.build()); //
+
+		List<ReadTask> tasks = bridge.protocols.get(BATTERY_ID).getReadTasksManager().getAllTasks(Priority.HIGH);
+		assertTrue(((AbstractReadTask<?>) getTask(tasks, MIN_TEMPERATURE)).isPollAdaptively());
+		assertTrue(((AbstractReadTask<?>) getTask(tasks, MAX_TEMPERATURE)).isPollAdaptively());
+		assertFalse(((AbstractReadTask<?>) getTask(tasks, CURRENT)).isPollAdaptively());
+
+		AdaptiveReadScheduler scheduler = new AdaptiveReadScheduler();
+		scheduler.setMaxInterval(8);
+		bridge.registers.put(MIN_TEMPERATURE, 20);
+		bridge.registers.put(MAX_TEMPERATURE, 25);
+
+		// Current changes every Cycle; temperatures are constant
+		for (int i = 0; i < 50; i++) {
+			bridge.registers.put(CURRENT, i);
+			cycle(bridge, scheduler, tasks);
+		}
+		assertEquals(50, bridge.getNoOfReads(CURRENT));
+		assertTrue("Reads [" + bridge.getNoOfReads(MAX_TEMPERATURE) + "]",
+				bridge.getNoOfReads(MAX_TEMPERATURE) < 15);
+		assertEquals(8, scheduler.getInterval(getTask(tasks, MAX_TEMPERATURE)));
+		assertEquals(25, (int) sut.channel(Battery.ChannelId.MAX_CELL_TEMPERATURE).getNextValue().get());
+
+		// Temperature changes -> read within the maximum interval
+		bridge.registers.put(MAX_TEMPERATURE, 30);
+		for (int i = 0; i < 8; i++) {
+			cycle(bridge, scheduler, tasks);
+		}
+		assertEquals(30, (int) sut.channel(Battery.ChannelId.MAX_CELL_TEMPERATURE).getNextValue().get());
+		assertEquals(20, (int) sut.channel(Battery.ChannelId.MIN_CELL_TEMPERATURE).getNextValue().get());
+	}
+
+}
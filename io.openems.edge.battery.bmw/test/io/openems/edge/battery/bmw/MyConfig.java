@@ -0,0 +1,100 @@
+package io.openems.edge.battery.bmw;
+
+import io.openems.common.utils.ConfigUtils;
+import io.openems.edge.battery.bmw.enums.BatteryState;
+import io.openems.edge.common.test.AbstractComponentConfig;
+
+@SuppressWarnings("all")
+public class MyConfig extends AbstractComponentConfig implements Config {
+
+	protected static class Builder {
+		private String id = null;
+		public String modbusId;
+		public int modbusUnitId;
+
+		private Builder() {
+
+		}
+
+		public Builder setId(String id) {
+			this.id = id;
+			return this;
+		}
+
+		public Builder setModbusId(String modbusId) {
+			this.modbusId = modbusId;
+			return this;
+		}
+
+		public Builder setModbusUnitId(int modbusUnitId) {
+			this.modbusUnitId = modbusUnitId;
+			return this;
+		}
+
+		public MyConfig build() {
+			return new MyConfig(this);
+		}
+	}
+
+	/**
+	 * Create a Config builder.
+	 * 
+	 * @return a {@link Builder}
+	 */
+	public static Builder create() {
+		return new Builder();
+	}
+
+	private final Builder builder;
+
+	private MyConfig(Builder builder) {
+		super(Config.class, builder.id);
+		this.builder = builder;
+	}
+
+	@Override
+	public String modbus_id() {
+		return this.builder.modbusId;
+	}
+
+	@Override
+	public int modbusUnitId() {
+		return this.builder.modbusUnitId;
+	}
+
+	@Override
+	public String Modbus_target() {
+		return ConfigUtils.generateReferenceTargetFilter(this.id(), this.modbus_id());
+	}
+
+	@Override
+	public BatteryState batteryState() {
+		return BatteryState.DEFAULT;
+	}
+
+	@Override
+	public long errorDelay() {
+		return 600;
+	}
+
+	@Override
+	public int maxStartAttempts() {
+		return 5;
+	}
+
+	@Override
+	public int maxStartTime() {
+		return 30;
+	}
+
+	@Override
+	public int startUnsuccessfulDelay() {
+		return 3600;
+	}
+
+	@Override
+	public int pendingTolerance() {
+		return 15;
+	}
+
+}
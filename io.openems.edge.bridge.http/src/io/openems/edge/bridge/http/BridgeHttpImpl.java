@@ -0,0 +1,70 @@
+package io.openems.edge.bridge.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.metatype.annotations.Designate;
+
+import io.openems.edge.bridge.http.api.BridgeHttp;
+import io.openems.edge.bridge.http.api.HttpEndpoint;
+import io.openems.edge.common.event.EdgeEventConstants;
+
+@Designate(ocd = Config.class, factory = false)
+@Component(//
+		name = "Bridge.Http", //
+		immediate = true, //
+		configurationPolicy = ConfigurationPolicy.OPTIONAL, //
+		property = { //
+				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE, //
+				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE //
+		})
+public class BridgeHttpImpl implements BridgeHttp, EventHandler {
+
+	private HttpWorker worker = null;
+
+	@Activate
+	void activate(Config config) {
+		this.worker = new HttpWorker(config.noOfThreads());
+	}
+
+	@Deactivate
+	void deactivate() {
+		this.worker.deactivate();
+	}
+
+	@Override
+	public void handleEvent(Event event) {
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE:
+			this.worker.onBeforeProcessImage();
+			break;
+
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE:
+			this.worker.onAfterWrite();
+			break;
+		}
+	}
+
+	@Override
+	public CycleSubscription subscribeEveryCycle(HttpEndpoint endpoint, BiConsumer<String, Throwable> callback) {
+		return this.worker.subscribeEveryCycle(endpoint, callback);
+	}
+
+	@Override
+	public void removeCycleSubscription(CycleSubscription subscription) {
+		this.worker.removeCycleSubscription(subscription);
+	}
+
+	@Override
+	public CompletableFuture<String> request(HttpEndpoint endpoint) {
+		return this.worker.request(endpoint);
+	}
+
+}
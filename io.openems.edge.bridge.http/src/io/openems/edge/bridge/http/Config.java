@@ -0,0 +1,15 @@
+package io.openems.edge.bridge.http;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+@ObjectClassDefinition(//
+		name = "Bridge HTTP", //
+		description = "Provides a shared service for reading and writing HTTP devices outside of the Cycle.")
+@interface Config {
+
+	@AttributeDefinition(name = "Number of threads", description = "The maximum number of parallel HTTP requests")
+	int noOfThreads() default 4;
+
+	String webconsole_configurationFactory_nameHint() default "Bridge HTTP";
+}
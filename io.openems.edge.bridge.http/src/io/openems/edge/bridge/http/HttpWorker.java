@@ -0,0 +1,260 @@
+package io.openems.edge.bridge.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.http.api.BridgeHttp.CycleSubscription;
+import io.openems.edge.bridge.http.api.HttpEndpoint;
+
+/**
+ * The HttpWorker executes all HTTP requests in a pool of worker threads.
+ *
+ * <p>
+ * Endpoints that are requested every Cycle are started on the
+ * TOPIC_CYCLE_AFTER_WRITE event, so that write requests of this Cycle were
+ * already sent. Their results are delivered to the subscribers on the next
+ * TOPIC_CYCLE_BEFORE_PROCESS_IMAGE event. An endpoint is requested only once
+ * per Cycle - even if it has multiple subscribers - and not again while its
+ * last request is still running.
+ *
+ * <p>
+ * At most {@link #MAX_QUEUE_SIZE} requests wait for a free worker thread;
+ * further requests are rejected, so unreachable devices can not pile up
+ * requests.
+ *
+ * <p>
+ * Connections are kept alive by {@link HttpURLConnection} as long as every
+ * response is read completely.
+ */
+public class HttpWorker {
+
+	private static class Result {
+		private final String body;
+		private final Throwable error;
+
+		private Result(String body, Throwable error) {
+			this.body = body;
+			this.error = error;
+		}
+	}
+
+	private static class Subscription implements CycleSubscription {
+		private final HttpEndpoint endpoint;
+		private final BiConsumer<String, Throwable> callback;
+
+		private Subscription(HttpEndpoint endpoint, BiConsumer<String, Throwable> callback) {
+			this.endpoint = endpoint;
+			this.callback = callback;
+		}
+
+		@Override
+		public HttpEndpoint getEndpoint() {
+			return this.endpoint;
+		}
+	}
+
+	private static class CycleEndpoint {
+		private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+		private final AtomicBoolean isRunning = new AtomicBoolean(false);
+		private final AtomicReference<Result> result = new AtomicReference<>();
+	}
+
+	/**
+	 * The maximum number of requests that wait for a free worker thread.
+	 */
+	protected static final int MAX_QUEUE_SIZE = 100;
+
+	private final Logger log = LoggerFactory.getLogger(HttpWorker.class);
+	private final Map<HttpEndpoint, CycleEndpoint> cycleEndpoints = new ConcurrentHashMap<>();
+	private final ExecutorService executor;
+
+	public HttpWorker(int noOfThreads) {
+		this(noOfThreads, MAX_QUEUE_SIZE);
+	}
+
+	protected HttpWorker(int noOfThreads, int maxQueueSize) {
+		AtomicInteger counter = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(noOfThreads, noOfThreads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(maxQueueSize), runnable -> {
+					Thread thread = new Thread(runnable, "Bridge.Http-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	/**
+	 * Stops the worker threads.
+	 */
+	public void deactivate() {
+		this.executor.shutdownNow();
+	}
+
+	/**
+	 * Adds a {@link CycleSubscription}.
+	 *
+	 * @param endpoint the {@link HttpEndpoint}
+	 * @param callback the callback
+	 * @return the {@link CycleSubscription}
+	 */
+	public CycleSubscription subscribeEveryCycle(HttpEndpoint endpoint, BiConsumer<String, Throwable> callback) {
+		Subscription subscription = new Subscription(endpoint, callback);
+		this.cycleEndpoints.compute(endpoint, (key, cycleEndpoint) -> {
+			if (cycleEndpoint == null) {
+				cycleEndpoint = new CycleEndpoint();
+			}
+			cycleEndpoint.subscriptions.add(subscription);
+			return cycleEndpoint;
+		});
+		return subscription;
+	}
+
+	/**
+	 * Removes a {@link CycleSubscription}.
+	 *
+	 * @param subscription the {@link CycleSubscription}
+	 */
+	public void removeCycleSubscription(CycleSubscription subscription) {
+		this.cycleEndpoints.computeIfPresent(subscription.getEndpoint(), (key, cycleEndpoint) -> {
+			cycleEndpoint.subscriptions.remove(subscription);
+			if (cycleEndpoint.subscriptions.isEmpty()) {
+				return null;
+			}
+			return cycleEndpoint;
+		});
+	}
+
+	/**
+	 * This is called on TOPIC_CYCLE_AFTER_WRITE cycle event.
+	 */
+	public void onAfterWrite() {
+		this.cycleEndpoints.forEach((endpoint, cycleEndpoint) -> {
+			if (!cycleEndpoint.isRunning.compareAndSet(false, true)) {
+				// last request is still running
+				return;
+			}
+			try {
+				this.executor.execute(() -> {
+					try {
+						cycleEndpoint.result.set(new Result(this.execute(endpoint), null));
+					} catch (Throwable e) {
+						cycleEndpoint.result.set(new Result(null, e));
+					} finally {
+						cycleEndpoint.isRunning.set(false);
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				cycleEndpoint.isRunning.set(false);
+			}
+		});
+	}
+
+	/**
+	 * This is called on TOPIC_CYCLE_BEFORE_PROCESS_IMAGE cycle event.
+	 */
+	public void onBeforeProcessImage() {
+		for (CycleEndpoint cycleEndpoint : this.cycleEndpoints.values()) {
+			Result result = cycleEndpoint.result.getAndSet(null);
+			if (result == null) {
+				// no new result
+				continue;
+			}
+			for (Subscription subscription : cycleEndpoint.subscriptions) {
+				try {
+					subscription.callback.accept(result.body, result.error);
+				} catch (RuntimeException e) {
+					this.log.warn("Unable to handle response of [" + subscription.endpoint + "]: "
+							+ e.getClass().getSimpleName() + ": " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Requests the endpoint once.
+	 *
+	 * @param endpoint the {@link HttpEndpoint}
+	 * @return the response body
+	 */
+	public CompletableFuture<String> request(HttpEndpoint endpoint) {
+		CompletableFuture<String> result = new CompletableFuture<>();
+		try {
+			this.executor.execute(() -> {
+				try {
+					result.complete(this.execute(endpoint));
+				} catch (Throwable e) {
+					result.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			result.completeExceptionally(new OpenemsException("Unable to request [" + endpoint + "]: " + e.getMessage()));
+		}
+		return result;
+	}
+
+	/**
+	 * Actually executes a GET request.
+	 *
+	 * @param endpoint the {@link HttpEndpoint}
+	 * @return the response body
+	 * @throws OpenemsException on error
+	 */
+	private String execute(HttpEndpoint endpoint) throws OpenemsException {
+		try {
+			HttpURLConnection con = (HttpURLConnection) new URL(endpoint.getUrl()).openConnection();
+			con.setRequestMethod("GET");
+			con.setConnectTimeout(endpoint.getTimeout());
+			con.setReadTimeout(endpoint.getTimeout());
+			int status = con.getResponseCode();
+			// Read the complete response, so the connection can be reused
+			String body = read(status < 400 ? con.getInputStream() : con.getErrorStream());
+			if (status < 300) {
+				return body;
+			} else {
+				throw new OpenemsException(
+						"Error while reading from [" + endpoint + "]. Response code: " + status + ". " + body);
+			}
+		} catch (IOException e) {
+			throw new OpenemsException(
+					"Unable to read from [" + endpoint + "]. " + e.getClass().getSimpleName() + ": " + e.getMessage());
+		}
+	}
+
+	private static String read(InputStream stream) throws IOException {
+		if (stream == null) {
+			return "";
+		}
+		StringBuilder content = new StringBuilder();
+		try (Reader in = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+			char[] buffer = new char[1024];
+			int length;
+			while ((length = in.read(buffer)) != -1) {
+				content.append(buffer, 0, length);
+			}
+		}
+		return content.toString();
+	}
+
+}
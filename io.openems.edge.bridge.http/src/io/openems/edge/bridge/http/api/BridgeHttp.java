@@ -0,0 +1,93 @@
+package io.openems.edge.bridge.http.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Executes HTTP requests outside of the OpenEMS Edge Cycle.
+ */
+public interface BridgeHttp {
+
+	/**
+	 * Handle of an endpoint that is requested every Cycle.
+	 */
+	public interface CycleSubscription {
+
+		/**
+		 * Gets the {@link HttpEndpoint}.
+		 *
+		 * @return the endpoint
+		 */
+		public HttpEndpoint getEndpoint();
+
+	}
+
+	/**
+	 * Requests the endpoint every Cycle.
+	 *
+	 * <p>
+	 * The request is started after the Controllers were executed. The result is
+	 * handed to the callback on the next TOPIC_CYCLE_BEFORE_PROCESS_IMAGE event -
+	 * in the Cycle thread, so Channel values set by the callback are part of the
+	 * next process image. If the request did not finish in time, the callback is
+	 * not called in this Cycle.
+	 *
+	 * @param endpoint the {@link HttpEndpoint}
+	 * @param callback called with the response body or an error
+	 * @return the {@link CycleSubscription}
+	 */
+	public CycleSubscription subscribeEveryCycle(HttpEndpoint endpoint, BiConsumer<String, Throwable> callback);
+
+	/**
+	 * Requests the endpoint every Cycle and parses the response as JSON.
+	 *
+	 * @see #subscribeEveryCycle(HttpEndpoint, BiConsumer)
+	 * @param endpoint the {@link HttpEndpoint}
+	 * @param callback called with the parsed response or an error
+	 * @return the {@link CycleSubscription}
+	 */
+	public default CycleSubscription subscribeJsonEveryCycle(HttpEndpoint endpoint,
+			BiConsumer<JsonElement, Throwable> callback) {
+		return this.subscribeEveryCycle(endpoint, (body, error) -> {
+			if (error != null) {
+				callback.accept(null, error);
+				return;
+			}
+			JsonElement json;
+			try {
+				json = JsonUtils.parse(body);
+			} catch (OpenemsNamedException e) {
+				callback.accept(null, e);
+				return;
+			}
+			callback.accept(json, null);
+		});
+	}
+
+	/**
+	 * Removes a {@link CycleSubscription}.
+	 *
+	 * @param subscription the {@link CycleSubscription}
+	 */
+	public void removeCycleSubscription(CycleSubscription subscription);
+
+	/**
+	 * Requests the endpoint once, e.g. to write a value.
+	 *
+	 * <p>
+	 * The returned future completes in a worker thread; it completes
+	 * exceptionally with an {@link OpenemsException} on error or if too many
+	 * requests are waiting.
+	 *
+	 * @param endpoint the {@link HttpEndpoint}
+	 * @return the response body
+	 */
+	public CompletableFuture<String> request(HttpEndpoint endpoint);
+
+}
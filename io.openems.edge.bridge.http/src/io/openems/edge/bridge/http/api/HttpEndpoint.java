@@ -0,0 +1,65 @@
+package io.openems.edge.bridge.http.api;
+
+import java.util.Objects;
+
+/**
+ * Describes an HTTP GET endpoint.
+ */
+public class HttpEndpoint {
+
+	public static final int DEFAULT_TIMEOUT = 5000; // [ms]
+
+	private final String url;
+	private final int timeout;
+
+	/**
+	 * Creates a {@link HttpEndpoint} with {@link #DEFAULT_TIMEOUT}.
+	 *
+	 * @param url the URL
+	 */
+	public HttpEndpoint(String url) {
+		this(url, DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * Creates a {@link HttpEndpoint}.
+	 *
+	 * @param url     the URL
+	 * @param timeout the connect and read timeout in [ms]
+	 */
+	public HttpEndpoint(String url, int timeout) {
+		this.url = Objects.requireNonNull(url);
+		this.timeout = timeout;
+	}
+
+	public String getUrl() {
+		return this.url;
+	}
+
+	public int getTimeout() {
+		return this.timeout;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.url, this.timeout);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || this.getClass() != obj.getClass()) {
+			return false;
+		}
+		HttpEndpoint other = (HttpEndpoint) obj;
+		return this.url.equals(other.url) && this.timeout == other.timeout;
+	}
+
+	@Override
+	public String toString() {
+		return this.url;
+	}
+
+}
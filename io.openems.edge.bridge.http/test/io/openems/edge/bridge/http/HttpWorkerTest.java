@@ -0,0 +1,205 @@
+package io.openems.edge.bridge.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.openems.edge.bridge.http.api.BridgeHttp.CycleSubscription;
+import io.openems.edge.bridge.http.api.HttpEndpoint;
+
+public class HttpWorkerTest {
+
+	private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+	private HttpServer server;
+	private HttpWorker sut;
+	private final AtomicInteger noOfStatusRequests = new AtomicInteger();
+	private final CountDownLatch slowRequestStarted = new CountDownLatch(1);
+	private final CountDownLatch releaseSlowRequest = new CountDownLatch(1);
+
+	@Before
+	public void before() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		this.server.createContext("/status", exchange -> {
+			byte[] body = ("{\"count\":" + this.noOfStatusRequests.incrementAndGet() + "}")
+					.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		this.server.createContext("/slow", exchange -> {
+			this.slowRequestStarted.countDown();
+			try {
+				this.releaseSlowRequest.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			exchange.sendResponseHeaders(200, -1);
+			exchange.close();
+		});
+		this.server.createContext("/error", exchange -> {
+			exchange.sendResponseHeaders(500, -1);
+			exchange.close();
+		});
+		this.server.setExecutor(this.serverExecutor);
+		this.server.start();
+		this.sut = new HttpWorker(4);
+	}
+
+	@After
+	public void after() {
+		this.releaseSlowRequest.countDown();
+		this.sut.deactivate();
+		this.server.stop(0);
+		this.serverExecutor.shutdownNow();
+	}
+
+	private HttpEndpoint endpoint(String path) {
+		return new HttpEndpoint("http://127.0.0.1:" + this.server.getAddress().getPort() + path, 1000);
+	}
+
+	@Test
+	public void testCycle() throws Exception {
+		List<String> results1 = new ArrayList<>();
+		List<String> results2 = new ArrayList<>();
+		this.sut.subscribeEveryCycle(this.endpoint("/status"), (body, error) -> results1.add(body));
+		CycleSubscription subscription2 = this.sut.subscribeEveryCycle(this.endpoint("/status"),
+				(body, error) -> results2.add(body));
+
+		// nothing was requested yet
+		this.sut.onBeforeProcessImage();
+		assertTrue(results1.isEmpty());
+
+		// both subscribers share one request
+		this.sut.onAfterWrite();
+		this.awaitResults(results1, 1);
+		assertEquals("{\"count\":1}", results1.get(0));
+		assertEquals("{\"count\":1}", results2.get(0));
+
+		// result is delivered only once
+		this.sut.onBeforeProcessImage();
+		assertEquals(1, results1.size());
+
+		this.sut.removeCycleSubscription(subscription2);
+		this.sut.onAfterWrite();
+		this.awaitResults(results1, 2);
+		assertEquals(2, results1.size());
+		assertEquals(1, results2.size());
+	}
+
+	@Test
+	public void testSlowEndpoint() throws Exception {
+		AtomicInteger noOfSlowResults = new AtomicInteger();
+		List<String> results = new ArrayList<>();
+		this.sut.subscribeEveryCycle(this.endpoint("/slow"), (body, error) -> noOfSlowResults.incrementAndGet());
+		this.sut.subscribeEveryCycle(this.endpoint("/status"), (body, error) -> results.add(body));
+
+		// the slow endpoint neither blocks the Cycle nor other endpoints
+		for (int i = 1; i <= 3; i++) {
+			long start = System.nanoTime();
+			this.sut.onAfterWrite();
+			this.sut.onBeforeProcessImage();
+			assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+			this.awaitResults(results, i);
+		}
+		assertEquals(0, noOfSlowResults.get());
+
+		this.releaseSlowRequest.countDown();
+		for (int i = 0; i < 500 && noOfSlowResults.get() == 0; i++) {
+			Thread.sleep(10);
+			this.sut.onBeforeProcessImage();
+		}
+		// requested only once while it was running
+		assertEquals(1, noOfSlowResults.get());
+	}
+
+	@Test
+	public void testRequest() throws Exception {
+		assertEquals("{\"count\":1}", this.sut.request(this.endpoint("/status")).get(5, TimeUnit.SECONDS));
+
+		List<Throwable> errors = new ArrayList<>();
+		List<String> results = new ArrayList<>();
+		this.sut.subscribeEveryCycle(this.endpoint("/error"), (body, error) -> {
+			results.add(body);
+			errors.add(error);
+		});
+		this.sut.onAfterWrite();
+		this.awaitResults(results, 1);
+		assertNull(results.get(0));
+		assertNotNull(errors.get(0));
+	}
+
+	@Test
+	public void testUnexpectedError() throws Exception {
+		// not a HttpURLConnection: fails with a RuntimeException
+		HttpEndpoint endpoint = new HttpEndpoint("file:///", 1000);
+		CompletableFuture<String> request = this.sut.request(endpoint);
+		try {
+			request.get(5, TimeUnit.SECONDS);
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RuntimeException);
+		}
+
+		// the endpoint is requested again in the next Cycle
+		List<Throwable> errors = new ArrayList<>();
+		this.sut.subscribeEveryCycle(endpoint, (body, error) -> errors.add(error));
+		for (int i = 1; i <= 2; i++) {
+			this.sut.onAfterWrite();
+			this.awaitResults(errors, i);
+			assertTrue(errors.get(i - 1) instanceof RuntimeException);
+		}
+	}
+
+	@Test
+	public void testBoundedQueue() throws Exception {
+		this.sut.deactivate();
+		this.sut = new HttpWorker(1, 1);
+
+		// one request is running, one is waiting, the next one is rejected
+		CompletableFuture<String> running = this.sut.request(this.endpoint("/slow"));
+		assertTrue(this.slowRequestStarted.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> queued = this.sut.request(this.endpoint("/status"));
+		CompletableFuture<String> rejected = this.sut.request(this.endpoint("/status"));
+		assertTrue(rejected.isCompletedExceptionally());
+
+		this.releaseSlowRequest.countDown();
+		running.get(5, TimeUnit.SECONDS);
+		assertFalse(queued.get(5, TimeUnit.SECONDS).isEmpty());
+	}
+
+	/**
+	 * Simulates Cycles till the expected number of results was delivered.
+	 */
+	private void awaitResults(List<?> results, int expectedSize) throws InterruptedException {
+		for (int i = 0; i < 500 && results.size() < expectedSize; i++) {
+			Thread.sleep(10);
+			this.sut.onBeforeProcessImage();
+		}
+		assertEquals(expectedSize, results.size());
+	}
+
+}
@@ -2,6 +2,8 @@ package io.openems.edge.bridge.modbus;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -70,21 +72,28 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 	@Activate
 	protected void activate(ComponentContext context, ConfigTcp config) throws UnknownHostException {
 		super.activate(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
-				config.invalidateElementsAfterReadErrors());
+				config.invalidateElementsAfterReadErrors(), config.mergeReadsMaxGap(),
+				config.adaptivePollingMaxInterval());
 		this.setIpAddress(InetAddress.getByName(config.ip()));
 		this.port = config.port();
+		this.setMaxConcurrentTransactions(config.maxConcurrentTransactions());
 	}
 
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		// close connections of all threads
+		for (TCPMasterConnection connection : this.connections.values()) {
+			connection.close();
+		}
+		this.connections.clear();
 	}
 
 	@Override
 	public void closeModbusConnection() {
-		if (this._connection != null) {
-			this._connection.close();
-			this._connection = null;
+		TCPMasterConnection connection = this.connections.remove(Thread.currentThread());
+		if (connection != null) {
+			connection.close();
 		}
 	}
 
@@ -96,27 +105,48 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 		return transaction;
 	}
 
-	private TCPMasterConnection _connection = null;
+	/**
+	 * Holds one connection per executing thread. With
+	 * {@link ConfigTcp#maxConcurrentTransactions()} &gt; 1 several transactions are
+	 * in flight at the same time, each on its own connection, so that responses
+	 * are matched by the Modbus/TCP transaction ID of the connection.
+	 * 
+	 * <p>
+	 * Threads of the concurrent executor close their connection via
+	 * {@link #closeModbusConnection()} when they terminate.
+	 */
+	private final Map<Thread, TCPMasterConnection> connections = new ConcurrentHashMap<>();
 
-	private synchronized TCPMasterConnection getModbusConnection() throws OpenemsException {
-		if (this._connection == null) {
+	private TCPMasterConnection getModbusConnection() throws OpenemsException {
+		TCPMasterConnection connection = this.connections.get(Thread.currentThread());
+		if (connection == null) {
+			/*
+			 * close connections of terminated threads
+			 */
+			this.connections.entrySet().removeIf(entry -> {
+				if (entry.getKey().isAlive()) {
+					return false;
+				}
+				entry.getValue().close();
+				return true;
+			});
 			/*
 			 * create new connection
 			 */
-			TCPMasterConnection connection = new TCPMasterConnection(this.getIpAddress());
+			connection = new TCPMasterConnection(this.getIpAddress());
 			connection.setPort(this.port);
-			this._connection = connection;
+			this.connections.put(Thread.currentThread(), connection);
 		}
-		if (!this._connection.isConnected()) {
+		if (!connection.isConnected()) {
 			try {
-				this._connection.connect();
+				connection.connect();
 			} catch (Exception e) {
 				throw new OpenemsException(
 						"Connection to [" + this.getIpAddress().getHostAddress() + "] failed: " + e.getMessage());
 			}
-			this._connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
+			connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
 		}
-		return this._connection;
+		return connection;
 	}
 
 	public InetAddress getIpAddress() {
@@ -33,5 +33,14 @@ import io.openems.edge.bridge.modbus.api.LogVerbosity;
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Merge Read-Tasks with a gap of up to how many registers?", description = "Reads several Read-Tasks of the same device with one request. '0' merges only adjacent Tasks; '-1' disables merging.")
+	int mergeReadsMaxGap() default -1;
+
+	@AttributeDefinition(name = "Adaptive polling: max. interval in Cycles", description = "Reads High-Priority Read-Tasks whose values did not change less often, up to every n-th Cycle. Applies only to Read-Tasks that are marked for adaptive polling by their driver; all other Tasks are read every Cycle. '1' disables adaptive polling.")
+	int adaptivePollingMaxInterval() default 1;
+
+	@AttributeDefinition(name = "Max. concurrent transactions", description = "The maximum number of Modbus transactions in flight at the same time, each on its own TCP connection. Transactions for the same Unit-ID are never executed concurrently. '1' uses a single connection.")
+	int maxConcurrentTransactions() default 1;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/TCP [{id}]";
 }
\ No newline at end of file
@@ -45,10 +45,13 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	}
 
 	protected void activate(ComponentContext context, String id, String alias, boolean enabled,
-			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors) {
+			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors, int mergeReadsMaxGap,
+			int adaptivePollingMaxInterval) {
 		super.activate(context, id, alias, enabled);
 		this.logVerbosity = logVerbosity;
 		this.invalidateElementsAfterReadErrors = invalidateElementsAfterReadErrors;
+		this.worker.setMergeReadsMaxGap(mergeReadsMaxGap);
+		this.worker.setAdaptivePollingMaxInterval(adaptivePollingMaxInterval);
 		if (this.isEnabled()) {
 			this.worker.activate(id);
 		}
@@ -60,6 +63,16 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 		this.closeModbusConnection();
 	}
 
+	/**
+	 * Sets the maximum number of Modbus transactions that may be in flight at the
+	 * same time. Only useful for bridges that support multiple connections.
+	 * 
+	 * @param maxConcurrentTransactions the maximum number of transactions
+	 */
+	protected void setMaxConcurrentTransactions(int maxConcurrentTransactions) {
+		this.worker.setMaxConcurrentTransactions(maxConcurrentTransactions);
+	}
+
 	/**
 	 * Adds the protocol.
 	 * 
@@ -0,0 +1,127 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import io.openems.edge.bridge.modbus.api.task.AbstractReadTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+
+/**
+ * Adapts the polling interval of Read-Tasks to the observed rate of change of
+ * their registers.
+ *
+ * <p>
+ * Every Read-Task starts with an interval of one Cycle. Each time a Task is due
+ * it is checked whether any of its reads since the last due time returned a
+ * changed response:
+ * <ul>
+ * <li>no change -&gt; the interval is doubled, up to
+ * {@link #setMaxInterval(int)} Cycles
+ * <li>change -&gt; the interval is reset to one Cycle
+ * </ul>
+ *
+ * <p>
+ * Only Tasks that are marked with {@link AbstractReadTask#pollAdaptively()} are
+ * adapted; all other Tasks are read every Cycle.
+ */
+public class AdaptiveReadScheduler {
+
+	private static class State {
+		private int interval = 1;
+		private int cyclesSinceLastRead = 0;
+		private long lastNoOfChanges = -1;
+	}
+
+	/**
+	 * Adaptive polling is disabled if maxInterval is 1.
+	 */
+	private int maxInterval = 1;
+
+	/**
+	 * Tasks are weak keys, so that the State of a removed Task is released.
+	 */
+	private final Map<ReadTask, State> states = new WeakHashMap<>();
+
+	/**
+	 * Sets the maximum polling interval in Cycles. A value of '1' disables
+	 * adaptive polling.
+	 *
+	 * @param maxInterval the maximum interval
+	 */
+	public synchronized void setMaxInterval(int maxInterval) {
+		this.maxInterval = Math.max(1, maxInterval);
+		if (this.maxInterval == 1) {
+			this.states.clear();
+		}
+	}
+
+	/**
+	 * Filters the Read-Tasks that are due in this Cycle. Call this method exactly
+	 * once per Cycle.
+	 *
+	 * @param tasks all Read-Tasks
+	 * @return the Read-Tasks that are due
+	 */
+	public synchronized List<ReadTask> apply(List<ReadTask> tasks) {
+		if (this.maxInterval == 1) {
+			return tasks;
+		}
+		List<ReadTask> result = new ArrayList<>(tasks.size());
+		for (ReadTask task : tasks) {
+			if (!(task instanceof AbstractReadTask<?>) || !((AbstractReadTask<?>) task).isPollAdaptively()) {
+				result.add(task);
+				continue;
+			}
+			State state = this.states.computeIfAbsent(task, t -> new State());
+			state.cyclesSinceLastRead++;
+			if (state.cyclesSinceLastRead < state.interval) {
+				continue;
+			}
+
+			// Task is due -> adapt the interval by the reads since last due time
+			long noOfChanges = ((AbstractReadTask<?>) task).getNoOfChanges();
+			if (noOfChanges != state.lastNoOfChanges) {
+				state.interval = 1;
+			} else {
+				state.interval = Math.min(this.maxInterval, state.interval * 2);
+			}
+			state.lastNoOfChanges = noOfChanges;
+			state.cyclesSinceLastRead = 0;
+			result.add(task);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the current polling interval of a Read-Task in Cycles.
+	 *
+	 * @param task the {@link ReadTask}
+	 * @return the interval
+	 */
+	public synchronized int getInterval(ReadTask task) {
+		State state = this.states.get(task);
+		if (state == null) {
+			return 1;
+		}
+		return state.interval;
+	}
+
+	/**
+	 * Gets the average polling interval in Cycles of all known Read-Tasks.
+	 *
+	 * @return the average interval; 1 if adaptive polling is disabled
+	 */
+	public synchronized double getAverageInterval() {
+		if (this.states.isEmpty()) {
+			return 1;
+		}
+		double sum = 0;
+		for (State state : this.states.values()) {
+			sum += state.interval;
+		}
+		return sum / this.states.size();
+	}
+
+}
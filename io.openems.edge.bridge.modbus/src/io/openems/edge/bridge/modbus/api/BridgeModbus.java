@@ -7,6 +7,8 @@ import io.openems.common.channel.Level;
 import io.openems.common.channel.Unit;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.DoubleReadChannel;
+import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.value.Value;
@@ -21,7 +23,16 @@ public interface BridgeModbus extends OpenemsComponent {
 		CYCLE_TIME_IS_TOO_SHORT(Doc.of(Level.WARNING) //
 				.debounce(10, Debounce.TRUE_VALUES_IN_A_ROW_TO_SET_TRUE)), //
 		EXECUTION_DURATION(Doc.of(OpenemsType.LONG) //
-				.unit(Unit.MILLISECONDS));
+				.unit(Unit.MILLISECONDS)), //
+		SAVED_READ_REQUESTS(Doc.of(OpenemsType.INTEGER) //
+				.text("Number of read requests per Cycle that were saved by merging Read-Tasks")), //
+		SKIPPED_READ_TASKS(Doc.of(OpenemsType.INTEGER) //
+				.text("Number of High-Priority Read-Tasks per Cycle that were skipped by adaptive polling")), //
+		AVERAGE_READ_INTERVAL(Doc.of(OpenemsType.DOUBLE) //
+				.text("Average polling interval of adaptively polled Read-Tasks in Cycles")), //
+		BUS_UTILIZATION(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.PERCENT) //
+				.text("Estimated execution duration of all Tasks in relation to the Cycle-Time"));
 
 		private final Doc doc;
 
@@ -122,6 +133,122 @@ public interface BridgeModbus extends OpenemsComponent {
 		this.getExecutionDurationChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#SAVED_READ_REQUESTS}.
+	 * 
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getSavedReadRequestsChannel() {
+		return this.channel(ChannelId.SAVED_READ_REQUESTS);
+	}
+
+	/**
+	 * Gets the number of saved read requests per Cycle, see
+	 * {@link ChannelId#SAVED_READ_REQUESTS}.
+	 * 
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getSavedReadRequests() {
+		return this.getSavedReadRequestsChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SAVED_READ_REQUESTS} Channel.
+	 * 
+	 * @param value the next value
+	 */
+	public default void _setSavedReadRequests(int value) {
+		this.getSavedReadRequestsChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SKIPPED_READ_TASKS}.
+	 * 
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getSkippedReadTasksChannel() {
+		return this.channel(ChannelId.SKIPPED_READ_TASKS);
+	}
+
+	/**
+	 * Gets the number of Read-Tasks per Cycle that were skipped by adaptive
+	 * polling, see {@link ChannelId#SKIPPED_READ_TASKS}.
+	 * 
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getSkippedReadTasks() {
+		return this.getSkippedReadTasksChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SKIPPED_READ_TASKS} Channel.
+	 * 
+	 * @param value the next value
+	 */
+	public default void _setSkippedReadTasks(int value) {
+		this.getSkippedReadTasksChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#AVERAGE_READ_INTERVAL}.
+	 * 
+	 * @return the Channel
+	 */
+	public default DoubleReadChannel getAverageReadIntervalChannel() {
+		return this.channel(ChannelId.AVERAGE_READ_INTERVAL);
+	}
+
+	/**
+	 * Gets the average polling interval of adaptively polled Read-Tasks in Cycles,
+	 * see {@link ChannelId#AVERAGE_READ_INTERVAL}.
+	 * 
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Double> getAverageReadInterval() {
+		return this.getAverageReadIntervalChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#AVERAGE_READ_INTERVAL} Channel.
+	 * 
+	 * @param value the next value
+	 */
+	public default void _setAverageReadInterval(double value) {
+		this.getAverageReadIntervalChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#BUS_UTILIZATION}.
+	 * 
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getBusUtilizationChannel() {
+		return this.channel(ChannelId.BUS_UTILIZATION);
+	}
+
+	/**
+	 * Gets the estimated bus utilization in [%], see
+	 * {@link ChannelId#BUS_UTILIZATION}.
+	 * 
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getBusUtilization() {
+		return this.getBusUtilizationChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#BUS_UTILIZATION}
+	 * Channel.
+	 * 
+	 * @param value the next value
+	 */
+	public default void _setBusUtilization(int value) {
+		this.getBusUtilizationChannel().setNextValue(value);
+	}
+
 	/**
 	 * Adds a Protocol with a source identifier to this Modbus Bridge.
 	 * 
@@ -1,6 +1,7 @@
 package io.openems.edge.bridge.modbus.api;
 
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +31,12 @@ public class ModbusProtocol {
 	 */
 	private final TasksManager<WriteTask> writeTaskManager = new TasksManager<>();
 
+	/**
+	 * Register ranges that must never be read, e.g. because the device answers
+	 * with an error. See {@link #addDoNotBridgeRange(int, int)}.
+	 */
+	private final List<int[]> doNotBridgeRanges = new CopyOnWriteArrayList<>();
+
 	public ModbusProtocol(AbstractOpenemsModbusComponent parent, Task... tasks) {
 		this.parent = parent;
 		for (Task task : tasks) {
@@ -81,6 +88,37 @@ public class ModbusProtocol {
 		}
 	}
 
+	/**
+	 * Adds a range of registers that must never be read. The Modbus-Bridge is
+	 * allowed to merge Read-Tasks with small gaps in between to one request; such
+	 * a gap is never bridged if it overlaps with this range.
+	 * 
+	 * @param fromAddress the first address of the range
+	 * @param toAddress   the last address of the range (inclusive)
+	 * @return myself
+	 */
+	public ModbusProtocol addDoNotBridgeRange(int fromAddress, int toAddress) {
+		this.doNotBridgeRanges.add(new int[] { fromAddress, toAddress });
+		return this;
+	}
+
+	/**
+	 * Is it allowed to read the given range of registers, although they do not
+	 * belong to any Task?.
+	 * 
+	 * @param fromAddress the first address of the range
+	 * @param toAddress   the last address of the range (inclusive)
+	 * @return true if bridging is allowed
+	 */
+	public boolean isBridgingAllowed(int fromAddress, int toAddress) {
+		for (int[] range : this.doNotBridgeRanges) {
+			if (fromAddress <= range[1] && toAddress >= range[0]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Gets the Read-Tasks Manager.
 	 * 
@@ -0,0 +1,98 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import io.openems.edge.bridge.modbus.api.task.Task;
+
+/**
+ * Executes Modbus {@link Task}s concurrently on a bounded pool of threads.
+ *
+ * <p>
+ * Tasks for the same Unit-ID are executed strictly in the order they were
+ * submitted ('lanes'); Tasks for different Unit-IDs - e.g. meters and inverters
+ * behind one Modbus-TCP/RTU gateway - may be in flight at the same time. Every
+ * thread is expected to use its own connection, see
+ * {@link AbstractModbusBridge#getNewModbusTransaction()}; it is closed when the
+ * thread terminates, e.g. on {@link #shutdown()}.
+ */
+public class ModbusTaskExecutor {
+
+	private final ExecutorService executor;
+	private final Consumer<Task> execute;
+	private final Map<Integer, CompletableFuture<Void>> lanes = new HashMap<>();
+
+	/**
+	 * Creates a {@link ModbusTaskExecutor}.
+	 *
+	 * @param name        the name prefix for the threads
+	 * @param concurrency  the maximum number of Tasks in flight
+	 * @param execute      the callback that executes a Task; must not throw
+	 * @param onThreadExit the callback that is executed by each thread before it
+	 *                     terminates, e.g. to close its connection
+	 */
+	public ModbusTaskExecutor(String name, int concurrency, Consumer<Task> execute, Runnable onThreadExit) {
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+			Thread thread = new Thread(() -> {
+				try {
+					runnable.run();
+				} finally {
+					onThreadExit.run();
+				}
+			}, name + "-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.execute = execute;
+	}
+
+	/**
+	 * Submits a Task for execution.
+	 *
+	 * @param task the {@link Task}
+	 */
+	public synchronized void submit(Task task) {
+		Integer unitId = task.getParent() == null ? null : task.getParent().getUnitId();
+		CompletableFuture<Void> lane = this.lanes.get(unitId);
+		if (lane == null) {
+			lane = CompletableFuture.runAsync(() -> this.execute.accept(task), this.executor);
+		} else {
+			lane = lane.exceptionally(e -> null).thenRunAsync(() -> this.execute.accept(task), this.executor);
+		}
+		this.lanes.put(unitId, lane);
+	}
+
+	/**
+	 * Waits till all submitted Tasks are finished.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void awaitAll() throws InterruptedException {
+		final CompletableFuture<?>[] lanes;
+		synchronized (this) {
+			lanes = this.lanes.values().toArray(new CompletableFuture<?>[this.lanes.size()]);
+			this.lanes.clear();
+		}
+		try {
+			CompletableFuture.allOf(lanes).get();
+		} catch (ExecutionException e) {
+			// errors are handled by the execute callback
+		}
+	}
+
+	/**
+	 * Stops all threads. Each thread executes the 'onThreadExit' callback before
+	 * it terminates.
+	 */
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+}
@@ -1,14 +1,18 @@
 package io.openems.edge.bridge.modbus.api;
 
+import java.time.Clock;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Deque;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
@@ -25,6 +29,7 @@ import io.openems.edge.bridge.modbus.api.task.ReadTask;
 import io.openems.edge.bridge.modbus.api.task.Task;
 import io.openems.edge.bridge.modbus.api.task.WaitTask;
 import io.openems.edge.bridge.modbus.api.task.WriteTask;
+import io.openems.edge.common.cycle.CycleTimestamp;
 import io.openems.edge.common.taskmanager.MetaTasksManager;
 import io.openems.edge.common.taskmanager.Priority;
 
@@ -37,6 +42,12 @@ import io.openems.edge.common.taskmanager.Priority;
  * TOPIC_CYCLE_EXECUTE_WRITE event) and all Read-Tasks as late as possible to
  * have correct values available exactly when they are needed (i.e. at the
  * TOPIC_CYCLE_BEFORE_PROCESS_IMAGE event).
+ * 
+ * <p>
+ * If concurrent transactions are enabled, Read-Tasks for different Unit-IDs are
+ * executed in parallel. Before any other Task all Read-Tasks in flight are
+ * finished; Write-Tasks are then held back till the TOPIC_CYCLE_EXECUTE_WRITE
+ * event, so that they always write the values set by the Controllers.
  */
 public class ModbusWorker extends AbstractImmediateWorker {
 
@@ -48,13 +59,24 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	private final LinkedBlockingDeque<Task> tasksQueue = new LinkedBlockingDeque<>();
 	private final MetaTasksManager<ReadTask> readTasksManager = new MetaTasksManager<>();
 	private final MetaTasksManager<WriteTask> writeTasksManager = new MetaTasksManager<>();
+	private final Map<String, ModbusProtocol> protocols = new ConcurrentHashMap<>();
+	private final ReadTasksPlanner readTasksPlanner = new ReadTasksPlanner();
+	private final AdaptiveReadScheduler adaptiveReadScheduler = new AdaptiveReadScheduler();
 	// Holds source Component-IDs that are known to have errors.
-	private final Set<String> defectiveComponents = new HashSet<>();
+	private final Set<String> defectiveComponents = ConcurrentHashMap.newKeySet();
 	private final AbstractModbusBridge parent;
 
+	// Executes Tasks concurrently; null if Tasks are executed one by one
+	private ModbusTaskExecutor taskExecutor = null;
+	private int maxConcurrentTransactions = 1;
+
 	// The measured duration between BeforeProcessImage event and ExecuteWrite event
 	private long durationBetweenBeforeProcessImageTillExecuteWrite = 0;
 
+	// Is the Cycle between ExecuteWrite and the next BeforeProcessImage event?
+	private final Object writePhaseLock = new Object();
+	private boolean isWritePhase = false;
+
 	protected ModbusWorker(AbstractModbusBridge parent) {
 		this.parent = parent;
 	}
@@ -71,6 +93,10 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		this.cycleStopwatch.reset();
 		this.cycleStopwatch.start();
 
+		synchronized (this.writePhaseLock) {
+			this.isWritePhase = false;
+		}
+
 		// If the current tasks queue spans multiple cycles and we are in-between ->
 		// stop here
 		if (!this.tasksQueue.isEmpty()) {
@@ -83,7 +109,19 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		if (lowPriorityTask != null) {
 			nextReadTasks.add(lowPriorityTask);
 		}
-		nextReadTasks.addAll(this.getAllHighPriorityReadTasks());
+
+		// Skip High-Priority Read-Tasks whose values rarely change
+		List<ReadTask> highPriorityReadTasks = this.getAllHighPriorityReadTasks();
+		List<ReadTask> dueReadTasks = this.adaptiveReadScheduler.apply(highPriorityReadTasks);
+		this.parent._setSkippedReadTasks(highPriorityReadTasks.size() - dueReadTasks.size());
+		this.parent._setAverageReadInterval(this.adaptiveReadScheduler.getAverageInterval());
+		nextReadTasks.addAll(dueReadTasks);
+
+		// Merge Read-Tasks of the same device to save requests
+		int noOfReadTasks = nextReadTasks.size();
+		nextReadTasks = this.readTasksPlanner.apply(nextReadTasks, this.protocols::get);
+		this.parent._setSavedReadRequests(noOfReadTasks - nextReadTasks.size());
+
 		long readTasksDuration = 0;
 		for (ReadTask task : nextReadTasks) {
 			readTasksDuration += task.getExecuteDuration();
@@ -97,12 +135,14 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		}
 
 		// plan the execution for the next cycles
-		long totalDuration = readTasksDuration + writeTasksDuration;
+		long totalDuration = this.estimateTotalDuration(nextReadTasks, nextWriteTasks,
+				readTasksDuration + writeTasksDuration);
 		long totalDurationWithBuffer = totalDuration + TASK_DURATION_BUFFER;
 		long noOfRequiredCycles = ceilDiv(totalDurationWithBuffer, cycleTime);
 
-		// Set EXECUTION_DURATION channel
+		// Set EXECUTION_DURATION and BUS_UTILIZATION channels
 		this.parent._setExecutionDuration(totalDuration);
+		this.parent._setBusUtilization((int) (totalDuration * 100 / Math.max(1, cycleTime)));
 
 		// Set CYCLE_TIME_IS_TOO_SHORT state-channel if more than one cycle is required;
 		// but only if SlaveCommunicationFailed-Channel is not set
@@ -162,11 +202,60 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		} else {
 			this.durationBetweenBeforeProcessImageTillExecuteWrite = 0;
 		}
+
+		synchronized (this.writePhaseLock) {
+			this.isWritePhase = true;
+			this.writePhaseLock.notifyAll();
+		}
 	}
 
 	@Override
 	protected void forever() throws InterruptedException {
 		Task task = this.tasksQueue.takeLast();
+		ModbusTaskExecutor taskExecutor = this.taskExecutor;
+		if (taskExecutor == null) {
+			this.execute(task);
+
+		} else if (task instanceof ReadTask) {
+			// Read-Tasks for different Unit-IDs are executed concurrently
+			taskExecutor.submit(task);
+
+		} else {
+			// finish all Read-Tasks in flight
+			taskExecutor.awaitAll();
+			if (task instanceof WriteTask) {
+				this.awaitWritePhase();
+			}
+			this.execute(task);
+		}
+	}
+
+	/**
+	 * Waits till the TOPIC_CYCLE_EXECUTE_WRITE event of the current Cycle, i.e.
+	 * till the Controllers have set the values to be written.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private void awaitWritePhase() throws InterruptedException {
+		synchronized (this.writePhaseLock) {
+			while (!this.isWritePhase) {
+				this.writePhaseLock.wait();
+			}
+		}
+	}
+
+	/**
+	 * Executes a Task and handles errors.
+	 * 
+	 * <p>
+	 * All values of one Task share one timestamp, i.e. the clock is read once per
+	 * Task instead of once per value, see {@link CycleTimestamp}.
+	 * 
+	 * @param task the {@link Task}
+	 */
+	private void execute(Task task) {
+		Clock clock = CycleTimestamp.global().clock();
+		new CycleTimestamp(clock).bindToCurrentThread().update(clock);
 		try {
 			// execute the task
 			int noOfExecutedSubTasks = task.execute(this.parent);
@@ -196,9 +285,70 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			for (ModbusElement<?> element : task.getElements()) {
 				element.invalidate(this.parent);
 			}
+
+		} finally {
+			CycleTimestamp.unbindCurrentThread();
 		}
 	}
 
+	/**
+	 * Sets the maximum number of Modbus transactions that may be in flight at the
+	 * same time. Only Read-Tasks are executed concurrently; transactions for the
+	 * same Unit-ID are always executed one after the other.
+	 * 
+	 * @param maxConcurrentTransactions the maximum number of transactions; '1'
+	 *                                  executes all Tasks one by one
+	 */
+	public synchronized void setMaxConcurrentTransactions(int maxConcurrentTransactions) {
+		maxConcurrentTransactions = Math.max(1, maxConcurrentTransactions);
+		if (this.taskExecutor != null) {
+			this.taskExecutor.shutdown();
+			this.taskExecutor = null;
+		}
+		this.maxConcurrentTransactions = maxConcurrentTransactions;
+		if (maxConcurrentTransactions > 1) {
+			this.taskExecutor = new ModbusTaskExecutor(this.parent.id(), maxConcurrentTransactions,
+					this::execute, this.parent::closeModbusConnection);
+		}
+	}
+
+	@Override
+	public synchronized void deactivate() {
+		super.deactivate();
+		if (this.taskExecutor != null) {
+			this.taskExecutor.shutdown();
+			this.taskExecutor = null;
+		}
+	}
+
+	/**
+	 * Estimates the duration for executing the given Tasks. If transactions are
+	 * executed concurrently, the duration is limited by the busiest Unit-ID.
+	 * 
+	 * @param readTasks          the Read-Tasks
+	 * @param writeTasks         the Write-Tasks
+	 * @param sequentialDuration the sum of all execution durations
+	 * @return the estimated duration in [ms]
+	 */
+	private long estimateTotalDuration(List<ReadTask> readTasks, List<WriteTask> writeTasks,
+			long sequentialDuration) {
+		if (this.maxConcurrentTransactions < 2) {
+			return sequentialDuration;
+		}
+		Map<Integer, Long> durationPerUnitId = new HashMap<>();
+		for (List<? extends Task> tasks : Arrays.asList(readTasks, writeTasks)) {
+			for (Task task : tasks) {
+				Integer unitId = task.getParent() == null ? null : task.getParent().getUnitId();
+				durationPerUnitId.merge(unitId, task.getExecuteDuration(), Long::sum);
+			}
+		}
+		long maxDurationPerUnitId = 0;
+		for (long duration : durationPerUnitId.values()) {
+			maxDurationPerUnitId = Math.max(maxDurationPerUnitId, duration);
+		}
+		return Math.max(maxDurationPerUnitId, ceilDiv(sequentialDuration, this.maxConcurrentTransactions));
+	}
+
 	/**
 	 * Gets one Read-Tasks with priority Low or Once.
 	 * 
@@ -284,6 +434,7 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	 * @param protocol the ModbusProtocol
 	 */
 	public void addProtocol(String sourceId, ModbusProtocol protocol) {
+		this.protocols.put(sourceId, protocol);
 		this.readTasksManager.addTasksManager(sourceId, protocol.getReadTasksManager());
 		this.writeTasksManager.addTasksManager(sourceId, protocol.getWriteTasksManager());
 	}
@@ -294,10 +445,31 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	 * @param sourceId Component-ID of the source
 	 */
 	public void removeProtocol(String sourceId) {
+		this.protocols.remove(sourceId);
 		this.readTasksManager.removeTasksManager(sourceId);
 		this.writeTasksManager.removeTasksManager(sourceId);
 	}
 
+	/**
+	 * Sets the maximum gap in registers that may be bridged to merge Read-Tasks.
+	 * See {@link ReadTasksPlanner#setMaxGap(int)}.
+	 * 
+	 * @param maxGap the maximum gap; negative to disable merging
+	 */
+	public void setMergeReadsMaxGap(int maxGap) {
+		this.readTasksPlanner.setMaxGap(maxGap);
+	}
+
+	/**
+	 * Sets the maximum polling interval in Cycles for High-Priority Read-Tasks.
+	 * See {@link AdaptiveReadScheduler#setMaxInterval(int)}.
+	 * 
+	 * @param maxInterval the maximum interval; '1' to disable adaptive polling
+	 */
+	public void setAdaptivePollingMaxInterval(int maxInterval) {
+		this.adaptiveReadScheduler.setMaxInterval(maxInterval);
+	}
+
 	/**
 	 * This is a helper function. It calculates the opposite of Math.floorDiv().
 	 * 
@@ -0,0 +1,179 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import io.openems.edge.bridge.modbus.api.task.AbstractReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC4ReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.MergedReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+
+/**
+ * Merges Read-Tasks of the same device and function code to a
+ * {@link MergedReadRegistersTask} if the gap between them is small. This saves
+ * a full round-trip per merged Task, which is especially valuable on slow
+ * RS-485 links.
+ *
+ * <p>
+ * Tasks are only merged if
+ * <ul>
+ * <li>they belong to the same Component, i.e. the same Unit-ID
+ * <li>they are both {@link FC3ReadRegistersTask} or both
+ * {@link FC4ReadInputRegistersTask}
+ * <li>the gap in between is at most {@link #setMaxGap(int)} registers and is
+ * not listed in {@link ModbusProtocol#addDoNotBridgeRange(int, int)}
+ * <li>the resulting request does not exceed
+ * {@link MergedReadRegistersTask#MAX_LENGTH} registers
+ * </ul>
+ */
+public class ReadTasksPlanner {
+
+	/**
+	 * Merging is disabled if maxGap is negative.
+	 */
+	private int maxGap = -1;
+
+	/**
+	 * Keeps the merged Tasks of the last run, so that their measured execution
+	 * duration is available for planning.
+	 */
+	private Map<List<AbstractReadInputRegistersTask>, MergedReadRegistersTask> mergedTasks = new HashMap<>();
+
+	/**
+	 * Sets the maximum number of registers in between two Tasks that may be read
+	 * additionally to merge the Tasks. A value of '0' merges only adjacent Tasks;
+	 * a negative value disables merging.
+	 *
+	 * @param maxGap the maximum gap
+	 */
+	public synchronized void setMaxGap(int maxGap) {
+		this.maxGap = maxGap;
+	}
+
+	/**
+	 * Merges the given Read-Tasks. The order of Tasks is kept; a merged Task
+	 * replaces the first of its original Tasks.
+	 *
+	 * @param tasks     the Read-Tasks
+	 * @param protocols a function to get the {@link ModbusProtocol} by
+	 *                  Component-ID
+	 * @return the planned Read-Tasks
+	 */
+	public synchronized List<ReadTask> apply(List<ReadTask> tasks, Function<String, ModbusProtocol> protocols) {
+		if (this.maxGap < 0 || tasks.size() < 2) {
+			this.mergedTasks.clear();
+			return tasks;
+		}
+
+		// Group Tasks by Component and function code
+		Map<List<Object>, List<AbstractReadInputRegistersTask>> groups = new LinkedHashMap<>();
+		for (ReadTask task : tasks) {
+			List<Object> key = getGroupKey(task);
+			if (key != null) {
+				groups.computeIfAbsent(key, k -> new ArrayList<>()).add((AbstractReadInputRegistersTask) task);
+			}
+		}
+
+		// Find Tasks that can be merged
+		Map<ReadTask, MergedReadRegistersTask> replacements = new IdentityHashMap<>();
+		Map<List<AbstractReadInputRegistersTask>, MergedReadRegistersTask> mergedTasks = new HashMap<>();
+		for (List<AbstractReadInputRegistersTask> group : groups.values()) {
+			if (group.size() < 2) {
+				continue;
+			}
+			ModbusProtocol protocol = protocols.apply(group.get(0).getParent().id());
+			group.sort(Comparator.comparingInt(AbstractReadInputRegistersTask::getStartAddress));
+
+			List<AbstractReadInputRegistersTask> run = new ArrayList<>();
+			for (AbstractReadInputRegistersTask task : group) {
+				if (!run.isEmpty() && !this.isMergeable(run, task, protocol)) {
+					this.addRun(run, replacements, mergedTasks);
+					run = new ArrayList<>();
+				}
+				run.add(task);
+			}
+			this.addRun(run, replacements, mergedTasks);
+		}
+		this.mergedTasks = mergedTasks;
+
+		if (replacements.isEmpty()) {
+			return tasks;
+		}
+
+		// Build result in original order
+		List<ReadTask> result = new ArrayList<>(tasks.size());
+		for (ReadTask task : tasks) {
+			MergedReadRegistersTask mergedTask = replacements.get(task);
+			if (mergedTask == null) {
+				result.add(task);
+			} else if (!result.contains(mergedTask)) {
+				result.add(mergedTask);
+			}
+		}
+		return result;
+	}
+
+	private boolean isMergeable(List<AbstractReadInputRegistersTask> run, AbstractReadInputRegistersTask task,
+			ModbusProtocol protocol) {
+		int runStartAddress = run.get(0).getStartAddress();
+		AbstractReadInputRegistersTask last = run.get(run.size() - 1);
+		int runEndAddress = last.getStartAddress() + last.getLength(); // exclusive
+		int gap = task.getStartAddress() - runEndAddress;
+		if (gap < 0 || gap > this.maxGap) {
+			// overlapping or too far away
+			return false;
+		}
+		if (task.getStartAddress() + task.getLength() - runStartAddress > MergedReadRegistersTask.MAX_LENGTH) {
+			return false;
+		}
+		if (gap > 0 && protocol != null && !protocol.isBridgingAllowed(runEndAddress, task.getStartAddress() - 1)) {
+			return false;
+		}
+		return true;
+	}
+
+	private void addRun(List<AbstractReadInputRegistersTask> run, Map<ReadTask, MergedReadRegistersTask> replacements,
+			Map<List<AbstractReadInputRegistersTask>, MergedReadRegistersTask> mergedTasks) {
+		if (run.size() < 2) {
+			return;
+		}
+		MergedReadRegistersTask mergedTask = this.mergedTasks.get(run);
+		if (mergedTask == null) {
+			mergedTask = new MergedReadRegistersTask(run);
+		}
+		mergedTasks.put(run, mergedTask);
+		for (AbstractReadInputRegistersTask task : run) {
+			replacements.put(task, mergedTask);
+		}
+	}
+
+	/**
+	 * Gets a key that identifies Tasks that are allowed to be merged.
+	 *
+	 * @param task the {@link ReadTask}
+	 * @return the key; or null if the Task can not be merged
+	 */
+	private static List<Object> getGroupKey(ReadTask task) {
+		if (task.getParent() == null) {
+			return null;
+		}
+		final int functionCode;
+		if (task instanceof FC3ReadRegistersTask) {
+			functionCode = 3;
+		} else if (task instanceof FC4ReadInputRegistersTask) {
+			functionCode = 4;
+		} else {
+			return null;
+		}
+		return Arrays.asList(task.getParent(), functionCode);
+	}
+
+}
@@ -1,6 +1,7 @@
 package io.openems.edge.bridge.modbus.api.task;
 
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -28,6 +29,14 @@ public abstract class AbstractReadTask<T> extends AbstractTask implements ReadTa
 
 	private final Priority priority;
 
+	/**
+	 * Counts the responses that differed from the previous response. Used for
+	 * adaptive polling.
+	 */
+	private volatile long noOfChanges = 0;
+	private int lastResponseHash = 0;
+	private boolean pollAdaptively = false;
+
 	public AbstractReadTask(int startAddress, Priority priority, AbstractModbusElement<?>... elements) {
 		super(startAddress, elements);
 		this.priority = priority;
@@ -103,6 +112,7 @@ public abstract class AbstractReadTask<T> extends AbstractTask implements ReadTa
 	}
 
 	protected void fillElements(T[] response) {
+		this.detectChange(response);
 		int position = 0;
 		for (ModbusElement<?> modbusElement : this.getElements()) {
 			if (!(this.isCorrectElementInstance(modbusElement))) {
@@ -124,6 +134,55 @@ public abstract class AbstractReadTask<T> extends AbstractTask implements ReadTa
 		return priority;
 	}
 
+	/**
+	 * Allows the Modbus-Bridge to read this Task less often if its registers do
+	 * not change and adaptive polling is activated. By default every Task is read
+	 * every Cycle; never use this for registers that are relevant for Controllers,
+	 * like ActivePower or State-of-Charge.
+	 * 
+	 * @return myself
+	 */
+	public AbstractReadTask<T> pollAdaptively() {
+		this.pollAdaptively = true;
+		return this;
+	}
+
+	/**
+	 * Gets whether this Task may be read less often than every Cycle. See
+	 * {@link #pollAdaptively()}.
+	 * 
+	 * @return true if this Task may be polled adaptively
+	 */
+	public boolean isPollAdaptively() {
+		return this.pollAdaptively;
+	}
+
+	/**
+	 * Gets the number of responses that differed from their previous response.
+	 * 
+	 * @return the number of changes
+	 */
+	public long getNoOfChanges() {
+		return this.noOfChanges;
+	}
+
+	private synchronized void detectChange(T[] response) {
+		int hash = 1;
+		for (T r : response) {
+			int value;
+			if (r instanceof InputRegister) {
+				value = ((InputRegister) r).getValue();
+			} else {
+				value = Objects.hashCode(r);
+			}
+			hash = 31 * hash + value;
+		}
+		if (this.noOfChanges == 0 || hash != this.lastResponseHash) {
+			this.lastResponseHash = hash;
+			this.noOfChanges++;
+		}
+	}
+
 	protected abstract int increasePosition(int position, ModbusElement<?> modbusElement);
 
 	protected abstract void doElementSetInput(ModbusElement<?> modbusElement, int position, T[] response)
@@ -91,6 +91,14 @@ public abstract class AbstractTask implements Task {
 
 	protected abstract int _execute(AbstractModbusBridge bridge) throws OpenemsException;
 
+	/**
+	 * Marks this Task as successfully executed. Used if the Task was executed as
+	 * part of a {@link MergedReadRegistersTask}.
+	 */
+	void markExecutedSuccessfully() {
+		this.hasBeenExecutedSuccessfully = true;
+	}
+
 	/*
 	 * Enable Debug mode for this Element. Activates verbose logging. TODO:
 	 * implement debug write in all implementations (FC16 is already done)
@@ -0,0 +1,223 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+import com.google.common.base.Stopwatch;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
+import io.openems.edge.bridge.modbus.api.AbstractOpenemsModbusComponent;
+import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Reads the registers of several {@link AbstractReadInputRegistersTask}s of the
+ * same device and function code with one request and fans out the response to
+ * the original Tasks.
+ *
+ * <p>
+ * The Tasks must be sorted by start address and must not overlap. Registers in
+ * between the Tasks are read but ignored.
+ */
+public class MergedReadRegistersTask implements ReadTask {
+
+	/**
+	 * Maximum number of registers for FC3 and FC4 requests.
+	 */
+	public static final int MAX_LENGTH = 125;
+
+	private final Logger log = LoggerFactory.getLogger(MergedReadRegistersTask.class);
+
+	private final List<AbstractReadInputRegistersTask> tasks;
+	private final ModbusElement<?>[] elements;
+	private final int startAddress;
+	private final int length;
+	private final Stopwatch stopwatch = Stopwatch.createUnstarted();
+
+	private long lastExecuteDuration;
+	private boolean hasBeenExecutedSuccessfully = false;
+
+	public MergedReadRegistersTask(List<AbstractReadInputRegistersTask> tasks) {
+		if (tasks.isEmpty()) {
+			throw new IllegalArgumentException("MergedReadRegistersTask requires at least one Task");
+		}
+		this.tasks = tasks;
+		AbstractReadInputRegistersTask first = tasks.get(0);
+		AbstractReadInputRegistersTask last = tasks.get(tasks.size() - 1);
+		this.startAddress = first.getStartAddress();
+		this.length = last.getStartAddress() + last.getLength() - this.startAddress;
+		if (this.length > MAX_LENGTH) {
+			throw new IllegalArgumentException("Length [" + this.length + "] exceeds [" + MAX_LENGTH + "] registers");
+		}
+
+		List<ModbusElement<?>> elements = new ArrayList<>();
+		long executeDuration = 0;
+		for (AbstractReadInputRegistersTask task : tasks) {
+			elements.addAll(Arrays.asList(task.getElements()));
+			// one request takes about as long as the slowest of the original requests
+			executeDuration = Math.max(executeDuration, task.getExecuteDuration());
+		}
+		this.elements = elements.toArray(new ModbusElement<?>[elements.size()]);
+		this.lastExecuteDuration = executeDuration;
+	}
+
+	/**
+	 * Gets the original Tasks.
+	 *
+	 * @return a list of Tasks
+	 */
+	public List<AbstractReadInputRegistersTask> getTasks() {
+		return this.tasks;
+	}
+
+	@Override
+	public ModbusElement<?>[] getElements() {
+		return this.elements;
+	}
+
+	@Override
+	public int getStartAddress() {
+		return this.startAddress;
+	}
+
+	/**
+	 * Gets the number of registers that are read by this Task.
+	 *
+	 * @return the length
+	 */
+	public int getLength() {
+		return this.length;
+	}
+
+	@Override
+	public void setParent(AbstractOpenemsModbusComponent parent) {
+		// the parent is always given by the original Tasks
+	}
+
+	@Override
+	public AbstractOpenemsModbusComponent getParent() {
+		return this.tasks.get(0).getParent();
+	}
+
+	@Override
+	public Priority getPriority() {
+		return this.tasks.get(0).getPriority();
+	}
+
+	@Override
+	public void deactivate() {
+		// the original Tasks are deactivated by their ModbusProtocol
+	}
+
+	@Override
+	public synchronized <T> int execute(AbstractModbusBridge bridge) throws OpenemsException {
+		this.stopwatch.reset();
+		this.stopwatch.start();
+		try {
+			InputRegister[] response;
+			try {
+				/*
+				 * First try
+				 */
+				response = this.readRegisters(bridge);
+
+			} catch (OpenemsException | ModbusException e) {
+				/*
+				 * Second try: with new connection
+				 */
+				bridge.closeModbusConnection();
+				try {
+					response = this.readRegisters(bridge);
+
+				} catch (ModbusException e2) {
+					for (ModbusElement<?> elem : this.elements) {
+						if (!elem.isIgnored()) {
+							elem.invalidate(bridge);
+						}
+					}
+					throw new OpenemsException("Transaction failed: " + e.getMessage(), e2);
+				}
+			}
+
+			// Verify response length
+			if (response.length < this.length) {
+				throw new OpenemsException("Received message is too short. Expected [" + this.length + "], got ["
+						+ response.length + "]");
+			}
+
+			// Fan out the response to the original Tasks
+			for (AbstractReadInputRegistersTask task : this.tasks) {
+				int offset = task.getStartAddress() - this.startAddress;
+				task.fillElements(Arrays.copyOfRange(response, offset, offset + task.getLength()));
+				task.markExecutedSuccessfully();
+			}
+
+			// no exception -> mark this task as successfully executed
+			this.hasBeenExecutedSuccessfully = true;
+			return this.tasks.size();
+
+		} finally {
+			this.lastExecuteDuration = this.stopwatch.elapsed(TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private InputRegister[] readRegisters(AbstractModbusBridge bridge) throws OpenemsException, ModbusException {
+		AbstractReadInputRegistersTask first = this.tasks.get(0);
+		ModbusResponse response = Utils.getResponse(first.getRequest(this.startAddress, this.length),
+				this.getParent().getUnitId(), bridge);
+		InputRegister[] result = first.handleResponse(response);
+
+		// debug output
+		switch (first.getLogVerbosity(bridge)) {
+		case READS_AND_WRITES:
+			bridge.logInfo(this.log, this.toString() + ": merged " + this.tasks.size() + " Tasks");
+			break;
+		case WRITES:
+		case NONE:
+			break;
+		}
+
+		return result;
+	}
+
+	@Override
+	public boolean hasBeenExecuted() {
+		return this.hasBeenExecutedSuccessfully;
+	}
+
+	@Override
+	public long getExecuteDuration() {
+		return this.lastExecuteDuration;
+	}
+
+	@Override
+	public String toString() {
+		StringBuffer sb = new StringBuffer();
+		sb.append("Merged");
+		sb.append(this.tasks.get(0).getActiondescription());
+		sb.append(" [");
+		sb.append(this.getParent().id());
+		sb.append(";unitid=");
+		sb.append(this.getParent().getUnitId());
+		sb.append(";ref=");
+		sb.append(this.startAddress);
+		sb.append("/0x");
+		sb.append(Integer.toHexString(this.startAddress));
+		sb.append(";length=");
+		sb.append(this.length);
+		sb.append(";tasks=");
+		sb.append(this.tasks.size());
+		sb.append("]");
+		return sb.toString();
+	}
+
+}
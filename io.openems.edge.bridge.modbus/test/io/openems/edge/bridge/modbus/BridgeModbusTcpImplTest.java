@@ -0,0 +1,216 @@
+package io.openems.edge.bridge.modbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.service.event.Event;
+
+import com.ghgande.j2mod.modbus.procimg.IllegalAddressException;
+import com.ghgande.j2mod.modbus.procimg.Register;
+import com.ghgande.j2mod.modbus.procimg.SimpleProcessImage;
+import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
+import com.ghgande.j2mod.modbus.slave.ModbusSlaveFactory;
+
+import io.openems.edge.bridge.modbus.api.AbstractOpenemsModbusComponent;
+import io.openems.edge.bridge.modbus.api.ModbusProtocol;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC6WriteRegisterTask;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Reads one register of each of 10 simulated slave units behind one Modbus/TCP
+ * gateway - served by the {@link ModbusSlaveSimulator} - with concurrent
+ * transactions and writes one register of the first unit. Checks the order of
+ * reads, the ExecuteWrite event and the write, and that the slave had several
+ * requests in flight at the same time - but not more than configured.
+ */
+public class BridgeModbusTcpImplTest {
+
+	private static final int NO_OF_UNITS = 10;
+	private static final int RESPONSE_DELAY = 50; // [ms]
+	private static final int CONCURRENT_CONNECTIONS = 5;
+	private static final int TIMEOUT = 10_000; // [ms]
+
+	private static final int READ_ADDRESS = 0;
+	private static final int WRITE_ADDRESS = 1;
+	private static final String EXECUTE_WRITE = "EXECUTE_WRITE";
+	private static final String WRITE = "write";
+
+	/**
+	 * A ProcessImage that simulates a slow device, counts the read requests that
+	 * are in flight and records writes.
+	 */
+	private class DelayedProcessImage extends SimpleProcessImage {
+
+		public DelayedProcessImage(int unitId) {
+			super(unitId);
+			this.addRegister(READ_ADDRESS, new SimpleRegister(unitId * 100));
+			this.addRegister(WRITE_ADDRESS, new SimpleRegister(0));
+		}
+
+		@Override
+		public Register getRegister(int ref) throws IllegalAddressException {
+			// single registers are only accessed by the write request
+			if (ref == WRITE_ADDRESS) {
+				BridgeModbusTcpImplTest.this.events.add(WRITE);
+			}
+			return super.getRegister(ref);
+		}
+
+		@Override
+		public Register[] getRegisterRange(int offset, int count) {
+			int inFlight = BridgeModbusTcpImplTest.this.inFlightReads.incrementAndGet();
+			BridgeModbusTcpImplTest.this.maxInFlightReads.accumulateAndGet(inFlight, Math::max);
+			try {
+				Thread.sleep(RESPONSE_DELAY);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				BridgeModbusTcpImplTest.this.inFlightReads.decrementAndGet();
+			}
+			return super.getRegisterRange(offset, count);
+		}
+
+	}
+
+	private static class DummyModbusComponent extends AbstractOpenemsModbusComponent {
+
+		private final int unitId;
+
+		public DummyModbusComponent(int unitId) {
+			super(OpenemsComponent.ChannelId.values());
+			this.unitId = unitId;
+		}
+
+		@Override
+		public String id() {
+			return "device" + this.unitId;
+		}
+
+		@Override
+		public Integer getUnitId() {
+			return this.unitId;
+		}
+
+		@Override
+		protected ModbusProtocol defineModbusProtocol() {
+			return null;
+		}
+
+	}
+
+	private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+	private final AtomicInteger inFlightReads = new AtomicInteger();
+	private final AtomicInteger maxInFlightReads = new AtomicInteger();
+	private int port;
+
+	@Before
+	public void before() throws Exception {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			this.port = socket.getLocalPort();
+		}
+		DelayedProcessImage[] images = new DelayedProcessImage[NO_OF_UNITS];
+		for (int i = 0; i < NO_OF_UNITS; i++) {
+			images[i] = new DelayedProcessImage(i + 1);
+		}
+		// one connection per concurrent transaction plus one of the ModbusWorker
+		ModbusSlaveSimulator.start(this.port, CONCURRENT_CONNECTIONS + 1, images);
+	}
+
+	@After
+	public void after() {
+		ModbusSlaveFactory.close();
+	}
+
+	@Test
+	public void testConcurrentReadsAndWriteAfterExecuteWrite() throws Exception {
+		BridgeModbusTcpImpl bridge = new BridgeModbusTcpImpl();
+		bridge.activate(null, MyConfigTcp.create() //
+				.setId("modbus0") //
+				.setIp("127.0.0.1") //
+				.setPort(this.port) //
+				.setMaxConcurrentTransactions(CONCURRENT_CONNECTIONS) //
+				.build());
+		try {
+			UnsignedWordElement writeElement = new UnsignedWordElement(WRITE_ADDRESS);
+			for (int unitId = 1; unitId <= NO_OF_UNITS; unitId++) {
+				final String read = "read" + unitId;
+				FC3ReadRegistersTask readTask = new FC3ReadRegistersTask(READ_ADDRESS, Priority.HIGH, //
+						new UnsignedWordElement(READ_ADDRESS).onUpdateCallback(value -> {
+							this.events.add(read);
+						}));
+				ModbusProtocol protocol = new ModbusProtocol(new DummyModbusComponent(unitId), readTask);
+				if (unitId == 1) {
+					protocol.addTask(new FC6WriteRegisterTask(WRITE_ADDRESS, writeElement));
+				}
+				bridge.addProtocol("device" + unitId, protocol);
+			}
+
+			bridge.handleEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE, new HashMap<>()));
+
+			// Controllers set the value to be written
+			writeElement._setNextWriteValue(Optional.of(42));
+
+			// the Write-Task waits for the ExecuteWrite event
+			this.awaitEvents(1);
+			Thread.sleep(RESPONSE_DELAY * 5);
+			assertFalse(this.events.contains(WRITE));
+
+			this.events.add(EXECUTE_WRITE);
+			bridge.handleEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE, new HashMap<>()));
+			this.awaitEvents(NO_OF_UNITS + 2);
+
+			List<String> events;
+			synchronized (this.events) {
+				events = new ArrayList<>(this.events);
+			}
+			assertEquals(NO_OF_UNITS + 2, events.size());
+			for (int unitId = 1; unitId <= NO_OF_UNITS; unitId++) {
+				assertTrue(events.contains("read" + unitId));
+			}
+			assertEquals(events.indexOf(EXECUTE_WRITE) + 1, events.indexOf(WRITE));
+
+			// Next Cycle with open connections: the reads overlap at the slave
+			this.events.clear();
+			this.maxInFlightReads.set(0);
+			bridge.handleEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE, new HashMap<>()));
+			this.awaitEvents(NO_OF_UNITS);
+			assertEquals(NO_OF_UNITS, this.events.size());
+			int maxInFlightReads = this.maxInFlightReads.get();
+			assertTrue("Max in-flight reads [" + maxInFlightReads + "]",
+					maxInFlightReads > 1 && maxInFlightReads <= CONCURRENT_CONNECTIONS);
+
+		} finally {
+			bridge.deactivate();
+		}
+	}
+
+	/**
+	 * Waits till at least the given number of events was recorded.
+	 *
+	 * @param count the number of events
+	 * @throws InterruptedException on error
+	 */
+	private void awaitEvents(int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (this.events.size() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+}
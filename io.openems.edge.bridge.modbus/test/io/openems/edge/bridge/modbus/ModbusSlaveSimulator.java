@@ -1,7 +1,9 @@
 package io.openems.edge.bridge.modbus;
 
+import java.io.IOException;
+import java.net.Socket;
+
 import com.ghgande.j2mod.modbus.ModbusException;
-import com.ghgande.j2mod.modbus.procimg.ProcessImage;
 import com.ghgande.j2mod.modbus.procimg.SimpleProcessImage;
 import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
 import com.ghgande.j2mod.modbus.slave.ModbusSlave;
@@ -15,10 +17,7 @@ public class ModbusSlaveSimulator {
 
 	public static void main(String[] args) throws ModbusException {
 		// Start Modbus/TCP slave
-		ProcessImage image = createProcessImage();
-		ModbusSlave slave = ModbusSlaveFactory.createTCPSlave(PORT, CONCURRENT_CONNECTIONS);
-		slave.addProcessImage(1, image);
-		slave.open();
+		start(PORT, CONCURRENT_CONNECTIONS, createProcessImage());
 
 		System.out.println("Modbus-Slave Simulator started. Port [" + PORT + "] Unit-ID [" + UNIT_ID + "]");
 
@@ -41,7 +40,47 @@ public class ModbusSlaveSimulator {
 		}
 	}
 
-	private static ProcessImage createProcessImage() {
+	/**
+	 * Starts a Modbus/TCP slave and waits till it accepts connections; stop it
+	 * with {@link ModbusSlaveFactory#close()}.
+	 * 
+	 * @param port                  the TCP port
+	 * @param concurrentConnections the number of connections that are served
+	 *                              concurrently
+	 * @param images                the {@link SimpleProcessImage}s; one per
+	 *                              Unit-ID
+	 * @return the {@link ModbusSlave}
+	 * @throws ModbusException on error
+	 */
+	public static ModbusSlave start(int port, int concurrentConnections, SimpleProcessImage... images)
+			throws ModbusException {
+		ModbusSlave slave = ModbusSlaveFactory.createTCPSlave(port, concurrentConnections);
+		for (SimpleProcessImage image : images) {
+			slave.addProcessImage(image.getUnitID(), image);
+		}
+		slave.open();
+
+		// The listener binds the port on its own thread -> wait till it accepts
+		// connections
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (true) {
+			try (Socket socket = new Socket("127.0.0.1", port)) {
+				return slave;
+			} catch (IOException e) {
+				if (System.currentTimeMillis() > deadline) {
+					throw new ModbusException("Modbus-Slave on port [" + port + "] is not listening");
+				}
+				try {
+					Thread.sleep(10);
+				} catch (InterruptedException e1) {
+					Thread.currentThread().interrupt();
+					throw new ModbusException("Interrupted while starting Modbus-Slave");
+				}
+			}
+		}
+	}
+
+	private static SimpleProcessImage createProcessImage() {
 		SimpleProcessImage image = new SimpleProcessImage(UNIT_ID);
 		image.addRegister(1000, new SimpleRegister(500));
 		image.addRegister(1001, new SimpleRegister(100));
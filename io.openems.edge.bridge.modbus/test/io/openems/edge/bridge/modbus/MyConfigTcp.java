@@ -0,0 +1,94 @@
+package io.openems.edge.bridge.modbus;
+
+import io.openems.edge.bridge.modbus.api.LogVerbosity;
+import io.openems.edge.common.test.AbstractComponentConfig;
+
+@SuppressWarnings("all")
+public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
+
+	protected static class Builder {
+		private String id = null;
+		private String ip = null;
+		private int port = 502;
+		private int maxConcurrentTransactions = 1;
+
+		private Builder() {
+		}
+
+		public Builder setId(String id) {
+			this.id = id;
+			return this;
+		}
+
+		public Builder setIp(String ip) {
+			this.ip = ip;
+			return this;
+		}
+
+		public Builder setPort(int port) {
+			this.port = port;
+			return this;
+		}
+
+		public Builder setMaxConcurrentTransactions(int maxConcurrentTransactions) {
+			this.maxConcurrentTransactions = maxConcurrentTransactions;
+			return this;
+		}
+
+		public MyConfigTcp build() {
+			return new MyConfigTcp(this);
+		}
+	}
+
+	/**
+	 * Create a Config builder.
+	 * 
+	 * @return a {@link Builder}
+	 */
+	public static Builder create() {
+		return new Builder();
+	}
+
+	private final Builder builder;
+
+	private MyConfigTcp(Builder builder) {
+		super(ConfigTcp.class, builder.id);
+		this.builder = builder;
+	}
+
+	@Override
+	public String ip() {
+		return this.builder.ip;
+	}
+
+	@Override
+	public int port() {
+		return this.builder.port;
+	}
+
+	@Override
+	public LogVerbosity logVerbosity() {
+		return LogVerbosity.NONE;
+	}
+
+	@Override
+	public int invalidateElementsAfterReadErrors() {
+		return 1;
+	}
+
+	@Override
+	public int mergeReadsMaxGap() {
+		return -1;
+	}
+
+	@Override
+	public int adaptivePollingMaxInterval() {
+		return 1;
+	}
+
+	@Override
+	public int maxConcurrentTransactions() {
+		return this.builder.maxConcurrentTransactions;
+	}
+
+}
@@ -0,0 +1,107 @@
+package io.openems.edge.bridge.modbus.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
+
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class AdaptiveReadSchedulerTest {
+
+	/**
+	 * A Task that simulates a response without an actual Modbus transaction.
+	 */
+	private static class DummyReadTask extends FC3ReadRegistersTask {
+
+		public DummyReadTask(int startAddress, boolean pollAdaptively) {
+			super(startAddress, Priority.HIGH, new UnsignedWordElement(startAddress));
+			if (pollAdaptively) {
+				this.pollAdaptively();
+			}
+		}
+
+		public void respond(int value) {
+			this.fillElements(new InputRegister[] { new SimpleRegister(value) });
+		}
+
+	}
+
+	private AdaptiveReadScheduler sut;
+
+	@Before
+	public void before() {
+		this.sut = new AdaptiveReadScheduler();
+		this.sut.setMaxInterval(4);
+	}
+
+	@Test
+	public void testStretchConstantValues() {
+		DummyReadTask task = new DummyReadTask(0, true);
+		List<ReadTask> tasks = Arrays.asList(task);
+
+		int noOfReads = 0;
+		for (int cycle = 0; cycle < 30; cycle++) {
+			if (!this.sut.apply(tasks).isEmpty()) {
+				task.respond(42);
+				noOfReads++;
+			}
+		}
+		assertEquals(4, this.sut.getInterval(task));
+		assertTrue("Reads [" + noOfReads + "]", noOfReads < 12);
+	}
+
+	@Test
+	public void testShrinkOnChange() {
+		DummyReadTask task = new DummyReadTask(0, true);
+		List<ReadTask> tasks = Arrays.asList(task);
+
+		for (int cycle = 0; cycle < 30; cycle++) {
+			if (!this.sut.apply(tasks).isEmpty()) {
+				task.respond(42);
+			}
+		}
+		assertEquals(4, this.sut.getInterval(task));
+
+		// Value changes -> read every Cycle again
+		task.respond(43);
+		while (this.sut.apply(tasks).isEmpty()) {
+			// wait till due
+		}
+		assertEquals(1, this.sut.getInterval(task));
+	}
+
+	@Test
+	public void testNotPolledAdaptively() {
+		DummyReadTask task = new DummyReadTask(0, false);
+		List<ReadTask> tasks = Arrays.asList(task);
+
+		for (int cycle = 0; cycle < 30; cycle++) {
+			assertEquals(tasks, this.sut.apply(tasks));
+			task.respond(42);
+		}
+	}
+
+	@Test
+	public void testDisabled() {
+		this.sut.setMaxInterval(1);
+		DummyReadTask task = new DummyReadTask(0, true);
+		List<ReadTask> tasks = Arrays.asList(task);
+
+		for (int cycle = 0; cycle < 30; cycle++) {
+			assertEquals(tasks, this.sut.apply(tasks));
+			task.respond(42);
+		}
+	}
+
+}
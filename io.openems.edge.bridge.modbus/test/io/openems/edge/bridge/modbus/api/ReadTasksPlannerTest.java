@@ -0,0 +1,149 @@
+package io.openems.edge.bridge.modbus.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.bridge.modbus.api.task.AbstractReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC4ReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.MergedReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class ReadTasksPlannerTest {
+
+	private static class DummyModbusComponent extends AbstractOpenemsModbusComponent {
+
+		public DummyModbusComponent() {
+			super(OpenemsComponent.ChannelId.values());
+		}
+
+		@Override
+		protected ModbusProtocol defineModbusProtocol() {
+			return null;
+		}
+
+	}
+
+	private DummyModbusComponent parent;
+	private ModbusProtocol protocol;
+	private ReadTasksPlanner sut;
+
+	@Before
+	public void before() {
+		this.parent = new DummyModbusComponent();
+		this.protocol = new ModbusProtocol(this.parent);
+		this.sut = new ReadTasksPlanner();
+		this.sut.setMaxGap(2);
+	}
+
+	@Test
+	public void testMergeAdjacentAndSmallGaps() {
+		ReadTask t1 = this.fc3(100, 2);
+		ReadTask t2 = this.fc3(102, 1);
+		ReadTask t3 = this.fc3(105, 1); // gap of 2
+		ReadTask t4 = this.fc3(110, 1); // gap of 4
+
+		List<ReadTask> result = this.sut.apply(Arrays.asList(t1, t2, t3, t4), id -> this.protocol);
+
+		assertEquals(2, result.size());
+		MergedReadRegistersTask merged = (MergedReadRegistersTask) result.get(0);
+		assertEquals(Arrays.asList(t1, t2, t3), merged.getTasks());
+		assertEquals(100, merged.getStartAddress());
+		assertEquals(6, merged.getLength());
+		assertSame(t4, result.get(1));
+	}
+
+	@Test
+	public void testKeepOrder() {
+		ReadTask fc4 = this.fc4(200, 1);
+		ReadTask t1 = this.fc3(101, 1);
+		ReadTask t2 = this.fc3(100, 1);
+
+		List<ReadTask> result = this.sut.apply(Arrays.asList(fc4, t1, t2), id -> this.protocol);
+
+		assertEquals(2, result.size());
+		assertSame(fc4, result.get(0));
+		assertEquals(Arrays.asList(t2, t1), ((MergedReadRegistersTask) result.get(1)).getTasks());
+	}
+
+	@Test
+	public void testDoNotMergeFunctionCodes() {
+		List<ReadTask> tasks = Arrays.asList(this.fc3(100, 1), this.fc4(101, 1));
+
+		assertEquals(tasks, this.sut.apply(tasks, id -> this.protocol));
+	}
+
+	@Test
+	public void testMaxLength() {
+		ReadTask t1 = this.fc3(0, 100);
+		ReadTask t2 = this.fc3(100, 25);
+		ReadTask t3 = this.fc3(125, 1);
+
+		List<ReadTask> result = this.sut.apply(Arrays.asList(t1, t2, t3), id -> this.protocol);
+
+		assertEquals(2, result.size());
+		assertEquals(MergedReadRegistersTask.MAX_LENGTH, ((MergedReadRegistersTask) result.get(0)).getLength());
+		assertSame(t3, result.get(1));
+	}
+
+	@Test
+	public void testDoNotBridge() {
+		this.protocol.addDoNotBridgeRange(103, 103);
+		List<ReadTask> tasks = Arrays.asList(this.fc3(100, 3), this.fc3(104, 1));
+
+		assertEquals(tasks, this.sut.apply(tasks, id -> this.protocol));
+
+		// adjacent Tasks do not bridge anything
+		List<ReadTask> result = this.sut.apply(Arrays.asList(this.fc3(100, 3), this.fc3(103, 1)), id -> this.protocol);
+		assertEquals(1, result.size());
+	}
+
+	@Test
+	public void testDisabled() {
+		this.sut.setMaxGap(-1);
+		List<ReadTask> tasks = Arrays.asList(this.fc3(100, 1), this.fc3(101, 1));
+
+		assertEquals(tasks, this.sut.apply(tasks, id -> this.protocol));
+	}
+
+	@Test
+	public void testReuseMergedTask() {
+		List<ReadTask> tasks = Arrays.asList(this.fc3(100, 1), this.fc3(101, 1));
+
+		ReadTask merged = this.sut.apply(tasks, id -> this.protocol).get(0);
+		assertTrue(merged instanceof MergedReadRegistersTask);
+		assertSame(merged, this.sut.apply(tasks, id -> this.protocol).get(0));
+	}
+
+	private ReadTask fc3(int startAddress, int length) {
+		return this.addTask(new FC3ReadRegistersTask(startAddress, Priority.HIGH, elements(startAddress, length)));
+	}
+
+	private ReadTask fc4(int startAddress, int length) {
+		return this.addTask(new FC4ReadInputRegistersTask(startAddress, Priority.HIGH, elements(startAddress, length)));
+	}
+
+	private ReadTask addTask(AbstractReadInputRegistersTask task) {
+		this.protocol.addTask(task);
+		return task;
+	}
+
+	private static UnsignedWordElement[] elements(int startAddress, int length) {
+		UnsignedWordElement[] result = new UnsignedWordElement[length];
+		for (int i = 0; i < length; i++) {
+			result[i] = new UnsignedWordElement(startAddress + i);
+		}
+		return result;
+	}
+
+}
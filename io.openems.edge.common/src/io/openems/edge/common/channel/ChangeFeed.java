@@ -0,0 +1,220 @@
+package io.openems.edge.common.channel;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+import io.openems.edge.common.cycle.CycleTimestamp;
+
+/**
+ * A ChangeFeed collects the Channels whose value changed, so that consumers
+ * like OpenEMS Backend Api do not need to scan all Channels of all Components
+ * every Cycle.
+ *
+ * <p>
+ * Channels publish their new value on
+ * {@link Channel#nextProcessImage()} to every open ChangeFeed - but only if the
+ * value actually changed. Per Channel the ChangeFeed keeps a slot with a
+ * dirty-flag and a primitive time-weighted aggregate. A slot is added to the
+ * list of dirty slots on its first change since the last drain, so the effort
+ * for the Cycle and for the consumer scales with the number of changes, not the
+ * number of Channels.
+ *
+ * <p>
+ * Numeric Channels are aggregated to the time-weighted average since the last
+ * {@link #drain(BiConsumer)}; Enum, Boolean and String Channels provide their
+ * latest value.
+ *
+ * <pre>
+ * ChangeFeed feed = ChangeFeed.open();
+ * ...
+ * feed.drain((channel, value) -&gt; { ... });
+ * ...
+ * feed.close();
+ * </pre>
+ */
+public class ChangeFeed implements AutoCloseable {
+
+	private static final List<ChangeFeed> FEEDS = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Opens a new ChangeFeed. It receives all changes from now on.
+	 *
+	 * @return the {@link ChangeFeed}
+	 */
+	public static ChangeFeed open() {
+		ChangeFeed feed = new ChangeFeed();
+		FEEDS.add(feed);
+		return feed;
+	}
+
+	/**
+	 * Is any ChangeFeed open?. Channels skip change detection if not.
+	 *
+	 * @return true if at least one ChangeFeed is open
+	 */
+	public static boolean isAnyOpen() {
+		return !FEEDS.isEmpty();
+	}
+
+	/**
+	 * Publishes the changed value of a Channel to all open ChangeFeeds. Internal
+	 * method; called by the Channel on process image switch.
+	 *
+	 * @param channel the {@link Channel}
+	 * @param value   the new value
+	 */
+	public static void publish(Channel<?> channel, Object value) {
+		long timestamp = CycleTimestamp.getMillis();
+		for (ChangeFeed feed : FEEDS) {
+			feed.onChange(channel, value, timestamp);
+		}
+	}
+
+	private static class Slot {
+		private final WeakReference<Channel<?>> channel;
+		private final boolean isNumeric;
+
+		private boolean isDirty = false;
+		private Object value = null;
+		private long since;
+		private double weightedSum = 0;
+		private long weight = 0;
+
+		private Slot(Channel<?> channel, long timestamp) {
+			this.channel = new WeakReference<>(channel);
+			this.isNumeric = isNumeric(channel);
+			this.since = timestamp;
+		}
+
+		/**
+		 * Adds the current value to the aggregate till the given timestamp.
+		 *
+		 * @param timestamp the timestamp
+		 */
+		private void accumulate(long timestamp) {
+			long duration = timestamp - this.since;
+			if (this.isNumeric && this.value != null && duration > 0) {
+				this.weightedSum += ((Number) this.value).doubleValue() * duration;
+				this.weight += duration;
+			}
+			this.since = timestamp;
+		}
+
+		/**
+		 * Gets the aggregated value and resets the aggregate.
+		 *
+		 * @param timestamp the timestamp
+		 * @return the aggregated value
+		 */
+		private Object aggregate(long timestamp) {
+			this.accumulate(timestamp);
+			if (!this.isNumeric) {
+				this.isDirty = false;
+				return this.value;
+			}
+			if (this.weight == 0) {
+				this.isDirty = false;
+				return this.value == null ? null : ((Number) this.value).doubleValue();
+			}
+			double average = this.weightedSum / this.weight;
+			this.weightedSum = 0;
+			this.weight = 0;
+			// Stay dirty till the average reached the current value
+			this.isDirty = this.value == null || average != ((Number) this.value).doubleValue();
+			return average;
+		}
+	}
+
+	// Channels are weak keys, so that Slots of deactivated Components are released
+	private final Map<Channel<?>, Slot> slots = new WeakHashMap<>();
+
+	// The Slots with isDirty == true
+	private List<Slot> dirtySlots = new ArrayList<>();
+
+	private ChangeFeed() {
+	}
+
+	private synchronized void onChange(Channel<?> channel, Object value, long timestamp) {
+		Slot slot = this.slots.get(channel);
+		if (slot == null) {
+			slot = new Slot(channel, timestamp);
+			this.slots.put(channel, slot);
+		}
+		slot.accumulate(timestamp);
+		slot.value = value;
+		if (!slot.isDirty) {
+			slot.isDirty = true;
+			this.dirtySlots.add(slot);
+		}
+	}
+
+	/**
+	 * Drains all Channels that changed since the last call.
+	 *
+	 * <p>
+	 * The consumer receives the aggregated value: the time-weighted average as
+	 * {@link Double} for numeric Channels, the latest value otherwise. Use
+	 * {@link io.openems.edge.common.type.TypeUtils#getAsType} to convert it to the
+	 * type of the Channel.
+	 *
+	 * @param consumer the consumer of Channel and aggregated value
+	 */
+	public void drain(BiConsumer<Channel<?>, Object> consumer) {
+		long timestamp = CycleTimestamp.getMillis();
+		List<Channel<?>> channels = new ArrayList<>();
+		List<Object> values = new ArrayList<>();
+		synchronized (this) {
+			List<Slot> stillDirtySlots = new ArrayList<>();
+			for (Slot slot : this.dirtySlots) {
+				Channel<?> channel = slot.channel.get();
+				if (channel == null) {
+					// Component was deactivated
+					continue;
+				}
+				channels.add(channel);
+				values.add(slot.aggregate(timestamp));
+				if (slot.isDirty) {
+					stillDirtySlots.add(slot);
+				}
+			}
+			this.dirtySlots = stillDirtySlots;
+		}
+		// Call consumer outside of lock
+		for (int i = 0; i < channels.size(); i++) {
+			consumer.accept(channels.get(i), values.get(i));
+		}
+	}
+
+	@Override
+	public void close() {
+		FEEDS.remove(this);
+		synchronized (this) {
+			this.slots.clear();
+			this.dirtySlots.clear();
+		}
+	}
+
+	private static boolean isNumeric(Channel<?> channel) {
+		if (channel instanceof EnumReadChannel) {
+			return false;
+		}
+		switch (channel.getType()) {
+		case SHORT:
+		case INTEGER:
+		case LONG:
+		case FLOAT:
+		case DOUBLE:
+			return true;
+		case BOOLEAN:
+		case STRING:
+			return false;
+		}
+		return false;
+	}
+
+}
@@ -10,6 +10,7 @@ import io.openems.edge.common.channel.internal.AbstractReadChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.CircularTreeMap;
+import io.openems.edge.common.type.TimeSeriesRingBuffer;
 import io.openems.edge.common.type.TypeUtils;
 
 /**
@@ -158,11 +159,25 @@ public interface Channel<T> {
 	/**
 	 * Gets the past values for this Channel.
 	 * 
+	 * <p>
+	 * The map is a read-only view of {@link #getPastValuesBuffer()} that is
+	 * materialized on every call. Prefer {@link #getPastValuesBuffer()} to
+	 * iterate the past values without allocations.
+	 * 
 	 * @return a map of recording time and historic value at that time
 	 */
 	// TODO this should be a ZonedDateTime
+	@Deprecated
 	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues();
 
+	/**
+	 * Gets the past values for this Channel as a primitive
+	 * {@link TimeSeriesRingBuffer}. Timestamps are in epoch milliseconds.
+	 * 
+	 * @return the {@link TimeSeriesRingBuffer}
+	 */
+	public TimeSeriesRingBuffer getPastValuesBuffer();
+
 	/**
 	 * Add an onUpdate callback. It is called, after the active value was updated by
 	 * nextProcessImage().
@@ -124,6 +124,34 @@ public abstract class AbstractDoc<T> implements Doc {
 		return this.debug;
 	}
 
+	/*
+	 * Number of past values
+	 */
+	private int noOfPastValues = AbstractReadChannel.NO_OF_PAST_VALUES;
+
+	/**
+	 * Sets the number of past values that are kept in the history of the
+	 * Channel. Default: {@link AbstractReadChannel#NO_OF_PAST_VALUES}. Set to '0'
+	 * to disable the history.
+	 * 
+	 * @param noOfPastValues the number of past values
+	 * @return myself
+	 */
+	public AbstractDoc<T> noOfPastValues(int noOfPastValues) {
+		this.noOfPastValues = noOfPastValues;
+		return this.self();
+	}
+
+	/**
+	 * Gets the number of past values that are kept in the history of the
+	 * Channel.
+	 * 
+	 * @return the number of past values
+	 */
+	public int getNoOfPastValues() {
+		return this.noOfPastValues;
+	}
+
 	/*
 	 * On Channel initialization Callback
 	 */
@@ -14,18 +14,21 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.function.ThrowingConsumer;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.ChangeFeed;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.ChannelId;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.cycle.CycleTimestamp;
 import io.openems.edge.common.type.CircularTreeMap;
+import io.openems.edge.common.type.TimeSeriesRingBuffer;
 
 public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implements Channel<T> {
 
 	/**
-	 * Holds the number of past values for this Channel that are kept in the
-	 * 'pastValues' variable.
+	 * Holds the default number of past values for this Channel that are kept in
+	 * the 'pastValues' variable. See {@link AbstractDoc#noOfPastValues(int)}.
 	 */
 	public static final int NO_OF_PAST_VALUES = 100;
 
@@ -39,10 +42,12 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	private final List<Consumer<Value<T>>> onUpdateCallbacks = new CopyOnWriteArrayList<>();
 	private final List<Consumer<Value<T>>> onSetNextValueCallbacks = new CopyOnWriteArrayList<>();
 	private final List<BiConsumer<Value<T>, Value<T>>> onChangeCallbacks = new CopyOnWriteArrayList<>();
-	private final CircularTreeMap<LocalDateTime, Value<T>> pastValues = new CircularTreeMap<>(NO_OF_PAST_VALUES);
+	private final TimeSeriesRingBuffer pastValues;
 
 	private volatile Value<T> nextValue = null;
 	private volatile Value<T> activeValue = null;
+	private Value<T> lastPastValue = null;
+	private ChannelAddress address = null;
 
 	protected AbstractReadChannel(OpenemsType type, OpenemsComponent parent, ChannelId channelId, D channelDoc,
 			T initialValue) {
@@ -50,6 +55,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		this.parent = parent;
 		this.channelId = channelId;
 		this.channelDoc = channelDoc;
+		this.pastValues = new TimeSeriesRingBuffer(type, channelDoc.getNoOfPastValues());
 		this.nextValue = new Value<T>(this, null);
 		this.activeValue = new Value<T>(this, null);
 
@@ -107,6 +113,12 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	@Override
 	public void nextProcessImage() {
 		Value<T> oldValue = this.activeValue;
+		if (this.onUpdateCallbacks.isEmpty() && this.onChangeCallbacks.isEmpty() && !ChangeFeed.isAnyOpen()) {
+			// Fast path: nobody is listening, so skip change detection and callbacks
+			this.activeValue = this.nextValue;
+			this.addPastValue(this.activeValue);
+			return;
+		}
 		final boolean valueHasChanged;
 		if (oldValue == null && this.nextValue == null) {
 			valueHasChanged = false;
@@ -119,13 +131,36 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		this.onUpdateCallbacks.forEach(callback -> callback.accept(this.activeValue));
 		if (valueHasChanged) {
 			this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, this.activeValue));
+			ChangeFeed.publish(this, this.activeValue.get());
+		}
+		this.addPastValue(this.activeValue);
+	}
+
+	/**
+	 * Adds the given Value to the past values. The entry is recorded with the
+	 * timestamp of the current Cycle, i.e. the time of the process image switch.
+	 * 
+	 * @param value the {@link Value}
+	 */
+	private void addPastValue(Value<T> value) {
+		if (value == this.lastPastValue) {
+			// Value was not updated since last process image: nothing to do
+			return;
 		}
-		this.pastValues.put(this.activeValue.getTimestamp(), this.activeValue);
+		this.lastPastValue = value;
+		this.pastValues.add(CycleTimestamp.getMillis(), value.get());
 	}
 
 	@Override
 	public ChannelAddress address() {
-		return new ChannelAddress(this.parent.id(), this.channelId().id());
+		ChannelAddress address = this.address;
+		String componentId = this.parent.id();
+		// the Component-ID might change on 'modified'
+		if (address == null || !Objects.equals(address.getComponentId(), componentId)) {
+			address = new ChannelAddress(componentId, this.channelId().id());
+			this.address = address;
+		}
+		return address;
 	}
 
 	@Override
@@ -257,12 +292,28 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	}
 
 	/**
-	 * Gets the past values for this Channel.
+	 * Gets the past values for this Channel, materialized from the
+	 * {@link TimeSeriesRingBuffer}.
 	 * 
 	 * @return a map of recording time and historic value at that time
 	 */
+	@Deprecated
 	@Override
+	@SuppressWarnings("unchecked")
 	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues() {
+		synchronized (this.pastValues) {
+			CircularTreeMap<LocalDateTime, Value<T>> result = new CircularTreeMap<>(
+					Math.max(1, this.pastValues.getCapacity()));
+			for (int i = 0; i < this.pastValues.size(); i++) {
+				Value<T> value = new Value<T>(this, (T) this.pastValues.getValue(i), this.pastValues.getTimestamp(i));
+				result.put(value.getTimestamp(), value);
+			}
+			return result;
+		}
+	}
+
+	@Override
+	public TimeSeriesRingBuffer getPastValuesBuffer() {
 		return this.pastValues;
 	}
 }
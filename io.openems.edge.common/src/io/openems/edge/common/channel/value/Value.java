@@ -1,6 +1,8 @@
 package io.openems.edge.common.channel.value;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
 
 import com.google.gson.JsonElement;
@@ -10,6 +12,7 @@ import io.openems.common.types.OpenemsType;
 import io.openems.common.types.OptionsEnum;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.EnumDoc;
+import io.openems.edge.common.cycle.CycleTimestamp;
 import io.openems.edge.common.type.TypeUtils;
 
 /**
@@ -40,12 +43,31 @@ public class Value<T> {
 
 	private final Channel<T> parent;
 	private final T value;
-	private final LocalDateTime timestamp;
+	private final long timestamp;
+	private final ZoneId zone;
+
+	/**
+	 * Lazily created from 'timestamp'.
+	 */
+	private LocalDateTime localDateTime = null;
 
 	public Value(Channel<T> parent, T value) {
+		this(parent, value, CycleTimestamp.current());
+	}
+
+	private Value(Channel<T> parent, T value, CycleTimestamp cycleTimestamp) {
+		this(parent, value, cycleTimestamp.millis(), cycleTimestamp.zone());
+	}
+
+	public Value(Channel<T> parent, T value, long timestamp) {
+		this(parent, value, timestamp, CycleTimestamp.getZone());
+	}
+
+	public Value(Channel<T> parent, T value, long timestamp, ZoneId zone) {
 		this.parent = parent;
 		this.value = value;
-		this.timestamp = LocalDateTime.now();
+		this.timestamp = timestamp;
+		this.zone = zone;
 	}
 
 	/**
@@ -210,9 +232,27 @@ public class Value<T> {
 	/**
 	 * Gets the timestamp when the value was created.
 	 * 
+	 * <p>
+	 * This is the timestamp of the OpenEMS Cycle in which the value was created,
+	 * see {@link CycleTimestamp}, in the zone of the Cycle clock at that time.
+	 * 
 	 * @return the timestamp
 	 */
 	public LocalDateTime getTimestamp() {
+		LocalDateTime result = this.localDateTime;
+		if (result == null) {
+			result = LocalDateTime.ofInstant(Instant.ofEpochMilli(this.timestamp), this.zone);
+			this.localDateTime = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the timestamp when the value was created in epoch milliseconds.
+	 * 
+	 * @return the timestamp in epoch milliseconds
+	 */
+	public long getTimestampMillis() {
 		return this.timestamp;
 	}
 }
@@ -51,6 +51,11 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 	 */
 	private final Map<String, Channel<?>> channels = Collections.synchronizedMap(new HashMap<>());
 
+	/**
+	 * Counts every addition and removal of a Channel.
+	 */
+	private volatile int channelsModificationCount = 0;
+
 	private String id = null;
 	private String alias = null;
 	private ComponentContext componentContext = null;
@@ -298,6 +303,7 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 		}
 		// Add Channel to channels list
 		this.channels.put(channel.channelId().id(), channel);
+		this.channelsModificationCount++;
 		// Handle StateChannels
 		if (channel instanceof StateChannel) {
 			this.getStateChannel().addChannel((StateChannel) channel);
@@ -385,8 +391,10 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 	 */
 	// TODO remove Channel(s) using Channel-ID; see addChannels()-method above.
 	protected void removeChannel(Channel<?> channel) {
-		// Add Channel to channels list
-		this.channels.remove(channel.channelId().id(), channel);
+		// Remove Channel from channels list
+		if (this.channels.remove(channel.channelId().id(), channel)) {
+			this.channelsModificationCount++;
+		}
 		// Handle StateChannels
 		if (channel instanceof StateChannel) {
 			this.getStateChannel().removeChannel((StateChannel) channel);
@@ -398,6 +406,17 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 		return this.channels.values();
 	}
 
+	/**
+	 * Gets the number of times a Channel was added to or removed from this
+	 * Component. Allows to detect changes of {@link #channels()} without iterating
+	 * over them.
+	 * 
+	 * @return the modification count
+	 */
+	public int getChannelsModificationCount() {
+		return this.channelsModificationCount;
+	}
+
 	/**
 	 * Log a debug message including the Component ID.
 	 * 
@@ -0,0 +1,167 @@
+package io.openems.edge.common.cycle;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.component.ClockProvider;
+
+/**
+ * Holds the timestamp of the current OpenEMS Cycle.
+ *
+ * <p>
+ * The clock is read once per Cycle, right before
+ * {@link io.openems.edge.common.event.EdgeEventConstants#TOPIC_CYCLE_BEFORE_PROCESS_IMAGE}.
+ * Every {@link Value} that is created by the Cycle thread during the Cycle
+ * shares this timestamp, so that setting a value does not need to read the
+ * system clock. The {@link ZoneId} of the clock is captured together with the
+ * timestamp.
+ *
+ * <p>
+ * A {@link CycleTimestamp} is scoped to the worker that executes the Cycle,
+ * e.g. the Core.Cycle or one scenario of a batch simulation; the worker binds
+ * it to its thread via {@link #bindToCurrentThread()} and removes the binding
+ * via {@link #unbindCurrentThread()} when it is done. Threads without a binding
+ * use the {@link #global()} instance of the Core.Cycle, but read its
+ * {@link Clock} directly - i.e. once per {@link Value} - because the Cycle
+ * timestamp would be stale for them. Threads that set many values at once bind
+ * their own instance for that time, e.g. the ModbusWorker once per Modbus Task.
+ *
+ * <p>
+ * The {@link Clock} is provided by the worker, i.e. it honours a
+ * {@link ClockProvider} if available.
+ */
+public final class CycleTimestamp {
+
+	private static final long NOT_SET = Long.MIN_VALUE;
+	private static final CycleTimestamp GLOBAL = new CycleTimestamp(Clock.systemDefaultZone());
+	private static final ThreadLocal<CycleTimestamp> BOUND = new ThreadLocal<>();
+
+	/**
+	 * The timestamp of a Cycle together with the {@link ZoneId} of its clock.
+	 */
+	private static final class Snapshot {
+		private final Clock clock;
+		private final long millis;
+
+		private Snapshot(Clock clock, long millis) {
+			this.clock = clock;
+			this.millis = millis;
+		}
+	}
+
+	private volatile Snapshot snapshot;
+
+	/**
+	 * Creates a {@link CycleTimestamp}. Until the first call to
+	 * {@link #update(Clock)} the given {@link Clock} is read directly.
+	 *
+	 * @param clock the {@link Clock}
+	 */
+	public CycleTimestamp(Clock clock) {
+		this.snapshot = new Snapshot(clock, NOT_SET);
+	}
+
+	/**
+	 * Gets the {@link CycleTimestamp} of the Core.Cycle. It is used by all
+	 * threads that are not bound to another {@link CycleTimestamp}.
+	 *
+	 * @return the global {@link CycleTimestamp}
+	 */
+	public static CycleTimestamp global() {
+		return GLOBAL;
+	}
+
+	/**
+	 * Gets the {@link CycleTimestamp} of the current thread.
+	 *
+	 * @return the bound {@link CycleTimestamp}; or the {@link #global()} one
+	 */
+	public static CycleTimestamp current() {
+		CycleTimestamp bound = BOUND.get();
+		return bound != null ? bound : GLOBAL;
+	}
+
+	/**
+	 * Binds this {@link CycleTimestamp} to the current thread.
+	 *
+	 * @return myself
+	 */
+	public CycleTimestamp bindToCurrentThread() {
+		BOUND.set(this);
+		return this;
+	}
+
+	/**
+	 * Removes the binding of the current thread.
+	 */
+	public static void unbindCurrentThread() {
+		BOUND.remove();
+	}
+
+	/**
+	 * Reads the given {@link Clock} and stores the result as timestamp for the
+	 * current Cycle.
+	 *
+	 * @param clock the {@link Clock}
+	 */
+	public void update(Clock clock) {
+		this.snapshot = new Snapshot(clock, clock.millis());
+	}
+
+	/**
+	 * Gets the timestamp of the current Cycle in epoch milliseconds.
+	 *
+	 * <p>
+	 * If no Cycle was started yet - or if the current thread is not bound to this
+	 * {@link CycleTimestamp} - the {@link Clock} is read directly.
+	 *
+	 * @return the timestamp in epoch milliseconds
+	 */
+	public long millis() {
+		Snapshot snapshot = this.snapshot;
+		if (snapshot.millis != NOT_SET && BOUND.get() == this) {
+			return snapshot.millis;
+		}
+		return snapshot.clock.millis();
+	}
+
+	/**
+	 * Gets the {@link ZoneId} of the {@link Clock} of the current Cycle.
+	 *
+	 * @return the {@link ZoneId}
+	 */
+	public ZoneId zone() {
+		return this.snapshot.clock.getZone();
+	}
+
+	/**
+	 * Gets the {@link Clock} that was used for the current Cycle.
+	 *
+	 * @return the {@link Clock}
+	 */
+	public Clock clock() {
+		return this.snapshot.clock;
+	}
+
+	/**
+	 * Gets the timestamp of the current Cycle of the current thread in epoch
+	 * milliseconds, see {@link #current()} and {@link #millis()}.
+	 *
+	 * @return the timestamp in epoch milliseconds
+	 */
+	public static long getMillis() {
+		return current().millis();
+	}
+
+	/**
+	 * Gets the {@link ZoneId} of the current Cycle of the current thread, see
+	 * {@link #current()}.
+	 *
+	 * @return the {@link ZoneId}
+	 */
+	public static ZoneId getZone() {
+		return current().zone();
+	}
+
+}
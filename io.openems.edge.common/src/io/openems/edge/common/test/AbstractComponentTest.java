@@ -5,6 +5,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.time.Clock;
 import java.time.temporal.TemporalUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -28,7 +29,9 @@ import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.EnumDoc;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.cycle.CycleTimestamp;
 import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.type.TypeUtils;
 
@@ -198,6 +201,12 @@ public abstract class AbstractComponentTest<SELF extends AbstractComponentTest<S
 	 */
 	private final Set<Object> references = new HashSet<>();
 
+	/**
+	 * The Cycle timestamp of this test; bound to the test thread while a
+	 * Test-Case is executed.
+	 */
+	private final CycleTimestamp cycleTimestamp = new CycleTimestamp(Clock.systemDefaultZone());
+
 	/**
 	 * Components referenced by the tested Component.
 	 */
@@ -427,29 +436,49 @@ public abstract class AbstractComponentTest<SELF extends AbstractComponentTest<S
 	 */
 	public SELF next(TestCase testCase) throws Exception {
 		testCase.applyTimeLeap();
-		this.onBeforeProcessImage();
-		this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
-		for (Channel<?> channel : this.getSut().channels()) {
-			channel.nextProcessImage();
+		this.cycleTimestamp.bindToCurrentThread().update(this.getClock());
+		try {
+			this.onBeforeProcessImage();
+			this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
+			for (Channel<?> channel : this.getSut().channels()) {
+				channel.nextProcessImage();
+			}
+			testCase.applyInputs(this.components);
+			this.onAfterProcessImage();
+			this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
+			this.onBeforeControllers();
+			this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
+			this.onExecuteControllers();
+			this.onAfterControllers();
+			this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
+			this.onBeforeWrite();
+			this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
+			this.onExecuteWrite();
+			this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
+			this.onAfterWrite();
+			this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+			testCase.validateOutputs(this.components);
+		} finally {
+			CycleTimestamp.unbindCurrentThread();
 		}
-		testCase.applyInputs(this.components);
-		this.onAfterProcessImage();
-		this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
-		this.onBeforeControllers();
-		this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
-		this.onExecuteControllers();
-		this.onAfterControllers();
-		this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
-		this.onBeforeWrite();
-		this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
-		this.onExecuteWrite();
-		this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
-		this.onAfterWrite();
-		this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
-		testCase.validateOutputs(this.components);
 		return this.self();
 	}
 
+	/**
+	 * Gets the {@link Clock} of a referenced {@link ComponentManager}; or the
+	 * system clock if no {@link ComponentManager} is referenced.
+	 * 
+	 * @return the {@link Clock}
+	 */
+	private Clock getClock() {
+		for (Object object : this.references) {
+			if (object instanceof ComponentManager) {
+				return ((ComponentManager) object).getClock();
+			}
+		}
+		return Clock.systemDefaultZone();
+	}
+
 	/**
 	 * If the 'system-under-test' is a {@link EventHandler} call the
 	 * {@link EventHandler#handleEvent(Event)} method.
@@ -0,0 +1,284 @@
+package io.openems.edge.common.type;
+
+import java.util.stream.DoubleStream;
+
+import io.openems.common.types.OpenemsType;
+
+/**
+ * Implements a fixed-size circular buffer of timestamped values that stores
+ * the values in primitive arrays specialized for the given
+ * {@link OpenemsType}.
+ *
+ * <p>
+ * Timestamps are stored as epoch milliseconds. Entries are expected to be
+ * added in ascending order of their timestamps; adding an entry with the same
+ * timestamp as the latest entry replaces the latest entry. When the buffer is
+ * full, the eldest entry is overwritten.
+ *
+ * <p>
+ * Use {@link #forEach(long, long, TimestampedDoubleConsumer)} or
+ * {@link #doubleStream(long, long)} to aggregate numeric values without
+ * boxing.
+ */
+public class TimeSeriesRingBuffer {
+
+	/**
+	 * Consumer for a timestamped numeric value.
+	 */
+	@FunctionalInterface
+	public interface TimestampedDoubleConsumer {
+
+		/**
+		 * Performs this operation on the given arguments.
+		 *
+		 * @param timestamp the timestamp in epoch milliseconds
+		 * @param value     the value
+		 */
+		public void accept(long timestamp, double value);
+
+	}
+
+	private final OpenemsType type;
+	private final int capacity;
+	private final long[] timestamps;
+	private final boolean[] defined;
+
+	/*
+	 * Only the array that matches the OpenemsType is allocated.
+	 */
+	private final int[] intValues;
+	private final long[] longValues;
+	private final double[] doubleValues;
+	private final boolean[] booleanValues;
+	private final Object[] objectValues;
+
+	/**
+	 * Index of the eldest entry.
+	 */
+	private int head = 0;
+	private int size = 0;
+
+	public TimeSeriesRingBuffer(OpenemsType type, int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity must not be negative. Got [" + capacity + "]");
+		}
+		this.type = type;
+		this.capacity = capacity;
+		this.timestamps = new long[capacity];
+		this.defined = new boolean[capacity];
+		this.intValues = type == OpenemsType.SHORT || type == OpenemsType.INTEGER ? new int[capacity] : null;
+		this.longValues = type == OpenemsType.LONG ? new long[capacity] : null;
+		this.doubleValues = type == OpenemsType.FLOAT || type == OpenemsType.DOUBLE ? new double[capacity] : null;
+		this.booleanValues = type == OpenemsType.BOOLEAN ? new boolean[capacity] : null;
+		this.objectValues = type == OpenemsType.STRING ? new Object[capacity] : null;
+	}
+
+	/**
+	 * Gets the {@link OpenemsType} of the values.
+	 *
+	 * @return the type
+	 */
+	public OpenemsType getType() {
+		return this.type;
+	}
+
+	/**
+	 * Gets the maximum number of entries.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Gets the current number of entries.
+	 *
+	 * @return the size
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * Adds an entry.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param value     the value; null for UNDEFINED
+	 */
+	public synchronized void add(long timestamp, Object value) {
+		if (this.capacity == 0) {
+			return;
+		}
+		final int index;
+		if (this.size > 0 && this.timestamps[this.physicalIndex(this.size - 1)] == timestamp) {
+			// replace latest entry
+			index = this.physicalIndex(this.size - 1);
+		} else if (this.size < this.capacity) {
+			index = this.physicalIndex(this.size);
+			this.size++;
+		} else {
+			// overwrite eldest entry
+			index = this.head;
+			this.head = (this.head + 1) % this.capacity;
+		}
+		this.timestamps[index] = timestamp;
+		this.defined[index] = value != null;
+		if (value == null) {
+			if (this.objectValues != null) {
+				this.objectValues[index] = null;
+			}
+			return;
+		}
+		switch (this.type) {
+		case SHORT:
+		case INTEGER:
+			this.intValues[index] = ((Number) value).intValue();
+			break;
+		case LONG:
+			this.longValues[index] = ((Number) value).longValue();
+			break;
+		case FLOAT:
+		case DOUBLE:
+			this.doubleValues[index] = ((Number) value).doubleValue();
+			break;
+		case BOOLEAN:
+			this.booleanValues[index] = (Boolean) value;
+			break;
+		case STRING:
+			this.objectValues[index] = value;
+			break;
+		}
+	}
+
+	/**
+	 * Gets the timestamp of the entry at the given index.
+	 *
+	 * @param index the index; 0 is the eldest entry
+	 * @return the timestamp in epoch milliseconds
+	 */
+	public synchronized long getTimestamp(int index) {
+		return this.timestamps[this.checkedPhysicalIndex(index)];
+	}
+
+	/**
+	 * Gets the boxed value of the entry at the given index.
+	 *
+	 * @param index the index; 0 is the eldest entry
+	 * @return the value, converted to the {@link OpenemsType}; null for UNDEFINED
+	 */
+	public synchronized Object getValue(int index) {
+		int i = this.checkedPhysicalIndex(index);
+		if (!this.defined[i]) {
+			return null;
+		}
+		switch (this.type) {
+		case SHORT:
+			return (short) this.intValues[i];
+		case INTEGER:
+			return this.intValues[i];
+		case LONG:
+			return this.longValues[i];
+		case FLOAT:
+			return (float) this.doubleValues[i];
+		case DOUBLE:
+			return this.doubleValues[i];
+		case BOOLEAN:
+			return this.booleanValues[i];
+		case STRING:
+			return this.objectValues[i];
+		}
+		return null;
+	}
+
+	/**
+	 * Iterates over all defined numeric entries with a timestamp in the given
+	 * range. Booleans are mapped to 1 and 0; Strings are skipped.
+	 *
+	 * @param fromInclusive the start timestamp in epoch milliseconds, inclusive
+	 * @param toExclusive   the end timestamp in epoch milliseconds, exclusive
+	 * @param consumer      the {@link TimestampedDoubleConsumer}
+	 */
+	public synchronized void forEach(long fromInclusive, long toExclusive, TimestampedDoubleConsumer consumer) {
+		if (this.type == OpenemsType.STRING) {
+			return;
+		}
+		for (int index = this.firstIndexNotBefore(fromInclusive); index < this.size; index++) {
+			int i = this.physicalIndex(index);
+			long timestamp = this.timestamps[i];
+			if (timestamp >= toExclusive) {
+				break;
+			}
+			if (!this.defined[i]) {
+				continue;
+			}
+			consumer.accept(timestamp, this.getAsDouble(i));
+		}
+	}
+
+	/**
+	 * Gets a {@link DoubleStream} of all defined numeric entries with a timestamp
+	 * in the given range. See
+	 * {@link #forEach(long, long, TimestampedDoubleConsumer)}.
+	 *
+	 * @param fromInclusive the start timestamp in epoch milliseconds, inclusive
+	 * @param toExclusive   the end timestamp in epoch milliseconds, exclusive
+	 * @return the {@link DoubleStream}
+	 */
+	public DoubleStream doubleStream(long fromInclusive, long toExclusive) {
+		DoubleStream.Builder builder = DoubleStream.builder();
+		this.forEach(fromInclusive, toExclusive, (timestamp, value) -> builder.add(value));
+		return builder.build();
+	}
+
+	private double getAsDouble(int i) {
+		switch (this.type) {
+		case SHORT:
+		case INTEGER:
+			return this.intValues[i];
+		case LONG:
+			return this.longValues[i];
+		case FLOAT:
+		case DOUBLE:
+			return this.doubleValues[i];
+		case BOOLEAN:
+			return this.booleanValues[i] ? 1d : 0d;
+		case STRING:
+			break;
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * Binary-searches the logical index of the first entry with a timestamp that
+	 * is not before the given timestamp.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @return the logical index; equal to size if there is no such entry
+	 */
+	private int firstIndexNotBefore(long timestamp) {
+		int low = 0;
+		int high = this.size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (this.timestamps[this.physicalIndex(mid)] < timestamp) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private int physicalIndex(int index) {
+		return (this.head + index) % this.capacity;
+	}
+
+	private int checkedPhysicalIndex(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index [" + index + "] out of bounds for size [" + this.size + "]");
+		}
+		return this.physicalIndex(index);
+	}
+
+}
@@ -0,0 +1,118 @@
+package io.openems.edge.common.channel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.cycle.CycleTimestamp;
+import io.openems.edge.common.test.TimeLeapClock;
+
+public class ChangeFeedTest {
+
+	private static enum TestChannelId implements ChannelId {
+		POWER(Doc.of(OpenemsType.INTEGER)), //
+		STATE(Doc.of(TestOptions.values()));
+
+		private final Doc doc;
+
+		private TestChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private TimeLeapClock clock;
+	private CycleTimestamp cycleTimestamp;
+	private IntegerReadChannel power;
+	private EnumReadChannel state;
+
+	@Before
+	public void before() {
+		this.clock = new TimeLeapClock(Instant.ofEpochSecond(1_577_836_800) /* starts at 1. January 2020 00:00:00 */,
+				ZoneOffset.UTC);
+		this.cycleTimestamp = new CycleTimestamp(this.clock).bindToCurrentThread();
+		this.power = TestChannelId.POWER.doc().createChannelInstance(null, TestChannelId.POWER);
+		this.state = TestChannelId.STATE.doc().createChannelInstance(null, TestChannelId.STATE);
+	}
+
+	@After
+	public void after() {
+		CycleTimestamp.unbindCurrentThread();
+	}
+
+	@Test
+	public void testTimeWeightedAverage() {
+		try (ChangeFeed feed = ChangeFeed.open()) {
+			this.cycle(this.power, 100);
+			this.cycle(this.power, 200);
+			this.cycle(this.power, 200);
+			this.cycle(this.power, 200);
+
+			// 1 second 100 + 3 seconds 200
+			assertEquals(175.0, drain(feed).get(this.power));
+
+			// Average did not yet reach the current value -> still dirty
+			assertEquals(200.0, drain(feed).get(this.power));
+			assertTrue(drain(feed).isEmpty());
+		}
+	}
+
+	@Test
+	public void testOnlyChanges() {
+		try (ChangeFeed feed = ChangeFeed.open()) {
+			this.cycle(this.power, 100);
+			this.cycle(this.state, TestOptions.OPTION_1);
+			assertEquals(2, drain(feed).size());
+
+			this.cycle(this.power, 100);
+			this.cycle(this.state, TestOptions.OPTION_1);
+			assertTrue(drain(feed).isEmpty());
+
+			this.cycle(this.state, TestOptions.OPTION_2);
+			Map<Channel<?>, Object> changes = drain(feed);
+			assertEquals(1, changes.size());
+			assertEquals(TestOptions.OPTION_2.getValue(), changes.get(this.state));
+		}
+	}
+
+	@Test
+	public void testClose() {
+		ChangeFeed feed = ChangeFeed.open();
+		assertTrue(ChangeFeed.isAnyOpen());
+		feed.close();
+		assertFalse(ChangeFeed.isAnyOpen());
+
+		this.cycle(this.power, 100);
+		assertTrue(drain(feed).isEmpty());
+	}
+
+	private void cycle(Channel<?> channel, Object value) {
+		this.cycleTimestamp.update(this.clock);
+		channel.setNextValue(value);
+		channel.nextProcessImage();
+		this.clock.leap(1, ChronoUnit.SECONDS);
+		this.cycleTimestamp.update(this.clock);
+	}
+
+	private static Map<Channel<?>, Object> drain(ChangeFeed feed) {
+		Map<Channel<?>, Object> result = new HashMap<>();
+		feed.drain(result::put);
+		return result;
+	}
+
+}
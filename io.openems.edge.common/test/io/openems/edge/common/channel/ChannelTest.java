@@ -2,17 +2,27 @@ package io.openems.edge.common.channel;
 
 import static org.junit.Assert.assertEquals;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 
 import org.junit.Test;
 
 import io.openems.common.channel.AccessMode;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.cycle.CycleTimestamp;
+import io.openems.edge.common.test.TimeLeapClock;
+import io.openems.edge.common.type.CircularTreeMap;
 
 public class ChannelTest {
 
 	private static enum TestChannelId implements ChannelId {
-		TEST_CHANNEL_WITH_OPTIONS(Doc.of(TestOptions.values()).accessMode(AccessMode.READ_WRITE));
+		TEST_CHANNEL_WITH_OPTIONS(Doc.of(TestOptions.values()).accessMode(AccessMode.READ_WRITE)), //
+		TEST_INTEGER_CHANNEL(Doc.of(OpenemsType.INTEGER));
 
 		private final Doc doc;
 
@@ -42,4 +52,28 @@ public class ChannelTest {
 		assertEquals(TestOptions.OPTION_1.getValue(), writtenValue.get());
 	}
 
+	@SuppressWarnings("deprecation")
+	@Test
+	public void testGetPastValues() {
+		TestChannelId channelId = TestChannelId.TEST_INTEGER_CHANNEL;
+		IntegerReadChannel channel = channelId.doc().createChannelInstance(null, channelId);
+		TimeLeapClock clock = new TimeLeapClock(Instant.parse("2020-01-01T00:00:00.00Z"), ZoneOffset.UTC);
+		CycleTimestamp cycleTimestamp = new CycleTimestamp(clock).bindToCurrentThread();
+		try {
+			for (int i = 1; i <= 3; i++) {
+				cycleTimestamp.update(clock);
+				channel.setNextValue(i * 100);
+				channel.nextProcessImage();
+				clock.leap(1, ChronoUnit.SECONDS);
+			}
+		} finally {
+			CycleTimestamp.unbindCurrentThread();
+		}
+
+		CircularTreeMap<LocalDateTime, Value<Integer>> pastValues = channel.getPastValues();
+		assertEquals(3, pastValues.size());
+		assertEquals(Integer.valueOf(100), pastValues.get(LocalDateTime.parse("2020-01-01T00:00:00")).get());
+		assertEquals(Integer.valueOf(300), pastValues.lastEntry().getValue().get());
+	}
+
 }
@@ -0,0 +1,82 @@
+package io.openems.edge.common.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.test.TimeLeapClock;
+
+public class CycleTimestampTest {
+
+	private static final Instant START = Instant.ofEpochSecond(1_577_836_800); // 1. January 2020 00:00:00
+
+	@After
+	public void after() {
+		CycleTimestamp.unbindCurrentThread();
+	}
+
+	@Test
+	public void testBoundThreadUsesCycleTimestamp() throws Exception {
+		TimeLeapClock clock = new TimeLeapClock(START, ZoneOffset.UTC);
+		CycleTimestamp cycleTimestamp = new CycleTimestamp(clock).bindToCurrentThread();
+		cycleTimestamp.update(clock);
+		clock.leap(5, ChronoUnit.SECONDS);
+
+		// Cycle thread: timestamp of the Cycle
+		assertSame(cycleTimestamp, CycleTimestamp.current());
+		assertEquals(START.toEpochMilli(), CycleTimestamp.getMillis());
+
+		// Other thread: not bound -> global
+		assertSame(CycleTimestamp.global(), CompletableFuture.supplyAsync(CycleTimestamp::current).get());
+
+		// Other thread reading this CycleTimestamp: current time of the clock
+		long millis = CompletableFuture.supplyAsync(cycleTimestamp::millis).get();
+		assertEquals(START.plusSeconds(5).toEpochMilli(), millis);
+	}
+
+	@Test
+	public void testIsolation() throws Exception {
+		TimeLeapClock clock1 = new TimeLeapClock(START, ZoneOffset.UTC);
+		TimeLeapClock clock2 = new TimeLeapClock(START.plusSeconds(3600), ZoneOffset.UTC);
+		CycleTimestamp cycleTimestamp1 = new CycleTimestamp(clock1);
+		CycleTimestamp cycleTimestamp2 = new CycleTimestamp(clock2);
+
+		long millis2 = CompletableFuture.supplyAsync(() -> {
+			cycleTimestamp2.bindToCurrentThread().update(clock2);
+			try {
+				return CycleTimestamp.getMillis();
+			} finally {
+				CycleTimestamp.unbindCurrentThread();
+			}
+		}).get();
+		cycleTimestamp1.bindToCurrentThread().update(clock1);
+
+		assertEquals(START.plusSeconds(3600).toEpochMilli(), millis2);
+		assertEquals(START.toEpochMilli(), CycleTimestamp.getMillis());
+	}
+
+	@Test
+	public void testValueCapturesZone() {
+		ZoneId berlin = ZoneId.of("Europe/Berlin");
+		TimeLeapClock clock = new TimeLeapClock(START, berlin);
+		CycleTimestamp cycleTimestamp = new CycleTimestamp(clock).bindToCurrentThread();
+		cycleTimestamp.update(clock);
+		Value<Integer> value = new Value<>(null, 1);
+
+		// Zone changes afterwards
+		cycleTimestamp.update(new TimeLeapClock(START, ZoneOffset.UTC));
+
+		assertEquals(LocalDateTime.of(2020, 1, 1, 1, 0), value.getTimestamp());
+	}
+
+}
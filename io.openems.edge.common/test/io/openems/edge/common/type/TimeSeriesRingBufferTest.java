@@ -0,0 +1,71 @@
+package io.openems.edge.common.type;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+
+public class TimeSeriesRingBufferTest {
+
+	@Test
+	public void testCircular() {
+		TimeSeriesRingBuffer b = new TimeSeriesRingBuffer(OpenemsType.INTEGER, 3);
+		b.add(1000, 1);
+		b.add(2000, 2);
+		b.add(3000, null);
+		b.add(4000, 4);
+
+		assertEquals(3, b.size());
+		assertEquals(2000, b.getTimestamp(0));
+		assertEquals(2, b.getValue(0));
+		assertNull(b.getValue(1));
+		assertEquals(4000, b.getTimestamp(2));
+		assertEquals(4, b.getValue(2));
+	}
+
+	@Test
+	public void testReplaceSameTimestamp() {
+		TimeSeriesRingBuffer b = new TimeSeriesRingBuffer(OpenemsType.LONG, 3);
+		b.add(1000, 1L);
+		b.add(1000, 2L);
+
+		assertEquals(1, b.size());
+		assertEquals(2L, b.getValue(0));
+	}
+
+	@Test
+	public void testRange() {
+		TimeSeriesRingBuffer b = new TimeSeriesRingBuffer(OpenemsType.DOUBLE, 5);
+		for (int i = 1; i <= 8; i++) {
+			b.add(i * 1000, i * 1.5);
+		}
+		// contains 4..8
+		assertEquals(7.5 + 9 + 10.5, b.doubleStream(5000, 8000).sum(), 0.001);
+		assertEquals(6 + 7.5 + 9 + 10.5 + 12, b.doubleStream(0, Long.MAX_VALUE).sum(), 0.001);
+		assertEquals(0, b.doubleStream(9000, Long.MAX_VALUE).count());
+	}
+
+	@Test
+	public void testBoolean() {
+		TimeSeriesRingBuffer b = new TimeSeriesRingBuffer(OpenemsType.BOOLEAN, 5);
+		b.add(1000, true);
+		b.add(2000, false);
+		b.add(3000, null);
+		b.add(4000, true);
+
+		assertEquals(3, b.doubleStream(0, Long.MAX_VALUE).count());
+		assertEquals(2, b.doubleStream(0, Long.MAX_VALUE).sum(), 0.001);
+		assertEquals(false, b.getValue(1));
+	}
+
+	@Test
+	public void testZeroCapacity() {
+		TimeSeriesRingBuffer b = new TimeSeriesRingBuffer(OpenemsType.STRING, 0);
+		b.add(1000, "foo");
+
+		assertEquals(0, b.size());
+	}
+
+}
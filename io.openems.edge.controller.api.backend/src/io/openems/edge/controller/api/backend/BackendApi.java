@@ -3,9 +3,15 @@ package io.openems.edge.controller.api.backend;
 import org.ops4j.pax.logging.spi.PaxAppender;
 import org.osgi.service.event.EventHandler;
 
+import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.channel.LongReadChannel;
+import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.StringReadChannel;
+import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.controller.api.Controller;
 
@@ -13,7 +19,14 @@ public interface BackendApi extends Controller, OpenemsComponent, PaxAppender, E
 
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		API_WORKER_LOG(Doc.of(OpenemsType.STRING) //
-				.text("Logs Write-Commands via ApiWorker")); //
+				.text("Logs Write-Commands via ApiWorker")), //
+		SPOOL_FILL_LEVEL(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.PERCENT) //
+				.text("Fill level of the spool for unsent data")), //
+		SPOOL_DROPPED_RECORDS(Doc.of(OpenemsType.LONG) //
+				.text("Number of unsent records that were dropped because the spool was full")), //
+		SPOOL_FAILED(Doc.of(Level.WARNING) //
+				.text("Unable to use the spool for unsent data")); //
 
 		private final Doc doc;
 
@@ -35,4 +48,90 @@ public interface BackendApi extends Controller, OpenemsComponent, PaxAppender, E
 	public default StringReadChannel getApiWorkerLogChannel() {
 		return this.channel(ChannelId.API_WORKER_LOG);
 	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SPOOL_FILL_LEVEL}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getSpoolFillLevelChannel() {
+		return this.channel(ChannelId.SPOOL_FILL_LEVEL);
+	}
+
+	/**
+	 * Gets the fill level of the spool in [%]. See
+	 * {@link ChannelId#SPOOL_FILL_LEVEL}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getSpoolFillLevel() {
+		return this.getSpoolFillLevelChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#SPOOL_FILL_LEVEL}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSpoolFillLevel(Integer value) {
+		this.getSpoolFillLevelChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SPOOL_DROPPED_RECORDS}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getSpoolDroppedRecordsChannel() {
+		return this.channel(ChannelId.SPOOL_DROPPED_RECORDS);
+	}
+
+	/**
+	 * Gets the number of dropped records. See
+	 * {@link ChannelId#SPOOL_DROPPED_RECORDS}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getSpoolDroppedRecords() {
+		return this.getSpoolDroppedRecordsChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SPOOL_DROPPED_RECORDS} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSpoolDroppedRecords(Long value) {
+		this.getSpoolDroppedRecordsChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SPOOL_FAILED}.
+	 *
+	 * @return the Channel
+	 */
+	public default StateChannel getSpoolFailedChannel() {
+		return this.channel(ChannelId.SPOOL_FAILED);
+	}
+
+	/**
+	 * Gets the {@link StateChannel} for {@link ChannelId#SPOOL_FAILED}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Boolean> getSpoolFailed() {
+		return this.getSpoolFailedChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#SPOOL_FAILED}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSpoolFailed(Boolean value) {
+		this.getSpoolFailedChannel().setNextValue(value);
+	}
 }
@@ -1,9 +1,11 @@
 package io.openems.edge.controller.api.backend;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,11 +27,18 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonObject;
+
+import io.openems.common.OpenemsConstants;
+import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
+import io.openems.common.jsonrpc.request.EdgeConfigDeltaRequest;
 import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfigDelta;
 import io.openems.common.websocket.AbstractWebsocketClient;
+import io.openems.common.websocket.TimestampedDataCodec;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -52,6 +61,9 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 		implements BackendApi, Controller, OpenemsComponent, PaxAppender, EventHandler {
 
 	protected static final int DEFAULT_NO_OF_CYCLES = 10;
+	protected static final int DEFAULT_SPOOL_SIZE = 16; // [MB]
+	protected static final int DEFAULT_SPOOL_REPLAY_RATE = 5;
+	protected static final String SPOOL_PATH = "backend";
 	protected static final String COMPONENT_NAME = "Controller.Api.Backend";
 
 	protected final BackendWorker worker = new BackendWorker(this);
@@ -63,10 +75,21 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 	protected WebsocketClient websocket = null;
 	protected int noOfCycles = DEFAULT_NO_OF_CYCLES; // default, is going to be overwritten by config
 	protected boolean debug = false;
+	protected DataSpool spool = null;
+	protected int spoolReplayRate = DEFAULT_SPOOL_REPLAY_RATE;
 
 	// Used for SubscribeSystemLogRequests
 	private boolean isSystemLogSubscribed = false;
 
+	// The last EdgeConfig in JSON format that is known to the Backend; base for
+	// EdgeConfigDeltaRequests
+	private JsonObject lastConfig = null;
+	private boolean isConfigDeltaSupported = true;
+	// The EdgeConfig of the delta that was not yet acknowledged by the Backend;
+	// and the latest EdgeConfig that changed in the meantime
+	private JsonObject unacknowledgedConfig = null;
+	private EdgeConfig queuedConfig = null;
+
 	@Reference(policy = ReferencePolicy.DYNAMIC, policyOption = ReferencePolicyOption.GREEDY, cardinality = ReferenceCardinality.OPTIONAL)
 	private volatile Timedata timedata = null;
 
@@ -115,11 +138,30 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 		// create http headers
 		Map<String, String> httpHeaders = new HashMap<>();
 		httpHeaders.put("apikey", config.apikey());
+		if (config.binaryData()) {
+			// offer binary format for TimestampedData; falls back to JSON for old Backends
+			httpHeaders.put(TimestampedDataCodec.HTTP_HEADER, TimestampedDataCodec.BINARY_V1);
+		}
 
 		// Create Websocket instance
 		this.websocket = new WebsocketClient(this, COMPONENT_NAME + ":" + this.id(), uri, httpHeaders, proxy);
+		this.websocket.setTimestampedDataDeflate(config.compressData());
 		this.websocket.start();
 
+		// Open spool for unsent data
+		this.spoolReplayRate = config.spoolReplayRate();
+		if (config.spoolSize() > 0) {
+			try {
+				this.spool = DataSpool.open(//
+						Paths.get(OpenemsConstants.getOpenemsDataDir(), SPOOL_PATH, config.id()), //
+						Math.min(config.spoolSize(), 1024) * 1024 * 1024);
+				this._setSpoolFailed(false);
+			} catch (IOException e) {
+				this.logError(this.log, "Unable to open spool: " + e.getMessage());
+				this._setSpoolFailed(true);
+			}
+		}
+
 		// Activate worker
 		this.worker.activate(config.id());
 	}
@@ -131,6 +173,14 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 		if (this.websocket != null) {
 			this.websocket.stop();
 		}
+		if (this.spool != null) {
+			try {
+				this.spool.close();
+			} catch (IOException e) {
+				this.logWarn(this.log, "Unable to close spool: " + e.getMessage());
+			}
+			this.spool = null;
+		}
 	}
 
 	@Override
@@ -186,12 +236,107 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 
 		case EdgeEventConstants.TOPIC_CONFIG_UPDATE:
 			EdgeConfig config = (EdgeConfig) event.getProperty(EdgeEventConstants.TOPIC_CONFIG_UPDATE_KEY);
-			EdgeConfigNotification message = new EdgeConfigNotification(config);
-			WebsocketClient ws = this.websocket;
-			if (ws == null) {
+			this.sendConfigUpdate(config);
+		}
+	}
+
+	/**
+	 * Sends the complete EdgeConfig after the connection to the Backend was
+	 * opened. It is the base for following EdgeConfigDeltaRequests.
+	 * 
+	 * @param config the {@link EdgeConfig}
+	 */
+	protected synchronized void sendInitialConfig(EdgeConfig config) {
+		this.isConfigDeltaSupported = true;
+		this.sendFullConfig(config);
+	}
+
+	/**
+	 * Sends an updated EdgeConfig.
+	 * 
+	 * <p>
+	 * Only the delta to the last EdgeConfig that is known to the Backend is sent.
+	 * While a delta is not yet acknowledged, further changes are queued and sent
+	 * as one delta on top of it after the acknowledgement. If the Backend does
+	 * not acknowledge it - e.g. because it does not know the base version or does
+	 * not support deltas - the complete EdgeConfig is sent instead.
+	 * 
+	 * @param config the {@link EdgeConfig}
+	 */
+	protected synchronized void sendConfigUpdate(EdgeConfig config) {
+		WebsocketClient ws = this.websocket;
+		JsonObject lastConfig = this.lastConfig;
+		if (ws == null) {
+			return;
+		}
+		if (lastConfig == null || !this.isConfigDeltaSupported) {
+			this.sendFullConfig(config);
+			return;
+		}
+		if (this.unacknowledgedConfig != null) {
+			// wait for the acknowledgement of the previous delta
+			this.queuedConfig = config;
+			return;
+		}
+
+		JsonObject newConfig = config.toJson();
+		try {
+			EdgeConfigDelta delta = EdgeConfigDelta.diff(newConfig, lastConfig);
+			if (delta.isEmpty()) {
 				return;
 			}
-			ws.sendMessage(message);
+			this.unacknowledgedConfig = newConfig;
+			ws.sendRequest(new EdgeConfigDeltaRequest(delta)).whenComplete((response, ex) -> {
+				synchronized (this) {
+					if (this.unacknowledgedConfig != newConfig) {
+						// outdated, e.g. the complete EdgeConfig was sent in the meantime
+						return;
+					}
+					this.unacknowledgedConfig = null;
+					EdgeConfig queuedConfig = this.queuedConfig;
+					this.queuedConfig = null;
+					if (ex == null) {
+						// acknowledged
+						this.lastConfig = newConfig;
+						if (queuedConfig != null) {
+							this.sendConfigUpdate(queuedConfig);
+						}
+						return;
+					}
+					if (ex instanceof OpenemsNamedException
+							&& ((OpenemsNamedException) ex).getError() == OpenemsError.JSONRPC_UNHANDLED_METHOD) {
+						// Backend does not support deltas
+						this.isConfigDeltaSupported = false;
+					}
+					this.logWarn(this.log, "EdgeConfig delta was not acknowledged: " + ex.getMessage());
+					this.sendFullConfig(this.componentManager.getEdgeConfig());
+				}
+			});
+
+		} catch (OpenemsNamedException e) {
+			this.logWarn(this.log, "Unable to send EdgeConfig delta: " + e.getMessage());
+			this.sendFullConfig(config);
+		}
+	}
+
+	/**
+	 * Sends the complete EdgeConfig.
+	 * 
+	 * @param config the {@link EdgeConfig}
+	 */
+	private synchronized void sendFullConfig(EdgeConfig config) {
+		WebsocketClient ws = this.websocket;
+		if (ws == null) {
+			return;
+		}
+		// the complete EdgeConfig replaces pending deltas
+		this.unacknowledgedConfig = null;
+		this.queuedConfig = null;
+		EdgeConfigNotification message = new EdgeConfigNotification(config);
+		if (ws.sendMessage(message)) {
+			this.lastConfig = config.toJson();
+		} else {
+			this.lastConfig = null;
 		}
 	}
 }
@@ -1,14 +1,18 @@
 package io.openems.edge.controller.api.backend;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.WeakHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.google.common.collect.EvictingQueue;
 import com.google.gson.JsonElement;
 
@@ -16,22 +20,18 @@ import io.openems.common.channel.AccessMode;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.ChannelAddress;
-import io.openems.common.types.OpenemsType;
 import io.openems.common.worker.AbstractCycleWorker;
-import io.openems.edge.common.channel.EnumReadChannel;
-import io.openems.edge.common.type.slidingvalue.DoubleSlidingValue;
-import io.openems.edge.common.type.slidingvalue.FloatSlidingValue;
-import io.openems.edge.common.type.slidingvalue.IntegerSlidingValue;
-import io.openems.edge.common.type.slidingvalue.LatestSlidingValue;
-import io.openems.edge.common.type.slidingvalue.LongSlidingValue;
-import io.openems.edge.common.type.slidingvalue.ShortSlidingValue;
-import io.openems.edge.common.type.slidingvalue.SlidingValue;
+import io.openems.edge.common.channel.ChangeFeed;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.type.TypeUtils;
 
 class BackendWorker extends AbstractCycleWorker {
 
 	private static final int MAX_CACHED_MESSAGES = 1000;
+	private static final int MAX_SPOOLED_RECORDS_PER_MESSAGE = 60;
 
-	// private final Logger log = LoggerFactory.getLogger(BackendWorker.class);
+	private final Logger log = LoggerFactory.getLogger(BackendWorker.class);
 
 	private final BackendApiImpl parent;
 
@@ -41,8 +41,12 @@ class BackendWorker extends AbstractCycleWorker {
 	// Holds an current NoOfCycles
 	private Optional<Integer> increasedNoOfCycles = Optional.empty();
 
-	// Current values
-	private final ConcurrentHashMap<ChannelAddress, SlidingValue<?>> data = new ConcurrentHashMap<>();
+	// Receives the Channels that changed their value
+	private ChangeFeed changeFeed = null;
+
+	// Last sent values; Channels are weak keys, so that values of deactivated
+	// Components are released
+	private final Map<Channel<?>, JsonElement> lastSentValues = new WeakHashMap<>();
 
 	// Unsent queue (FIFO)
 	private EvictingQueue<JsonrpcMessage> unsent = EvictingQueue.create(MAX_CACHED_MESSAGES);
@@ -57,12 +61,17 @@ class BackendWorker extends AbstractCycleWorker {
 
 	@Override
 	public void activate(String name) {
+		this.changeFeed = ChangeFeed.open();
 		super.activate(name);
 	}
 
 	@Override
 	public void deactivate() {
 		super.deactivate();
+		if (this.changeFeed != null) {
+			this.changeFeed.close();
+			this.changeFeed = null;
+		}
 	}
 
 	/**
@@ -76,9 +85,6 @@ class BackendWorker extends AbstractCycleWorker {
 
 	@Override
 	protected void forever() {
-		// Update the data from ChannelValues
-		this.updateData();
-
 		// Increase CycleCount
 		if (++this.cycleCount < this.parent.noOfCycles) {
 			// Stop here if not reached CycleCount
@@ -97,18 +103,34 @@ class BackendWorker extends AbstractCycleWorker {
 		// Prepare message values
 		Map<ChannelAddress, JsonElement> sendValues = new HashMap<>();
 
-		if (sendChangedValuesOnly) {
-			// Only Changed Values
-			for (Entry<ChannelAddress, SlidingValue<?>> entry : this.data.entrySet()) {
-				JsonElement changedValueOrNull = entry.getValue().getChangedValueOrNull();
-				if (changedValueOrNull != null) {
-					sendValues.put(entry.getKey(), changedValueOrNull);
+		// Changed Values
+		ChangeFeed changeFeed = this.changeFeed;
+		if (changeFeed != null) {
+			changeFeed.drain((channel, value) -> {
+				if (!isRelevant(channel)) {
+					return;
 				}
-			}
-		} else {
+				JsonElement jsonValue = TypeUtils.getAsJson(channel.getType(), value);
+				if (!jsonValue.equals(this.lastSentValues.put(channel, jsonValue))) {
+					sendValues.put(channel.address(), jsonValue);
+				}
+			});
+		}
+
+		if (!sendChangedValuesOnly) {
 			// All Values
-			for (Entry<ChannelAddress, SlidingValue<?>> entry : this.data.entrySet()) {
-				sendValues.put(entry.getKey(), entry.getValue().getValue());
+			for (OpenemsComponent component : this.parent.componentManager.getEnabledComponents()) {
+				for (Channel<?> channel : component.channels()) {
+					if (!isRelevant(channel)) {
+						continue;
+					}
+					JsonElement jsonValue = this.lastSentValues.get(channel);
+					if (jsonValue == null) {
+						jsonValue = TypeUtils.getAsJson(channel.getType(), channel.value().get());
+						this.lastSentValues.put(channel, jsonValue);
+					}
+					sendValues.put(channel.address(), jsonValue);
+				}
 			}
 		}
 
@@ -136,7 +158,7 @@ class BackendWorker extends AbstractCycleWorker {
 				this.increaseNoOfCycles();
 
 				// cache data for later
-				this.unsent.add(message);
+				this.cache(timestamp, sendValues, message);
 			}
 
 			canSendFromCache = wasSent;
@@ -155,82 +177,101 @@ class BackendWorker extends AbstractCycleWorker {
 				}
 			}
 		}
+
+		// send from spool
+		if (canSendFromCache) {
+			this.replaySpool();
+		}
+		this.flushSpool();
+		this.updateSpoolChannels();
 	}
 
 	/**
-	 * Cycles through all Channels and updates the value.
+	 * Caches a message that could not be sent. Uses the persistent spool if it is
+	 * available; otherwise the in-memory cache.
+	 * 
+	 * @param timestamp the timestamp
+	 * @param values    the values
+	 * @param message   the message
 	 */
-	private void updateData() {
-		this.parent.componentManager.getEnabledComponents().parallelStream() //
-				.filter(c -> c.isEnabled()) //
-				.flatMap(component -> component.channels().parallelStream()) //
-				.filter(channel -> // Ignore WRITE_ONLY Channels
-				channel.channelDoc().getAccessMode() == AccessMode.READ_ONLY
-						|| channel.channelDoc().getAccessMode() == AccessMode.READ_WRITE)
-				.forEach(channel -> {
-					ChannelAddress address = channel.address();
-					Object value = channel.value().get();
-
-					// Get existing SlidingValue object or add new one
-					SlidingValue<?> slidingValue = this.data.get(address);
-
-					if (slidingValue == null) {
-						// Create new SlidingValue object
-						if (channel instanceof EnumReadChannel) {
-							slidingValue = new LatestSlidingValue(OpenemsType.INTEGER);
-						} else {
-							switch (channel.getType()) {
-							case INTEGER:
-								slidingValue = new IntegerSlidingValue();
-								break;
-							case DOUBLE:
-								slidingValue = new DoubleSlidingValue();
-								break;
-							case FLOAT:
-								slidingValue = new FloatSlidingValue();
-								break;
-							case LONG:
-								slidingValue = new LongSlidingValue();
-								break;
-							case SHORT:
-								slidingValue = new ShortSlidingValue();
-								break;
-							case BOOLEAN:
-							case STRING:
-								slidingValue = new LatestSlidingValue(channel.getType());
-								break;
-							}
-						}
-						this.data.put(address, slidingValue);
-					}
+	private void cache(long timestamp, Map<ChannelAddress, JsonElement> values, JsonrpcMessage message) {
+		DataSpool spool = this.parent.spool;
+		if (spool != null) {
+			try {
+				spool.append(timestamp, values);
+				this.parent._setSpoolFailed(false);
+				return;
+			} catch (IOException e) {
+				this.parent.logWarn(this.log, "Unable to spool data: " + e.getMessage());
+				this.parent._setSpoolFailed(true);
+			}
+		}
+		this.unsent.add(message);
+	}
 
-					// Add Value to SlidingValue object
-					if (slidingValue instanceof LatestSlidingValue) {
-						((LatestSlidingValue) slidingValue).addValue(value);
-					} else {
-						switch (channel.getType()) {
-						case INTEGER:
-							((IntegerSlidingValue) slidingValue).addValue((Integer) value);
-							break;
-						case DOUBLE:
-							((DoubleSlidingValue) slidingValue).addValue((Double) value);
-							break;
-						case FLOAT:
-							((FloatSlidingValue) slidingValue).addValue((Float) value);
-							break;
-						case LONG:
-							((LongSlidingValue) slidingValue).addValue((Long) value);
-							break;
-						case SHORT:
-							((ShortSlidingValue) slidingValue).addValue((Short) value);
-							break;
-						case BOOLEAN:
-						case STRING:
-							// already covered as they are of type LatestSlidingValue
-							break;
-						}
-					}
-				});
+	/**
+	 * Sends spooled data in batches. Sends at most
+	 * {@link BackendApiImpl#spoolReplayRate} messages per run to not overload the
+	 * connection after reconnect.
+	 */
+	private void replaySpool() {
+		DataSpool spool = this.parent.spool;
+		if (spool == null) {
+			return;
+		}
+		for (int i = 0; i < this.parent.spoolReplayRate; i++) {
+			DataSpool.Batch batch = spool.read(MAX_SPOOLED_RECORDS_PER_MESSAGE);
+			if (batch == null) {
+				// spool is empty
+				return;
+			}
+			boolean wasSent = this.parent.websocket.sendMessage(batch.getNotification());
+			if (!wasSent) {
+				return;
+			}
+			spool.commit(batch);
+		}
+	}
+
+	/**
+	 * Writes the records that were appended or sent in this run to disk.
+	 */
+	private void flushSpool() {
+		DataSpool spool = this.parent.spool;
+		if (spool == null) {
+			return;
+		}
+		try {
+			spool.flush();
+		} catch (UncheckedIOException e) {
+			this.parent.logWarn(this.log, "Unable to flush spool: " + e.getMessage());
+			this.parent._setSpoolFailed(true);
+		}
+	}
+
+	private void updateSpoolChannels() {
+		DataSpool spool = this.parent.spool;
+		if (spool == null) {
+			return;
+		}
+		this.parent._setSpoolFillLevel(spool.getFillLevel());
+		this.parent._setSpoolDroppedRecords(spool.getNoOfDroppedRecords());
+	}
+
+	/**
+	 * Is the Channel relevant for OpenEMS Backend?.
+	 * 
+	 * @param channel the {@link Channel}
+	 * @return true for readable Channels of enabled Components
+	 */
+	private static boolean isRelevant(Channel<?> channel) {
+		// Ignore WRITE_ONLY Channels
+		if (channel.channelDoc().getAccessMode() != AccessMode.READ_ONLY
+				&& channel.channelDoc().getAccessMode() != AccessMode.READ_WRITE) {
+			return false;
+		}
+		OpenemsComponent component = channel.getComponent();
+		return component != null && component.isEnabled();
 	}
 
 	/**
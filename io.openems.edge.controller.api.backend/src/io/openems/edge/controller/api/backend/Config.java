@@ -29,6 +29,18 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "No. of Cycles", description = "How many Cycles till data is sent to OpenEMS Backend.")
 	int noOfCycles() default BackendApiImpl.DEFAULT_NO_OF_CYCLES;
 
+	@AttributeDefinition(name = "Spool size [MB]", description = "Size of the file that holds data while the connection to OpenEMS Backend is lost. '0' keeps only the latest messages in memory.")
+	int spoolSize() default BackendApiImpl.DEFAULT_SPOOL_SIZE;
+
+	@AttributeDefinition(name = "Spool replay rate", description = "How many messages with spooled data are sent per send interval after reconnect.")
+	int spoolReplayRate() default BackendApiImpl.DEFAULT_SPOOL_REPLAY_RATE;
+
+	@AttributeDefinition(name = "Binary data", description = "Send data in a compact binary format if OpenEMS Backend supports it; JSON otherwise.")
+	boolean binaryData() default true;
+
+	@AttributeDefinition(name = "Compress data", description = "Compress binary data with deflate.")
+	boolean compressData() default true;
+
 	@AttributeDefinition(name = "Proxy Address", description = "The IP address or hostname of the proxy server.")
 	String proxyAddress() default "";
 
@@ -0,0 +1,611 @@
+package io.openems.edge.controller.api.backend;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * A persistent, size-limited spool for data that could not be sent to OpenEMS
+ * Backend.
+ *
+ * <p>
+ * Records are appended to a memory-mapped ring buffer file. Every record holds
+ * the changed values of one timestamp in a compact binary encoding; Channel
+ * addresses are replaced by an index into an append-only dictionary file.
+ *
+ * <p>
+ * The write- and read-offsets are stored alternately in two checksummed header
+ * slots, so that a torn header write falls back to the previous state. On
+ * opening, all records between read- and write-offset are validated by their
+ * checksum; the spool is truncated at the first invalid record. Records are
+ * only removed after they were sent successfully (see
+ * {@link #commit(Batch)}), i.e. delivery is 'at-least-once'.
+ *
+ * <p>
+ * New dictionary entries are synced to disk before a record references them;
+ * the dictionary is cleared whenever the spool is empty.
+ * Changes of the ring buffer are written to disk on {@link #flush()}, which is
+ * called after each batch; a crash loses at most the records since then.
+ *
+ * <p>
+ * If the spool is full, the oldest records are dropped.
+ */
+class DataSpool implements AutoCloseable {
+
+	/**
+	 * A batch of records read from the spool.
+	 */
+	public static class Batch {
+		private final TimestampedDataNotification notification;
+		private final long nextReadOffset;
+		private final int noOfRecords;
+
+		private Batch(TimestampedDataNotification notification, long nextReadOffset, int noOfRecords) {
+			this.notification = notification;
+			this.nextReadOffset = nextReadOffset;
+			this.noOfRecords = noOfRecords;
+		}
+
+		public TimestampedDataNotification getNotification() {
+			return this.notification;
+		}
+
+		public int getNoOfRecords() {
+			return this.noOfRecords;
+		}
+	}
+
+	private static final String DATA_FILE = "spool.dat";
+	private static final String DICTIONARY_FILE = "spool.addresses";
+
+	private static final int HEADER_SLOT_SIZE = 32; // sequence, write, read, capacity, crc
+	private static final int HEADER_SIZE = 2 * HEADER_SLOT_SIZE;
+	private static final int RECORD_HEADER_SIZE = 8; // length, crc
+
+	private static final byte TYPE_NULL = 0;
+	private static final byte TYPE_FALSE = 1;
+	private static final byte TYPE_TRUE = 2;
+	private static final byte TYPE_LONG = 3;
+	private static final byte TYPE_DOUBLE = 4;
+	private static final byte TYPE_FLOAT = 5;
+	private static final byte TYPE_STRING = 6;
+
+	private final RandomAccessFile file;
+	private final MappedByteBuffer buffer;
+	private final int capacity;
+
+	private final File dictionaryFile;
+	private final List<ChannelAddress> addresses = new ArrayList<>();
+	private final Map<ChannelAddress, Integer> addressIndexes = new HashMap<>();
+
+	// Offsets are logical and increase monotonically; the position in the file is
+	// 'offset % capacity'
+	private long sequence = 0;
+	private long writeOffset = 0;
+	private long readOffset = 0;
+
+	private long noOfDroppedRecords = 0;
+
+	// Is the ring buffer modified since the last flush?
+	private boolean isDirty = false;
+
+	/**
+	 * Opens or creates a {@link DataSpool}. If the capacity changed, existing data
+	 * is discarded.
+	 *
+	 * @param directory the directory for the spool files
+	 * @param capacity  the capacity of the ring buffer in [byte]
+	 * @return the {@link DataSpool}
+	 * @throws IOException on error
+	 */
+	public static DataSpool open(Path directory, int capacity) throws IOException {
+		Files.createDirectories(directory);
+		return new DataSpool(directory.resolve(DATA_FILE).toFile(), directory.resolve(DICTIONARY_FILE).toFile(),
+				capacity);
+	}
+
+	private DataSpool(File dataFile, File dictionaryFile, int capacity) throws IOException {
+		this.capacity = capacity;
+		this.dictionaryFile = dictionaryFile;
+		this.loadDictionary();
+
+		this.file = new RandomAccessFile(dataFile, "rw");
+		this.file.setLength(HEADER_SIZE + (long) capacity);
+		FileChannel channel = this.file.getChannel();
+		this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity);
+
+		this.readHeader();
+		this.recover();
+		if (this.isEmpty()) {
+			this.compactDictionary();
+		}
+	}
+
+	/**
+	 * Appends a record.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param values    the values
+	 * @throws IOException on error
+	 */
+	public synchronized void append(long timestamp, Map<ChannelAddress, JsonElement> values) throws IOException {
+		byte[] payload = this.encode(timestamp, values);
+		int recordSize = RECORD_HEADER_SIZE + payload.length;
+		if (recordSize > this.capacity) {
+			this.noOfDroppedRecords++;
+			return;
+		}
+
+		// Drop oldest records till there is enough space
+		while (this.writeOffset - this.readOffset + recordSize > this.capacity) {
+			this.readOffset += RECORD_HEADER_SIZE + this.getInt(this.readOffset);
+			this.noOfDroppedRecords++;
+		}
+
+		// Write record before the header is updated
+		this.putInt(this.writeOffset, payload.length);
+		this.putInt(this.writeOffset + 4, crc(payload));
+		this.put(this.writeOffset + RECORD_HEADER_SIZE, payload);
+		this.writeOffset += recordSize;
+		this.writeHeader();
+		this.isDirty = true;
+	}
+
+	/**
+	 * Reads the oldest records without removing them.
+	 *
+	 * @param maxRecords the maximum number of records
+	 * @return the {@link Batch}; null if the spool is empty
+	 */
+	public synchronized Batch read(int maxRecords) {
+		TimestampedDataNotification notification = new TimestampedDataNotification();
+		long offset = this.readOffset;
+		int noOfRecords = 0;
+		while (offset < this.writeOffset && noOfRecords < maxRecords) {
+			int length = this.getInt(offset);
+			byte[] payload = this.get(offset + RECORD_HEADER_SIZE, length);
+			offset += RECORD_HEADER_SIZE + length;
+			noOfRecords++;
+			Map<ChannelAddress, JsonElement> values = new HashMap<>();
+			try {
+				long timestamp = this.decode(payload, values);
+				notification.add(timestamp, values);
+			} catch (IOException e) {
+				// skip invalid record; do not send the values decoded so far
+			}
+		}
+		if (noOfRecords == 0) {
+			return null;
+		}
+		return new Batch(notification, offset, noOfRecords);
+	}
+
+	/**
+	 * Removes the records of a {@link Batch} after it was sent successfully.
+	 *
+	 * @param batch the {@link Batch}
+	 */
+	public synchronized void commit(Batch batch) {
+		if (batch.nextReadOffset <= this.readOffset) {
+			// records were already dropped in the meantime
+			return;
+		}
+		this.readOffset = batch.nextReadOffset;
+		this.writeHeader();
+		this.isDirty = true;
+		if (this.isEmpty()) {
+			this.compactDictionary();
+		}
+	}
+
+	/**
+	 * Writes all changes of the ring buffer to disk. Does nothing if there are no
+	 * changes since the last flush.
+	 */
+	public synchronized void flush() {
+		if (!this.isDirty) {
+			return;
+		}
+		this.buffer.force();
+		this.isDirty = false;
+	}
+
+	/**
+	 * Is the spool empty?.
+	 *
+	 * @return true if there are no records
+	 */
+	public synchronized boolean isEmpty() {
+		return this.readOffset == this.writeOffset;
+	}
+
+	/**
+	 * Gets the fill level.
+	 *
+	 * @return the fill level in [%]
+	 */
+	public synchronized int getFillLevel() {
+		return (int) ((this.writeOffset - this.readOffset) * 100 / this.capacity);
+	}
+
+	/**
+	 * Gets the number of records that were dropped because the spool was full.
+	 *
+	 * @return the number of dropped records
+	 */
+	public synchronized long getNoOfDroppedRecords() {
+		return this.noOfDroppedRecords;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		this.buffer.force();
+		this.file.close();
+	}
+
+	/*
+	 * Header
+	 */
+
+	private void readHeader() {
+		long bestSequence = -1;
+		for (int slot = 0; slot < 2; slot++) {
+			ByteBuffer b = this.slot(slot);
+			long sequence = b.getLong();
+			long writeOffset = b.getLong();
+			long readOffset = b.getLong();
+			int capacity = b.getInt();
+			int crc = b.getInt();
+			if (crc != this.headerCrc(slot) || capacity != this.capacity || readOffset > writeOffset
+					|| writeOffset - readOffset > this.capacity || sequence <= bestSequence) {
+				continue;
+			}
+			bestSequence = sequence;
+			this.sequence = sequence;
+			this.writeOffset = writeOffset;
+			this.readOffset = readOffset;
+		}
+	}
+
+	private void writeHeader() {
+		this.sequence++;
+		int slot = (int) (this.sequence % 2);
+		ByteBuffer b = this.slot(slot);
+		b.putLong(this.sequence);
+		b.putLong(this.writeOffset);
+		b.putLong(this.readOffset);
+		b.putInt(this.capacity);
+		b.putInt(this.headerCrc(slot));
+	}
+
+	private ByteBuffer slot(int slot) {
+		ByteBuffer b = this.buffer.duplicate();
+		b.position(slot * HEADER_SLOT_SIZE);
+		b.limit((slot + 1) * HEADER_SLOT_SIZE);
+		return b.slice();
+	}
+
+	private int headerCrc(int slot) {
+		byte[] bytes = new byte[HEADER_SLOT_SIZE - 4];
+		this.slot(slot).get(bytes);
+		return crc(bytes);
+	}
+
+	/**
+	 * Validates all records and truncates the spool at the first invalid record.
+	 */
+	private void recover() {
+		long offset = this.readOffset;
+		while (offset < this.writeOffset) {
+			int length = this.getInt(offset);
+			if (length < 0 || offset + RECORD_HEADER_SIZE + length > this.writeOffset) {
+				break;
+			}
+			if (this.getInt(offset + 4) != crc(this.get(offset + RECORD_HEADER_SIZE, length))) {
+				break;
+			}
+			offset += RECORD_HEADER_SIZE + length;
+		}
+		if (offset != this.writeOffset) {
+			this.writeOffset = offset;
+			this.writeHeader();
+		}
+	}
+
+	/*
+	 * Ring buffer access
+	 */
+
+	private void put(long offset, byte[] bytes) {
+		int position = (int) (offset % this.capacity);
+		int first = Math.min(bytes.length, this.capacity - position);
+		ByteBuffer b = this.buffer.duplicate();
+		b.position(HEADER_SIZE + position);
+		b.put(bytes, 0, first);
+		if (first < bytes.length) {
+			b.position(HEADER_SIZE);
+			b.put(bytes, first, bytes.length - first);
+		}
+	}
+
+	private byte[] get(long offset, int length) {
+		byte[] bytes = new byte[length];
+		int position = (int) (offset % this.capacity);
+		int first = Math.min(length, this.capacity - position);
+		ByteBuffer b = this.buffer.duplicate();
+		b.position(HEADER_SIZE + position);
+		b.get(bytes, 0, first);
+		if (first < length) {
+			b.position(HEADER_SIZE);
+			b.get(bytes, first, length - first);
+		}
+		return bytes;
+	}
+
+	private void putInt(long offset, int value) {
+		this.put(offset, ByteBuffer.allocate(4).putInt(value).array());
+	}
+
+	private int getInt(long offset) {
+		return ByteBuffer.wrap(this.get(offset, 4)).getInt();
+	}
+
+	private static int crc(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+		return (int) crc.getValue();
+	}
+
+	/*
+	 * Encoding
+	 */
+
+	private byte[] encode(long timestamp, Map<ChannelAddress, JsonElement> values) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		this.addAddresses(values.keySet());
+		writeVarLong(out, timestamp);
+		writeVarLong(out, values.size());
+		for (Entry<ChannelAddress, JsonElement> entry : values.entrySet()) {
+			writeVarLong(out, this.addressIndexes.get(entry.getKey()));
+			writeValue(out, entry.getValue());
+		}
+		return bytes.toByteArray();
+	}
+
+	private long decode(byte[] payload, Map<ChannelAddress, JsonElement> values) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+		long timestamp = readVarLong(in);
+		long size = readVarLong(in);
+		for (long i = 0; i < size; i++) {
+			long index = readVarLong(in);
+			JsonElement value = readValue(in);
+			if (index < 0 || index >= this.addresses.size()) {
+				throw new IOException("Unknown address index [" + index + "]");
+			}
+			values.put(this.addresses.get((int) index), value);
+		}
+		return timestamp;
+	}
+
+	private static void writeValue(DataOutputStream out, JsonElement value) throws IOException {
+		if (value == null || value.isJsonNull()) {
+			out.writeByte(TYPE_NULL);
+			return;
+		}
+		JsonPrimitive p = value.getAsJsonPrimitive();
+		if (p.isBoolean()) {
+			out.writeByte(p.getAsBoolean() ? TYPE_TRUE : TYPE_FALSE);
+
+		} else if (p.isNumber()) {
+			Number n = p.getAsNumber();
+			if (n instanceof Double) {
+				out.writeByte(TYPE_DOUBLE);
+				out.writeDouble(n.doubleValue());
+			} else if (n instanceof Float) {
+				out.writeByte(TYPE_FLOAT);
+				out.writeFloat(n.floatValue());
+			} else if (n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte) {
+				out.writeByte(TYPE_LONG);
+				writeVarLong(out, n.longValue());
+			} else {
+				// e.g. LazilyParsedNumber, BigDecimal or BigInteger
+				Long integral = toIntegralLong(n);
+				if (integral != null) {
+					out.writeByte(TYPE_LONG);
+					writeVarLong(out, integral);
+				} else {
+					out.writeByte(TYPE_DOUBLE);
+					out.writeDouble(n.doubleValue());
+				}
+			}
+
+		} else {
+			byte[] bytes = p.getAsString().getBytes(StandardCharsets.UTF_8);
+			out.writeByte(TYPE_STRING);
+			writeVarLong(out, bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * Gets the value of a Number of unknown type as long, if it is integral and
+	 * fits into a long.
+	 *
+	 * @param n the Number
+	 * @return the value as long; or null
+	 */
+	private static Long toIntegralLong(Number n) {
+		try {
+			return new BigDecimal(n.toString()).longValueExact();
+		} catch (ArithmeticException | NumberFormatException e) {
+			// has a fractional part, is too large or is not a decimal number, e.g. NaN
+			return null;
+		}
+	}
+
+	private static JsonElement readValue(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case TYPE_NULL:
+			return JsonNull.INSTANCE;
+		case TYPE_FALSE:
+			return new JsonPrimitive(false);
+		case TYPE_TRUE:
+			return new JsonPrimitive(true);
+		case TYPE_LONG:
+			return new JsonPrimitive(readVarLong(in));
+		case TYPE_DOUBLE:
+			return new JsonPrimitive(in.readDouble());
+		case TYPE_FLOAT:
+			return new JsonPrimitive(in.readFloat());
+		case TYPE_STRING:
+			long length = readVarLong(in);
+			if (length < 0 || length > in.available()) {
+				throw new IOException("Invalid string length [" + length + "]");
+			}
+			byte[] bytes = new byte[(int) length];
+			in.readFully(bytes);
+			return new JsonPrimitive(new String(bytes, StandardCharsets.UTF_8));
+		}
+		throw new IOException("Unknown value type [" + type + "]");
+	}
+
+	/**
+	 * Writes a signed long in ZigZag-VarInt encoding, i.e. small positive and
+	 * negative values take only one byte.
+	 *
+	 * @param out   the {@link DataOutputStream}
+	 * @param value the value
+	 * @throws IOException on error
+	 */
+	private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		long v = (value << 1) ^ (value >> 63);
+		while ((v & ~0x7FL) != 0) {
+			out.writeByte((int) ((v & 0x7F) | 0x80));
+			v >>>= 7;
+		}
+		out.writeByte((int) v);
+	}
+
+	private static long readVarLong(DataInputStream in) throws IOException {
+		long v = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = in.readByte();
+			v |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return (v >>> 1) ^ -(v & 1);
+			}
+		}
+		throw new IOException("Invalid VarLong");
+	}
+
+	/*
+	 * Address Dictionary
+	 */
+
+	private void loadDictionary() throws IOException {
+		if (!this.dictionaryFile.exists()) {
+			return;
+		}
+		byte[] bytes = Files.readAllBytes(this.dictionaryFile.toPath());
+		int lineStart = 0;
+		for (int i = 0; i < bytes.length; i++) {
+			if (bytes[i] != '\n') {
+				continue;
+			}
+			String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+			String[] parts = line.split("/", 2);
+			ChannelAddress address = new ChannelAddress(parts[0], parts.length > 1 ? parts[1] : "");
+			this.addressIndexes.put(address, this.addresses.size());
+			this.addresses.add(address);
+			lineStart = i + 1;
+		}
+		if (lineStart != bytes.length) {
+			// Remove incomplete last line after a crash
+			try (RandomAccessFile f = new RandomAccessFile(this.dictionaryFile, "rw")) {
+				f.setLength(lineStart);
+			}
+		}
+	}
+
+	/**
+	 * Removes all addresses from the dictionary. Only allowed if no record
+	 * references them, i.e. if the spool is empty; otherwise the dictionary would
+	 * grow with every Channel that was ever spooled.
+	 */
+	private void compactDictionary() {
+		if (this.addresses.isEmpty()) {
+			return;
+		}
+		// The empty spool must be on disk before the addresses are removed; otherwise
+		// records recovered after a crash could reference reused indexes
+		try (RandomAccessFile f = new RandomAccessFile(this.dictionaryFile, "rw")) {
+			this.flush();
+			f.setLength(0);
+			f.getFD().sync();
+		} catch (IOException | UncheckedIOException e) {
+			// keep the dictionary; it stays valid
+			return;
+		}
+		this.addresses.clear();
+		this.addressIndexes.clear();
+	}
+
+	/**
+	 * Adds the unknown addresses to the dictionary. They are persisted with a
+	 * single sync before they are referenced by a record.
+	 *
+	 * @param addresses the addresses
+	 * @throws IOException on error
+	 */
+	private void addAddresses(Collection<ChannelAddress> addresses) throws IOException {
+		List<ChannelAddress> newAddresses = new ArrayList<>();
+		StringBuilder lines = new StringBuilder();
+		for (ChannelAddress address : addresses) {
+			if (!this.addressIndexes.containsKey(address)) {
+				newAddresses.add(address);
+				lines.append(address.toString()).append("\n");
+			}
+		}
+		if (newAddresses.isEmpty()) {
+			return;
+		}
+		try (FileOutputStream out = new FileOutputStream(this.dictionaryFile, true)) {
+			out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+			out.getFD().sync();
+		}
+		for (ChannelAddress address : newAddresses) {
+			this.addressIndexes.put(address, this.addresses.size());
+			this.addresses.add(address);
+		}
+	}
+
+}
@@ -6,7 +6,6 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonObject;
 
-import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.types.EdgeConfig;
 
 public class OnOpen implements io.openems.common.websocket.OnOpen {
@@ -24,8 +23,7 @@ public class OnOpen implements io.openems.common.websocket.OnOpen {
 
 		// Immediately send Config
 		EdgeConfig config = this.parent.componentManager.getEdgeConfig();
-		EdgeConfigNotification message = new EdgeConfigNotification(config);
-		this.parent.websocket.sendMessage(message);
+		this.parent.sendInitialConfig(config);
 
 		// Send all Channel values
 		this.parent.worker.sendValuesOfAllChannelsOnce();
@@ -0,0 +1,332 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+
+import io.openems.common.types.ChannelAddress;
+
+public class DataSpoolTest {
+
+	private static final ChannelAddress SUM_SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress SUM_STATE = new ChannelAddress("_sum", "State");
+	private static final ChannelAddress METER_POWER = new ChannelAddress("meter0", "ActivePower");
+	private static final ChannelAddress METER_VOLTAGE = new ChannelAddress("meter0", "Voltage");
+
+	private static final int HEADER_SIZE = 64;
+	private static final int RECORD_HEADER_SIZE = 8;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path directory;
+
+	@Before
+	public void before() {
+		this.directory = this.folder.getRoot().toPath().resolve("spool");
+	}
+
+	private static Map<ChannelAddress, JsonElement> values(ChannelAddress address, JsonElement value) {
+		return ImmutableMap.of(address, value);
+	}
+
+	private static Map<ChannelAddress, JsonElement> values(ChannelAddress address, long value) {
+		return values(address, new JsonPrimitive(value));
+	}
+
+	private static TreeBasedTable<Long, ChannelAddress, JsonElement> readAll(DataSpool spool) {
+		DataSpool.Batch batch = spool.read(Integer.MAX_VALUE);
+		if (batch == null) {
+			return TreeBasedTable.create();
+		}
+		return batch.getNotification().getData();
+	}
+
+	private Path dataFile() {
+		return this.directory.resolve("spool.dat");
+	}
+
+	private Path dictionaryFile() {
+		return this.directory.resolve("spool.addresses");
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			assertTrue(spool.isEmpty());
+			assertNull(spool.read(10));
+
+			Map<ChannelAddress, JsonElement> first = new TreeMap<>();
+			first.put(SUM_SOC, new JsonPrimitive(50));
+			first.put(SUM_STATE, JsonNull.INSTANCE);
+			first.put(METER_POWER, new JsonPrimitive(-1234.5));
+			first.put(METER_VOLTAGE, new JsonPrimitive(230.1f));
+			spool.append(1000, first);
+			spool.append(2000, values(SUM_STATE, new JsonPrimitive(true)));
+			spool.append(3000, values(SUM_STATE, new JsonPrimitive("Ökostrom")));
+			assertFalse(spool.isEmpty());
+
+			// read does not remove records
+			DataSpool.Batch batch = spool.read(2);
+			assertEquals(2, batch.getNoOfRecords());
+			assertEquals(batch.getNotification().getData(), spool.read(2).getNotification().getData());
+
+			TreeBasedTable<Long, ChannelAddress, JsonElement> data = batch.getNotification().getData();
+			assertEquals(5, data.size());
+			assertEquals(new JsonPrimitive(50), data.get(1000L, SUM_SOC));
+			assertEquals(JsonNull.INSTANCE, data.get(1000L, SUM_STATE));
+			assertEquals(-1234.5, data.get(1000L, METER_POWER).getAsDouble(), 0);
+			assertEquals(230.1f, data.get(1000L, METER_VOLTAGE).getAsFloat(), 0);
+			assertEquals(new JsonPrimitive(true), data.get(2000L, SUM_STATE));
+
+			// commit removes the records of the batch
+			spool.commit(batch);
+			batch = spool.read(10);
+			assertEquals(1, batch.getNoOfRecords());
+			assertEquals(new JsonPrimitive("Ökostrom"), batch.getNotification().getData().get(3000L, SUM_STATE));
+
+			spool.commit(batch);
+			assertTrue(spool.isEmpty());
+			assertNull(spool.read(10));
+		}
+	}
+
+	@Test
+	public void testNumberTypes() throws IOException {
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			Map<ChannelAddress, JsonElement> values = new TreeMap<>();
+			// e.g. parsed from JSON
+			values.put(SUM_SOC, new JsonPrimitive(new LazilyParsedNumber("50")));
+			values.put(SUM_STATE, new JsonPrimitive(new LazilyParsedNumber("0.25")));
+			values.put(METER_POWER, new JsonPrimitive(new BigDecimal("-1234.5")));
+			values.put(METER_VOLTAGE, new JsonPrimitive(new BigInteger("123456789012345678901234567890")));
+			spool.append(1000, values);
+
+			TreeBasedTable<Long, ChannelAddress, JsonElement> data = readAll(spool);
+			assertEquals(50L, data.get(1000L, SUM_SOC).getAsNumber());
+			assertEquals(0.25, data.get(1000L, SUM_STATE).getAsNumber());
+			assertEquals(-1234.5, data.get(1000L, METER_POWER).getAsNumber());
+			assertEquals(1.2345678901234568E29, data.get(1000L, METER_VOLTAGE).getAsNumber());
+		}
+	}
+
+	@Test
+	public void testReopen() throws IOException {
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			spool.append(1000, values(SUM_SOC, 50));
+			spool.append(2000, values(METER_POWER, 3000));
+			spool.commit(spool.read(1));
+			spool.flush();
+		}
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			TreeBasedTable<Long, ChannelAddress, JsonElement> data = readAll(spool);
+			assertEquals(1, data.size());
+			assertEquals(new JsonPrimitive(3000), data.get(2000L, METER_POWER));
+		}
+	}
+
+	@Test
+	public void testWrapAround() throws IOException {
+		// records are split at the end of the ring buffer
+		try (DataSpool spool = DataSpool.open(this.directory, 100)) {
+			for (long i = 0; i < 200; i++) {
+				spool.append(i, values(METER_POWER, new JsonPrimitive("value" + i)));
+				spool.append(i, values(SUM_SOC, i * 1000));
+				DataSpool.Batch batch = spool.read(10);
+				assertEquals(2, batch.getNoOfRecords());
+				assertEquals(new JsonPrimitive("value" + i), batch.getNotification().getData().get(i, METER_POWER));
+				assertEquals(new JsonPrimitive(i * 1000), batch.getNotification().getData().get(i, SUM_SOC));
+				spool.commit(batch);
+				assertTrue(spool.isEmpty());
+			}
+			assertEquals(0, spool.getNoOfDroppedRecords());
+
+			// still valid after reopening with offsets beyond the capacity
+			spool.append(500, values(METER_POWER, new JsonPrimitive("value500")));
+			spool.append(501, values(METER_POWER, new JsonPrimitive("value501")));
+		}
+		try (DataSpool spool = DataSpool.open(this.directory, 100)) {
+			TreeBasedTable<Long, ChannelAddress, JsonElement> data = readAll(spool);
+			assertEquals(new JsonPrimitive("value500"), data.get(500L, METER_POWER));
+			assertEquals(new JsonPrimitive("value501"), data.get(501L, METER_POWER));
+		}
+	}
+
+	@Test
+	public void testDropOldestRecords() throws IOException {
+		try (DataSpool spool = DataSpool.open(this.directory, 100)) {
+			for (long i = 0; i < 20; i++) {
+				spool.append(i, values(SUM_SOC, i));
+			}
+			assertTrue(spool.getNoOfDroppedRecords() > 0);
+			assertTrue(spool.getFillLevel() <= 100);
+
+			// the newest records are kept without gaps
+			TreeBasedTable<Long, ChannelAddress, JsonElement> data = readAll(spool);
+			assertEquals(20, spool.getNoOfDroppedRecords() + data.size());
+			assertEquals(spool.getNoOfDroppedRecords(), (long) data.rowKeySet().iterator().next());
+			assertEquals(19L, (long) data.rowKeySet().last());
+
+			// a record that is bigger than the spool is dropped itself
+			StringBuilder b = new StringBuilder();
+			for (int i = 0; i < 100; i++) {
+				b.append("x");
+			}
+			long noOfDroppedRecords = spool.getNoOfDroppedRecords();
+			spool.append(20, values(SUM_STATE, new JsonPrimitive(b.toString())));
+			assertEquals(noOfDroppedRecords + 1, spool.getNoOfDroppedRecords());
+			assertEquals(19L, (long) readAll(spool).rowKeySet().last());
+		}
+	}
+
+	@Test
+	public void testCommitAfterDrop() throws IOException {
+		try (DataSpool spool = DataSpool.open(this.directory, 100)) {
+			spool.append(0, values(SUM_SOC, 0));
+			DataSpool.Batch batch = spool.read(10);
+
+			// records of the batch are dropped while it is sent
+			for (long i = 1; i < 20; i++) {
+				spool.append(i, values(SUM_SOC, i));
+			}
+			spool.commit(batch);
+			assertEquals(19L, (long) readAll(spool).rowKeySet().last());
+			assertFalse(spool.isEmpty());
+		}
+	}
+
+	@Test
+	public void testTornHeader() throws IOException {
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			// header sequence 1 -> slot 1
+			spool.append(1000, values(SUM_SOC, 50));
+			// header sequence 2 -> slot 0
+			spool.append(2000, values(SUM_SOC, 51));
+		}
+
+		// header slot 0 was not written completely
+		try (RandomAccessFile f = new RandomAccessFile(this.dataFile().toFile(), "rw")) {
+			f.seek(10);
+			f.write(0xFF);
+		}
+
+		// falls back to the previous header
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			TreeBasedTable<Long, ChannelAddress, JsonElement> data = readAll(spool);
+			assertEquals(1, data.size());
+			assertEquals(new JsonPrimitive(50), data.get(1000L, SUM_SOC));
+
+			// new records are appended after the recovered state
+			spool.append(3000, values(SUM_SOC, 52));
+		}
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			TreeBasedTable<Long, ChannelAddress, JsonElement> data = readAll(spool);
+			assertEquals(2, data.size());
+			assertEquals(new JsonPrimitive(52), data.get(3000L, SUM_SOC));
+		}
+	}
+
+	@Test
+	public void testCorruptRecord() throws IOException {
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			spool.append(1000, values(SUM_SOC, 50));
+			spool.append(2000, values(SUM_SOC, 51));
+			spool.append(3000, values(SUM_SOC, 52));
+		}
+
+		// flip a byte in the payload of the second record
+		try (RandomAccessFile f = new RandomAccessFile(this.dataFile().toFile(), "rw")) {
+			f.seek(HEADER_SIZE);
+			int lengthOfFirstRecord = f.readInt();
+			long position = HEADER_SIZE + RECORD_HEADER_SIZE + lengthOfFirstRecord + RECORD_HEADER_SIZE;
+			f.seek(position);
+			int b = f.read();
+			f.seek(position);
+			f.write(b ^ 0xFF);
+		}
+
+		// the spool is truncated at the first invalid record
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			TreeBasedTable<Long, ChannelAddress, JsonElement> data = readAll(spool);
+			assertEquals(1, data.size());
+			assertEquals(new JsonPrimitive(50), data.get(1000L, SUM_SOC));
+		}
+	}
+
+	@Test
+	public void testUndecodableRecord() throws IOException {
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			spool.append(1000, values(SUM_SOC, 50));
+			Map<ChannelAddress, JsonElement> values = new TreeMap<>();
+			values.put(SUM_SOC, new JsonPrimitive(51));
+			values.put(SUM_STATE, new JsonPrimitive(1));
+			spool.append(2000, values);
+			spool.append(3000, values(SUM_SOC, 52));
+		}
+
+		// the dictionary lost the address 'State'
+		byte[] dictionary = Files.readAllBytes(this.dictionaryFile());
+		String firstLine = SUM_SOC.toString() + "\n";
+		assertTrue(new String(dictionary).startsWith(firstLine));
+		Files.write(this.dictionaryFile(), firstLine.getBytes());
+
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			DataSpool.Batch batch = spool.read(10);
+			assertEquals(3, batch.getNoOfRecords());
+
+			// the second record is skipped completely
+			TreeBasedTable<Long, ChannelAddress, JsonElement> data = batch.getNotification().getData();
+			assertEquals(2, data.size());
+			assertFalse(data.containsRow(2000L));
+			assertEquals(new JsonPrimitive(52), data.get(3000L, SUM_SOC));
+
+			spool.commit(batch);
+			assertTrue(spool.isEmpty());
+		}
+	}
+
+	@Test
+	public void testCompactDictionary() throws IOException {
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			spool.append(1000, values(SUM_SOC, 50));
+			spool.append(2000, values(METER_POWER, 3000));
+			assertTrue(Files.size(this.dictionaryFile()) > 0);
+
+			spool.commit(spool.read(1));
+			assertTrue(Files.size(this.dictionaryFile()) > 0);
+
+			// spool is empty -> dictionary is cleared
+			spool.commit(spool.read(1));
+			assertEquals(0, Files.size(this.dictionaryFile()));
+
+			spool.append(3000, values(METER_VOLTAGE, 230));
+			assertEquals(METER_VOLTAGE.toString() + "\n", new String(Files.readAllBytes(this.dictionaryFile())));
+		}
+		try (DataSpool spool = DataSpool.open(this.directory, 1024)) {
+			assertEquals(new JsonPrimitive(230), readAll(spool).get(3000L, METER_VOLTAGE));
+		}
+	}
+
+}
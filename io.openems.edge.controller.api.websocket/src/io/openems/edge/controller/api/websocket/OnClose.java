@@ -22,6 +22,7 @@ public class OnClose implements io.openems.common.websocket.OnClose {
 	public void run(WebSocket ws, int code, String reason, boolean remote) throws OpenemsException {
 		// get websocket attachment
 		WsData wsData = ws.getAttachment();
+		wsData.dispose();
 		Optional<EdgeUser> user = wsData.getUser();
 
 		// print log message
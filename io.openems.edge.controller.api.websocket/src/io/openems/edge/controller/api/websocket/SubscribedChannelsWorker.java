@@ -8,6 +8,7 @@ import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.notification.CurrentDataNotification;
 import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.websocket.SubscriptionScheduler;
 import io.openems.edge.common.channel.Channel;
 
 public class SubscribedChannelsWorker extends io.openems.common.websocket.SubscribedChannelsWorker {
@@ -19,6 +20,11 @@ public class SubscribedChannelsWorker extends io.openems.common.websocket.Subscr
 		this.parent = parent;
 	}
 
+	@Override
+	protected SubscriptionScheduler getScheduler() {
+		return this.parent.getSubscriptionScheduler();
+	}
+
 	@Override
 	protected JsonElement getChannelValue(ChannelAddress channelAddress) {
 		try {
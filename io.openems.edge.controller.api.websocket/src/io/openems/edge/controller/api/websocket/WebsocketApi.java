@@ -31,6 +31,7 @@ import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.jsonrpc.request.SubscribeSystemLogRequest;
 import io.openems.common.types.EdgeConfig;
+import io.openems.common.websocket.SubscriptionScheduler;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
@@ -66,6 +67,8 @@ public class WebsocketApi extends AbstractOpenemsComponent
 
 	protected WebsocketServer server = null;
 
+	private SubscriptionScheduler subscriptionScheduler = null;
+
 	/**
 	 * Stores valid session tokens for authentication via Cookie.
 	 */
@@ -111,6 +114,7 @@ public class WebsocketApi extends AbstractOpenemsComponent
 			return;
 		}
 		this.apiWorker.setTimeoutSeconds(config.apiTimeout());
+		this.subscriptionScheduler = new SubscriptionScheduler();
 		this.startServer(config.port());
 	}
 
@@ -118,6 +122,9 @@ public class WebsocketApi extends AbstractOpenemsComponent
 	protected void deactivate() {
 		super.deactivate();
 		this.stopServer();
+		if (this.subscriptionScheduler != null) {
+			this.subscriptionScheduler.shutdown();
+		}
 	}
 
 	/**
@@ -139,6 +146,15 @@ public class WebsocketApi extends AbstractOpenemsComponent
 		}
 	}
 
+	/**
+	 * Gets the {@link SubscriptionScheduler} for the SubscribedChannelsWorkers.
+	 * 
+	 * @return the {@link SubscriptionScheduler}
+	 */
+	protected SubscriptionScheduler getSubscriptionScheduler() {
+		return this.subscriptionScheduler;
+	}
+
 	@Override
 	public void run() throws OpenemsNamedException {
 		this.apiWorker.run();
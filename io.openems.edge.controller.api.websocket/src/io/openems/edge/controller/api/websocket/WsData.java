@@ -23,6 +23,12 @@ public class WsData extends io.openems.common.websocket.WsData {
 		this.subscribedChannelsWorker = new SubscribedChannelsWorker(parent, this);
 	}
 
+	@Override
+	public void dispose() {
+		super.dispose();
+		this.subscribedChannelsWorker.dispose();
+	}
+
 	public void setSessionToken(UUID sessionToken) {
 		this.sessionToken = sessionToken;
 	}
@@ -0,0 +1,373 @@
+package io.openems.edge.controller.generic.jsonlogic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.meiskalt7.jsonlogic.JsonLogic;
+import io.github.meiskalt7.jsonlogic.evaluator.JsonLogicEvaluationException;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.PreEvaluatedArgumentsExpression;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.WriteChannel;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * A JsonLogic rule that was compiled by the {@link JsonLogicCompiler}.
+ *
+ * <p>
+ * The rule is a tree of {@link Node}s; every 'var' is bound to its
+ * {@link Channel} and every Set-Channel request to its {@link WriteChannel}.
+ * Bindings are renewed whenever a referenced Component was replaced, e.g.
+ * after a configuration update.
+ */
+public class CompiledRule {
+
+	/**
+	 * A compiled JsonLogic expression.
+	 */
+	protected interface Node {
+
+		/**
+		 * Evaluates the expression.
+		 *
+		 * @return the result
+		 * @throws JsonLogicEvaluationException on error
+		 */
+		public Object evaluate() throws JsonLogicEvaluationException;
+
+	}
+
+	/**
+	 * A compiled part of the rule that evaluates to Set-Channel requests.
+	 */
+	protected interface Action {
+
+		/**
+		 * Evaluates the Set-Channel requests and applies them.
+		 *
+		 * @param componentManager the {@link ComponentManager}
+		 * @throws OpenemsNamedException        on error
+		 * @throws JsonLogicEvaluationException on error
+		 */
+		public void execute(ComponentManager componentManager)
+				throws OpenemsNamedException, JsonLogicEvaluationException;
+
+	}
+
+	/**
+	 * Binding of a Channel that is referenced by the rule.
+	 */
+	protected static class ChannelHandle {
+		protected final ChannelAddress address;
+		protected boolean isWritten = false;
+		protected Channel<?> channel = null;
+
+		protected ChannelHandle(ChannelAddress address) {
+			this.address = address;
+		}
+	}
+
+	/**
+	 * The Channels of one Component that are referenced by the rule.
+	 */
+	protected static class ComponentHandle {
+		protected final String componentId;
+		protected final List<ChannelHandle> channels = new ArrayList<>();
+		protected OpenemsComponent component = null;
+
+		protected ComponentHandle(String componentId) {
+			this.componentId = componentId;
+		}
+
+		private void bind(ComponentManager componentManager) throws OpenemsNamedException {
+			OpenemsComponent component = componentManager.getComponent(this.componentId);
+			if (component == this.component) {
+				return;
+			}
+			for (ChannelHandle handle : this.channels) {
+				Channel<?> channel = component.channel(handle.address.getChannelId());
+				if (handle.isWritten && !(channel instanceof WriteChannel<?>)) {
+					throw new OpenemsException("Channel [" + handle.address + "] is not writable");
+				}
+				handle.channel = channel;
+			}
+			this.component = component;
+		}
+	}
+
+	private final Action action;
+	private final ComponentHandle[] components;
+
+	protected CompiledRule(Action action, ComponentHandle[] components) {
+		this.action = action;
+		this.components = components;
+	}
+
+	/**
+	 * Executes the rule and applies the resulting Set-Channel requests.
+	 *
+	 * @param componentManager the {@link ComponentManager}
+	 * @throws OpenemsNamedException        on error
+	 * @throws JsonLogicEvaluationException on error
+	 */
+	public void execute(ComponentManager componentManager) throws OpenemsNamedException, JsonLogicEvaluationException {
+		for (ComponentHandle component : this.components) {
+			component.bind(componentManager);
+		}
+		this.action.execute(componentManager);
+	}
+
+	/*
+	 * Nodes
+	 */
+
+	protected static class ConstantNode implements Node {
+		private final Object value;
+
+		protected ConstantNode(Object value) {
+			this.value = value;
+		}
+
+		@Override
+		public Object evaluate() {
+			return this.value;
+		}
+	}
+
+	protected static class VariableNode implements Node {
+		private final ChannelHandle handle;
+		private final Node defaultValue;
+		private final boolean isNumeric;
+
+		/**
+		 * Creates a {@link VariableNode}.
+		 *
+		 * @param handle       the {@link ChannelHandle}
+		 * @param defaultValue the default value if the Channel value is null; or
+		 *                     null
+		 * @param isNumeric    true if the value is only used as a number; otherwise
+		 *                     an Integer value is converted to Double like the
+		 *                     JsonLogic interpreter does it
+		 */
+		protected VariableNode(ChannelHandle handle, Node defaultValue, boolean isNumeric) {
+			this.handle = handle;
+			this.defaultValue = defaultValue;
+			this.isNumeric = isNumeric;
+		}
+
+		@Override
+		public Object evaluate() throws JsonLogicEvaluationException {
+			Object value = this.handle.channel.value().get();
+			if (value == null) {
+				return this.defaultValue == null ? null : this.defaultValue.evaluate();
+			}
+			if (!this.isNumeric && value instanceof Integer) {
+				return ((Integer) value).doubleValue();
+			}
+			return value;
+		}
+	}
+
+	protected static class IfNode implements Node {
+		private final Node[] args;
+
+		protected IfNode(Node[] args) {
+			this.args = args;
+		}
+
+		@Override
+		public Object evaluate() throws JsonLogicEvaluationException {
+			int i = 0;
+			for (; i < this.args.length - 1; i += 2) {
+				if (JsonLogic.truthy(this.args[i].evaluate())) {
+					return this.args[i + 1].evaluate();
+				}
+			}
+			if (i == this.args.length - 1) {
+				return this.args[i].evaluate();
+			}
+			return null;
+		}
+	}
+
+	protected static class LogicNode implements Node {
+		private final boolean isAnd;
+		private final Node[] args;
+
+		protected LogicNode(boolean isAnd, Node[] args) {
+			this.isAnd = isAnd;
+			this.args = args;
+		}
+
+		@Override
+		public Object evaluate() throws JsonLogicEvaluationException {
+			Object result = null;
+			for (Node arg : this.args) {
+				result = arg.evaluate();
+				if (JsonLogic.truthy(result) != this.isAnd) {
+					return result;
+				}
+			}
+			return result;
+		}
+	}
+
+	protected static class NegationNode implements Node {
+		private final Node node;
+
+		protected NegationNode(Node node) {
+			this.node = node;
+		}
+
+		@Override
+		public Object evaluate() throws JsonLogicEvaluationException {
+			return !((Boolean) this.node.evaluate());
+		}
+	}
+
+	/**
+	 * Applies an operation of the JsonLogic library to evaluated arguments.
+	 */
+	protected static class OperationNode implements Node {
+		private final PreEvaluatedArgumentsExpression expression;
+		private final Node[] args;
+		private final ArrayList<Object> values;
+
+		/**
+		 * Creates an {@link OperationNode}.
+		 *
+		 * @param expression     the expression of the JsonLogic library
+		 * @param args           the arguments
+		 * @param reuseArguments true if the expression does not keep a reference to
+		 *                       its arguments, so the list can be reused
+		 */
+		protected OperationNode(PreEvaluatedArgumentsExpression expression, Node[] args, boolean reuseArguments) {
+			this.expression = expression;
+			this.args = args;
+			this.values = reuseArguments ? new ArrayList<>(args.length) : null;
+		}
+
+		@Override
+		public Object evaluate() throws JsonLogicEvaluationException {
+			List<Object> values;
+			if (this.values != null) {
+				values = this.values;
+				values.clear();
+			} else {
+				values = new ArrayList<>(this.args.length);
+			}
+			for (Node arg : this.args) {
+				values.add(arg.evaluate());
+			}
+			return this.expression.evaluate(values, null);
+		}
+	}
+
+	protected static class ArrayNode implements Node {
+		private final Node[] elements;
+
+		protected ArrayNode(Node[] elements) {
+			this.elements = elements;
+		}
+
+		@Override
+		public Object evaluate() throws JsonLogicEvaluationException {
+			List<Object> result = new ArrayList<>(this.elements.length);
+			for (Node element : this.elements) {
+				result.add(element.evaluate());
+			}
+			return result;
+		}
+	}
+
+	/*
+	 * Actions
+	 */
+
+	protected static class IfAction implements Action {
+		private final Node[] conditions;
+		private final Action[] branches;
+		private final Action otherwise;
+
+		/**
+		 * Creates an {@link IfAction}.
+		 *
+		 * @param conditions the conditions
+		 * @param branches   the Actions for the conditions
+		 * @param otherwise  the Action if no condition is truthy; or null
+		 */
+		protected IfAction(Node[] conditions, Action[] branches, Action otherwise) {
+			this.conditions = conditions;
+			this.branches = branches;
+			this.otherwise = otherwise;
+		}
+
+		@Override
+		public void execute(ComponentManager componentManager)
+				throws OpenemsNamedException, JsonLogicEvaluationException {
+			for (int i = 0; i < this.conditions.length; i++) {
+				if (JsonLogic.truthy(this.conditions[i].evaluate())) {
+					this.branches[i].execute(componentManager);
+					return;
+				}
+			}
+			if (this.otherwise != null) {
+				this.otherwise.execute(componentManager);
+			}
+		}
+	}
+
+	protected static class WriteAction implements Action {
+		private final ChannelHandle[] channels;
+		private final Node[] values;
+
+		protected WriteAction(ChannelHandle[] channels, Node[] values) {
+			this.channels = channels;
+			this.values = values;
+		}
+
+		@Override
+		public void execute(ComponentManager componentManager)
+				throws OpenemsNamedException, JsonLogicEvaluationException {
+			for (int i = 0; i < this.channels.length; i++) {
+				((WriteChannel<?>) this.channels[i].channel).setNextWriteValueFromObject(this.values[i].evaluate());
+			}
+		}
+	}
+
+	/**
+	 * Handles a result that is only known at runtime, i.e. a list of
+	 * [ChannelAddress, value] lists.
+	 */
+	protected static class ResultAction implements Action {
+		private final Node node;
+
+		protected ResultAction(Node node) {
+			this.node = node;
+		}
+
+		@Override
+		public void execute(ComponentManager componentManager)
+				throws OpenemsNamedException, JsonLogicEvaluationException {
+			List<?> result;
+			try {
+				result = (List<?>) this.node.evaluate();
+			} catch (ClassCastException e) {
+				throw new OpenemsException("Result is not a JsonArray: " + e.getMessage());
+			}
+			if (result == null) {
+				return;
+			}
+			for (Object entry : result) {
+				List<?> request = (List<?>) entry;
+				ChannelAddress channelAddress = ChannelAddress.fromString((String) request.get(0));
+				WriteChannel<?> channel = componentManager.getChannel(channelAddress);
+				channel.setNextWriteValueFromObject(request.get(1));
+			}
+		}
+	}
+
+}
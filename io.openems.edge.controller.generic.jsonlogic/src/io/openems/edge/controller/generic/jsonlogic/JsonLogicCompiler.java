@@ -0,0 +1,323 @@
+package io.openems.edge.controller.generic.jsonlogic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.ConcatenateExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.EqualityExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.InExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.MathExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.MergeExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.NotExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.NumericComparisonExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.StrictEqualityExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.SubstringExpression;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.Action;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.ArrayNode;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.ChannelHandle;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.ComponentHandle;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.ConstantNode;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.IfAction;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.IfNode;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.LogicNode;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.NegationNode;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.Node;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.OperationNode;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.ResultAction;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.VariableNode;
+import io.openems.edge.controller.generic.jsonlogic.CompiledRule.WriteAction;
+
+/**
+ * Compiles a JsonLogic rule once to a {@link CompiledRule}.
+ *
+ * <p>
+ * Operations are evaluated with the same semantics as the JsonLogic
+ * interpreter - most of them by directly calling the operations of the
+ * library. Operations that work on the 'data' object ('missing', 'map',
+ * 'filter', 'reduce', 'all', 'some', 'none',...) are not supported; rules
+ * using them are executed by the interpreter.
+ */
+public class JsonLogicCompiler {
+
+	private static class UnsupportedException extends Exception {
+		private static final long serialVersionUID = 1L;
+	}
+
+	/**
+	 * Compiles a JsonLogic rule.
+	 *
+	 * @param rule the JsonLogic rule
+	 * @return the {@link CompiledRule}; empty if the rule uses operations that
+	 *         are not supported by the compiler
+	 * @throws OpenemsNamedException on invalid rule
+	 */
+	public static Optional<CompiledRule> compile(JsonElement rule) throws OpenemsNamedException {
+		JsonLogicCompiler compiler = new JsonLogicCompiler();
+		Action action;
+		try {
+			action = compiler.compileAction(rule);
+		} catch (UnsupportedException e) {
+			return Optional.empty();
+		}
+		return Optional.of(new CompiledRule(action,
+				compiler.components.values().toArray(new ComponentHandle[compiler.components.size()])));
+	}
+
+	private final Map<String, ComponentHandle> components = new LinkedHashMap<>();
+	private final Map<ChannelAddress, ChannelHandle> channels = new HashMap<>();
+
+	private JsonLogicCompiler() {
+	}
+
+	private ChannelHandle getChannelHandle(String channelAddress) throws OpenemsNamedException {
+		ChannelAddress address = ChannelAddress.fromString(channelAddress);
+		ChannelHandle handle = this.channels.get(address);
+		if (handle == null) {
+			handle = new ChannelHandle(address);
+			this.channels.put(address, handle);
+			this.components.computeIfAbsent(address.getComponentId(), ComponentHandle::new).channels.add(handle);
+		}
+		return handle;
+	}
+
+	/**
+	 * Compiles a part of the rule that evaluates to Set-Channel requests.
+	 *
+	 * @param json the rule
+	 * @return the {@link Action}
+	 * @throws OpenemsNamedException on error
+	 * @throws UnsupportedException  if the rule is not supported
+	 */
+	private Action compileAction(JsonElement json) throws OpenemsNamedException, UnsupportedException {
+		if (json.isJsonArray() && isSetChannelRequests(json.getAsJsonArray())) {
+			// List of [ChannelAddress, value] with constant ChannelAddresses
+			JsonArray requests = json.getAsJsonArray();
+			ChannelHandle[] channels = new ChannelHandle[requests.size()];
+			Node[] values = new Node[requests.size()];
+			for (int i = 0; i < requests.size(); i++) {
+				JsonArray request = requests.get(i).getAsJsonArray();
+				channels[i] = this.getChannelHandle(request.get(0).getAsString());
+				channels[i].isWritten = true;
+				values[i] = this.compileNode(request.get(1), false);
+			}
+			return new WriteAction(channels, values);
+		}
+
+		Entry<String, JsonElement> operation = getOperation(json);
+		if (operation != null && (operation.getKey().equals("if") || operation.getKey().equals("?:"))) {
+			JsonArray args = getArgs(operation.getValue());
+			int noOfConditions = args.size() / 2;
+			Node[] conditions = new Node[noOfConditions];
+			Action[] branches = new Action[noOfConditions];
+			for (int i = 0; i < noOfConditions; i++) {
+				conditions[i] = this.compileNode(args.get(i * 2), true);
+				branches[i] = this.compileAction(args.get(i * 2 + 1));
+			}
+			Action otherwise = null;
+			if (args.size() % 2 == 1) {
+				otherwise = this.compileAction(args.get(args.size() - 1));
+			}
+			return new IfAction(conditions, branches, otherwise);
+		}
+
+		// Result is only known at runtime
+		return new ResultAction(this.compileNode(json, false));
+	}
+
+	/**
+	 * Compiles a JsonLogic expression.
+	 *
+	 * @param json      the expression
+	 * @param isNumeric true if the result is only used as a number or as a
+	 *                  condition
+	 * @return the {@link Node}
+	 * @throws OpenemsNamedException on error
+	 * @throws UnsupportedException  if the expression is not supported
+	 */
+	private Node compileNode(JsonElement json, boolean isNumeric) throws OpenemsNamedException, UnsupportedException {
+		if (json.isJsonNull()) {
+			return new ConstantNode(null);
+		}
+		if (json.isJsonPrimitive()) {
+			return new ConstantNode(toConstant(json.getAsJsonPrimitive()));
+		}
+		if (json.isJsonArray()) {
+			Node[] elements = this.compileNodes(json.getAsJsonArray(), false);
+			if (isConstant(elements)) {
+				List<Object> values = new ArrayList<>(elements.length);
+				for (Node element : elements) {
+					values.add(((ConstantNode) element).evaluate());
+				}
+				return new ConstantNode(Collections.unmodifiableList(values));
+			}
+			return new ArrayNode(elements);
+		}
+
+		Entry<String, JsonElement> operation = getOperation(json);
+		JsonArray args = getArgs(operation.getValue());
+		switch (operation.getKey()) {
+		case "var":
+			return this.compileVariable(args, isNumeric);
+		case "if":
+		case "?:":
+			Node[] ifArgs = new Node[args.size()];
+			for (int i = 0; i < args.size(); i++) {
+				// every other argument is a condition; the last argument might be 'else'
+				boolean isCondition = i % 2 == 0 && i < args.size() - 1;
+				ifArgs[i] = this.compileNode(args.get(i), isCondition || isNumeric);
+			}
+			return new IfNode(ifArgs);
+		case "and":
+		case "or":
+			if (args.size() < 1) {
+				throw new OpenemsException(operation.getKey() + " operator expects at least 1 argument");
+			}
+			return new LogicNode(operation.getKey().equals("and"), this.compileNodes(args, isNumeric));
+		case "!":
+			return new OperationNode(NotExpression.SINGLE, this.compileNodes(args, true), true);
+		case "!!":
+			return new OperationNode(NotExpression.DOUBLE, this.compileNodes(args, true), true);
+		case "==":
+			return new OperationNode(EqualityExpression.INSTANCE, this.compileNodes(args, true), true);
+		case "!=":
+			return new NegationNode(
+					new OperationNode(EqualityExpression.INSTANCE, this.compileNodes(args, true), true));
+		case "===":
+			return new OperationNode(StrictEqualityExpression.INSTANCE, this.compileNodes(args, true), true);
+		case "!==":
+			return new NegationNode(
+					new OperationNode(StrictEqualityExpression.INSTANCE, this.compileNodes(args, true), true));
+		case ">":
+			return new OperationNode(NumericComparisonExpression.GT, this.compileNodes(args, true), true);
+		case ">=":
+			return new OperationNode(NumericComparisonExpression.GTE, this.compileNodes(args, true), true);
+		case "<":
+			return new OperationNode(NumericComparisonExpression.LT, this.compileNodes(args, true), true);
+		case "<=":
+			return new OperationNode(NumericComparisonExpression.LTE, this.compileNodes(args, true), true);
+		case "+":
+			return new OperationNode(MathExpression.ADD, this.compileNodes(args, true), true);
+		case "-":
+			return new OperationNode(MathExpression.SUBTRACT, this.compileNodes(args, true), true);
+		case "*":
+			return new OperationNode(MathExpression.MULTIPLY, this.compileNodes(args, true), true);
+		case "/":
+			return new OperationNode(MathExpression.DIVIDE, this.compileNodes(args, true), true);
+		case "%":
+			return new OperationNode(MathExpression.MODULO, this.compileNodes(args, true), true);
+		case "min":
+			return new OperationNode(MathExpression.MIN, this.compileNodes(args, true), true);
+		case "max":
+			return new OperationNode(MathExpression.MAX, this.compileNodes(args, true), true);
+		case "cat":
+			return new OperationNode(ConcatenateExpression.INSTANCE, this.compileNodes(args, false), true);
+		case "substr":
+			return new OperationNode(SubstringExpression.INSTANCE, this.compileNodes(args, false), true);
+		case "in":
+			return new OperationNode(InExpression.INSTANCE, this.compileNodes(args, false), true);
+		case "merge":
+			return new OperationNode(MergeExpression.INSTANCE, this.compileNodes(args, false), false);
+		default:
+			throw new UnsupportedException();
+		}
+	}
+
+	private Node[] compileNodes(JsonArray json, boolean isNumeric) throws OpenemsNamedException, UnsupportedException {
+		Node[] result = new Node[json.size()];
+		for (int i = 0; i < json.size(); i++) {
+			result[i] = this.compileNode(json.get(i), isNumeric);
+		}
+		return result;
+	}
+
+	private Node compileVariable(JsonArray args, boolean isNumeric) throws OpenemsNamedException, UnsupportedException {
+		if (args.size() < 1 || !args.get(0).isJsonPrimitive() || !args.get(0).getAsJsonPrimitive().isString()
+				|| args.get(0).getAsString().isEmpty()) {
+			// Only ChannelAddresses are supported
+			throw new UnsupportedException();
+		}
+		ChannelHandle handle = this.getChannelHandle(args.get(0).getAsString());
+		Node defaultValue = null;
+		if (args.size() > 1) {
+			defaultValue = this.compileNode(args.get(1), isNumeric);
+		}
+		return new VariableNode(handle, defaultValue, isNumeric);
+	}
+
+	/**
+	 * Gets the operation of a JsonLogic expression.
+	 *
+	 * @param json the expression
+	 * @return the operator and its arguments; null if the expression is not an
+	 *         operation
+	 * @throws OpenemsNamedException if the JsonObject does not have exactly one
+	 *                               key
+	 */
+	private static Entry<String, JsonElement> getOperation(JsonElement json) throws OpenemsNamedException {
+		if (!json.isJsonObject()) {
+			return null;
+		}
+		JsonObject object = json.getAsJsonObject();
+		if (object.size() != 1) {
+			throw new OpenemsException("JsonLogic objects must have exactly 1 key defined, found " + object.size());
+		}
+		return object.entrySet().iterator().next();
+	}
+
+	private static JsonArray getArgs(JsonElement json) {
+		if (json.isJsonArray()) {
+			return json.getAsJsonArray();
+		}
+		JsonArray result = new JsonArray();
+		result.add(json);
+		return result;
+	}
+
+	private static boolean isSetChannelRequests(JsonArray json) {
+		for (JsonElement request : json) {
+			if (!request.isJsonArray() || request.getAsJsonArray().size() != 2) {
+				return false;
+			}
+			JsonElement channelAddress = request.getAsJsonArray().get(0);
+			if (!channelAddress.isJsonPrimitive() || !channelAddress.getAsJsonPrimitive().isString()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isConstant(Node[] nodes) {
+		for (Node node : nodes) {
+			if (!(node instanceof ConstantNode)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Object toConstant(JsonPrimitive json) {
+		if (json.isBoolean()) {
+			return json.getAsBoolean();
+		} else if (json.isNumber()) {
+			// the interpreter handles all numbers as Double
+			return json.getAsDouble();
+		} else {
+			return json.getAsString();
+		}
+	}
+
+}
@@ -13,12 +13,15 @@ import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.metatype.annotations.Designate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
 
 import io.github.meiskalt7.jsonlogic.JsonLogic;
 import io.github.meiskalt7.jsonlogic.JsonLogicException;
+import io.github.meiskalt7.jsonlogic.evaluator.JsonLogicEvaluationException;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.ChannelAddress;
@@ -38,10 +41,12 @@ import io.openems.edge.controller.api.Controller;
 )
 public class JsonLogicController extends AbstractOpenemsComponent implements Controller, OpenemsComponent {
 
+	private final Logger log = LoggerFactory.getLogger(JsonLogicController.class);
 	private final JsonLogic jsonLogic = new JsonLogic();
 	private final List<ChannelAddress> channelAddresses = new ArrayList<>();
 
 	private Config config = null;
+	private CompiledRule compiledRule = null;
 
 	@Reference
 	private ComponentManager componentManager;
@@ -74,7 +79,12 @@ public class JsonLogicController extends AbstractOpenemsComponent implements Con
 		super.activate(context, config.id(), config.alias(), config.enabled());
 		this.config = config;
 
-		this.recursivelyParseVars(JsonUtils.parse(config.rule()));
+		JsonElement rule = JsonUtils.parse(config.rule());
+		this.compiledRule = JsonLogicCompiler.compile(rule).orElse(null);
+		if (this.compiledRule == null) {
+			this.logInfo(this.log, "Rule uses operations that cannot be compiled. Falling back to interpreter.");
+			this.recursivelyParseVars(rule);
+		}
 	}
 
 	@Deactivate
@@ -116,6 +126,23 @@ public class JsonLogicController extends AbstractOpenemsComponent implements Con
 
 	@Override
 	public void run() throws OpenemsNamedException {
+		if (this.compiledRule != null) {
+			try {
+				this.compiledRule.execute(this.componentManager);
+			} catch (JsonLogicEvaluationException e) {
+				throw new OpenemsException("JsonLogicException: " + e.getMessage());
+			}
+		} else {
+			this.interpret();
+		}
+	}
+
+	/**
+	 * Interprets the JsonLogic rule using the JsonLogic library.
+	 *
+	 * @throws OpenemsNamedException on error
+	 */
+	private void interpret() throws OpenemsNamedException {
 		// Read JsonLogic data from Channels
 		Map<String, Object> data = new HashMap<>();
 		for (ChannelAddress channelAddress : this.channelAddresses) {
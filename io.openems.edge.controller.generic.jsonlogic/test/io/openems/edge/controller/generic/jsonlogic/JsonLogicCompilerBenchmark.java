@@ -0,0 +1,66 @@
+package io.openems.edge.controller.generic.jsonlogic;
+
+import java.util.Random;
+
+import io.github.meiskalt7.jsonlogic.JsonLogic;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Benchmark for {@link JsonLogicCompiler}; not part of the unit tests.
+ *
+ * <p>
+ * Executes the 50-node rule of {@link JsonLogicCompilerTest} with the JsonLogic
+ * interpreter - like the Controller did before rules were compiled - and as
+ * {@link CompiledRule}. Inputs change every 100 runs. Prints the average time
+ * per run after warm-up.
+ *
+ * <p>
+ * Run as Java application; optional argument: number of runs.
+ */
+public class JsonLogicCompilerBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		final int noOfRuns = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+		JsonLogicCompilerTest test = new JsonLogicCompilerTest();
+		test.before();
+		JsonLogic jsonLogic = new JsonLogic();
+		CompiledRule compiledRule = JsonLogicCompiler.compile(JsonUtils.parse(JsonLogicCompilerTest.RULE)).get();
+
+		Run interpreter = () -> test.interpret(jsonLogic, JsonLogicCompilerTest.RULE, JsonLogicCompilerTest.INPUTS);
+		Run compiled = () -> compiledRule.execute(test.componentManager);
+
+		// warm up
+		run(test, interpreter, noOfRuns / 2);
+		run(test, compiled, noOfRuns / 2);
+
+		System.out.println(String.format("Runs [%,d]", noOfRuns));
+		System.out.println(String.format("Interpreter [%,6d] ns per run", run(test, interpreter, noOfRuns)));
+		System.out.println(String.format("Compiled    [%,6d] ns per run", run(test, compiled, noOfRuns)));
+	}
+
+	private static interface Run {
+		void apply() throws Exception;
+	}
+
+	/**
+	 * Executes the rule; changing the inputs is not measured.
+	 *
+	 * @return average nanoseconds per run
+	 */
+	private static long run(JsonLogicCompilerTest test, Run run, int noOfRuns) throws Exception {
+		Random random = new Random(0);
+		long nanos = 0;
+		for (int i = 0; i < noOfRuns; i += 100) {
+			test.setRandomInputs(random);
+			test.getAndResetOutputs();
+			long start = System.nanoTime();
+			for (int j = 0; j < 100; j++) {
+				run.apply();
+			}
+			nanos += System.nanoTime() - start;
+		}
+		return nanos / noOfRuns;
+	}
+
+}
@@ -0,0 +1,200 @@
+package io.openems.edge.controller.generic.jsonlogic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.meiskalt7.jsonlogic.JsonLogic;
+import io.openems.common.OpenemsConstants;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.WriteChannel;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+import io.openems.edge.io.test.DummyInputOutput;
+
+public class JsonLogicCompilerTest {
+
+	private final static ChannelAddress SUM_SOC = new ChannelAddress(OpenemsConstants.SUM_ID,
+			Sum.ChannelId.ESS_SOC.id());
+	private final static ChannelAddress SUM_GRID = new ChannelAddress(OpenemsConstants.SUM_ID,
+			Sum.ChannelId.GRID_ACTIVE_POWER.id());
+	private final static ChannelAddress SUM_PRODUCTION = new ChannelAddress(OpenemsConstants.SUM_ID,
+			Sum.ChannelId.PRODUCTION_ACTIVE_POWER.id());
+	private final static ChannelAddress SUM_CONSUMPTION = new ChannelAddress(OpenemsConstants.SUM_ID,
+			Sum.ChannelId.CONSUMPTION_ACTIVE_POWER.id());
+	private final static ChannelAddress ESS_SET_ACTIVE_POWER_EQUALS = new ChannelAddress("ess0",
+			"SetActivePowerEquals");
+	private final static ChannelAddress OUTPUT0 = new ChannelAddress("io0", "InputOutput0");
+	private final static ChannelAddress OUTPUT1 = new ChannelAddress("io0", "InputOutput1");
+
+	final static ChannelAddress[] INPUTS = { SUM_SOC, SUM_GRID, SUM_PRODUCTION, SUM_CONSUMPTION, OUTPUT1 };
+	private final static ChannelAddress[] OUTPUTS = { ESS_SET_ACTIVE_POWER_EQUALS, OUTPUT0 };
+
+	/**
+	 * A realistic rule with 50 nodes: surplus charging, emergency reserve and peak
+	 * shaving.
+	 */
+	final static String RULE = "{" //
+			+ "  \"if\": [" //
+			+ "    { \"and\": [" //
+			+ "      { \">\": [ { \"var\": \"" + SUM_PRODUCTION + "\" }, 3000 ] }," //
+			+ "      { \">=\": [ { \"var\": \"" + SUM_SOC + "\" }, 20 ] }" //
+			+ "    ] }," //
+			+ "    [" //
+			+ "      [ \"" + ESS_SET_ACTIVE_POWER_EQUALS + "\", { \"max\": [ -5000, { \"-\": [" //
+			+ "        { \"var\": \"" + SUM_GRID + "\" }," //
+			+ "        { \"*\": [ 0.5, { \"var\": \"" + SUM_PRODUCTION + "\" } ] }" //
+			+ "      ] } ] } ]," //
+			+ "      [ \"" + OUTPUT0 + "\", { \"<\": [ { \"var\": \"" + SUM_SOC + "\" }, 90 ] } ]" //
+			+ "    ]," //
+			+ "    { \"or\": [" //
+			+ "      { \"<\": [ { \"var\": [ \"" + SUM_SOC + "\", 0 ] }, 10 ] }," //
+			+ "      { \"==\": [ { \"var\": \"" + OUTPUT1 + "\" }, true ] }" //
+			+ "    ] }," //
+			+ "    [" //
+			+ "      [ \"" + ESS_SET_ACTIVE_POWER_EQUALS + "\", { \"min\": [ 0, { \"-\": [ { \"var\": \"" + SUM_GRID
+			+ "\" }, 2000 ] } ] } ]," //
+			+ "      [ \"" + OUTPUT0 + "\", false ]" //
+			+ "    ]," //
+			+ "    { \"if\": [" //
+			+ "      { \"<=\": [ { \"+\": [ { \"var\": \"" + SUM_GRID + "\" }, { \"var\": \"" + SUM_CONSUMPTION
+			+ "\" } ] }, 10000 ] }," //
+			+ "      [ [ \"" + ESS_SET_ACTIVE_POWER_EQUALS + "\", { \"/\": [ { \"var\": \"" + SUM_GRID
+			+ "\" }, 2 ] } ] ]," //
+			+ "      [ [ \"" + ESS_SET_ACTIVE_POWER_EQUALS + "\", 0 ] ]" //
+			+ "    ] }" //
+			+ "  ]" //
+			+ "}";
+
+	DummyComponentManager componentManager;
+
+	@Before
+	public void before() {
+		this.componentManager = new DummyComponentManager() //
+				.addComponent(new DummySum()) //
+				.addComponent(new DummyManagedSymmetricEss("ess0")) //
+				.addComponent(new DummyInputOutput("io0"));
+	}
+
+	@Test
+	public void testSameResultAsInterpreter() throws Exception {
+		CompiledRule compiledRule = JsonLogicCompiler.compile(JsonUtils.parse(RULE)).get();
+		JsonLogic jsonLogic = new JsonLogic();
+		Random random = new Random(0);
+		for (int i = 0; i < 1000; i++) {
+			this.setRandomInputs(random);
+
+			this.interpret(jsonLogic, RULE, INPUTS);
+			List<Object> expected = this.getAndResetOutputs();
+
+			compiledRule.execute(this.componentManager);
+			assertEquals(expected, this.getAndResetOutputs());
+		}
+	}
+
+	@Test
+	public void testOperations() throws Exception {
+		this.setInput(SUM_SOC, 40);
+		this.setInput(SUM_GRID, null);
+		this.assertSameResult("[ [ \"" + ESS_SET_ACTIVE_POWER_EQUALS + "\", { \"?:\": [" //
+				+ "{ \"!\": { \"var\": \"" + SUM_GRID + "\" } }, { \"%\": [ { \"var\": \"" + SUM_SOC + "\" }, 7 ] }, 1 ] } ] ]");
+		this.assertSameResult("[ [ \"" + ESS_SET_ACTIVE_POWER_EQUALS + "\", { \"if\": [" //
+				+ "{ \"!==\": [ { \"var\": \"" + SUM_SOC + "\" }, \"40\" ] }, 1, 2 ] } ] ]");
+		this.assertSameResult("[ [ \"" + ESS_SET_ACTIVE_POWER_EQUALS + "\", { \"if\": [" //
+				+ "{ \"in\": [ { \"var\": \"" + SUM_SOC + "\" }, [ 10, 40 ] ] }, 3, 4 ] } ] ]");
+		this.assertSameResult("[ [ \"" + ESS_SET_ACTIVE_POWER_EQUALS + "\", { \"if\": [" //
+				+ "{ \"<\": [ 10, { \"var\": \"" + SUM_SOC + "\" }, 50 ] }, 5, 6 ] } ] ]");
+		// Result is only known at runtime
+		this.assertSameResult("{ \"merge\": [ [ [ \"" + ESS_SET_ACTIVE_POWER_EQUALS + "\", { \"var\": \"" + SUM_SOC
+				+ "\" } ] ], [ [ \"" + OUTPUT0 + "\", true ] ] ] }");
+	}
+
+	@Test
+	public void testUnsupported() throws Exception {
+		Optional<CompiledRule> compiledRule = JsonLogicCompiler.compile(JsonUtils.parse("{ \"if\": [ { \"some\": [" //
+				+ "[ { \"var\": \"" + SUM_SOC + "\" } ], { \">\": [ { \"var\": \"\" }, 50 ] } ] }, [], [] ] }"));
+		assertFalse(compiledRule.isPresent());
+	}
+
+	@Test
+	public void testRebindReplacedComponent() throws Exception {
+		CompiledRule compiledRule = JsonLogicCompiler
+				.compile(JsonUtils.parse("[ [ \"" + OUTPUT0 + "\", { \"var\": \"" + OUTPUT1 + "\" } ] ]")).get();
+		this.setInput(OUTPUT1, true);
+		compiledRule.execute(this.componentManager);
+		assertEquals(true, this.getAndResetOutputs().get(1));
+
+		// Component is replaced, e.g. after a configuration update
+		this.before();
+		this.setInput(OUTPUT1, false);
+		compiledRule.execute(this.componentManager);
+		assertEquals(false, this.getAndResetOutputs().get(1));
+	}
+
+	/**
+	 * Executes the rule like the Controller did before the rule was compiled.
+	 *
+	 * @param jsonLogic the {@link JsonLogic} interpreter
+	 * @param rule      the rule
+	 * @param inputs    the Channels that are referenced by 'var'
+	 * @throws Exception on error
+	 */
+	void interpret(JsonLogic jsonLogic, String rule, ChannelAddress[] inputs) throws Exception {
+		Map<String, Object> data = new HashMap<>();
+		for (ChannelAddress channelAddress : inputs) {
+			Object value = this.componentManager.getChannel(channelAddress).value().get();
+			data.put(channelAddress.toString(), value);
+		}
+		List<?> result = (List<?>) jsonLogic.apply(rule, data);
+		for (Object entry : result) {
+			List<?> request = (List<?>) entry;
+			ChannelAddress channelAddress = ChannelAddress.fromString((String) request.get(0));
+			WriteChannel<?> channel = this.componentManager.getChannel(channelAddress);
+			channel.setNextWriteValueFromObject(request.get(1));
+		}
+	}
+
+	private void assertSameResult(String rule) throws Exception {
+		this.interpret(new JsonLogic(), rule, INPUTS);
+		List<Object> expected = this.getAndResetOutputs();
+		JsonLogicCompiler.compile(JsonUtils.parse(rule)).get().execute(this.componentManager);
+		assertEquals(rule, expected, this.getAndResetOutputs());
+	}
+
+	void setRandomInputs(Random random) throws Exception {
+		this.setInput(SUM_SOC, random.nextInt(20) == 0 ? null : random.nextInt(101));
+		this.setInput(SUM_GRID, random.nextInt(20000) - 10000);
+		this.setInput(SUM_PRODUCTION, random.nextInt(10000));
+		this.setInput(SUM_CONSUMPTION, random.nextInt(10000));
+		this.setInput(OUTPUT1, random.nextBoolean());
+	}
+
+	private void setInput(ChannelAddress address, Object value) throws Exception {
+		Channel<?> channel = this.componentManager.getChannel(address);
+		channel.setNextValue(value);
+		channel.nextProcessImage();
+	}
+
+	List<Object> getAndResetOutputs() throws Exception {
+		List<Object> result = new ArrayList<>();
+		for (ChannelAddress address : OUTPUTS) {
+			WriteChannel<?> channel = this.componentManager.getChannel(address);
+			result.add(channel.getNextWriteValueAndReset().orElse(null));
+		}
+		return result;
+	}
+
+}
@@ -2,8 +2,6 @@ package io.openems.edge.controller.io.channelsinglethreshold;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Optional;
 import java.util.OptionalDouble;
 
@@ -120,19 +118,18 @@ public class ChannelSingleThreshold extends AbstractOpenemsComponent implements
 
 		// Get average input value of the last 'minimumSwitchingTime' seconds
 		IntegerReadChannel inputChannel = this.componentManager.getChannel(inputChannelAddress);
-		Collection<Value<Integer>> values = inputChannel.getPastValues().tailMap(
-				LocalDateTime.now(this.componentManager.getClock()).minusSeconds(this.config.minimumSwitchingTime()),
-				true).values();
+		long since = this.componentManager.getClock().millis() - this.config.minimumSwitchingTime() * 1000L;
+		OptionalDouble inputValueOpt = inputChannel.getPastValuesBuffer() //
+				.doubleStream(since, Long.MAX_VALUE) //
+				.average();
 
 		// make sure we have at least one value
-		if (values.isEmpty()) {
-			values = new ArrayList<Value<Integer>>();
-			values.add(inputChannel.value());
+		if (!inputValueOpt.isPresent()) {
+			Value<Integer> value = inputChannel.value();
+			if (value.isDefined()) {
+				inputValueOpt = OptionalDouble.of(value.get());
+			}
 		}
-
-		OptionalDouble inputValueOpt = values.stream().filter(v -> v.isDefined()) //
-				.mapToInt(v -> v.get()) //
-				.average();
 		int inputValue;
 		if (inputValueOpt.isPresent()) {
 			inputValue = (int) Math.round(inputValueOpt.getAsDouble());
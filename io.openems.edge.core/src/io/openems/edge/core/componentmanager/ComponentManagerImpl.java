@@ -9,7 +9,9 @@ import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.osgi.framework.BundleContext;
@@ -46,8 +48,10 @@ import io.openems.common.jsonrpc.request.UpdateComponentConfigRequest.Property;
 import io.openems.common.jsonrpc.response.GetEdgeConfigResponse;
 import io.openems.common.session.Role;
 import io.openems.common.session.User;
+import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.ComponentManager;
@@ -84,17 +88,57 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	@Reference
 	protected ServiceComponentRuntime serviceComponentRuntime;
 
+	private final List<OpenemsComponent> enabledComponents = new CopyOnWriteArrayList<>();
+	private final List<OpenemsComponent> allComponents = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Index of {@link #enabledComponents} by Component-ID.
+	 */
+	private final Map<String, OpenemsComponent> enabledComponentsById = new ConcurrentHashMap<>();
+
+	/**
+	 * Index of {@link #allComponents} by Component-ID.
+	 */
+	private final Map<String, OpenemsComponent> allComponentsById = new ConcurrentHashMap<>();
+
+	/**
+	 * Cache of Channels of enabled Components. Entries are removed when their
+	 * Component is unbound.
+	 */
+	private final Map<ChannelAddress, Channel<?>> channelCache = new ConcurrentHashMap<>();
+
 	@Reference(policy = ReferencePolicy.DYNAMIC, //
 			policyOption = ReferencePolicyOption.GREEDY, //
 			cardinality = ReferenceCardinality.MULTIPLE, //
 			target = "(&(enabled=true)(!(service.factoryPid=Core.ComponentManager)))")
-	private volatile List<OpenemsComponent> enabledComponents = new CopyOnWriteArrayList<>();
+	protected void addEnabledComponent(OpenemsComponent component) {
+		this.enabledComponents.add(component);
+		if (component.id() != null) {
+			this.enabledComponentsById.putIfAbsent(component.id(), component);
+		}
+	}
+
+	protected void removeEnabledComponent(OpenemsComponent component) {
+		this.enabledComponents.remove(component);
+		removeFromIndex(this.enabledComponentsById, this.enabledComponents, component);
+		this.channelCache.values().removeIf(channel -> channel.getComponent() == component);
+	}
 
 	@Reference(policy = ReferencePolicy.DYNAMIC, //
 			policyOption = ReferencePolicyOption.GREEDY, //
 			cardinality = ReferenceCardinality.MULTIPLE, //
 			target = "(!(service.factoryPid=Core.ComponentManager))")
-	private volatile List<OpenemsComponent> allComponents = new CopyOnWriteArrayList<>();
+	protected void addComponent(OpenemsComponent component) {
+		this.allComponents.add(component);
+		if (component.id() != null) {
+			this.allComponentsById.putIfAbsent(component.id(), component);
+		}
+	}
+
+	protected void removeComponent(OpenemsComponent component) {
+		this.allComponents.remove(component);
+		removeFromIndex(this.allComponentsById, this.allComponents, component);
+	}
 
 	public ComponentManagerImpl() {
 		super(//
@@ -137,6 +181,93 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 		return Collections.unmodifiableList(this.allComponents);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends OpenemsComponent> T getComponent(String componentId) throws OpenemsNamedException {
+		if (componentId.equals(OpenemsConstants.COMPONENT_MANAGER_ID)) {
+			return (T) this;
+		}
+		return (T) getFromIndex(this.enabledComponentsById, this.enabledComponents, componentId);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends OpenemsComponent> T getPossiblyDisabledComponent(String componentId)
+			throws OpenemsNamedException {
+		if (componentId.equals(OpenemsConstants.COMPONENT_MANAGER_ID)) {
+			return (T) this;
+		}
+		return (T) getFromIndex(this.allComponentsById, this.allComponents, componentId);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends Channel<?>> T getChannel(ChannelAddress channelAddress)
+			throws IllegalArgumentException, OpenemsNamedException {
+		Channel<?> channel = this.channelCache.get(channelAddress);
+		if (channel != null && channel.getComponent().id().equals(channelAddress.getComponentId())) {
+			return (T) channel;
+		}
+		OpenemsComponent component = this.getComponent(channelAddress.getComponentId());
+		channel = component.channel(channelAddress.getChannelId());
+		this.channelCache.put(channelAddress, channel);
+		if (component != this && this.enabledComponentsById.get(channelAddress.getComponentId()) != component) {
+			// Component was unbound in the meantime
+			this.channelCache.remove(channelAddress, channel);
+		}
+		return (T) channel;
+	}
+
+	/**
+	 * Gets a Component from an index by its Component-ID.
+	 *
+	 * <p>
+	 * The Component-ID of a Component might change on 'modified' without the
+	 * Component being unbound. In that case the index is repaired from the list of
+	 * Components.
+	 *
+	 * @param index       the index by Component-ID
+	 * @param components  the list of Components
+	 * @param componentId the Component-ID
+	 * @return the Component
+	 * @throws OpenemsNamedException if the Component was not found
+	 */
+	private static OpenemsComponent getFromIndex(Map<String, OpenemsComponent> index,
+			List<OpenemsComponent> components, String componentId) throws OpenemsNamedException {
+		OpenemsComponent component = index.get(componentId);
+		if (component != null && componentId.equals(component.id())) {
+			return component;
+		}
+		for (OpenemsComponent c : components) {
+			if (componentId.equals(c.id())) {
+				index.put(componentId, c);
+				return c;
+			}
+		}
+		if (component != null) {
+			index.remove(componentId, component);
+		}
+		throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
+	}
+
+	/**
+	 * Removes a Component from an index. If another Component with the same
+	 * Component-ID is still available, it takes its place.
+	 *
+	 * @param index      the index by Component-ID
+	 * @param components the list of remaining Components
+	 * @param component  the removed Component
+	 */
+	private static void removeFromIndex(Map<String, OpenemsComponent> index, List<OpenemsComponent> components,
+			OpenemsComponent component) {
+		index.values().remove(component);
+		for (OpenemsComponent c : components) {
+			if (c.id() != null) {
+				index.putIfAbsent(c.id(), c);
+			}
+		}
+	}
+
 	@Override
 	public String debugLog() {
 		final List<String> logs = new ArrayList<String>();
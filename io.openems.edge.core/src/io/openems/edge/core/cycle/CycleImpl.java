@@ -54,8 +54,30 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 	 */
 	protected final TreeSet<Scheduler> schedulers = new TreeSet<Scheduler>(Comparator.comparing(Scheduler::id));
 
+	/**
+	 * Holds the Channels of all enabled Components for the 'Process Image Switch'.
+	 */
+	protected final ProcessImageRegistry processImageRegistry = new ProcessImageRegistry();
+
 	private Config config = null;;
 
+	@Reference(//
+			policy = ReferencePolicy.DYNAMIC, //
+			policyOption = ReferencePolicyOption.GREEDY, //
+			cardinality = ReferenceCardinality.MULTIPLE, //
+			target = "(enabled=true)")
+	protected void addComponent(OpenemsComponent component) {
+		if (component == this) {
+			// Cycle-Channels are handled separately by the CycleWorker
+			return;
+		}
+		this.processImageRegistry.addComponent(component);
+	}
+
+	protected void removeComponent(OpenemsComponent component) {
+		this.processImageRegistry.removeComponent(component);
+	}
+
 	@Reference(//
 			policy = ReferencePolicy.DYNAMIC, //
 			policyOption = ReferencePolicyOption.GREEDY, //
@@ -12,8 +12,8 @@ import com.google.common.base.Stopwatch;
 import info.faljse.SDNotify.SDNotify;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.worker.AbstractWorker;
+import io.openems.edge.common.cycle.CycleTimestamp;
 import io.openems.edge.common.event.EdgeEventConstants;
-import io.openems.edge.common.sum.Sum;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.scheduler.api.Scheduler;
 
@@ -45,6 +45,11 @@ public class CycleWorker extends AbstractWorker {
 		}
 
 		try {
+			/*
+			 * Read the clock once for this Cycle
+			 */
+			CycleTimestamp.global().bindToCurrentThread().update(this.parent.componentManager.getClock());
+
 			/*
 			 * Trigger BEFORE_PROCESS_IMAGE event
 			 */
@@ -54,13 +59,7 @@ public class CycleWorker extends AbstractWorker {
 			/*
 			 * Before Controllers start: switch to next process image for each channel
 			 */
-			this.parent.componentManager.getEnabledComponents().stream() //
-					.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
-					.forEach(component -> {
-						component.channels().forEach(channel -> {
-							channel.nextProcessImage();
-						});
-					});
+			this.parent.processImageRegistry.nextProcessImage();
 			this.parent.channels().forEach(channel -> {
 				channel.nextProcessImage();
 			});
@@ -0,0 +1,143 @@
+package io.openems.edge.core.cycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.Sum;
+
+/**
+ * Holds a flat view of all Channels that take part in the 'Process Image
+ * Switch' of the {@link CycleWorker}.
+ *
+ * <p>
+ * The Channels are kept in one packed array - in the order of the Components
+ * and of their {@link OpenemsComponent#channels()} - so that the per-Cycle
+ * switch is a plain loop over an array without Stream or Iterator allocations.
+ * The array is rebuilt only when a Component is activated or deactivated or
+ * when a Component added or removed Channels after its activation.
+ */
+public class ProcessImageRegistry {
+
+	private final List<OpenemsComponent> components = new CopyOnWriteArrayList<>();
+
+	private volatile boolean dirty = true;
+
+	/*
+	 * The following fields are only accessed by the CycleWorker thread.
+	 */
+	private Channel<?>[] channels = new Channel<?>[0];
+	private OpenemsComponent[] snapshotComponents = new OpenemsComponent[0];
+	private int[] snapshotModificationCounts = new int[0];
+	private int[] snapshotOffsets = { 0 };
+
+	/**
+	 * Adds a Component to the registry. Called on activation of the Component.
+	 *
+	 * @param component the {@link OpenemsComponent}
+	 */
+	public void addComponent(OpenemsComponent component) {
+		if (component instanceof Sum) {
+			// Sum-Channels are handled separately by the CycleWorker
+			return;
+		}
+		this.components.add(component);
+		this.dirty = true;
+	}
+
+	/**
+	 * Removes a Component from the registry. Called on deactivation of the
+	 * Component.
+	 *
+	 * @param component the {@link OpenemsComponent}
+	 */
+	public void removeComponent(OpenemsComponent component) {
+		if (this.components.remove(component)) {
+			this.dirty = true;
+		}
+	}
+
+	/**
+	 * Switches to the next process image for all registered Channels.
+	 */
+	public void nextProcessImage() {
+		if (this.dirty || this.channelsChanged()) {
+			this.rebuild();
+		}
+		for (Channel<?> channel : this.channels) {
+			channel.nextProcessImage();
+		}
+	}
+
+	/**
+	 * Checks if any Component added or removed Channels since the last rebuild.
+	 *
+	 * <p>
+	 * Uses the modification count of {@link AbstractOpenemsComponent}s; the
+	 * Channels of other Components are compared by identity.
+	 *
+	 * @return true if a rebuild is required
+	 */
+	private boolean channelsChanged() {
+		for (int i = 0; i < this.snapshotComponents.length; i++) {
+			OpenemsComponent component = this.snapshotComponents[i];
+			if (component instanceof AbstractOpenemsComponent) {
+				if (((AbstractOpenemsComponent) component)
+						.getChannelsModificationCount() != this.snapshotModificationCounts[i]) {
+					return true;
+				}
+			} else if (!this.isSameChannels(component, this.snapshotOffsets[i], this.snapshotOffsets[i + 1])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if the Channels of the Component are the same instances as in the
+	 * snapshot.
+	 *
+	 * @param component the {@link OpenemsComponent}
+	 * @param from      the index of its first Channel in the snapshot
+	 * @param to        the index after its last Channel in the snapshot
+	 * @return true if they are the same
+	 */
+	private boolean isSameChannels(OpenemsComponent component, int from, int to) {
+		int index = from;
+		for (Channel<?> channel : component.channels()) {
+			if (index >= to || this.channels[index++] != channel) {
+				return false;
+			}
+		}
+		return index == to;
+	}
+
+	/**
+	 * Rebuilds the packed Channel array from the registered Components.
+	 */
+	private synchronized void rebuild() {
+		this.dirty = false;
+		OpenemsComponent[] components = this.components.toArray(new OpenemsComponent[0]);
+		int[] modificationCounts = new int[components.length];
+		int[] offsets = new int[components.length + 1];
+		List<Channel<?>> channels = new ArrayList<>();
+		for (int i = 0; i < components.length; i++) {
+			OpenemsComponent component = components[i];
+			if (component instanceof AbstractOpenemsComponent) {
+				// read before the Channels, so that a concurrent modification is not missed
+				modificationCounts[i] = ((AbstractOpenemsComponent) component).getChannelsModificationCount();
+			}
+			offsets[i] = channels.size();
+			channels.addAll(component.channels());
+		}
+		offsets[components.length] = channels.size();
+		this.snapshotComponents = components;
+		this.snapshotModificationCounts = modificationCounts;
+		this.snapshotOffsets = offsets;
+		this.channels = channels.toArray(new Channel<?>[0]);
+	}
+
+}
@@ -0,0 +1,129 @@
+package io.openems.edge.core.componentmanager;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+
+public class ComponentManagerImplTest {
+
+	private static final String ESS0 = "ess0";
+	private static final String ESS1 = "ess1";
+	private static final ChannelAddress ESS0_STATE = new ChannelAddress(ESS0, "State");
+	private static final ChannelAddress ESS1_STATE = new ChannelAddress(ESS1, "State");
+
+	private static class DummyComponent extends AbstractOpenemsComponent implements OpenemsComponent {
+
+		public DummyComponent(String id) {
+			super(OpenemsComponent.ChannelId.values());
+			super.activate(null, id, "", true);
+		}
+
+		public void modified(String id) {
+			super.modified(null, id, "", true);
+		}
+
+	}
+
+	private ComponentManagerImpl sut;
+
+	@Before
+	public void before() {
+		this.sut = new ComponentManagerImpl();
+	}
+
+	private void add(OpenemsComponent component) {
+		this.sut.addComponent(component);
+		this.sut.addEnabledComponent(component);
+	}
+
+	private void remove(OpenemsComponent component) {
+		this.sut.removeEnabledComponent(component);
+		this.sut.removeComponent(component);
+	}
+
+	@Test
+	public void testUnbind() throws OpenemsNamedException {
+		DummyComponent ess0 = new DummyComponent(ESS0);
+		this.add(ess0);
+		assertSame(ess0, this.sut.getComponent(ESS0));
+		assertSame(ess0.channel("State"), this.sut.getChannel(ESS0_STATE));
+
+		this.remove(ess0);
+		assertNotFound(ESS0);
+		assertChannelNotFound(ESS0_STATE);
+
+		// a new instance with the same Component-ID replaces the cached Channel
+		DummyComponent newEss0 = new DummyComponent(ESS0);
+		this.add(newEss0);
+		assertSame(newEss0, this.sut.getComponent(ESS0));
+		assertSame(newEss0, this.sut.getPossiblyDisabledComponent(ESS0));
+		assertSame(newEss0.channel("State"), this.sut.getChannel(ESS0_STATE));
+	}
+
+	@Test
+	public void testComponentIdChangedOnModified() throws OpenemsNamedException {
+		DummyComponent ess = new DummyComponent(ESS0);
+		this.add(ess);
+		assertSame(ess, this.sut.getComponent(ESS0));
+		assertSame(ess.channel("State"), this.sut.getChannel(ESS0_STATE));
+
+		// 'modified' without unbind
+		ess.modified(ESS1);
+		assertNotFound(ESS0);
+		assertChannelNotFound(ESS0_STATE);
+		assertSame(ess, this.sut.getComponent(ESS1));
+		assertSame(ess, this.sut.getPossiblyDisabledComponent(ESS1));
+		assertSame(ess.channel("State"), this.sut.getChannel(ESS1_STATE));
+	}
+
+	@Test
+	public void testDuplicateComponentIds() throws OpenemsNamedException {
+		DummyComponent first = new DummyComponent(ESS0);
+		DummyComponent second = new DummyComponent(ESS0);
+		this.add(first);
+		this.add(second);
+		assertSame(first, this.sut.getComponent(ESS0));
+		assertSame(first.channel("State"), this.sut.getChannel(ESS0_STATE));
+
+		// the remaining Component takes the place in the index and in the cache
+		this.remove(first);
+		assertSame(second, this.sut.getComponent(ESS0));
+		assertSame(second, this.sut.getPossiblyDisabledComponent(ESS0));
+		assertSame(second.channel("State"), this.sut.getChannel(ESS0_STATE));
+
+		this.remove(second);
+		assertNotFound(ESS0);
+	}
+
+	private void assertNotFound(String componentId) {
+		try {
+			this.sut.getComponent(componentId);
+			fail("Component [" + componentId + "] should not be available");
+		} catch (OpenemsNamedException e) {
+			// expected
+		}
+		try {
+			this.sut.getPossiblyDisabledComponent(componentId);
+			fail("Component [" + componentId + "] should not be available");
+		} catch (OpenemsNamedException e) {
+			// expected
+		}
+	}
+
+	private void assertChannelNotFound(ChannelAddress channelAddress) {
+		try {
+			this.sut.getChannel(channelAddress);
+			fail("Channel [" + channelAddress + "] should not be available");
+		} catch (OpenemsNamedException e) {
+			// expected
+		}
+	}
+
+}
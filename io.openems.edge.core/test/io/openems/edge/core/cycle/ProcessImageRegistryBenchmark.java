@@ -0,0 +1,110 @@
+package io.openems.edge.core.cycle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Benchmark for the 'Process Image Switch'; not part of the unit tests.
+ *
+ * <p>
+ * Simulates 50 Components with 200 Channels each and prints the time per Cycle
+ * of the {@link ProcessImageRegistry} compared to streaming over the Components
+ * and their Channels, as the {@link CycleWorker} did before.
+ *
+ * <p>
+ * Run as Java application; optional arguments: number of Components, number of
+ * Channels per Component, number of Cycles.
+ */
+public class ProcessImageRegistryBenchmark {
+
+	private static class DummyChannelId implements io.openems.edge.common.channel.ChannelId {
+
+		private static final OpenemsType[] TYPES = { OpenemsType.INTEGER, OpenemsType.LONG, OpenemsType.BOOLEAN,
+				OpenemsType.STRING };
+
+		private final String name;
+		private final Doc doc;
+
+		private DummyChannelId(int index) {
+			this.name = "CHANNEL_" + index;
+			this.doc = Doc.of(TYPES[index % TYPES.length]);
+		}
+
+		@Override
+		public String name() {
+			return this.name;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private static class DummyComponent extends AbstractOpenemsComponent implements OpenemsComponent {
+
+		public DummyComponent(String id, int noOfChannels) {
+			super(//
+					OpenemsComponent.ChannelId.values() //
+			);
+			for (int i = 0; i < noOfChannels; i++) {
+				this.addChannel(new DummyChannelId(i));
+			}
+			super.activate(null, id, "", true);
+		}
+	}
+
+	public static void main(String[] args) {
+		final int noOfComponents = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+		final int noOfChannelsPerComponent = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		final int noOfCycles = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+
+		List<OpenemsComponent> components = new ArrayList<>();
+		ProcessImageRegistry registry = new ProcessImageRegistry();
+		int noOfChannels = 0;
+		for (int i = 0; i < noOfComponents; i++) {
+			DummyComponent component = new DummyComponent("component" + i, noOfChannelsPerComponent);
+			components.add(component);
+			registry.addComponent(component);
+			noOfChannels += component.channels().size();
+		}
+
+		// warm up both variants before measuring
+		for (int round = 0; round < 2; round++) {
+			long start = System.nanoTime();
+			for (int cycle = 0; cycle < noOfCycles; cycle++) {
+				components.stream() //
+						.filter(c -> c.isEnabled()) //
+						.forEach(component -> {
+							Collection<Channel<?>> channels = component.channels();
+							channels.forEach(channel -> {
+								channel.nextProcessImage();
+							});
+						});
+			}
+			long streamNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int cycle = 0; cycle < noOfCycles; cycle++) {
+				registry.nextProcessImage();
+			}
+			long registryNanos = System.nanoTime() - start;
+
+			if (round > 0) {
+				System.out.println(String.format("Components [%d] Channels [%d] Cycles [%d]", noOfComponents,
+						noOfChannels, noOfCycles));
+				System.out.println(String.format("Stream over Components: [%,d] ns/Cycle", streamNanos / noOfCycles));
+				System.out.println(
+						String.format("ProcessImageRegistry:   [%,d] ns/Cycle", registryNanos / noOfCycles));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.sum.Sum;
+
+public class ProcessImageRegistryTest {
+
+	private static class DummyComponent extends AbstractOpenemsComponent implements OpenemsComponent {
+
+		public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			POWER(Doc.of(OpenemsType.INTEGER)), //
+			LABEL(Doc.of(OpenemsType.STRING)), //
+			ENERGY(Doc.of(OpenemsType.LONG));
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		public DummyComponent(String id) {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					new ChannelId[] { ChannelId.POWER, ChannelId.LABEL } //
+			);
+			super.activate(null, id, "", true);
+		}
+
+		public Channel<?> addEnergyChannel() {
+			return this.addChannel(ChannelId.ENERGY);
+		}
+
+		public void removeEnergyChannel() {
+			this.removeChannel(this.channel(ChannelId.ENERGY));
+		}
+	}
+
+	private ProcessImageRegistry sut;
+
+	@Before
+	public void before() {
+		this.sut = new ProcessImageRegistry();
+	}
+
+	/**
+	 * Sets the next value of the Channel and switches the process image.
+	 *
+	 * @param channel the {@link Channel}
+	 * @param value   the next value
+	 * @return the value of the Channel after the switch
+	 */
+	private Object cycle(Channel<?> channel, Object value) {
+		channel.setNextValue(value);
+		this.sut.nextProcessImage();
+		return channel.value().get();
+	}
+
+	@Test
+	public void testAddAndRemoveComponent() {
+		DummyComponent component0 = new DummyComponent("component0");
+		DummyComponent component1 = new DummyComponent("component1");
+		Channel<?> power0 = component0.channel(DummyComponent.ChannelId.POWER);
+		Channel<?> label1 = component1.channel(DummyComponent.ChannelId.LABEL);
+
+		this.sut.addComponent(component0);
+		this.sut.addComponent(component1);
+		assertEquals(100, this.cycle(power0, 100));
+		assertEquals("foo", this.cycle(label1, "foo"));
+
+		// removed Component is not switched anymore
+		this.sut.removeComponent(component1);
+		assertEquals(200, this.cycle(power0, 200));
+		assertEquals("foo", this.cycle(label1, "bar"));
+
+		// removing an unknown Component is ignored
+		this.sut.removeComponent(component1);
+		assertEquals(300, this.cycle(power0, 300));
+
+		// added again
+		this.sut.addComponent(component1);
+		assertEquals("bar", this.cycle(label1, "bar"));
+	}
+
+	@Test
+	public void testIgnoreSum() {
+		DummySum sum = new DummySum();
+		Channel<?> essSoc = sum.channel(Sum.ChannelId.ESS_SOC);
+
+		this.sut.addComponent(sum);
+		essSoc.setNextValue(50);
+		this.sut.nextProcessImage();
+		assertFalse(essSoc.value().isDefined());
+	}
+
+	@Test
+	public void testChannelsAddedAfterActivation() {
+		DummyComponent component0 = new DummyComponent("component0");
+		this.sut.addComponent(component0);
+		this.sut.nextProcessImage();
+
+		Channel<?> energy = component0.addEnergyChannel();
+		assertEquals(1000L, this.cycle(energy, 1000L));
+
+		// Channel removed -> rebuilt without it
+		component0.removeEnergyChannel();
+		assertEquals(1000L, this.cycle(energy, 2000L));
+		Channel<?> power0 = component0.channel(DummyComponent.ChannelId.POWER);
+		assertEquals(100, this.cycle(power0, 100));
+	}
+
+	@Test
+	public void testChannelReplacedAfterActivation() {
+		DummyComponent component0 = new DummyComponent("component0");
+		this.sut.addComponent(component0);
+		Channel<?> energy = component0.addEnergyChannel();
+		assertEquals(1000L, this.cycle(energy, 1000L));
+
+		// same number of Channels, but a new instance
+		component0.removeEnergyChannel();
+		Channel<?> newEnergy = component0.addEnergyChannel();
+		assertEquals(2000L, this.cycle(newEnergy, 2000L));
+	}
+
+}
@@ -3,6 +3,7 @@ package io.openems.edge.ess.power.api;
 import java.text.DecimalFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Creates a constraint with following settings:
@@ -20,6 +21,22 @@ public class Constraint {
 
 	private final static DecimalFormat VALUE_FORMAT = new DecimalFormat("0.#");
 
+	/**
+	 * Counts the changes of the value of any Constraint via
+	 * {@link #setValue(double)} or {@link #disable()}.
+	 */
+	private final static AtomicLong VALUE_MODIFICATION_COUNT = new AtomicLong();
+
+	/**
+	 * Gets the number of changes of the value of any Constraint. Allows caches of
+	 * solver results to detect changes of Constraints that were added before.
+	 * 
+	 * @return the modification count
+	 */
+	public static long getValueModificationCount() {
+		return VALUE_MODIFICATION_COUNT.get();
+	}
+
 	private final String description;
 	private final LinearCoefficient[] coefficients;
 	private final Relationship relationship;
@@ -88,10 +105,12 @@ public class Constraint {
 
 	public void setValue(double value) {
 		this.value = Optional.ofNullable(value);
+		VALUE_MODIFICATION_COUNT.incrementAndGet();
 	}
 
 	public void disable() {
 		this.value = Optional.empty();
+		VALUE_MODIFICATION_COUNT.incrementAndGet();
 	}
 
 }
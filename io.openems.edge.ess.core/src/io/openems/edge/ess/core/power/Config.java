@@ -23,6 +23,12 @@ import io.openems.edge.ess.power.api.SolverStrategy;
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	boolean debugMode() default PowerComponent.DEFAULT_DEBUG_MODE;
 
+	@AttributeDefinition(name = "Parallel Inverter Tests", description = "Number of Inverter setups that are tested in parallel while reducing the number of used Inverters. '1' tests sequentially.")
+	int parallelInverterTests() default PowerComponent.DEFAULT_PARALLEL_INVERTER_TESTS;
+
+	@AttributeDefinition(name = "Reduce Inverters Time Budget [ms]", description = "Maximum time for reducing the number of used Inverters. If exceeded, the best solution validated so far is used - or all Inverters. '0' disables the budget.")
+	int reduceInvertersTimeBudget() default PowerComponent.DEFAULT_REDUCE_INVERTERS_TIME_BUDGET;
+
 	@AttributeDefinition(name = "Enable PID Filter", description = "Enables the PID Filter with the settings for P, I and D below")
 	boolean enablePid() default true;
 
@@ -3,8 +3,10 @@ package io.openems.edge.ess.core.power;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
@@ -40,6 +42,25 @@ public class Data {
 	private final List<Constraint> constraints = new CopyOnWriteArrayList<>();
 	private final Coefficients coefficients = new Coefficients();
 
+	/**
+	 * Caches the Constraints that are derived from the Ess, so that they are
+	 * created only once per Cycle and not for every solver probe. Reset by
+	 * {@link #invalidateEssConstraints()}.
+	 */
+	private List<Constraint> essConstraints = null;
+
+	/**
+	 * Caches the Constraints that disable an Inverter. Reset on change of the
+	 * Inverters.
+	 */
+	private final Map<Inverter, List<Constraint>> disableConstraints = new HashMap<>();
+
+	/**
+	 * Fingerprint of the current set of Constraints. Gets increased on every
+	 * change.
+	 */
+	private volatile long constraintsFingerprint = 0;
+
 	private boolean symmetricMode = PowerComponent.DEFAULT_SYMMETRIC_MODE;
 	private Consumer<Boolean> onStaticConstraintsFailed = null;
 
@@ -106,11 +127,15 @@ public class Data {
 		// Initially sort Inverters
 		WeightsUtil.updateWeightsFromSoc(this.inverters, this.esss);
 		WeightsUtil.sortByWeights(this.inverters);
+
+		this.disableConstraints.clear();
+		this.invalidateEssConstraints();
 	}
 
 	protected synchronized void initializeCycle() {
 		// Remove Constraints of last Cycle
 		this.constraints.clear();
+		this.invalidateEssConstraints();
 		// Update sorting of Inverters
 		WeightsUtil.updateWeightsFromSoc(this.inverters, this.esss);
 		WeightsUtil.adjustSortingByWeights(this.inverters);
@@ -126,10 +151,13 @@ public class Data {
 
 	protected void addConstraint(Constraint constraint) {
 		this.constraints.add(constraint);
+		this.constraintsFingerprint++;
 	}
 
 	protected void removeConstraint(Constraint constraint) {
-		this.constraints.remove(constraint);
+		if (this.constraints.remove(constraint)) {
+			this.constraintsFingerprint++;
+		}
 	}
 
 	/**
@@ -152,6 +180,7 @@ public class Data {
 		}
 		this.constraints.add(ConstraintUtil.createSimpleConstraint(this.coefficients, //
 				description, essId, phase, pwr, relationship, value));
+		this.constraintsFingerprint++;
 	}
 
 	/**
@@ -208,18 +237,94 @@ public class Data {
 	public List<Constraint> getConstraintsWithoutDisabledInverters(Collection<Inverter> disabledInverters)
 			throws OpenemsException {
 		return Streams.concat(//
-				ConstraintUtil.createDisableConstraintsForInactiveInverters(this.coefficients, disabledInverters)
-						.stream(),
-				ConstraintUtil.createGenericEssConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
-				ConstraintUtil.createStaticEssConstraints(this.esss, this.onStaticConstraintsFailed).stream(), //
-				ConstraintUtil.createMetaEssConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
-				ConstraintUtil.createSumOfPhasesConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
-				ConstraintUtil.createSymmetricEssConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
-				ConstraintUtil.createSinglePhaseEssConstraints(this.coefficients, this.inverters, this.symmetricMode)
-						.stream(), //
+				this.getDisableConstraints(disabledInverters).stream(), //
+				this.getEssConstraints().stream(), //
 				this.constraints.stream()).collect(Collectors.toList());
 	}
 
+	/**
+	 * Gets the Constraints that disable the given Inverter.
+	 * 
+	 * @param inverter the {@link Inverter}
+	 * @return List of Constraints
+	 * @throws OpenemsException on error
+	 */
+	public List<Constraint> getDisableConstraints(Inverter inverter) throws OpenemsException {
+		return this.getDisableConstraints(Collections.singletonList(inverter));
+	}
+
+	/**
+	 * Resets the cached Constraints that are derived from the Ess. Called when the
+	 * Ess or their Channel values might have changed.
+	 */
+	protected synchronized void invalidateEssConstraints() {
+		this.essConstraints = null;
+		this.constraintsFingerprint++;
+	}
+
+	/**
+	 * Gets the fingerprint of the current set of Constraints. The fingerprint
+	 * changes whenever a Constraint is added or removed, the Ess-derived
+	 * Constraints are invalidated or the value of any Constraint is changed via
+	 * {@link Constraint#setValue(double)} or {@link Constraint#disable()}.
+	 * 
+	 * <p>
+	 * Both counters only ever increase, so their sum never repeats a previous
+	 * fingerprint.
+	 * 
+	 * @return the fingerprint
+	 */
+	public long getConstraintsFingerprint() {
+		return this.constraintsFingerprint + Constraint.getValueModificationCount();
+	}
+
+	/**
+	 * Gets the Constraints that are derived from the Ess. They are created only
+	 * once until {@link #invalidateEssConstraints()} is called.
+	 * 
+	 * @return List of Constraints
+	 * @throws OpenemsException on error
+	 */
+	private synchronized List<Constraint> getEssConstraints() throws OpenemsException {
+		if (this.essConstraints == null) {
+			this.essConstraints = Streams.concat(//
+					ConstraintUtil.createGenericEssConstraints(this.coefficients, this.esss, this.symmetricMode)
+							.stream(), //
+					ConstraintUtil.createStaticEssConstraints(this.esss, this.onStaticConstraintsFailed).stream(), //
+					ConstraintUtil.createMetaEssConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
+					ConstraintUtil.createSumOfPhasesConstraints(this.coefficients, this.esss, this.symmetricMode)
+							.stream(), //
+					ConstraintUtil.createSymmetricEssConstraints(this.coefficients, this.esss, this.symmetricMode)
+							.stream(), //
+					ConstraintUtil.createSinglePhaseEssConstraints(this.coefficients, this.inverters,
+							this.symmetricMode).stream() //
+			).collect(Collectors.toList());
+		}
+		return this.essConstraints;
+	}
+
+	/**
+	 * Gets the Constraints that disable the given Inverters.
+	 * 
+	 * @param disabledInverters Collection of disabled inverters
+	 * @return List of Constraints
+	 * @throws OpenemsException on error
+	 */
+	private synchronized List<Constraint> getDisableConstraints(Collection<Inverter> disabledInverters)
+			throws OpenemsException {
+		List<Constraint> result = new ArrayList<>();
+		for (Inverter inverter : disabledInverters) {
+			List<Constraint> constraints = this.disableConstraints.get(inverter);
+			if (constraints == null) {
+				constraints = ConstraintUtil.createDisableConstraintsForInactiveInverters(this.coefficients,
+						Collections.singletonList(inverter));
+				this.disableConstraints.put(inverter, constraints);
+			}
+			result.addAll(constraints);
+		}
+		return result;
+	}
+
 	protected ManagedSymmetricEss getEss(String essId) {
 		for (ManagedSymmetricEss ess : this.esss) {
 			if (essId.equals(ess.id())) {
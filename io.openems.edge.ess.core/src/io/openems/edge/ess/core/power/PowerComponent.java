@@ -17,6 +17,8 @@ public interface PowerComponent extends OpenemsComponent, EventHandler, Power {
 
 	public static final boolean DEFAULT_SYMMETRIC_MODE = true;
 	public static final boolean DEFAULT_DEBUG_MODE = false;
+	public static final int DEFAULT_PARALLEL_INVERTER_TESTS = 1;
+	public static final int DEFAULT_REDUCE_INVERTERS_TIME_BUDGET = 0;
 	public static final SolverStrategy DEFAULT_SOLVER_STRATEGY = SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET;
 
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
@@ -32,6 +34,44 @@ public interface PowerComponent extends OpenemsComponent, EventHandler, Power {
 		 */
 		SOLVE_DURATION(Doc.of(OpenemsType.INTEGER) //
 				.unit(Unit.MILLISECONDS)),
+		/**
+		 * The duration needed for evaluating the target direction (CHARGE or
+		 * DISCHARGE) during solving.
+		 * 
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Unit: milliseconds
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		SOLVE_DURATION_TARGET_DIRECTION(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * The duration needed for finding the minimally required Inverters during
+		 * solving.
+		 * 
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Unit: milliseconds
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		SOLVE_DURATION_REDUCE_INVERTERS(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * The duration needed for trying the solving strategies.
+		 * 
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Unit: milliseconds
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		SOLVE_DURATION_STRATEGIES(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.MILLISECONDS)),
 		/**
 		 * The eventually used solving strategy.
 		 * 
@@ -43,6 +83,27 @@ public interface PowerComponent extends OpenemsComponent, EventHandler, Power {
 		 * </ul>
 		 */
 		SOLVE_STRATEGY(Doc.of(SolverStrategy.values())),
+		/**
+		 * The number of power extrema requests per Cycle that were answered from
+		 * cache.
+		 * 
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		EXTREMA_CACHE_HITS(Doc.of(OpenemsType.INTEGER)),
+		/**
+		 * The number of power extrema requests per Cycle that required solving.
+		 * 
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		EXTREMA_CACHE_MISSES(Doc.of(OpenemsType.INTEGER)),
 		/**
 		 * Whether the Power problem could be solved.
 		 * 
@@ -111,6 +172,63 @@ public interface PowerComponent extends OpenemsComponent, EventHandler, Power {
 		this.getSolveDurationChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#SOLVE_DURATION_TARGET_DIRECTION}.
+	 * 
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getSolveDurationTargetDirectionChannel() {
+		return this.channel(ChannelId.SOLVE_DURATION_TARGET_DIRECTION);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SOLVE_DURATION_TARGET_DIRECTION} Channel.
+	 * 
+	 * @param value the next value
+	 */
+	public default void _setSolveDurationTargetDirection(int value) {
+		this.getSolveDurationTargetDirectionChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SOLVE_DURATION_REDUCE_INVERTERS}.
+	 * 
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getSolveDurationReduceInvertersChannel() {
+		return this.channel(ChannelId.SOLVE_DURATION_REDUCE_INVERTERS);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SOLVE_DURATION_REDUCE_INVERTERS} Channel.
+	 * 
+	 * @param value the next value
+	 */
+	public default void _setSolveDurationReduceInverters(int value) {
+		this.getSolveDurationReduceInvertersChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SOLVE_DURATION_STRATEGIES}.
+	 * 
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getSolveDurationStrategiesChannel() {
+		return this.channel(ChannelId.SOLVE_DURATION_STRATEGIES);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SOLVE_DURATION_STRATEGIES} Channel.
+	 * 
+	 * @param value the next value
+	 */
+	public default void _setSolveDurationStrategies(int value) {
+		this.getSolveDurationStrategiesChannel().setNextValue(value);
+	}
+
 	/**
 	 * Gets the Channel for {@link ChannelId#SOLVE_STRATEGY}.
 	 * 
@@ -130,6 +248,44 @@ public interface PowerComponent extends OpenemsComponent, EventHandler, Power {
 		this.getSolveStrategyChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#EXTREMA_CACHE_HITS}.
+	 * 
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getExtremaCacheHitsChannel() {
+		return this.channel(ChannelId.EXTREMA_CACHE_HITS);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#EXTREMA_CACHE_HITS}
+	 * Channel.
+	 * 
+	 * @param value the next value
+	 */
+	public default void _setExtremaCacheHits(int value) {
+		this.getExtremaCacheHitsChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#EXTREMA_CACHE_MISSES}.
+	 * 
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getExtremaCacheMissesChannel() {
+		return this.channel(ChannelId.EXTREMA_CACHE_MISSES);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#EXTREMA_CACHE_MISSES} Channel.
+	 * 
+	 * @param value the next value
+	 */
+	public default void _setExtremaCacheMisses(int value) {
+		this.getExtremaCacheMissesChannel().setNextValue(value);
+	}
+
 	/**
 	 * Gets the Channel for {@link ChannelId#STATIC_CONSTRAINTS_FAILED}.
 	 * 
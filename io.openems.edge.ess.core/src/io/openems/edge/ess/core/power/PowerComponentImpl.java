@@ -29,7 +29,6 @@ import io.openems.edge.common.filter.PidFilter;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.data.ConstraintUtil;
 import io.openems.edge.ess.core.power.data.LogUtil;
-import io.openems.edge.ess.core.power.solver.CalculatePowerExtrema;
 import io.openems.edge.ess.power.api.Coefficient;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Phase;
@@ -46,6 +45,7 @@ import io.openems.edge.ess.power.api.Relationship;
 		property = { //
 				"id=_power", //
 				"enabled=true", //
+				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE, //
 				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, //
 				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE //
 		})
@@ -56,6 +56,7 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 
 	private final Data data;
 	private final Solver solver;
+	private final PowerExtremaCache extremaCache;
 
 	private boolean debugMode = PowerComponentImpl.DEFAULT_DEBUG_MODE;
 
@@ -70,12 +71,17 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 		this.data = new Data();
 		this.data.onStaticConstraintsFailed(value -> this._setStaticConstraintsFailed(value));
 
+		this.extremaCache = new PowerExtremaCache(this.data);
+
 		this.solver = new Solver(this.data);
 		this.solver.onSolved((isSolved, duration, strategy) -> {
 			this._setNotSolved(!isSolved);
 			this._setSolveDuration(duration);
 			this._setSolveStrategy(strategy);
 		});
+		this.solver.onStageSolved((channelId, duration) -> {
+			this.channel(channelId).setNextValue(duration);
+		});
 	}
 
 	@Activate
@@ -86,6 +92,7 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 
 	@Deactivate
 	protected void deactivate() {
+		this.solver.deactivate();
 		super.deactivate();
 	}
 
@@ -99,6 +106,7 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 		this.data.setSymmetricMode(config.symmetricMode());
 		this.debugMode = config.debugMode();
 		this.solver.setDebugMode(config.debugMode());
+		this.solver.setReduceNumberOfUsedInverters(config.parallelInverterTests(), config.reduceInvertersTimeBudget());
 		this.config = config;
 
 		if (config.enablePid()) {
@@ -181,15 +189,13 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 	}
 
 	private int getActivePowerExtrema(ManagedSymmetricEss ess, Phase phase, Pwr pwr, GoalType goal) {
-		final List<Constraint> allConstraints;
+		final double power;
 		try {
-			allConstraints = this.data.getConstraintsForAllInverters();
+			power = this.extremaCache.get(ess.id(), phase, pwr, goal);
 		} catch (OpenemsException e) {
 			this.logError(this.log, "Unable to get Constraints " + e.getMessage());
 			return 0;
 		}
-		double power = CalculatePowerExtrema.from(this.data.getCoefficients(), allConstraints, ess.id(), phase, pwr,
-				goal);
 		if (power > Integer.MIN_VALUE && power < Integer.MAX_VALUE) {
 			if (goal == GoalType.MAXIMIZE) {
 				return (int) Math.floor(power);
@@ -206,11 +212,17 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 	@Override
 	public void handleEvent(Event event) {
 		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			// Ess Channel values have changed
+			this.data.invalidateEssConstraints();
+			break;
 		case EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE:
 			this.solver.solve(this.config.strategy());
 			break;
 		case EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE:
 			this.data.initializeCycle();
+			this._setExtremaCacheHits(this.extremaCache.getAndResetHits());
+			this._setExtremaCacheMisses(this.extremaCache.getAndResetMisses());
 			break;
 		}
 	}
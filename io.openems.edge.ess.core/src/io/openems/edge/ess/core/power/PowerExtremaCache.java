@@ -0,0 +1,115 @@
+package io.openems.edge.ess.core.power;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.math3.optim.linear.LinearConstraintSet;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.core.power.data.LinearSolverUtil;
+import io.openems.edge.ess.core.power.solver.CalculatePowerExtrema;
+import io.openems.edge.ess.power.api.Coefficients;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+
+/**
+ * Memoizes the results of {@link CalculatePowerExtrema} as long as the set of
+ * Constraints in {@link Data} does not change.
+ *
+ * <p>
+ * The cache is keyed by {@link Data#getConstraintsFingerprint()}. On a change
+ * of the fingerprint, all Constraints are converted once to a
+ * {@link LinearConstraintSet} that is then shared by all extrema calculations
+ * for this fingerprint.
+ */
+public class PowerExtremaCache {
+
+	private final Data data;
+
+	private long fingerprint = -1;
+	private LinearConstraintSet constraintSet = null;
+	private double[] maxValues = new double[0];
+	private double[] minValues = new double[0];
+
+	private int hits = 0;
+	private int misses = 0;
+
+	public PowerExtremaCache(Data data) {
+		this.data = data;
+	}
+
+	/**
+	 * Gets the extrema under the current Constraints for the given parameters.
+	 *
+	 * @param essId the ID of the Ess
+	 * @param phase the {@link Phase}
+	 * @param pwr   the {@link Pwr}
+	 * @param goal  the {@link GoalType}
+	 * @return the extrema value; or 0 on error
+	 * @throws OpenemsException on error
+	 */
+	public synchronized double get(String essId, Phase phase, Pwr pwr, GoalType goal) throws OpenemsException {
+		Coefficients coefficients = this.data.getCoefficients();
+		long fingerprint = this.data.getConstraintsFingerprint();
+		if (fingerprint != this.fingerprint || this.constraintSet == null
+				|| this.maxValues.length != coefficients.getNoOfCoefficients()) {
+			this.reset(coefficients, fingerprint);
+		}
+
+		final int index;
+		try {
+			index = coefficients.of(essId, phase, pwr).getIndex();
+		} catch (IllegalArgumentException e) {
+			// let CalculatePowerExtrema handle the error
+			this.misses++;
+			return CalculatePowerExtrema.from(coefficients, this.constraintSet, essId, phase, pwr, goal);
+		}
+
+		double[] values = goal == GoalType.MAXIMIZE ? this.maxValues : this.minValues;
+		double result = values[index];
+		if (Double.isNaN(result)) {
+			this.misses++;
+			result = CalculatePowerExtrema.from(coefficients, this.constraintSet, essId, phase, pwr, goal);
+			values[index] = result;
+		} else {
+			this.hits++;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the number of cache hits since the last call and resets the counter.
+	 *
+	 * @return the number of hits
+	 */
+	public synchronized int getAndResetHits() {
+		int result = this.hits;
+		this.hits = 0;
+		return result;
+	}
+
+	/**
+	 * Gets the number of cache misses since the last call and resets the counter.
+	 *
+	 * @return the number of misses
+	 */
+	public synchronized int getAndResetMisses() {
+		int result = this.misses;
+		this.misses = 0;
+		return result;
+	}
+
+	private void reset(Coefficients coefficients, long fingerprint) throws OpenemsException {
+		List<Constraint> allConstraints = this.data.getConstraintsForAllInverters();
+		this.constraintSet = new LinearConstraintSet(
+				LinearSolverUtil.convertToLinearConstraints(coefficients, allConstraints));
+		this.maxValues = new double[coefficients.getNoOfCoefficients()];
+		this.minValues = new double[coefficients.getNoOfCoefficients()];
+		Arrays.fill(this.maxValues, Double.NaN);
+		Arrays.fill(this.minValues, Double.NaN);
+		this.fingerprint = fingerprint;
+	}
+
+}
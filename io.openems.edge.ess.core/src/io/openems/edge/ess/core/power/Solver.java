@@ -6,8 +6,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.function.ObjIntConsumer;
 
 import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.linear.LinearConstraint;
 import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
 import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
 import org.slf4j.Logger;
@@ -20,6 +22,7 @@ import io.openems.edge.ess.api.ManagedAsymmetricEss;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.api.MetaEss;
 import io.openems.edge.ess.core.power.data.InverterPrecision;
+import io.openems.edge.ess.core.power.data.LinearSolverUtil;
 import io.openems.edge.ess.core.power.data.LogUtil;
 import io.openems.edge.ess.core.power.data.TargetDirection;
 import io.openems.edge.ess.core.power.optimizers.AddConstraintsForNotStrictlyDefinedCoefficients;
@@ -27,8 +30,11 @@ import io.openems.edge.ess.core.power.optimizers.KeepAllEqual;
 import io.openems.edge.ess.core.power.optimizers.KeepTargetDirectionAndMaximizeInOrder;
 import io.openems.edge.ess.core.power.optimizers.MoveTowardsTarget;
 import io.openems.edge.ess.core.power.optimizers.Optimizers;
+import io.openems.edge.ess.core.power.optimizers.ReduceNumberOfUsedInverters;
 import io.openems.edge.ess.core.power.solver.ConstraintSolver;
+import io.openems.edge.ess.core.power.solver.LinearConstraintsSolver;
 import io.openems.edge.ess.core.power.solver.PowerTuple;
+import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Inverter;
 import io.openems.edge.ess.power.api.OnSolved;
@@ -47,25 +53,11 @@ public class Solver {
 	private boolean debugMode = PowerComponent.DEFAULT_DEBUG_MODE;
 	private OnSolved onSolvedCallback = (isSolved, duration, strategy) -> {
 	};
-
-	private final ThrowingFunction<List<Inverter>, PointValuePair, Exception> solveWithDisabledInverters;
+	private ObjIntConsumer<PowerComponent.ChannelId> onStageSolvedCallback = (channelId, duration) -> {
+	};
 
 	public Solver(Data data) {
 		this.data = data;
-
-		/**
-		 * Solves the problem, while setting all DisabledInverters to EQUALS zero.
-		 * 
-		 * @param disabledInverters a list of disabled inverters
-		 * @return a solution
-		 * @throws NoFeasibleSolutionException if not solvable
-		 * @throws UnboundedSolutionException  if not solvable
-		 * @throws OpenemsException
-		 */
-		this.solveWithDisabledInverters = (disabledInverters) -> {
-			List<Constraint> constraints = this.data.getConstraintsWithoutDisabledInverters(disabledInverters);
-			return ConstraintSolver.solve(this.data.getCoefficients(), constraints);
-		};
 	}
 
 	/**
@@ -77,6 +69,17 @@ public class Solver {
 		this.onSolvedCallback = onSolvedCallback;
 	}
 
+	/**
+	 * Adds a callback that receives the duration in [ms] of each stage of
+	 * {@link #solve(SolverStrategy)}, identified by the Channel-ID that should
+	 * hold the duration.
+	 * 
+	 * @param onStageSolvedCallback the Callback
+	 */
+	public void onStageSolved(ObjIntConsumer<PowerComponent.ChannelId> onStageSolvedCallback) {
+		this.onStageSolvedCallback = onStageSolvedCallback;
+	}
+
 	/**
 	 * Tests whether the Problem is solvable under the current Constraints.
 	 * 
@@ -106,6 +109,41 @@ public class Solver {
 		}
 	}
 
+	/**
+	 * Creates a function that solves the problem, while setting all
+	 * DisabledInverters to EQUALS zero.
+	 * 
+	 * <p>
+	 * The Constraints are collected and converted once on the calling Cycle
+	 * thread. The function itself only reads this snapshot, so it can be called
+	 * concurrently by {@link ReduceNumberOfUsedInverters} without touching
+	 * {@link Data} or the Channels of the Ess.
+	 * 
+	 * @param allInverters all Inverters
+	 * @return the function; it throws {@link NoFeasibleSolutionException} or
+	 *         {@link UnboundedSolutionException} if not solvable
+	 * @throws OpenemsException on error
+	 */
+	private ThrowingFunction<List<Inverter>, PointValuePair, Exception> createSolveWithDisabledInverters(
+			List<Inverter> allInverters) throws OpenemsException {
+		final Coefficients coefficients = this.data.getCoefficients();
+		final List<LinearConstraint> constraints = LinearSolverUtil.convertToLinearConstraints(coefficients,
+				this.data.getConstraintsForAllInverters());
+		final Map<Inverter, List<LinearConstraint>> disableConstraints = new HashMap<>();
+		for (Inverter inverter : allInverters) {
+			disableConstraints.put(inverter, LinearSolverUtil.convertToLinearConstraints(coefficients,
+					this.data.getDisableConstraints(inverter)));
+		}
+		return (disabledInverters) -> {
+			List<LinearConstraint> result = new ArrayList<>();
+			for (Inverter inverter : disabledInverters) {
+				result.addAll(disableConstraints.get(inverter));
+			}
+			result.addAll(constraints);
+			return LinearConstraintsSolver.solve(coefficients, result);
+		};
+	}
+
 	/**
 	 * Solve and optimize the equation system.
 	 * 
@@ -149,16 +187,21 @@ public class Solver {
 			}
 
 			// Evaluates whether it is a CHARGE or DISCHARGE problem.
+			long stageStartTime = System.nanoTime();
 			targetDirection = TargetDirection.from(//
 					this.data.getInverters(), //
 					this.data.getCoefficients(), //
 					this.data.getConstraintsForAllInverters() //
 			);
+			stageStartTime = this.announceStage(PowerComponent.ChannelId.SOLVE_DURATION_TARGET_DIRECTION,
+					stageStartTime);
 
 			// Gets the target-Inverters, i.e. the Inverters that are minimally required to
 			// solve the Problem.
 			List<Inverter> targetInverters = this.optimizers.reduceNumberOfUsedInverters.apply(allInverters,
-					targetDirection, this.solveWithDisabledInverters);
+					targetDirection, this.createSolveWithDisabledInverters(allInverters));
+			stageStartTime = this.announceStage(PowerComponent.ChannelId.SOLVE_DURATION_REDUCE_INVERTERS,
+					stageStartTime);
 
 			switch (strategy) {
 			case UNDEFINED:
@@ -186,6 +229,7 @@ public class Solver {
 						SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET);
 				break;
 			}
+			this.announceStage(PowerComponent.ChannelId.SOLVE_DURATION_STRATEGIES, stageStartTime);
 
 		} catch (NoFeasibleSolutionException | UnboundedSolutionException e) {
 			if (this.debugMode) {
@@ -272,6 +316,20 @@ public class Solver {
 		}
 	}
 
+	/**
+	 * Announces the duration of a solving stage via the onStageSolved callback.
+	 * 
+	 * @param channelId the Channel-ID for the duration of the stage
+	 * @param startTime the start time of the stage from {@link System#nanoTime()}
+	 * @return the current {@link System#nanoTime()}, i.e. the start time of the
+	 *         next stage
+	 */
+	private long announceStage(PowerComponent.ChannelId channelId, long startTime) {
+		long now = System.nanoTime();
+		this.onStageSolvedCallback.accept(channelId, (int) ((now - startTime) / 1_000_000));
+		return now;
+	}
+
 	private Map<Inverter, PowerTuple> getZeroSolution(List<Inverter> allInverters) {
 		Map<Inverter, PowerTuple> result = new HashMap<>();
 		for (Inverter inv : allInverters) {
@@ -400,4 +458,22 @@ public class Solver {
 	protected void setDebugMode(boolean debugMode) {
 		this.debugMode = debugMode;
 	}
+
+	/**
+	 * Configures the {@link ReduceNumberOfUsedInverters} optimizer.
+	 * 
+	 * @param parallelism the number of Inverter setups that are tested in parallel
+	 * @param timeBudget  the time budget in [ms]; 0 to disable
+	 */
+	protected void setReduceNumberOfUsedInverters(int parallelism, int timeBudget) {
+		this.optimizers.reduceNumberOfUsedInverters.setParallelism(parallelism);
+		this.optimizers.reduceNumberOfUsedInverters.setTimeBudget(timeBudget);
+	}
+
+	/**
+	 * Stops all threads of the Solver.
+	 */
+	protected void deactivate() {
+		this.optimizers.reduceNumberOfUsedInverters.deactivate();
+	}
 }
@@ -1,7 +1,10 @@
 package io.openems.edge.ess.core.power.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.math3.optim.linear.LinearConstraint;
 import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
@@ -9,9 +12,124 @@ import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.LinearCoefficient;
+import io.openems.edge.ess.power.api.Relationship;
 
 public class LinearSolverUtil {
 
+	/**
+	 * Identifies a {@link Constraint} by its structure: the coefficients, the
+	 * relationship and the value. Constraint instances are recreated on every
+	 * Cycle, but their structure mostly stays the same.
+	 *
+	 * <p>
+	 * The {@link #PROBE} instance is reset for every lookup; only cache misses
+	 * store a {@link #copy()}.
+	 */
+	private static final class ConstraintKey {
+		private int noOfCoefficients;
+		private int[] indexes = new int[0];
+		private double[] values = new double[0];
+		private Relationship relationship;
+		private double value;
+		private int hash;
+
+		/**
+		 * Sets the structure of the given Constraint, reusing the arrays if the
+		 * number of coefficients did not change.
+		 *
+		 * @param noOfCoefficients the number of coefficients
+		 * @param c                the Constraint
+		 * @param value            the value of the Constraint
+		 * @return myself
+		 */
+		private ConstraintKey set(int noOfCoefficients, Constraint c, double value) {
+			LinearCoefficient[] coefficients = c.getCoefficients();
+			if (this.indexes.length != coefficients.length) {
+				this.indexes = new int[coefficients.length];
+				this.values = new double[coefficients.length];
+			}
+			this.noOfCoefficients = noOfCoefficients;
+			for (int i = 0; i < coefficients.length; i++) {
+				this.indexes[i] = coefficients[i].getCoefficient().getIndex();
+				this.values[i] = coefficients[i].getValue();
+			}
+			this.relationship = c.getRelationship();
+			this.value = value;
+			int hash = noOfCoefficients;
+			hash = 31 * hash + Arrays.hashCode(this.indexes);
+			hash = 31 * hash + Arrays.hashCode(this.values);
+			hash = 31 * hash + this.relationship.hashCode();
+			hash = 31 * hash + Double.hashCode(value);
+			this.hash = hash;
+			return this;
+		}
+
+		/**
+		 * Creates a copy that is not affected by later calls to
+		 * {@link #set(int, Constraint, double)}.
+		 *
+		 * @return the copy
+		 */
+		private ConstraintKey copy() {
+			ConstraintKey result = new ConstraintKey();
+			result.noOfCoefficients = this.noOfCoefficients;
+			result.indexes = this.indexes.clone();
+			result.values = this.values.clone();
+			result.relationship = this.relationship;
+			result.value = this.value;
+			result.hash = this.hash;
+			return result;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ConstraintKey)) {
+				return false;
+			}
+			ConstraintKey other = (ConstraintKey) obj;
+			return this.hash == other.hash //
+					&& this.noOfCoefficients == other.noOfCoefficients //
+					&& this.relationship == other.relationship //
+					&& Double.compare(this.value, other.value) == 0 //
+					&& Arrays.equals(this.indexes, other.indexes) //
+					&& Arrays.equals(this.values, other.values);
+		}
+	}
+
+	private static final int MAX_CACHE_SIZE = 1024;
+
+	/**
+	 * Caches converted Constraints by their structure, so that Constraints that
+	 * are recreated with the same coefficients and value - within a Cycle and
+	 * across Cycles - are not converted again. The least recently used entries
+	 * are removed.
+	 *
+	 * <p>
+	 * Guarded by itself; also guards {@link #PROBE}.
+	 */
+	private static final Map<ConstraintKey, LinearConstraint> CACHE = new LinkedHashMap<ConstraintKey, LinearConstraint>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ConstraintKey, LinearConstraint> eldest) {
+			return this.size() > MAX_CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * The reused key for cache lookups.
+	 */
+	private static final ConstraintKey PROBE = new ConstraintKey();
+
 	/**
 	 * Gets all Constraints converted to Linear Constraints.
 	 * 
@@ -21,32 +139,54 @@ public class LinearSolverUtil {
 	 */
 	public static List<LinearConstraint> convertToLinearConstraints(Coefficients coefficients,
 			List<Constraint> constraints) {
-		List<LinearConstraint> result = new ArrayList<>();
-		for (Constraint c : constraints) {
-			if (c.getValue().isPresent()) {
-				double[] cos = generateEmptyCoefficientsArray(coefficients.getNoOfCoefficients());
-				for (LinearCoefficient co : c.getCoefficients()) {
-					// TODO verify, that ESS is enabled
-					cos[co.getCoefficient().getIndex()] = co.getValue();
+		final int noOfCoefficients = coefficients.getNoOfCoefficients();
+		List<LinearConstraint> result = new ArrayList<>(constraints.size());
+		synchronized (CACHE) {
+			for (Constraint c : constraints) {
+				if (c.getValue().isPresent()) {
+					double value = c.getValue().get();
+					ConstraintKey key = PROBE.set(noOfCoefficients, c, value);
+					LinearConstraint linearConstraint = CACHE.get(key);
+					if (linearConstraint == null) {
+						linearConstraint = convertToLinearConstraint(noOfCoefficients, c, value);
+						CACHE.put(key.copy(), linearConstraint);
+					}
+					result.add(linearConstraint);
 				}
-				org.apache.commons.math3.optim.linear.Relationship relationship = null;
-				switch (c.getRelationship()) {
-				case EQUALS:
-					relationship = org.apache.commons.math3.optim.linear.Relationship.EQ;
-					break;
-				case GREATER_OR_EQUALS:
-					relationship = org.apache.commons.math3.optim.linear.Relationship.GEQ;
-					break;
-				case LESS_OR_EQUALS:
-					relationship = org.apache.commons.math3.optim.linear.Relationship.LEQ;
-					break;
-				}
-				result.add(new LinearConstraint(cos, relationship, c.getValue().get()));
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * Converts a Constraint to a Linear Constraint.
+	 * 
+	 * @param noOfCoefficients the number of coefficients
+	 * @param c                the Constraint
+	 * @param value            the value of the Constraint
+	 * @return the LinearConstraint
+	 */
+	private static LinearConstraint convertToLinearConstraint(int noOfCoefficients, Constraint c, double value) {
+		double[] cos = generateEmptyCoefficientsArray(noOfCoefficients);
+		for (LinearCoefficient co : c.getCoefficients()) {
+			// TODO verify, that ESS is enabled
+			cos[co.getCoefficient().getIndex()] = co.getValue();
+		}
+		org.apache.commons.math3.optim.linear.Relationship relationship = null;
+		switch (c.getRelationship()) {
+		case EQUALS:
+			relationship = org.apache.commons.math3.optim.linear.Relationship.EQ;
+			break;
+		case GREATER_OR_EQUALS:
+			relationship = org.apache.commons.math3.optim.linear.Relationship.GEQ;
+			break;
+		case LESS_OR_EQUALS:
+			relationship = org.apache.commons.math3.optim.linear.Relationship.LEQ;
+			break;
+		}
+		return new LinearConstraint(cos, relationship, value);
+	}
+
 	/**
 	 * Gets an empty coefficients array required for linear solver.
 	 * 
@@ -1,7 +1,21 @@
 package io.openems.edge.ess.core.power.optimizers;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.math3.optim.PointValuePair;
 
@@ -17,13 +31,72 @@ public class ReduceNumberOfUsedInverters {
 	private int targetDirectionChangedSince = 0;
 	private int lastLowestTrueIndex = -1;
 
+	private int parallelism = 1;
+	private int timeBudget = 0;
+	private ExecutorService pool = null;
+
+	/**
+	 * Sets the number of solutions that are tested in parallel. A value of 1 tests
+	 * all solutions sequentially on the calling thread.
+	 * 
+	 * @param parallelism the number of parallel tests
+	 */
+	public synchronized void setParallelism(int parallelism) {
+		parallelism = Math.max(1, parallelism);
+		if (this.parallelism == parallelism) {
+			return;
+		}
+		this.parallelism = parallelism;
+		this.shutdownPool();
+		if (parallelism > 1) {
+			AtomicInteger threadNumber = new AtomicInteger();
+			this.pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+				Thread thread = new Thread(runnable,
+						ReduceNumberOfUsedInverters.class.getSimpleName() + "-" + threadNumber.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * Sets the time budget in [ms] for {@link #apply(List, TargetDirection,
+	 * ThrowingFunction)}. If the budget is exceeded, the best solution that was
+	 * already validated in this run is used; if there is none, no Inverter is
+	 * disabled. A value of 0 disables the budget.
+	 * 
+	 * @param timeBudget the time budget in [ms]
+	 */
+	public void setTimeBudget(int timeBudget) {
+		this.timeBudget = Math.max(0, timeBudget);
+	}
+
+	/**
+	 * Stops the threads for parallel tests.
+	 */
+	public synchronized void deactivate() {
+		this.shutdownPool();
+		this.parallelism = 1;
+	}
+
+	private void shutdownPool() {
+		if (this.pool != null) {
+			this.pool.shutdownNow();
+			this.pool = null;
+		}
+	}
+
 	/**
 	 * Finds the Inverters that are minimally required to fulfill all Constraints.
 	 * 
 	 * <p>
 	 * This method removes inverters till it finds a minimum setup. It uses an
 	 * algorithm similarly to binary tree search to find the minimum required number
-	 * of inverters.
+	 * of inverters. With a parallelism greater than 1 (see
+	 * {@link #setParallelism(int)}) several solutions are tested concurrently; the
+	 * validateFunction must then be safe to be called from several threads, i.e.
+	 * it should only read a snapshot of the Constraints that was taken on the
+	 * calling thread.
 	 * 
 	 * @param allInverters     a list of all inverters
 	 * @param targetDirection  the target direction
@@ -31,7 +104,7 @@ public class ReduceNumberOfUsedInverters {
 	 *                         a given list of disabled Inverters.
 	 * @return a list of target inverters
 	 */
-	public List<Inverter> apply(List<Inverter> allInverters, TargetDirection targetDirection,
+	public synchronized List<Inverter> apply(List<Inverter> allInverters, TargetDirection targetDirection,
 			ThrowingFunction<List<Inverter>, PointValuePair, Exception> validateFunction) {
 		// Only zero or one inverters available? No need to optimize.
 		if (allInverters.size() < 2) {
@@ -69,32 +142,73 @@ public class ReduceNumberOfUsedInverters {
 		 * </ul>
 		 */
 		Boolean[] testedSolutions = new Boolean[sortedInverters.size()];
+		final long deadline = this.timeBudget > 0 ? System.nanoTime() + this.timeBudget * 1_000_000L : Long.MAX_VALUE;
+
+		boolean isFinished;
+		if (this.pool == null) {
+			isFinished = this.testSequentially(sortedInverters, testedSolutions, deadline, validateFunction);
+		} else {
+			isFinished = this.testInParallel(sortedInverters, testedSolutions, deadline, validateFunction);
+		}
+
+		final int lowestTrueIndex;
+		if (isFinished) {
+			// lowestTrueIndex is the optimal solution
+			lowestTrueIndex = getLowestTrueIndex(testedSolutions);
+			this.lastLowestTrueIndex = lowestTrueIndex;
+
+		} else {
+			// time budget exceeded -> take the best solution that was validated against
+			// the current Constraints; the result of the last run might not be feasible
+			// anymore
+			lowestTrueIndex = getLowestTrueIndex(testedSolutions);
+		}
 
+		// build result
+		List<Inverter> result = new ArrayList<>(allInverters);
+		if (lowestTrueIndex == -1) {
+			// no solution -> do not disable any Inverters
+		} else {
+			List<Inverter> disabledInverters = getDisabledInverters(sortedInverters, lowestTrueIndex);
+			for (Inverter disabledInverter : disabledInverters) {
+				result.remove(disabledInverter);
+			}
+		}
+
+		// get result in the order of preferred usage
+		if (this.activeTargetDirection == TargetDirection.CHARGE) {
+			result = Lists.reverse(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Tests the solutions one by one on the current thread.
+	 * 
+	 * @param sortedInverters  the sorted list of inverters
+	 * @param testedSolutions  the tested solutions
+	 * @param deadline         the deadline from {@link System#nanoTime()}
+	 * @param validateFunction the validate function
+	 * @return true if finished; false if the deadline was exceeded
+	 */
+	private boolean testSequentially(List<Inverter> sortedInverters, Boolean[] testedSolutions, long deadline,
+			ThrowingFunction<List<Inverter>, PointValuePair, Exception> validateFunction) {
 		while (true) {
 			// find first and last untested index
-			int firstUntestedIndex = -1;
-			for (int i = 0; i < testedSolutions.length; i++) {
-				if (testedSolutions[i] == null) {
-					firstUntestedIndex = i;
-					break;
-				}
-			}
-			int lastUntestedIndex = -1;
-			for (int i = testedSolutions.length - 1; i > -1; i--) {
-				if (testedSolutions[i] == null) {
-					lastUntestedIndex = i;
-					break;
-				}
-			}
+			int firstUntestedIndex = getFirstUntestedIndex(testedSolutions);
+			int lastUntestedIndex = getLastUntestedIndex(testedSolutions);
 
 			if (firstUntestedIndex == -1 || lastUntestedIndex == -1) {
 				// No untested solution left? -> finished
-				break;
+				return true;
+			}
+			if (System.nanoTime() > deadline) {
+				return false;
 			}
 
 			final int testIndex;
 			if (firstUntestedIndex == 0 && lastUntestedIndex == testedSolutions.length - 1
-					&& this.lastLowestTrueIndex != -1) {
+					&& this.lastLowestTrueIndex != -1 && this.lastLowestTrueIndex < testedSolutions.length) {
 				// reload best result of last run; if this run is similar, this approach will
 				// save some time
 				testIndex = this.lastLowestTrueIndex;
@@ -102,50 +216,176 @@ public class ReduceNumberOfUsedInverters {
 				testIndex = (firstUntestedIndex + lastUntestedIndex) / 2;
 			}
 
-			try {
-				validateFunction.apply(getDisabledInverters(sortedInverters, testIndex));
+			setTestedSolution(testedSolutions, testIndex,
+					isSolvable(sortedInverters, testIndex, validateFunction));
+		}
+	}
+
+	/**
+	 * Tests the solutions in rounds. Each round evaluates several candidate indices
+	 * concurrently on the thread pool and narrows down the range of untested
+	 * indices. Tasks whose result is no longer required - because of another
+	 * result or because the deadline was exceeded - are cancelled and
+	 * interrupted. A running solver probe cannot be stopped, but its late result
+	 * is never read: every call uses its own {@link ExecutorCompletionService}.
+	 * 
+	 * @param sortedInverters  the sorted list of inverters
+	 * @param testedSolutions  the tested solutions
+	 * @param deadline         the deadline from {@link System#nanoTime()}
+	 * @param validateFunction the validate function
+	 * @return true if finished; false if the deadline was exceeded
+	 */
+	private boolean testInParallel(List<Inverter> sortedInverters, Boolean[] testedSolutions, long deadline,
+			ThrowingFunction<List<Inverter>, PointValuePair, Exception> validateFunction) {
+		ExecutorCompletionService<Boolean> completionService = new ExecutorCompletionService<>(this.pool);
+		Map<Future<Boolean>, Integer> tasks = new HashMap<>();
+		boolean isFirstRound = true;
+		try {
+			while (true) {
+				// find first and last untested index
+				int firstUntestedIndex = getFirstUntestedIndex(testedSolutions);
+				int lastUntestedIndex = getLastUntestedIndex(testedSolutions);
 
-				// solved successfully
-				for (int i = lastUntestedIndex; i >= testIndex; i--) {
-					testedSolutions[i] = true;
+				if (firstUntestedIndex == -1 || lastUntestedIndex == -1) {
+					// No untested solution left? -> finished
+					return true;
 				}
 
-			} catch (Exception e) {
+				// submit candidates of this round
+				for (int testIndex : this.getCandidates(firstUntestedIndex, lastUntestedIndex, isFirstRound)) {
+					tasks.put(completionService.submit(() -> isSolvable(sortedInverters, testIndex, validateFunction)),
+							testIndex);
+				}
+				isFirstRound = false;
+
+				while (!tasks.isEmpty()) {
+					long remaining = deadline - System.nanoTime();
+					Future<Boolean> future = completionService.poll(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+					if (future == null) {
+						// time budget exceeded
+						return false;
+					}
+					Integer testIndex = tasks.remove(future);
+					if (testIndex == null || future.isCancelled()) {
+						// cancelled by a previous result
+						continue;
+					}
+					setTestedSolution(testedSolutions, testIndex, future.get());
 
-				// solved unsuccessfully
-				for (int i = firstUntestedIndex; i <= testIndex; i++) {
-					testedSolutions[i] = false;
+					// stop tasks that became obsolete
+					Iterator<Entry<Future<Boolean>, Integer>> iter = tasks.entrySet().iterator();
+					while (iter.hasNext()) {
+						Entry<Future<Boolean>, Integer> task = iter.next();
+						if (testedSolutions[task.getValue()] != null) {
+							task.getKey().cancel(true);
+							iter.remove();
+						}
+					}
 				}
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			return false;
+
+		} finally {
+			cancel(tasks.keySet());
+		}
+	}
+
+	/**
+	 * Gets the candidate indices for one round of parallel tests. The indices are
+	 * evenly distributed between first and last untested index. In the first round
+	 * the best result of last run and its lower neighbour are tested first; if
+	 * this run is similar, the boundary is found in one round.
+	 * 
+	 * @param firstUntestedIndex the first untested index
+	 * @param lastUntestedIndex  the last untested index
+	 * @param isFirstRound       is this the first round?
+	 * @return the candidate indices
+	 */
+	private Set<Integer> getCandidates(int firstUntestedIndex, int lastUntestedIndex, boolean isFirstRound) {
+		int noOfUntested = lastUntestedIndex - firstUntestedIndex + 1;
+		int noOfCandidates = Math.min(this.parallelism, noOfUntested);
+		Set<Integer> result = new LinkedHashSet<>();
+		if (isFirstRound && this.lastLowestTrueIndex != -1 && this.lastLowestTrueIndex <= lastUntestedIndex) {
+			result.add(this.lastLowestTrueIndex);
+			if (this.lastLowestTrueIndex > firstUntestedIndex && noOfCandidates > 1) {
+				result.add(this.lastLowestTrueIndex - 1);
+			}
+		}
+		for (int i = 1; result.size() < noOfCandidates && i <= noOfCandidates; i++) {
+			result.add(firstUntestedIndex + (i * noOfUntested) / (noOfCandidates + 1));
+		}
+		return result;
+	}
+
+	private static boolean isSolvable(List<Inverter> sortedInverters, int testIndex,
+			ThrowingFunction<List<Inverter>, PointValuePair, Exception> validateFunction) {
+		if (Thread.currentThread().isInterrupted()) {
+			// cancelled before start
+			return false;
+		}
+		try {
+			validateFunction.apply(getDisabledInverters(sortedInverters, testIndex));
+			// solved successfully
+			return true;
+		} catch (Exception e) {
+			// solved unsuccessfully
+			return false;
+		}
+	}
 
+	/**
+	 * Stores the result of a test. A feasible solution implies that all solutions
+	 * with more enabled Inverters are feasible; an infeasible solution implies
+	 * that all solutions with less enabled Inverters are infeasible.
+	 * 
+	 * @param testedSolutions the tested solutions
+	 * @param testIndex       the tested index
+	 * @param isSolvable      the result of the test
+	 */
+	private static void setTestedSolution(Boolean[] testedSolutions, int testIndex, boolean isSolvable) {
+		if (isSolvable) {
+			for (int i = testIndex; i < testedSolutions.length && testedSolutions[i] == null; i++) {
+				testedSolutions[i] = true;
+			}
+		} else {
+			for (int i = testIndex; i >= 0 && testedSolutions[i] == null; i--) {
+				testedSolutions[i] = false;
 			}
 		}
+	}
 
-		// lowestTrueIndex is the optimal solution
-		int lowestTrueIndex = -1;
+	private static int getFirstUntestedIndex(Boolean[] testedSolutions) {
 		for (int i = 0; i < testedSolutions.length; i++) {
-			if (testedSolutions[i] == Boolean.TRUE) {
-				lowestTrueIndex = i;
-				break;
+			if (testedSolutions[i] == null) {
+				return i;
 			}
 		}
-		this.lastLowestTrueIndex = lowestTrueIndex;
+		return -1;
+	}
 
-		// build result
-		List<Inverter> result = new ArrayList<>(allInverters);
-		if (lowestTrueIndex == -1) {
-			// no solution -> do not disable any Inverters
-		} else {
-			List<Inverter> disabledInverters = getDisabledInverters(sortedInverters, lowestTrueIndex);
-			for (Inverter disabledInverter : disabledInverters) {
-				result.remove(disabledInverter);
+	private static int getLastUntestedIndex(Boolean[] testedSolutions) {
+		for (int i = testedSolutions.length - 1; i > -1; i--) {
+			if (testedSolutions[i] == null) {
+				return i;
 			}
 		}
+		return -1;
+	}
 
-		// get result in the order of preferred usage
-		if (this.activeTargetDirection == TargetDirection.CHARGE) {
-			result = Lists.reverse(result);
+	private static int getLowestTrueIndex(Boolean[] testedSolutions) {
+		for (int i = 0; i < testedSolutions.length; i++) {
+			if (testedSolutions[i] == Boolean.TRUE) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static void cancel(Collection<Future<Boolean>> futures) {
+		for (Future<Boolean> future : futures) {
+			future.cancel(true);
 		}
-		return result;
 	}
 
 	private static List<Inverter> getDisabledInverters(List<Inverter> allInverters, int index) {
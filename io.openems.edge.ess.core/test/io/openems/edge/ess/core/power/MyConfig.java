@@ -10,6 +10,8 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		public SolverStrategy strategy;
 		public boolean symmetricMode;
 		public boolean debugMode;
+		public int parallelInverterTests = PowerComponent.DEFAULT_PARALLEL_INVERTER_TESTS;
+		public int reduceInvertersTimeBudget = PowerComponent.DEFAULT_REDUCE_INVERTERS_TIME_BUDGET;
 		public boolean enablePid;
 		public double p;
 		public double i;
@@ -34,6 +36,16 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setParallelInverterTests(int parallelInverterTests) {
+			this.parallelInverterTests = parallelInverterTests;
+			return this;
+		}
+
+		public Builder setReduceInvertersTimeBudget(int reduceInvertersTimeBudget) {
+			this.reduceInvertersTimeBudget = reduceInvertersTimeBudget;
+			return this;
+		}
+
 		public Builder setEnablePid(boolean enablePid) {
 			this.enablePid = enablePid;
 			return this;
@@ -90,6 +102,16 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.debugMode;
 	}
 
+	@Override
+	public int parallelInverterTests() {
+		return this.builder.parallelInverterTests;
+	}
+
+	@Override
+	public int reduceInvertersTimeBudget() {
+		return this.builder.reduceInvertersTimeBudget;
+	}
+
 	@Override
 	public boolean enablePid() {
 		return this.builder.enablePid;
@@ -0,0 +1,148 @@
+package io.openems.edge.ess.core.power;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.core.power.data.ConstraintUtil;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+
+public class PowerExtremaCacheTest {
+
+	private static final String ESS_ID = "ess0";
+
+	private DummyManagedSymmetricEss ess;
+	private Data data;
+	private PowerExtremaCache sut;
+
+	@Before
+	public void before() {
+		this.ess = new DummyManagedSymmetricEss(ESS_ID, new PowerComponentImpl()) //
+				.withAllowedChargePower(-8000) //
+				.withAllowedDischargePower(10000) //
+				.withMaxApparentPower(12000) //
+				.withSoc(50);
+		this.data = new Data();
+		this.data.addEss(this.ess);
+		this.data.initializeCycle();
+		this.sut = new PowerExtremaCache(this.data);
+	}
+
+	private double getMax() throws OpenemsException {
+		return this.sut.get(ESS_ID, Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE);
+	}
+
+	private double getMin() throws OpenemsException {
+		return this.sut.get(ESS_ID, Phase.ALL, Pwr.ACTIVE, GoalType.MINIMIZE);
+	}
+
+	/**
+	 * Asserts the hits and misses since the last call.
+	 *
+	 * @param hits   the expected hits
+	 * @param misses the expected misses
+	 */
+	private void assertHitsAndMisses(int hits, int misses) {
+		assertEquals(hits, this.sut.getAndResetHits());
+		assertEquals(misses, this.sut.getAndResetMisses());
+	}
+
+	@Test
+	public void testHits() throws OpenemsException {
+		assertEquals(10000, this.getMax(), 0.1);
+		assertEquals(-8000, this.getMin(), 0.1);
+		this.assertHitsAndMisses(0, 2);
+
+		assertEquals(10000, this.getMax(), 0.1);
+		assertEquals(-8000, this.getMin(), 0.1);
+		this.assertHitsAndMisses(2, 0);
+	}
+
+	@Test
+	public void testInvalidateOnAddAndRemoveConstraint() throws OpenemsException {
+		assertEquals(10000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(0, 1);
+
+		Constraint constraint = ConstraintUtil.createSimpleConstraint(this.data.getCoefficients(), "test", ESS_ID,
+				Phase.ALL, Pwr.ACTIVE, Relationship.LESS_OR_EQUALS, 5000);
+		this.data.addConstraint(constraint);
+		assertEquals(5000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(0, 1);
+
+		this.data.removeConstraint(constraint);
+		assertEquals(10000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(0, 1);
+
+		// removing an unknown Constraint keeps the cache
+		this.data.removeConstraint(constraint);
+		assertEquals(10000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(1, 0);
+
+		this.data.addSimpleConstraint("test", ESS_ID, Phase.ALL, Pwr.ACTIVE, Relationship.GREATER_OR_EQUALS, -2000);
+		assertEquals(-2000, this.getMin(), 0.1);
+		this.assertHitsAndMisses(0, 1);
+	}
+
+	@Test
+	public void testInvalidateOnChangeOfConstraintValue() throws OpenemsException {
+		Constraint constraint = ConstraintUtil.createSimpleConstraint(this.data.getCoefficients(), "test", ESS_ID,
+				Phase.ALL, Pwr.ACTIVE, Relationship.LESS_OR_EQUALS, 5000);
+		this.data.addConstraint(constraint);
+		assertEquals(5000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(0, 1);
+
+		constraint.setValue(3000);
+		assertEquals(3000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(0, 1);
+
+		constraint.disable();
+		assertEquals(10000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(0, 1);
+
+		assertEquals(10000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(1, 0);
+	}
+
+	@Test
+	public void testInvalidateEssConstraints() throws OpenemsException {
+		assertEquals(10000, this.getMax(), 0.1);
+		this.ess.withAllowedDischargePower(6000);
+
+		// Ess-Constraints are still cached for this Cycle
+		assertEquals(10000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(1, 1);
+
+		this.data.invalidateEssConstraints();
+		assertEquals(6000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(0, 1);
+
+		// next Cycle
+		this.ess.withAllowedDischargePower(7000);
+		this.data.initializeCycle();
+		assertEquals(7000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(0, 1);
+	}
+
+	@Test
+	public void testInvalidateOnChangeOfEss() throws OpenemsException {
+		assertEquals(10000, this.getMax(), 0.1);
+
+		DummyManagedSymmetricEss ess1 = new DummyManagedSymmetricEss("ess1", new PowerComponentImpl()) //
+				.withAllowedChargePower(-3000) //
+				.withAllowedDischargePower(3000) //
+				.withMaxApparentPower(3000) //
+				.withSoc(50);
+		this.data.addEss(ess1);
+		assertEquals(3000, this.sut.get("ess1", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), 0.1);
+		assertEquals(10000, this.getMax(), 0.1);
+		this.assertHitsAndMisses(0, 3);
+	}
+
+}
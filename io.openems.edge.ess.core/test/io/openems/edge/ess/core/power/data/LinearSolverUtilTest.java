@@ -0,0 +1,85 @@
+package io.openems.edge.ess.core.power.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.math3.optim.linear.LinearConstraint;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.power.api.Coefficient;
+import io.openems.edge.ess.power.api.Coefficients;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.LinearCoefficient;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+
+public class LinearSolverUtilTest {
+
+	private Coefficients coefficients;
+	private Coefficient p;
+	private Coefficient q;
+
+	@Before
+	public void before() throws OpenemsException {
+		this.coefficients = new Coefficients();
+		this.coefficients.initialize(true, Collections.singleton("ess0"));
+		this.p = this.coefficients.of("ess0", Phase.ALL, Pwr.ACTIVE);
+		this.q = this.coefficients.of("ess0", Phase.ALL, Pwr.REACTIVE);
+	}
+
+	private Constraint constraint(double value) {
+		return new Constraint("ess0: P <= value", new LinearCoefficient[] { //
+				new LinearCoefficient(this.p, 1) }, Relationship.LESS_OR_EQUALS, value);
+	}
+
+	@Test
+	public void testConvert() {
+		Constraint c = new Constraint("ess0: P + 2*Q = 100", new LinearCoefficient[] { //
+				new LinearCoefficient(this.p, 1), new LinearCoefficient(this.q, 2) },
+				Relationship.EQUALS, 100);
+		LinearConstraint result = LinearSolverUtil.convertToLinearConstraints(this.coefficients, Arrays.asList(c))
+				.get(0);
+		assertEquals(org.apache.commons.math3.optim.linear.Relationship.EQ, result.getRelationship());
+		assertEquals(100, result.getValue(), 0.001);
+		assertEquals(1, result.getCoefficients().getEntry(this.p.getIndex()), 0.001);
+		assertEquals(2, result.getCoefficients().getEntry(this.q.getIndex()), 0.001);
+	}
+
+	@Test
+	public void testCacheByStructure() {
+		// Constraints are recreated every Cycle
+		List<LinearConstraint> cycle1 = LinearSolverUtil.convertToLinearConstraints(this.coefficients,
+				Arrays.asList(this.constraint(5000)));
+		List<LinearConstraint> cycle2 = LinearSolverUtil.convertToLinearConstraints(this.coefficients,
+				Arrays.asList(this.constraint(5000)));
+		List<LinearConstraint> cycle3 = LinearSolverUtil.convertToLinearConstraints(this.coefficients,
+				Arrays.asList(this.constraint(4000)));
+
+		assertSame(cycle1.get(0), cycle2.get(0));
+		assertNotSame(cycle1.get(0), cycle3.get(0));
+		assertEquals(4000, cycle3.get(0).getValue(), 0.001);
+	}
+
+	@Test
+	public void testCachedKeysAreNotAffectedByLaterLookups() {
+		Constraint c = new Constraint("ess0: P + 2*Q = 100", new LinearCoefficient[] { //
+				new LinearCoefficient(this.p, 1), new LinearCoefficient(this.q, 2) }, Relationship.EQUALS, 100);
+		List<LinearConstraint> first = LinearSolverUtil.convertToLinearConstraints(this.coefficients,
+				Arrays.asList(this.constraint(3000), c, this.constraint(2000)));
+		List<LinearConstraint> second = LinearSolverUtil.convertToLinearConstraints(this.coefficients,
+				Arrays.asList(this.constraint(2000), c, this.constraint(3000)));
+
+		assertSame(first.get(0), second.get(2));
+		assertSame(first.get(1), second.get(1));
+		assertSame(first.get(2), second.get(0));
+	}
+
+}
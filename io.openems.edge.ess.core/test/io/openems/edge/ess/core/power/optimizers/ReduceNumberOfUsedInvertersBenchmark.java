@@ -0,0 +1,88 @@
+package io.openems.edge.ess.core.power.optimizers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.core.power.data.TargetDirection;
+import io.openems.edge.ess.core.power.data.WeightsUtil;
+import io.openems.edge.ess.power.api.Inverter;
+import io.openems.edge.ess.power.api.ThreePhaseInverter;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+
+/**
+ * Benchmark for {@link ReduceNumberOfUsedInverters}; not part of the unit
+ * tests.
+ *
+ * <p>
+ * Every test of a solution busy-waits for a fixed duration, like a CPU-bound
+ * solver run. The required number of Inverters changes randomly from run to
+ * run. Prints the average duration of one run for sequential and parallel
+ * tests and different numbers of Inverters.
+ *
+ * <p>
+ * Run as Java application; optional arguments: duration of one test in [us],
+ * number of runs.
+ */
+public class ReduceNumberOfUsedInvertersBenchmark {
+
+	private static final int[] NO_OF_INVERTERS = { 4, 8, 16, 32 };
+	private static final int[] PARALLELISM = { 1, 2, 4 };
+
+	public static void main(String[] args) {
+		final long testNanos = (args.length > 0 ? Long.parseLong(args[0]) : 500) * 1_000;
+		final int noOfRuns = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+		System.out.println(String.format("Test duration [%d] us, Runs [%d]", testNanos / 1_000, noOfRuns));
+		for (int noOfInverters : NO_OF_INVERTERS) {
+			List<Inverter> inverters = createInverters(noOfInverters);
+			StringBuilder line = new StringBuilder(String.format("Inverters [%2d]", noOfInverters));
+			for (int parallelism : PARALLELISM) {
+				ReduceNumberOfUsedInverters sut = new ReduceNumberOfUsedInverters();
+				sut.setParallelism(parallelism);
+				try {
+					// same sequence of required Inverters for every parallelism
+					Random random = new Random(0);
+					long start = 0;
+					for (int run = -noOfRuns / 10; run < noOfRuns; run++) {
+						if (run == 0) {
+							// first runs are warm-up
+							start = System.nanoTime();
+						}
+						int required = 1 + random.nextInt(noOfInverters);
+						sut.apply(inverters, TargetDirection.DISCHARGE, disabledInverters -> {
+							long end = System.nanoTime() + testNanos;
+							while (System.nanoTime() < end) {
+								// busy-wait like a solver run
+							}
+							if (noOfInverters - disabledInverters.size() < required) {
+								throw new Exception("Not solved");
+							}
+							return null;
+						});
+					}
+					line.append(String.format(" Parallelism [%d]: %6.2f ms", parallelism,
+							(System.nanoTime() - start) / 1_000_000.0 / noOfRuns));
+				} finally {
+					sut.deactivate();
+				}
+			}
+			System.out.println(line);
+		}
+	}
+
+	private static List<Inverter> createInverters(int noOfInverters) {
+		List<ManagedSymmetricEss> esss = new ArrayList<>();
+		List<Inverter> result = new ArrayList<>();
+		for (int i = 0; i < noOfInverters; i++) {
+			DummyManagedSymmetricEss ess = new DummyManagedSymmetricEss("ess" + i).withSoc(i * 100 / noOfInverters);
+			esss.add(ess);
+			result.add(new ThreePhaseInverter(ess.id()));
+		}
+		WeightsUtil.updateWeightsFromSoc(result, esss);
+		WeightsUtil.sortByWeights(result);
+		return result;
+	}
+
+}
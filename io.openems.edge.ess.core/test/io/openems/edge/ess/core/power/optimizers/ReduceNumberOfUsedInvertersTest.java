@@ -1,10 +1,14 @@
 package io.openems.edge.ess.core.power.optimizers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.math3.optim.PointValuePair;
 import org.junit.Before;
@@ -102,6 +106,109 @@ public class ReduceNumberOfUsedInvertersTest {
 		assertEquals("ess2", inv.getEssId());
 	}
 
+	@Test
+	public void testParallel() {
+		for (int noOfInverters : new int[] { 4, 8, 16, 32 }) {
+			List<Inverter> inverters = createInverters(noOfInverters);
+			ReduceNumberOfUsedInverters sequential = new ReduceNumberOfUsedInverters();
+			ReduceNumberOfUsedInverters parallel = new ReduceNumberOfUsedInverters();
+			parallel.setParallelism(4);
+			try {
+				for (int required = 0; required <= noOfInverters + 1; required++) {
+					ValidateFunction validateFunction = new ValidateFunction(inverters, required, 1);
+					List<Inverter> expected = sequential.apply(inverters, TargetDirection.DISCHARGE, validateFunction);
+					List<Inverter> actual = parallel.apply(inverters, TargetDirection.DISCHARGE, validateFunction);
+					assertEquals(noOfInverters + " Inverters; " + required + " required", expected, actual);
+				}
+			} finally {
+				parallel.deactivate();
+			}
+		}
+	}
+
+	@Test
+	public void testTimeBudget() {
+		sut.setParallelism(2);
+		try {
+			// find solution with 3 inverters
+			List<Inverter> inverters = sut.apply(allInverters, TargetDirection.DISCHARGE,
+					new ValidateFunction(allInverters, 3));
+			assertEquals(3, inverters.size());
+
+			// exceed time budget without a validated solution -> use all inverters; the
+			// solution of the last run is not feasible anymore
+			sut.setTimeBudget(10);
+			inverters = sut.apply(allInverters, TargetDirection.DISCHARGE, new ValidateFunction(allInverters, 4, 100));
+			assertEquals(4, inverters.size());
+		} finally {
+			sut.deactivate();
+		}
+	}
+
+	@Test
+	public void testTimeBudgetWithValidatedSolution() {
+		// find solution with 3 inverters
+		List<Inverter> inverters = sut.apply(allInverters, TargetDirection.DISCHARGE,
+				new ValidateFunction(allInverters, 3));
+		assertEquals(3, inverters.size());
+
+		// the solution of the last run is validated again first; the next test
+		// exceeds the time budget -> use the validated solution
+		sut.setTimeBudget(50);
+		ValidateFunction slowValidateFunction = new ValidateFunction(allInverters, 2, 200);
+		inverters = sut.apply(allInverters, TargetDirection.DISCHARGE, disabledInverters -> {
+			if (disabledInverters.size() == 1) {
+				return null;
+			}
+			return slowValidateFunction.apply(disabledInverters);
+		});
+		assertEquals(3, inverters.size());
+	}
+
+	@Test
+	public void testInterruptLateTests() throws InterruptedException {
+		sut.setParallelism(2);
+		try {
+			List<Inverter> inverters = sut.apply(allInverters, TargetDirection.DISCHARGE,
+					new ValidateFunction(allInverters, 3));
+			assertEquals(3, inverters.size());
+
+			// both tests of the first round never finish by themselves
+			sut.setTimeBudget(10);
+			CountDownLatch interrupted = new CountDownLatch(2);
+			inverters = sut.apply(allInverters, TargetDirection.DISCHARGE, disabledInverters -> {
+				try {
+					new CountDownLatch(1).await();
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+				}
+				return null;
+			});
+			assertEquals(4, inverters.size());
+			assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+
+			// late results do not affect the next run
+			sut.setTimeBudget(0);
+			inverters = sut.apply(allInverters, TargetDirection.DISCHARGE, new ValidateFunction(allInverters, 2));
+			assertEquals(2, inverters.size());
+		} finally {
+			sut.deactivate();
+		}
+	}
+
+	private static List<Inverter> createInverters(int noOfInverters) {
+		List<ManagedSymmetricEss> esss = new ArrayList<>();
+		List<Inverter> result = new ArrayList<>();
+		for (int i = 0; i < noOfInverters; i++) {
+			DummyManagedSymmetricEss ess = new DummyManagedSymmetricEss("ess" + i).withSoc(i * 100 / noOfInverters);
+			esss.add(ess);
+			result.add(new ThreePhaseInverter(ess.id()));
+		}
+		WeightsUtil.updateWeightsFromSoc(result, esss);
+		WeightsUtil.sortByWeights(result);
+		return result;
+	}
+
 	/**
 	 * Dummy ValidateFunction. In reality this is done by
 	 * 'solveWithDisabledInverters' in {@link Solver}.
@@ -110,14 +217,32 @@ public class ReduceNumberOfUsedInvertersTest {
 
 		private final List<Inverter> allInverters;
 		private final int requiredNumberOfInverters;
+		private final long simulatedDuration;
 
 		protected ValidateFunction(List<Inverter> allInverters, int requiredNumberOfInverters) {
+			this(allInverters, requiredNumberOfInverters, 0);
+		}
+
+		/**
+		 * Creates a ValidateFunction that simulates the duration of a real solver
+		 * run.
+		 * 
+		 * @param allInverters              all inverters
+		 * @param requiredNumberOfInverters the required number of inverters
+		 * @param simulatedDuration         the simulated duration in [ms]
+		 */
+		protected ValidateFunction(List<Inverter> allInverters, int requiredNumberOfInverters,
+				long simulatedDuration) {
 			this.allInverters = allInverters;
 			this.requiredNumberOfInverters = requiredNumberOfInverters;
+			this.simulatedDuration = simulatedDuration;
 		}
 
 		@Override
 		public PointValuePair apply(List<Inverter> disabledInverters) throws Exception {
+			if (this.simulatedDuration > 0) {
+				Thread.sleep(this.simulatedDuration);
+			}
 			if (this.allInverters.size() - disabledInverters.size() < this.requiredNumberOfInverters) {
 				throw new Exception("Not solved");
 			} else {
@@ -1,21 +1,13 @@
 package io.openems.edge.io.shelly.common;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-
-import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
-import io.openems.common.exceptions.OpenemsException;
-import io.openems.common.utils.JsonUtils;
+import io.openems.edge.bridge.http.api.HttpEndpoint;
 
 /**
  * Implements the local Shelly REST Api.
- * 
+ *
+ * <p>
+ * The requests are executed by the {@link io.openems.edge.bridge.http.api.BridgeHttp}.
+ *
  * <p>
  * See https://shelly-api-docs.shelly.cloud
  */
@@ -28,82 +20,41 @@ public class ShellyApi {
 	}
 
 	/**
-	 * Gets the status of the device.
-	 * 
+	 * Gets the endpoint for the status of the device.
+	 *
 	 * <p>
 	 * See https://shelly-api-docs.shelly.cloud/#shelly2-5-status
-	 * 
-	 * @param index the index of the relay
-	 * @return the status as JsonObject according to Shelly docs
-	 * @throws OpenemsNamedException on error
+	 *
+	 * @return the {@link HttpEndpoint}; the response is a JsonObject according to
+	 *         Shelly docs
 	 */
-	public JsonObject getStatus() throws OpenemsNamedException {
-		return JsonUtils.getAsJsonObject(this.sendGetRequest("/status"));
+	public HttpEndpoint getStatus() {
+		return new HttpEndpoint(this.baseUrl + "/status");
 	}
 
 	/**
-	 * Gets the "ison" state of the relay with the given index.
-	 * 
+	 * Gets the endpoint for the "ison" state of the relay with the given index.
+	 *
 	 * <p>
 	 * See https://shelly-api-docs.shelly.cloud/#shelly2-5-relay-index
-	 * 
+	 *
 	 * @param index the index of the relay
-	 * @return the boolean value
-	 * @throws OpenemsNamedException on error
+	 * @return the {@link HttpEndpoint}; the response holds the boolean value
+	 *         "ison"
 	 */
-	public boolean getRelayIson(int index) throws OpenemsNamedException {
-		JsonElement json = this.sendGetRequest("/relay/" + index);
-		return JsonUtils.getAsBoolean(json, "ison");
+	public HttpEndpoint getRelayIson(int index) {
+		return new HttpEndpoint(this.baseUrl + "/relay/" + index);
 	}
 
 	/**
-	 * Turns the relay with the given index on or off.
-	 * 
+	 * Gets the endpoint to turn the relay with the given index on or off.
+	 *
 	 * @param index the index of the relay
 	 * @param value true to turn on; false to turn off
-	 * @throws OpenemsNamedException on error
-	 */
-	public void setRelayTurn(int index, boolean value) throws OpenemsNamedException {
-		this.sendGetRequest("/relay/" + index + "?turn=" + (value ? "on" : "off"));
-	}
-
-	/**
-	 * Sends a get request to the Shelly API.
-	 * 
-	 * @param endpoint the REST Api endpoint
-	 * @return a JsonObject or JsonArray
-	 * @throws OpenemsNamedException on error
+	 * @return the {@link HttpEndpoint}
 	 */
-	private JsonElement sendGetRequest(String endpoint) throws OpenemsNamedException {
-		try {
-			URL url = new URL(this.baseUrl + endpoint);
-			HttpURLConnection con = (HttpURLConnection) url.openConnection();
-			con.setRequestMethod("GET");
-			con.setConnectTimeout(5000);
-			con.setReadTimeout(5000);
-			int status = con.getResponseCode();
-			String body;
-			try (BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream()))) {
-				// Read HTTP response
-				StringBuilder content = new StringBuilder();
-				String line;
-				while ((line = in.readLine()) != null) {
-					content.append(line);
-					content.append(System.lineSeparator());
-				}
-				body = content.toString();
-			}
-			if (status < 300) {
-				// Parse response to JSON
-				return JsonUtils.parseToJsonObject(body);
-			} else {
-				throw new OpenemsException(
-						"Error while reading from Shelly API. Response code: " + status + ". " + body);
-			}
-		} catch (OpenemsNamedException | IOException e) {
-			throw new OpenemsException(
-					"Unable to read from Shelly API. " + e.getClass().getSimpleName() + ": " + e.getMessage());
-		}
+	public HttpEndpoint setRelayTurn(int index, boolean value) {
+		return new HttpEndpoint(this.baseUrl + "/relay/" + index + "?turn=" + (value ? "on" : "off"));
 	}
 
 }
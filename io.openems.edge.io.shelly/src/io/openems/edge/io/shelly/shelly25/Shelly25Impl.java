@@ -2,12 +2,15 @@ package io.openems.edge.io.shelly.shelly25;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventConstants;
 import org.osgi.service.event.EventHandler;
@@ -16,10 +19,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.utils.JsonUtils;
+import io.openems.edge.bridge.http.api.BridgeHttp;
+import io.openems.edge.bridge.http.api.BridgeHttp.CycleSubscription;
 import io.openems.edge.common.channel.BooleanWriteChannel;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
@@ -33,7 +40,6 @@ import io.openems.edge.io.shelly.common.ShellyApi;
 		name = "IO.Shelly.25", //
 		immediate = true, //
 		configurationPolicy = ConfigurationPolicy.REQUIRE, property = { //
-				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE, //
 				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE //
 		})
 public class Shelly25Impl extends AbstractOpenemsComponent
@@ -42,7 +48,20 @@ public class Shelly25Impl extends AbstractOpenemsComponent
 	private final Logger log = LoggerFactory.getLogger(Shelly25Impl.class);
 
 	private final BooleanWriteChannel[] digitalOutputChannels;
+	/**
+	 * Per relay: is a write request in flight?
+	 */
+	private final AtomicBoolean[] isWriteRunning = { new AtomicBoolean(false), new AtomicBoolean(false) };
+	/**
+	 * The error of the last failed write request; applied on the Cycle thread in
+	 * {@link #processStatus(JsonElement, Throwable)}.
+	 */
+	private final AtomicReference<Throwable> writeError = new AtomicReference<>();
 	private ShellyApi shellyApi = null;
+	private CycleSubscription statusSubscription = null;
+
+	@Reference
+	protected BridgeHttp httpBridge;
 
 	public Shelly25Impl() {
 		super(//
@@ -60,10 +79,18 @@ public class Shelly25Impl extends AbstractOpenemsComponent
 	void activate(ComponentContext context, Config config) {
 		super.activate(context, config.id(), config.alias(), config.enabled());
 		this.shellyApi = new ShellyApi(config.ip());
+		if (config.enabled()) {
+			this.statusSubscription = this.httpBridge.subscribeJsonEveryCycle(this.shellyApi.getStatus(),
+					this::processStatus);
+		}
 	}
 
 	@Deactivate
 	protected void deactivate() {
+		if (this.statusSubscription != null) {
+			this.httpBridge.removeCycleSubscription(this.statusSubscription);
+			this.statusSubscription = null;
+		}
 		super.deactivate();
 	}
 
@@ -101,10 +128,6 @@ public class Shelly25Impl extends AbstractOpenemsComponent
 		}
 
 		switch (event.getTopic()) {
-		case EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE:
-			this.eventBeforeProcessImage();
-			break;
-
 		case EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE:
 			this.eventExecuteWrite();
 			break;
@@ -112,25 +135,32 @@ public class Shelly25Impl extends AbstractOpenemsComponent
 	}
 
 	/**
-	 * Execute on Cycle Event "Before Process Image".
+	 * Processes the status of the device. This is called by the HTTP bridge on
+	 * Cycle Event "Before Process Image".
+	 * 
+	 * @param json  the status as JsonObject according to Shelly docs
+	 * @param error the error; or null
 	 */
-	private void eventBeforeProcessImage() {
+	private void processStatus(JsonElement json, Throwable error) {
 		Boolean relay1IsOn;
 		Boolean relay2IsOn;
 		try {
-			JsonObject json = this.shellyApi.getStatus();
+			if (error != null) {
+				throw new OpenemsException(error.getMessage());
+			}
 			JsonArray relays = JsonUtils.getAsJsonArray(json, "relays");
 			JsonObject relay1 = JsonUtils.getAsJsonObject(relays.get(0));
 			relay1IsOn = JsonUtils.getAsBoolean(relay1, "ison");
 			JsonObject relay2 = JsonUtils.getAsJsonObject(relays.get(1));
 			relay2IsOn = JsonUtils.getAsBoolean(relay2, "ison");
 
-			this._setSlaveCommunicationFailed(false);
+			this._setSlaveCommunicationFailed(this.writeError.getAndSet(null) != null);
 
 		} catch (OpenemsNamedException | IndexOutOfBoundsException e) {
 			relay1IsOn = null;
 			relay2IsOn = null;
 			this.logError(this.log, "Unable to read from Shelly API: " + e.getMessage());
+			this.writeError.set(null);
 			this._setSlaveCommunicationFailed(true);
 		}
 		this._setRelay1(relay1IsOn);
@@ -141,17 +171,11 @@ public class Shelly25Impl extends AbstractOpenemsComponent
 	 * Execute on Cycle Event "Execute Write".
 	 */
 	private void eventExecuteWrite() {
-		try {
-			this.executeWrite(this.getRelay1Channel(), 0);
-			this.executeWrite(this.getRelay2Channel(), 1);
-
-			this._setSlaveCommunicationFailed(false);
-		} catch (OpenemsNamedException e) {
-			this._setSlaveCommunicationFailed(true);
-		}
+		this.executeWrite(this.getRelay1Channel(), 0);
+		this.executeWrite(this.getRelay2Channel(), 1);
 	}
 
-	private void executeWrite(BooleanWriteChannel channel, int index) throws OpenemsNamedException {
+	private void executeWrite(BooleanWriteChannel channel, int index) {
 		Boolean readValue = channel.value().get();
 		Optional<Boolean> writeValue = channel.getNextWriteValueAndReset();
 		if (!writeValue.isPresent()) {
@@ -162,7 +186,18 @@ public class Shelly25Impl extends AbstractOpenemsComponent
 			// read value = write value
 			return;
 		}
-		this.shellyApi.setRelayTurn(index, writeValue.get());
+		if (!this.isWriteRunning[index].compareAndSet(false, true)) {
+			// last write is still running; the value is written again in a later Cycle
+			return;
+		}
+		this.httpBridge.request(this.shellyApi.setRelayTurn(index, writeValue.get())).whenComplete((body, error) -> {
+			this.isWriteRunning[index].set(false);
+			if (error != null) {
+				// runs in the HTTP thread -> set SlaveCommunicationFailed in the next Cycle
+				this.logError(this.log, "Unable to write to Shelly API: " + error.getMessage());
+				this.writeError.set(error);
+			}
+		});
 	}
 
 }
\ No newline at end of file
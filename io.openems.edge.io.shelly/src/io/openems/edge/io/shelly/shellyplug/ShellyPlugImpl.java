@@ -2,12 +2,15 @@ package io.openems.edge.io.shelly.shellyplug;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventConstants;
 import org.osgi.service.event.EventHandler;
@@ -16,10 +19,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.utils.JsonUtils;
+import io.openems.edge.bridge.http.api.BridgeHttp;
+import io.openems.edge.bridge.http.api.BridgeHttp.CycleSubscription;
 import io.openems.edge.common.channel.BooleanWriteChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -32,7 +39,6 @@ import io.openems.edge.io.shelly.common.ShellyApi;
 		name = "IO.Shelly.Plug", //
 		immediate = true, //
 		configurationPolicy = ConfigurationPolicy.REQUIRE, property = { //
-				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE, //
 				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE //
 		})
 public class ShellyPlugImpl extends AbstractOpenemsComponent
@@ -41,7 +47,20 @@ public class ShellyPlugImpl extends AbstractOpenemsComponent
 	private final Logger log = LoggerFactory.getLogger(ShellyPlugImpl.class);
 
 	private final BooleanWriteChannel[] digitalOutputChannels;
+	/**
+	 * Per relay: is a write request in flight?
+	 */
+	private final AtomicBoolean[] isWriteRunning = { new AtomicBoolean(false) };
+	/**
+	 * The error of the last failed write request; applied on the Cycle thread in
+	 * {@link #processStatus(JsonElement, Throwable)}.
+	 */
+	private final AtomicReference<Throwable> writeError = new AtomicReference<>();
 	private ShellyApi shellyApi = null;
+	private CycleSubscription statusSubscription = null;
+
+	@Reference
+	protected BridgeHttp httpBridge;
 
 	public ShellyPlugImpl() {
 		super(//
@@ -58,10 +77,18 @@ public class ShellyPlugImpl extends AbstractOpenemsComponent
 	void activate(ComponentContext context, Config config) {
 		super.activate(context, config.id(), config.alias(), config.enabled());
 		this.shellyApi = new ShellyApi(config.ip());
+		if (config.enabled()) {
+			this.statusSubscription = this.httpBridge.subscribeJsonEveryCycle(this.shellyApi.getStatus(),
+					this::processStatus);
+		}
 	}
 
 	@Deactivate
 	protected void deactivate() {
+		if (this.statusSubscription != null) {
+			this.httpBridge.removeCycleSubscription(this.statusSubscription);
+			this.statusSubscription = null;
+		}
 		super.deactivate();
 	}
 
@@ -91,10 +118,6 @@ public class ShellyPlugImpl extends AbstractOpenemsComponent
 		}
 
 		switch (event.getTopic()) {
-		case EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE:
-			this.eventBeforeProcessImage();
-			break;
-
 		case EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE:
 			this.eventExecuteWrite();
 			break;
@@ -102,13 +125,19 @@ public class ShellyPlugImpl extends AbstractOpenemsComponent
 	}
 
 	/**
-	 * Execute on Cycle Event "Before Process Image".
+	 * Processes the status of the device. This is called by the HTTP bridge on
+	 * Cycle Event "Before Process Image".
+	 * 
+	 * @param json  the status as JsonObject according to Shelly docs
+	 * @param error the error; or null
 	 */
-	private void eventBeforeProcessImage() {
+	private void processStatus(JsonElement json, Throwable error) {
 		Boolean relayIson = null;
 		Integer power = null;
 		try {
-			JsonObject json = this.shellyApi.getStatus();
+			if (error != null) {
+				throw new OpenemsException(error.getMessage());
+			}
 			JsonArray relays = JsonUtils.getAsJsonArray(json, "relays");
 			JsonObject relay1 = JsonUtils.getAsJsonObject(relays.get(0));
 			relayIson = JsonUtils.getAsBoolean(relay1, "ison");
@@ -116,10 +145,11 @@ public class ShellyPlugImpl extends AbstractOpenemsComponent
 			JsonObject meter1 = JsonUtils.getAsJsonObject(meters.get(0));
 			power = Math.round(JsonUtils.getAsFloat(meter1, "power"));
 
-			this._setSlaveCommunicationFailed(false);
+			this._setSlaveCommunicationFailed(this.writeError.getAndSet(null) != null);
 
-		} catch (OpenemsNamedException e) {
+		} catch (OpenemsNamedException | IndexOutOfBoundsException e) {
 			this.logError(this.log, "Unable to read from Shelly API: " + e.getMessage());
+			this.writeError.set(null);
 			this._setSlaveCommunicationFailed(true);
 		}
 		this._setRelay(relayIson);
@@ -130,16 +160,10 @@ public class ShellyPlugImpl extends AbstractOpenemsComponent
 	 * Execute on Cycle Event "Execute Write".
 	 */
 	private void eventExecuteWrite() {
-		try {
-			this.executeWrite(this.getRelayChannel(), 0);
-
-			this._setSlaveCommunicationFailed(false);
-		} catch (OpenemsNamedException e) {
-			this._setSlaveCommunicationFailed(true);
-		}
+		this.executeWrite(this.getRelayChannel(), 0);
 	}
 
-	private void executeWrite(BooleanWriteChannel channel, int index) throws OpenemsNamedException {
+	private void executeWrite(BooleanWriteChannel channel, int index) {
 		Boolean readValue = channel.value().get();
 		Optional<Boolean> writeValue = channel.getNextWriteValueAndReset();
 		if (!writeValue.isPresent()) {
@@ -150,7 +174,18 @@ public class ShellyPlugImpl extends AbstractOpenemsComponent
 			// read value = write value
 			return;
 		}
-		this.shellyApi.setRelayTurn(index, writeValue.get());
+		if (!this.isWriteRunning[index].compareAndSet(false, true)) {
+			// last write is still running; the value is written again in a later Cycle
+			return;
+		}
+		this.httpBridge.request(this.shellyApi.setRelayTurn(index, writeValue.get())).whenComplete((body, error) -> {
+			this.isWriteRunning[index].set(false);
+			if (error != null) {
+				// runs in the HTTP thread -> set SlaveCommunicationFailed in the next Cycle
+				this.logError(this.log, "Unable to write to Shelly API: " + error.getMessage());
+				this.writeError.set(error);
+			}
+		});
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,331 @@
+package io.openems.edge.simulator.app;
+
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.cycle.CycleTimestamp;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.test.TimeLeapClock;
+import io.openems.edge.controller.api.Controller;
+
+/**
+ * Executes simulation {@link Scenario}s faster than real-time.
+ *
+ * <p>
+ * Every {@link Scenario} runs on its own Component instances with its own
+ * {@link SimulationComponentManager}, clock and {@link CycleTimestamp} -
+ * independently of the OSGi framework, the Core.Cycle and of other scenarios. Cycles are executed
+ * back-to-back in the same order as in the OpenEMS Edge Cycle, without waiting
+ * for wall-clock time. Scenarios are executed in parallel in a pool of worker
+ * threads. Results are collected in a columnar {@link SimulationResult}.
+ *
+ * <p>
+ * Every EventHandler receives all Cycle events; Controllers are executed in the
+ * order they were added to the {@link SimulationComponentManager}.
+ *
+ * <p>
+ * This is a Java API, e.g. for tuning tools and tests; it is not available via
+ * JSON-RPC, because the Components of a scenario - including Ess.Power, '_sum'
+ * and the Controllers - are provided by a {@link Scenario.ComponentFactory} of
+ * the caller.
+ */
+public class BatchSimulation {
+
+	private static final String[] BEFORE_CONTROLLERS_TOPICS = { //
+			EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS };
+	private static final String[] AFTER_CONTROLLERS_TOPICS = { //
+			EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS, //
+			EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, //
+			EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE, //
+			EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE };
+
+	private static final Event BEFORE_PROCESS_IMAGE = new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE,
+			new HashMap<>());
+	private static final Event AFTER_PROCESS_IMAGE = new Event(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE,
+			new HashMap<>());
+	private static final Event[] BEFORE_CONTROLLERS = toEvents(BEFORE_CONTROLLERS_TOPICS);
+	private static final Event[] AFTER_CONTROLLERS = toEvents(AFTER_CONTROLLERS_TOPICS);
+
+	private static Event[] toEvents(String[] topics) {
+		Event[] result = new Event[topics.length];
+		for (int i = 0; i < topics.length; i++) {
+			result[i] = new Event(topics[i], new HashMap<>());
+		}
+		return result;
+	}
+
+	private static final Logger LOG = LoggerFactory.getLogger(BatchSimulation.class);
+
+	private final ExecutorService executor;
+
+	/**
+	 * Creates a {@link BatchSimulation}.
+	 *
+	 * @param noOfThreads the number of scenarios that are executed in parallel
+	 */
+	public BatchSimulation(int noOfThreads) {
+		AtomicInteger counter = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(noOfThreads, runnable -> {
+			Thread thread = new Thread(runnable, "Simulator.Batch-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Stops the worker threads. Running scenarios are interrupted.
+	 */
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	/**
+	 * Submits a {@link Scenario} for execution.
+	 *
+	 * @param scenario the {@link Scenario}
+	 * @return the future {@link SimulationResult}
+	 */
+	public CompletableFuture<SimulationResult> submit(Scenario scenario) {
+		CompletableFuture<SimulationResult> result = new CompletableFuture<>();
+		try {
+			this.executor.execute(() -> {
+				try {
+					result.complete(execute(scenario));
+				} catch (Throwable e) {
+					result.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
+	/**
+	 * Executes all {@link Scenario}s in parallel and waits for their results.
+	 *
+	 * @param scenarios the {@link Scenario}s
+	 * @return the {@link SimulationResult}s in the order of the scenarios
+	 * @throws OpenemsException on error
+	 */
+	public List<SimulationResult> executeAll(List<Scenario> scenarios) throws OpenemsException {
+		List<CompletableFuture<SimulationResult>> futures = new ArrayList<>();
+		for (Scenario scenario : scenarios) {
+			futures.add(this.submit(scenario));
+		}
+		List<SimulationResult> results = new ArrayList<>();
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				results.add(futures.get(i).get());
+			} catch (Exception e) {
+				Throwable cause = e.getCause() != null ? e.getCause() : e;
+				throw new OpenemsException("Simulation of scenario [" + scenarios.get(i).name + "] failed: "
+						+ cause.getClass().getSimpleName() + ": " + cause.getMessage());
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Executes a {@link Scenario} in the current thread. The {@link CycleTimestamp}
+	 * of the scenario is bound to the thread during the execution.
+	 *
+	 * @param scenario the {@link Scenario}
+	 * @return the {@link SimulationResult}
+	 * @throws Exception on error
+	 */
+	public static SimulationResult execute(Scenario scenario) throws Exception {
+		TimeLeapClock clock = new TimeLeapClock(scenario.clock.start.toInstant(), ZoneId.systemDefault());
+		CycleTimestamp cycleTimestamp = new CycleTimestamp(clock).bindToCurrentThread();
+		try {
+			return execute(scenario, clock, cycleTimestamp);
+		} finally {
+			CycleTimestamp.unbindCurrentThread();
+		}
+	}
+
+	private static SimulationResult execute(Scenario scenario, TimeLeapClock clock, CycleTimestamp cycleTimestamp)
+			throws Exception {
+		SimulationComponentManager componentManager = new SimulationComponentManager(clock);
+		ProfileDatasource datasource = new ProfileDatasource(scenario.profiles);
+		scenario.factory.createComponents(componentManager, datasource, scenario.components);
+
+		// Prepare everything that is required per Cycle
+		List<OpenemsComponent> components = componentManager.getEnabledComponents();
+		List<Channel<?>> channels = new ArrayList<>();
+		List<Sum> sums = new ArrayList<>();
+		List<Channel<?>> sumChannels = new ArrayList<>();
+		List<EventHandler> eventHandlers = new ArrayList<>();
+		List<Controller> controllers = new ArrayList<>();
+		for (OpenemsComponent component : components) {
+			if (component instanceof Sum) {
+				sums.add((Sum) component);
+				sumChannels.addAll(component.channels());
+			} else {
+				channels.addAll(component.channels());
+			}
+			if (component instanceof EventHandler) {
+				eventHandlers.add((EventHandler) component);
+			}
+			if (component instanceof Controller) {
+				controllers.add((Controller) component);
+			}
+		}
+		Channel<?>[] collects = new Channel<?>[scenario.collects.size()];
+		for (int i = 0; i < collects.length; i++) {
+			collects[i] = componentManager.getChannel(scenario.collects.get(i));
+		}
+		Cycle cycle = new Cycle(scenario.name, channels.toArray(new Channel<?>[channels.size()]),
+				sums.toArray(new Sum[sums.size()]), sumChannels.toArray(new Channel<?>[sumChannels.size()]),
+				eventHandlers.toArray(new EventHandler[eventHandlers.size()]),
+				controllers.toArray(new Controller[controllers.size()]));
+
+		SimulationResult result = new SimulationResult(clock.getZone(), scenario.collects);
+		final long end = scenario.clock.end.toInstant().toEpochMilli();
+		final long collectIntervalMillis = scenario.collectInterval * 1000L;
+		long nextCollect = Long.MIN_VALUE;
+		long lastCollect = Long.MIN_VALUE;
+		int repeatCounter = 0;
+		long noOfCycles = 0;
+		long startedAt = System.nanoTime();
+
+		while (true) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException("Simulation of scenario [" + scenario.name + "] was interrupted");
+			}
+			cycleTimestamp.update(clock);
+			long now = clock.millis();
+			cycle.processImage();
+
+			// Collect data
+			if (now >= nextCollect || now == lastCollect) {
+				result.add(now, collects);
+				lastCollect = now;
+				if (collectIntervalMillis > 0) {
+					nextCollect = now - now % collectIntervalMillis + collectIntervalMillis;
+				}
+			}
+
+			cycle.controllers();
+			noOfCycles++;
+
+			// Apply simulated Time-Leap per Cycle
+			if (scenario.clock.executeCycleTwice) {
+				if (++repeatCounter == 2) {
+					repeatCounter = 0;
+				}
+			}
+			if (repeatCounter == 0) {
+				clock.leap(scenario.clock.timeleapPerCycle, ChronoUnit.MILLIS);
+				datasource.selectNextValues();
+			}
+			if (clock.millis() > end) {
+				break;
+			}
+		}
+
+		long millis = (System.nanoTime() - startedAt) / 1_000_000;
+		LOG.info("Simulated scenario [" + scenario.name + "]: " + noOfCycles + " Cycles in " + millis + " ms");
+		return result;
+	}
+
+	/**
+	 * Executes the phases of one Cycle like the Core.Cycle does.
+	 */
+	private static class Cycle {
+		private final String name;
+		private final Channel<?>[] channels;
+		private final Sum[] sums;
+		private final Channel<?>[] sumChannels;
+		private final EventHandler[] eventHandlers;
+		private final Controller[] controllers;
+		private final boolean[] hasFailed;
+
+		private Cycle(String name, Channel<?>[] channels, Sum[] sums, Channel<?>[] sumChannels,
+				EventHandler[] eventHandlers, Controller[] controllers) {
+			this.name = name;
+			this.channels = channels;
+			this.sums = sums;
+			this.sumChannels = sumChannels;
+			this.eventHandlers = eventHandlers;
+			this.controllers = controllers;
+			this.hasFailed = new boolean[controllers.length];
+		}
+
+		/**
+		 * Switches to the next process image, surrounded by the
+		 * BEFORE_PROCESS_IMAGE and AFTER_PROCESS_IMAGE events.
+		 */
+		private void processImage() {
+			this.sendEvent(BEFORE_PROCESS_IMAGE);
+			for (Channel<?> channel : this.channels) {
+				channel.nextProcessImage();
+			}
+			for (Sum sum : this.sums) {
+				sum.updateChannelsBeforeProcessImage();
+			}
+			for (Channel<?> channel : this.sumChannels) {
+				channel.nextProcessImage();
+			}
+			this.sendEvent(AFTER_PROCESS_IMAGE);
+		}
+
+		/**
+		 * Executes the Controllers and the write events.
+		 */
+		private void controllers() {
+			for (Event event : BEFORE_CONTROLLERS) {
+				this.sendEvent(event);
+			}
+			for (int i = 0; i < this.controllers.length; i++) {
+				Controller controller = this.controllers[i];
+				boolean hasFailed;
+				try {
+					controller.run();
+					hasFailed = false;
+				} catch (Exception e) {
+					hasFailed = true;
+					if (!this.hasFailed[i]) {
+						// log only the first of consecutive errors
+						LOG.warn("[" + this.name + "] Error in Controller [" + controller.id() + "]. "
+								+ e.getClass().getSimpleName() + ": " + e.getMessage());
+					}
+				}
+				this.hasFailed[i] = hasFailed;
+				controller._setRunFailed(hasFailed);
+			}
+			for (Event event : AFTER_CONTROLLERS) {
+				this.sendEvent(event);
+			}
+		}
+
+		private void sendEvent(Event event) {
+			for (EventHandler eventHandler : this.eventHandlers) {
+				try {
+					eventHandler.handleEvent(event);
+				} catch (RuntimeException e) {
+					LOG.warn("[" + this.name + "] Error while handling [" + event.getTopic() + "]. "
+							+ e.getClass().getSimpleName() + ": " + e.getMessage());
+				}
+			}
+		}
+	}
+
+}
@@ -68,7 +68,7 @@ public class ExecuteSimulationRequest extends JsonrpcRequest {
 		public final int timeleapPerCycle;
 		public final boolean executeCycleTwice;
 
-		private Clock(ZonedDateTime start, ZonedDateTime end, int timeleapPerCycle, boolean executeCycleTwice) {
+		public Clock(ZonedDateTime start, ZonedDateTime end, int timeleapPerCycle, boolean executeCycleTwice) {
 			this.start = start;
 			this.end = end;
 			this.timeleapPerCycle = timeleapPerCycle;
@@ -36,6 +36,7 @@ import io.openems.common.types.ChannelAddress;
 public class ExecuteSimulationResponse extends JsonrpcResponseSuccess {
 
 	private final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> data;
+	private final SimulationResult simulationResult;
 
 	public ExecuteSimulationResponse(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> data) {
 		this(UUID.randomUUID(), data);
@@ -44,10 +45,21 @@ public class ExecuteSimulationResponse extends JsonrpcResponseSuccess {
 	public ExecuteSimulationResponse(UUID id, SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> data) {
 		super(id);
 		this.data = data;
+		this.simulationResult = null;
+	}
+
+	public ExecuteSimulationResponse(UUID id, SimulationResult simulationResult) {
+		super(id);
+		this.data = null;
+		this.simulationResult = simulationResult;
 	}
 
 	@Override
 	public JsonObject getResult() {
+		if (this.simulationResult != null) {
+			return this.simulationResult.toJson();
+		}
+
 		JsonObject result = new JsonObject();
 
 		JsonArray timestamps = new JsonArray();
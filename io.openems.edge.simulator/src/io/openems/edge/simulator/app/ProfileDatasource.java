@@ -0,0 +1,66 @@
+package io.openems.edge.simulator.app;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.type.TypeUtils;
+import io.openems.edge.simulator.app.ExecuteSimulationRequest.Profile;
+import io.openems.edge.simulator.datasource.api.SimulatorDatasource;
+
+/**
+ * Provides the {@link Profile}s of one simulation scenario as
+ * {@link SimulatorDatasource}.
+ *
+ * <p>
+ * The position in the profiles is kept here and not in the {@link Profile}
+ * itself, so the same profiles can be used by scenarios that run in parallel.
+ */
+public class ProfileDatasource implements SimulatorDatasource {
+
+	private final Map<String, Profile> profiles;
+	// the current index per profile; a one-element array to avoid boxing
+	private final Map<String, int[]> indexes = new HashMap<>();
+
+	public ProfileDatasource(Map<String, Profile> profiles) {
+		this.profiles = profiles;
+		for (String key : profiles.keySet()) {
+			this.indexes.put(key, new int[] { 0 });
+		}
+	}
+
+	/**
+	 * Selects the next value of every {@link Profile}.
+	 */
+	public void selectNextValues() {
+		for (Entry<String, int[]> entry : this.indexes.entrySet()) {
+			int[] index = entry.getValue();
+			index[0] += 1;
+			if (index[0] > this.profiles.get(entry.getKey()).values.size() - 1) {
+				index[0] = 0;
+			}
+		}
+	}
+
+	@Override
+	public Set<String> getKeys() {
+		return this.profiles.keySet();
+	}
+
+	@Override
+	public int getTimeDelta() {
+		return -1;
+	}
+
+	@Override
+	public <T> T getValue(OpenemsType type, String channelAddress) {
+		Profile profile = this.profiles.get(channelAddress);
+		if (profile == null) {
+			return null;
+		}
+		return TypeUtils.getAsType(type, profile.values.get(this.indexes.get(channelAddress)[0]));
+	}
+
+}
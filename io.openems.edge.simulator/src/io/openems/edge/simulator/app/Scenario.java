@@ -0,0 +1,94 @@
+package io.openems.edge.simulator.app;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.openems.common.jsonrpc.request.CreateComponentConfigRequest;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.simulator.app.ExecuteSimulationRequest.Clock;
+import io.openems.edge.simulator.app.ExecuteSimulationRequest.Profile;
+import io.openems.edge.simulator.datasource.api.SimulatorDatasource;
+
+/**
+ * Describes one simulation scenario of a {@link BatchSimulation}.
+ */
+public class Scenario {
+
+	/**
+	 * Creates the Components of a scenario.
+	 */
+	@FunctionalInterface
+	public interface ComponentFactory {
+
+		/**
+		 * Creates and activates the Components and adds them to the
+		 * {@link SimulationComponentManager}.
+		 *
+		 * <p>
+		 * This is called once per execution of the scenario, so every execution
+		 * works on its own Component instances. Components can be activated using
+		 * the OpenEMS Component test framework.
+		 *
+		 * @param componentManager the {@link SimulationComponentManager} of the
+		 *                         scenario; it provides the simulated clock
+		 * @param datasource       the {@link SimulatorDatasource} holding the
+		 *                         profiles
+		 * @param components       the Component configurations of the scenario,
+		 *                         e.g. from the {@link ExecuteSimulationRequest}
+		 * @throws Exception on error
+		 */
+		public void createComponents(SimulationComponentManager componentManager, SimulatorDatasource datasource,
+				List<CreateComponentConfigRequest> components) throws Exception;
+
+	}
+
+	/**
+	 * Creates a {@link Scenario} from an {@link ExecuteSimulationRequest}.
+	 *
+	 * <p>
+	 * The Components of the request are not created via OSGi; the
+	 * {@link ComponentFactory} creates them from their configurations.
+	 *
+	 * @param request         the {@link ExecuteSimulationRequest}
+	 * @param collectInterval see {@link #collectInterval}
+	 * @param factory         the {@link ComponentFactory}
+	 * @return the {@link Scenario}
+	 */
+	public static Scenario from(ExecuteSimulationRequest request, int collectInterval, ComponentFactory factory) {
+		return new Scenario(request.getId().toString(), request.components, request.clock, request.profiles,
+				request.collects, collectInterval, factory);
+	}
+
+	public final String name;
+	public final List<CreateComponentConfigRequest> components;
+	public final Clock clock;
+	public final Map<String, Profile> profiles;
+	public final List<ChannelAddress> collects;
+
+	/**
+	 * Collect the Channels only every x seconds of simulated time; 0 to collect
+	 * them on every Cycle.
+	 */
+	public final int collectInterval;
+
+	public final ComponentFactory factory;
+
+	public Scenario(String name, Clock clock, Map<String, Profile> profiles, List<ChannelAddress> collects,
+			int collectInterval, ComponentFactory factory) {
+		this(name, Collections.emptyList(), clock, profiles, collects, collectInterval, factory);
+	}
+
+	public Scenario(String name, List<CreateComponentConfigRequest> components, Clock clock,
+			Map<String, Profile> profiles, List<ChannelAddress> collects, int collectInterval,
+			ComponentFactory factory) {
+		this.name = name;
+		this.components = components;
+		this.clock = clock;
+		this.profiles = profiles;
+		this.collects = collects;
+		this.collectInterval = collectInterval;
+		this.factory = factory;
+	}
+
+}
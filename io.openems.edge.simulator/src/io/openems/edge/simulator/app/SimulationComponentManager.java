@@ -0,0 +1,133 @@
+package io.openems.edge.simulator.app;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.osgi.service.component.ComponentContext;
+
+import io.openems.common.OpenemsConstants;
+import io.openems.common.exceptions.NotImplementedException;
+import io.openems.common.exceptions.OpenemsError;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.session.User;
+import io.openems.common.types.EdgeConfig;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * The {@link ComponentManager} of one isolated simulation scenario in a
+ * {@link BatchSimulation}.
+ *
+ * <p>
+ * It holds the Components of the scenario - independently of the OSGi
+ * framework and of other scenarios - and provides the simulated clock.
+ */
+public class SimulationComponentManager implements ComponentManager {
+
+	private final List<OpenemsComponent> components = new ArrayList<>();
+	private final Map<String, OpenemsComponent> componentsById = new HashMap<>();
+	private final Clock clock;
+
+	public SimulationComponentManager(Clock clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * Adds a Component to the scenario. Controllers are executed in the order
+	 * they were added.
+	 *
+	 * @param component the activated {@link OpenemsComponent}
+	 * @return myself
+	 */
+	public SimulationComponentManager addComponent(OpenemsComponent component) {
+		this.components.add(component);
+		this.componentsById.put(component.id(), component);
+		return this;
+	}
+
+	@Override
+	public List<OpenemsComponent> getEnabledComponents() {
+		return Collections.unmodifiableList(this.components);
+	}
+
+	@Override
+	public List<OpenemsComponent> getAllComponents() {
+		return Collections.unmodifiableList(this.components);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends OpenemsComponent> T getComponent(String componentId) throws OpenemsNamedException {
+		if (componentId.equals(OpenemsConstants.COMPONENT_MANAGER_ID)) {
+			return (T) this;
+		}
+		OpenemsComponent component = this.componentsById.get(componentId);
+		if (component == null) {
+			throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
+		}
+		return (T) component;
+	}
+
+	@Override
+	public <T extends OpenemsComponent> T getPossiblyDisabledComponent(String componentId)
+			throws OpenemsNamedException {
+		return this.getComponent(componentId);
+	}
+
+	@Override
+	public Clock getClock() {
+		return this.clock;
+	}
+
+	@Override
+	public EdgeConfig getEdgeConfig() {
+		return new EdgeConfig();
+	}
+
+	@Override
+	public String id() {
+		return OpenemsConstants.COMPONENT_MANAGER_ID;
+	}
+
+	@Override
+	public String alias() {
+		return OpenemsConstants.COMPONENT_MANAGER_ID;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	@Override
+	public ComponentContext getComponentContext() {
+		return null;
+	}
+
+	@Deprecated()
+	@Override
+	public Channel<?> _channel(String channelName) {
+		return null;
+	}
+
+	@Override
+	public Collection<Channel<?>> channels() {
+		return new ArrayList<>();
+	}
+
+	@Override
+	public CompletableFuture<JsonrpcResponseSuccess> handleJsonrpcRequest(User user, JsonrpcRequest request)
+			throws OpenemsNamedException {
+		throw new NotImplementedException("JSON-RPC is not available in a batch simulation");
+	}
+
+}
@@ -0,0 +1,293 @@
+package io.openems.edge.simulator.app;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.type.TypeUtils;
+
+/**
+ * Holds the collected data of a simulation in columnar form.
+ *
+ * <p>
+ * Every collected Channel is stored in a primitive array that grows with the
+ * number of rows; no objects are created per Cycle. If a row is added with the
+ * same timestamp as the previous row (e.g. with 'executeCycleTwice') the
+ * previous row is overwritten.
+ */
+public class SimulationResult {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * One column of the result. The array type is selected from the
+	 * {@link OpenemsType} of the Channel on the first value.
+	 */
+	private static class Column {
+		private OpenemsType type = null;
+		private long[] longs = null;
+		private double[] doubles = null;
+		private String[] strings = null;
+		private final BitSet isDefined = new BitSet();
+
+		private void set(int row, int capacity, Channel<?> channel) {
+			if (this.type == null) {
+				this.init(channel.getType(), capacity);
+			}
+			Object value = channel.value().get();
+			if (value == null) {
+				this.isDefined.clear(row);
+				return;
+			}
+			switch (this.type) {
+			case BOOLEAN:
+				this.longs[row] = TypeUtils.<Boolean>getAsType(this.type, value) ? 1 : 0;
+				break;
+			case SHORT:
+			case INTEGER:
+			case LONG:
+				this.longs[row] = ((Number) TypeUtils.getAsType(this.type, value)).longValue();
+				break;
+			case FLOAT:
+			case DOUBLE:
+				this.doubles[row] = ((Number) TypeUtils.getAsType(this.type, value)).doubleValue();
+				break;
+			case STRING:
+				this.strings[row] = TypeUtils.getAsType(this.type, value);
+				break;
+			}
+			this.isDefined.set(row);
+		}
+
+		private void init(OpenemsType type, int capacity) {
+			this.type = type;
+			switch (type) {
+			case BOOLEAN:
+			case SHORT:
+			case INTEGER:
+			case LONG:
+				this.longs = new long[capacity];
+				break;
+			case FLOAT:
+			case DOUBLE:
+				this.doubles = new double[capacity];
+				break;
+			case STRING:
+				this.strings = new String[capacity];
+				break;
+			}
+		}
+
+		private void grow(int capacity) {
+			if (this.longs != null) {
+				this.longs = Arrays.copyOf(this.longs, capacity);
+			}
+			if (this.doubles != null) {
+				this.doubles = Arrays.copyOf(this.doubles, capacity);
+			}
+			if (this.strings != null) {
+				this.strings = Arrays.copyOf(this.strings, capacity);
+			}
+		}
+
+		/**
+		 * Gets the value in the same JSON format as {@link Channel#value()}.
+		 *
+		 * @param row the row
+		 * @return the value as {@link JsonElement}
+		 */
+		private JsonElement getAsJson(int row) {
+			if (this.type == null || !this.isDefined.get(row)) {
+				return JsonNull.INSTANCE;
+			}
+			switch (this.type) {
+			case BOOLEAN:
+			case SHORT:
+			case INTEGER:
+			case LONG:
+				return new JsonPrimitive(this.longs[row]);
+			case FLOAT:
+				return new JsonPrimitive((float) this.doubles[row]);
+			case DOUBLE:
+				return new JsonPrimitive(this.doubles[row]);
+			case STRING:
+				return new JsonPrimitive(this.strings[row]);
+			}
+			return JsonNull.INSTANCE;
+		}
+	}
+
+	private final ZoneId zone;
+	private final ChannelAddress[] channels;
+	private final Column[] columns;
+
+	private long[] timestamps;
+	private int size = 0;
+
+	/**
+	 * Creates a {@link SimulationResult}.
+	 *
+	 * @param zone     the {@link ZoneId} of the timestamps
+	 * @param channels the collected Channels
+	 */
+	public SimulationResult(ZoneId zone, List<ChannelAddress> channels) {
+		this.zone = zone;
+		this.channels = channels.toArray(new ChannelAddress[channels.size()]);
+		this.columns = new Column[this.channels.length];
+		for (int i = 0; i < this.columns.length; i++) {
+			this.columns[i] = new Column();
+		}
+		this.timestamps = new long[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Adds a row with the current values of the Channels.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param channels  the Channels in the order of the collected
+	 *                  {@link ChannelAddress}es; null entries are stored as null
+	 */
+	public synchronized void add(long timestamp, Channel<?>[] channels) {
+		int row;
+		if (this.size > 0 && this.timestamps[this.size - 1] == timestamp) {
+			row = this.size - 1;
+		} else {
+			if (this.size == this.timestamps.length) {
+				int capacity = this.timestamps.length * 2;
+				this.timestamps = Arrays.copyOf(this.timestamps, capacity);
+				for (Column column : this.columns) {
+					column.grow(capacity);
+				}
+			}
+			row = this.size++;
+			this.timestamps[row] = timestamp;
+		}
+		for (int i = 0; i < this.columns.length; i++) {
+			if (channels[i] == null) {
+				this.columns[i].isDefined.clear(row);
+			} else {
+				this.columns[i].set(row, this.timestamps.length, channels[i]);
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of rows.
+	 *
+	 * @return the number of rows
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the collected Channels.
+	 *
+	 * @return the {@link ChannelAddress}es
+	 */
+	public List<ChannelAddress> getChannels() {
+		return Arrays.asList(this.channels);
+	}
+
+	/**
+	 * Gets the timestamp of a row.
+	 *
+	 * @param row the row
+	 * @return the timestamp
+	 */
+	public synchronized ZonedDateTime getTimestamp(int row) {
+		return ZonedDateTime.ofInstant(Instant.ofEpochMilli(this.timestamps[row]), this.zone);
+	}
+
+	/**
+	 * Gets a value.
+	 *
+	 * @param row     the row
+	 * @param channel the {@link ChannelAddress}
+	 * @return the value as {@link JsonElement}; {@link JsonNull} if the Channel was
+	 *         not collected
+	 */
+	public synchronized JsonElement getValue(int row, ChannelAddress channel) {
+		for (int i = 0; i < this.channels.length; i++) {
+			if (this.channels[i].equals(channel)) {
+				return this.columns[i].getAsJson(row);
+			}
+		}
+		return JsonNull.INSTANCE;
+	}
+
+	/**
+	 * Gets the rows within the given period as a map, like it is used by
+	 * {@link io.openems.edge.timedata.api.Timedata} queries.
+	 *
+	 * @param fromDate the start date (inclusive)
+	 * @param toDate   the end date (exclusive)
+	 * @return the data
+	 */
+	public synchronized SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> getData(
+			ZonedDateTime fromDate, ZonedDateTime toDate) {
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> result = new TreeMap<>();
+		int from = this.indexOf(fromDate.toInstant().toEpochMilli());
+		int to = this.indexOf(toDate.toInstant().toEpochMilli());
+		for (int row = from; row < to; row++) {
+			SortedMap<ChannelAddress, JsonElement> values = new TreeMap<>();
+			for (int i = 0; i < this.channels.length; i++) {
+				values.put(this.channels[i], this.columns[i].getAsJson(row));
+			}
+			result.put(this.getTimestamp(row), values);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the result in the format of the {@link ExecuteSimulationResponse}.
+	 *
+	 * @return the result as {@link JsonObject}
+	 */
+	public synchronized JsonObject toJson() {
+		JsonArray timestamps = new JsonArray();
+		for (int row = 0; row < this.size; row++) {
+			timestamps.add(this.getTimestamp(row).format(DateTimeFormatter.ISO_INSTANT));
+		}
+		JsonObject data = new JsonObject();
+		for (int i = 0; i < this.channels.length; i++) {
+			JsonArray values = new JsonArray();
+			for (int row = 0; row < this.size; row++) {
+				values.add(this.columns[i].getAsJson(row));
+			}
+			data.add(this.channels[i].toString(), values);
+		}
+		JsonObject result = new JsonObject();
+		result.add("timestamps", timestamps);
+		result.add("data", data);
+		return result;
+	}
+
+	/**
+	 * Finds the first row with a timestamp greater or equal to the given
+	 * timestamp.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @return the row; {@link #size()} if there is no such row
+	 */
+	private int indexOf(long timestamp) {
+		int index = Arrays.binarySearch(this.timestamps, 0, this.size, timestamp);
+		return index >= 0 ? index : -index - 1;
+	}
+
+}
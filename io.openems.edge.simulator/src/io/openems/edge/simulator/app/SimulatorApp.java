@@ -6,7 +6,6 @@ import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Dictionary;
 import java.util.HashSet;
@@ -97,7 +96,9 @@ public class SimulatorApp extends AbstractOpenemsComponent
 		private final ExecuteSimulationRequest request;
 		private final TimeLeapClock clock;
 		private final CompletableFuture<ExecuteSimulationResponse> response;
-		private final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> collectedData = new TreeMap<>();
+		private final SimulationResult collectedData;
+		// the collected Channels; resolved once, null if not (yet) available
+		private final Channel<?>[] channels;
 
 		public CurrentSimulation(User user, ExecuteSimulationRequest request, TimeLeapClock clock,
 				CompletableFuture<ExecuteSimulationResponse> response) {
@@ -106,14 +107,21 @@ public class SimulatorApp extends AbstractOpenemsComponent
 			this.request = request;
 			this.clock = clock;
 			this.response = response;
+			this.collectedData = new SimulationResult(clock.getZone(), request.collects);
+			this.channels = new Channel<?>[request.collects.size()];
 		}
 
-		public void addData(ZonedDateTime timestamp, List<Channel<?>> channels) {
-			SortedMap<ChannelAddress, JsonElement> values = new TreeMap<ChannelAddress, JsonElement>();
-			for (Channel<?> channel : channels) {
-				values.put(channel.address(), channel.value().asJson());
+		public void addData(long timestamp, ComponentManager componentManager) {
+			for (int i = 0; i < this.channels.length; i++) {
+				if (this.channels[i] == null) {
+					try {
+						this.channels[i] = componentManager.getChannel(this.request.collects.get(i));
+					} catch (IllegalArgumentException | OpenemsNamedException e) {
+						e.printStackTrace();
+					}
+				}
 			}
-			this.collectedData.put(timestamp, values);
+			this.collectedData.add(timestamp, this.channels);
 		}
 	}
 
@@ -277,16 +285,7 @@ public class SimulatorApp extends AbstractOpenemsComponent
 			return;
 		}
 
-		ZonedDateTime now = ZonedDateTime.now(currentSimulation.clock);
-		List<Channel<?>> channels = new ArrayList<Channel<?>>();
-		for (ChannelAddress channelAddress : currentSimulation.request.collects) {
-			try {
-				channels.add(this.componentManager.getChannel(channelAddress));
-			} catch (IllegalArgumentException | OpenemsNamedException e) {
-				e.printStackTrace();
-			}
-		}
-		currentSimulation.addData(now, channels);
+		currentSimulation.addData(currentSimulation.clock.millis(), this.componentManager);
 	}
 
 	/**
@@ -408,7 +407,7 @@ public class SimulatorApp extends AbstractOpenemsComponent
 
 	private void waitForComponentsToActivate(Set<String> simulatorComponentIds) throws OpenemsException {
 		// Wait for Components to appear
-		for (int i = 0; i < 100; i++) {
+		for (int i = 0; i < 500; i++) {
 			Set<String> allComponentIds = this.componentManager.getAllComponents().stream().map(c -> c.id())
 					.collect(Collectors.toSet());
 			simulatorComponentIds.removeAll(allComponentIds);
@@ -419,7 +418,7 @@ public class SimulatorApp extends AbstractOpenemsComponent
 			} else {
 				this.logInfo(this.log, "Still waiting for [" + simulatorComponentIds + "] to activate");
 				try {
-					Thread.sleep(500);
+					Thread.sleep(100);
 				} catch (InterruptedException e) {
 					this.log.warn(e.getClass().getSimpleName() + ": " + e.getMessage());
 				}
@@ -430,7 +429,7 @@ public class SimulatorApp extends AbstractOpenemsComponent
 
 	private void waitForComponentsToDeactivate(Set<String> deletedComponents) throws OpenemsException {
 		Set<String> stillExistingComponents = new HashSet<>();
-		for (int i = 0; i < 100; i++) {
+		for (int i = 0; i < 500; i++) {
 			List<OpenemsComponent> allComponents = this.componentManager.getAllComponents();
 			stillExistingComponents = allComponents.stream().map(c -> c.id()).collect(Collectors.toSet());
 			stillExistingComponents.removeAll(deletedComponents);
@@ -441,7 +440,7 @@ public class SimulatorApp extends AbstractOpenemsComponent
 			} else {
 				this.log.info("Still waiting for [" + stillExistingComponents + "] to disappear");
 				try {
-					Thread.sleep(500);
+					Thread.sleep(100);
 				} catch (InterruptedException e) {
 					this.log.warn(e.getClass().getSimpleName() + ": " + e.getMessage());
 				}
@@ -475,23 +474,26 @@ public class SimulatorApp extends AbstractOpenemsComponent
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, int resolution)
 			throws OpenemsNamedException {
-		if (this.lastSimulation == null || this.lastSimulation.collectedData.isEmpty()) {
+		if (this.lastSimulation == null || this.lastSimulation.collectedData.size() == 0) {
 			return new TreeMap<>();
 		}
 		Period fakePeriod = this.convertToSimulatedFromToDates(fromDate, toDate);
-		return this.lastSimulation.collectedData.subMap(fakePeriod.fromDate, fakePeriod.toDate);
+		return this.lastSimulation.collectedData.getData(fakePeriod.fromDate, fakePeriod.toDate);
 	}
 
 	@Override
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
-		if (this.lastSimulation == null || this.lastSimulation.collectedData.isEmpty()) {
+		if (this.lastSimulation == null || this.lastSimulation.collectedData.size() == 0) {
 			return new TreeMap<>();
 		}
 		Period fakePeriod = this.convertToSimulatedFromToDates(fromDate, toDate);
 		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> partOfCollectedData = this.lastSimulation.collectedData
-				.subMap(fakePeriod.fromDate, fakePeriod.toDate);
+				.getData(fakePeriod.fromDate, fakePeriod.toDate);
 		SortedMap<ChannelAddress, JsonElement> result = new TreeMap<ChannelAddress, JsonElement>();
+		if (partOfCollectedData.isEmpty()) {
+			return result;
+		}
 		SortedMap<ChannelAddress, JsonElement> firstValues = partOfCollectedData.get(partOfCollectedData.firstKey());
 		SortedMap<ChannelAddress, JsonElement> lastValues = partOfCollectedData.get(partOfCollectedData.lastKey());
 		for (ChannelAddress channel : channels) {
@@ -516,12 +518,11 @@ public class SimulatorApp extends AbstractOpenemsComponent
 	@Override
 	public CompletableFuture<Optional<Object>> getLatestValue(ChannelAddress channelAddress) {
 		final JsonElement value;
-		if (this.lastSimulation == null || this.lastSimulation.collectedData.isEmpty()) {
+		if (this.lastSimulation == null || this.lastSimulation.collectedData.size() == 0) {
 			value = JsonNull.INSTANCE;
 		} else {
-			SortedMap<ChannelAddress, JsonElement> lastValues = this.lastSimulation.collectedData
-					.get(this.lastSimulation.collectedData.lastKey());
-			value = lastValues.get(channelAddress);
+			SimulationResult collectedData = this.lastSimulation.collectedData;
+			value = collectedData.getValue(collectedData.size() - 1, channelAddress);
 		}
 		return CompletableFuture.completedFuture(Optional.ofNullable(value));
 	}
@@ -559,7 +560,8 @@ public class SimulatorApp extends AbstractOpenemsComponent
 		}
 		long durationDays = Duration.between(fromDate, toDate).toDays();
 		long toDateOffset = Duration.between(toDate, ZonedDateTime.now()).toDays();
-		ZonedDateTime lastCollected = this.lastSimulation.collectedData.lastKey();
+		SimulationResult collectedData = this.lastSimulation.collectedData;
+		ZonedDateTime lastCollected = collectedData.getTimestamp(collectedData.size() - 1);
 		ZonedDateTime newToDate = lastCollected.minusDays(toDateOffset);
 		ZonedDateTime newFromDate = newToDate.minusDays(durationDays);
 		return new Period(newFromDate, newToDate);
@@ -0,0 +1,143 @@
+package io.openems.edge.simulator.app;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.OpenemsConstants;
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.cycle.CycleTimestamp;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.controller.api.Controller;
+import io.openems.edge.simulator.app.ExecuteSimulationRequest.Clock;
+import io.openems.edge.simulator.app.ExecuteSimulationRequest.Profile;
+import io.openems.edge.simulator.datasource.api.SimulatorDatasource;
+
+public class BatchSimulationTest {
+
+	private static final String CTRL_ID = "ctrl0";
+	private static final String PROFILE = "meter0/ActivePower";
+
+	private static final ChannelAddress CTRL_POWER = new ChannelAddress(CTRL_ID, "Power");
+	private static final ChannelAddress CTRL_CYCLE_TIMESTAMP = new ChannelAddress(CTRL_ID, "CycleTimestamp");
+	private static final ChannelAddress CTRL_RUN_FAILED = new ChannelAddress(CTRL_ID, "RunFailed");
+	private static final ChannelAddress SUM_GRID_ACTIVE_POWER = new ChannelAddress(OpenemsConstants.SUM_ID,
+			"GridActivePower");
+
+	/**
+	 * Copies the current profile value and the Cycle timestamp to its own
+	 * Channels; the values are visible in the next Cycle.
+	 */
+	private static class DummyController extends AbstractOpenemsComponent implements Controller {
+
+		public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			POWER(Doc.of(OpenemsType.INTEGER) //
+					.unit(Unit.WATT)), //
+			CYCLE_TIMESTAMP(Doc.of(OpenemsType.LONG));
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		private final SimulatorDatasource datasource;
+
+		public DummyController(String id, SimulatorDatasource datasource) {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					Controller.ChannelId.values(), //
+					ChannelId.values() //
+			);
+			this.datasource = datasource;
+			super.activate(null, id, "", true);
+		}
+
+		@Override
+		public void run() throws OpenemsNamedException {
+			Integer value = this.datasource.getValue(OpenemsType.INTEGER, PROFILE);
+			this.channel(ChannelId.POWER).setNextValue(value);
+			this.channel(ChannelId.CYCLE_TIMESTAMP).setNextValue(CycleTimestamp.getMillis());
+		}
+
+	}
+
+	private static Scenario createScenario(String name, ZonedDateTime start, int collectInterval, Integer... values)
+			throws OpenemsNamedException {
+		Clock clock = new Clock(start, start.plusDays(1).minusSeconds(1), 1000, false);
+		JsonArray profile = new JsonArray();
+		for (Integer value : values) {
+			profile.add(value == null ? JsonNull.INSTANCE : new JsonPrimitive(value));
+		}
+		Map<String, Profile> profiles = new HashMap<>();
+		profiles.put(PROFILE, Profile.from(profile));
+		List<ChannelAddress> collects = Arrays.asList(CTRL_POWER, CTRL_CYCLE_TIMESTAMP, CTRL_RUN_FAILED,
+				SUM_GRID_ACTIVE_POWER);
+		return new Scenario(name, clock, profiles, collects, collectInterval, (componentManager, datasource, components) -> {
+			componentManager //
+					.addComponent(new DummySum()) //
+					.addComponent(new DummyController(CTRL_ID, datasource));
+		});
+	}
+
+	@Test
+	public void test() throws Exception {
+		ZonedDateTime start = ZonedDateTime.parse("2020-01-01T00:00:00Z");
+		List<Scenario> scenarios = Arrays.asList(//
+				createScenario("scenario0", start, 0, 100, 200, 300), //
+				createScenario("scenario1", start, 900, 1000));
+
+		BatchSimulation simulation = new BatchSimulation(2);
+		List<SimulationResult> results = simulation.executeAll(scenarios);
+		simulation.shutdown();
+
+		// one row per Cycle
+		SimulationResult result0 = results.get(0);
+		assertEquals(86400, result0.size());
+		assertEquals(start, result0.getTimestamp(0).withZoneSameInstant(start.getZone()));
+		assertEquals(JsonNull.INSTANCE, result0.getValue(0, CTRL_POWER));
+		assertEquals(new JsonPrimitive(100L), result0.getValue(1, CTRL_POWER));
+		assertEquals(new JsonPrimitive(200L), result0.getValue(2, CTRL_POWER));
+		assertEquals(new JsonPrimitive(300L), result0.getValue(3, CTRL_POWER));
+		assertEquals(new JsonPrimitive(100L), result0.getValue(4, CTRL_POWER));
+		assertEquals(new JsonPrimitive(0L), result0.getValue(4, CTRL_RUN_FAILED));
+		assertEquals(JsonNull.INSTANCE, result0.getValue(4, SUM_GRID_ACTIVE_POWER));
+		assertEquals(start.plusSeconds(86399).toInstant(), result0.getTimestamp(86399).toInstant());
+
+		// Cycle timestamp follows the simulated clock of the scenario
+		assertEquals(new JsonPrimitive(start.toInstant().toEpochMilli()), result0.getValue(1, CTRL_CYCLE_TIMESTAMP));
+		assertEquals(new JsonPrimitive(start.plusSeconds(3600).toInstant().toEpochMilli()),
+				result0.getValue(3601, CTRL_CYCLE_TIMESTAMP));
+
+		// one row per 15 minutes
+		SimulationResult result1 = results.get(1);
+		assertEquals(96, result1.size());
+		assertEquals(start.plusMinutes(15).toInstant(), result1.getTimestamp(1).toInstant());
+		assertEquals(new JsonPrimitive(1000L), result1.getValue(2, CTRL_POWER));
+		assertEquals(4, result1.toJson().getAsJsonObject("data").size());
+		assertEquals(96, result1.toJson().getAsJsonArray("timestamps").size());
+	}
+
+}
@@ -0,0 +1,97 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Holds the result of a query in columnar form: one timestamp per period and
+ * one primitive array of values per Channel. Undefined values are NaN.
+ *
+ * <p>
+ * Conversion to JSON happens only in {@link #toJson(ZoneId)}.
+ */
+public class ColumnarData {
+
+	private final long[] timestamps;
+	private final ChannelAddress[] channels;
+	private final double[][] values;
+
+	/**
+	 * Creates a {@link ColumnarData}.
+	 *
+	 * @param timestamps the start of every period in epoch seconds
+	 * @param channels   the Channels
+	 * @param values     the values per Channel; every array has the length of
+	 *                   'timestamps'
+	 */
+	public ColumnarData(long[] timestamps, ChannelAddress[] channels, double[][] values) {
+		this.timestamps = timestamps;
+		this.channels = channels;
+		this.values = values;
+	}
+
+	/**
+	 * Gets the start of every period.
+	 *
+	 * @return the timestamps in epoch seconds
+	 */
+	public long[] getTimestamps() {
+		return this.timestamps;
+	}
+
+	/**
+	 * Gets the values of a Channel.
+	 *
+	 * @param channel the {@link ChannelAddress}
+	 * @return the values; null if the Channel was not queried
+	 */
+	public double[] getValues(ChannelAddress channel) {
+		for (int i = 0; i < this.channels.length; i++) {
+			if (this.channels[i].equals(channel)) {
+				return this.values[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Converts the data to the format of the Timedata API.
+	 *
+	 * @param zone the {@link ZoneId} of the result timestamps
+	 * @return the data as map
+	 */
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> toJson(ZoneId zone) {
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> result = new TreeMap<>();
+		for (int row = 0; row < this.timestamps.length; row++) {
+			SortedMap<ChannelAddress, JsonElement> values = new TreeMap<>();
+			for (int i = 0; i < this.channels.length; i++) {
+				values.put(this.channels[i], toJson(this.values[i][row]));
+			}
+			result.put(ZonedDateTime.ofInstant(Instant.ofEpochSecond(this.timestamps[row]), zone), values);
+		}
+		return result;
+	}
+
+	/**
+	 * Converts a value to JSON.
+	 *
+	 * @param value the value; NaN if undefined
+	 * @return the value as {@link JsonElement}
+	 */
+	protected static JsonElement toJson(double value) {
+		if (Double.isNaN(value)) {
+			return JsonNull.INSTANCE;
+		}
+		return new JsonPrimitive(value);
+	}
+
+}
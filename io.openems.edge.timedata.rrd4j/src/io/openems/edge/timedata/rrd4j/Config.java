@@ -20,5 +20,11 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "No. of Cycles", description = "How many Cycles till data is recorded.")
 	int noOfCycles() default RecordWorker.DEFAULT_NO_OF_CYCLES;
 
+	@AttributeDefinition(name = "One file per Component?", description = "Stores all Channels of a Component in one file instead of one file per Channel. Existing per-Channel files are still used for queries of older data.")
+	boolean oneFilePerComponent() default false;
+
+	@AttributeDefinition(name = "Max. open files", description = "How many files are kept open for writing.")
+	int maxOpenFiles() default RecordWorker.DEFAULT_MAX_OPEN_FILES;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata RRD4J [{id}]";
 }
\ No newline at end of file
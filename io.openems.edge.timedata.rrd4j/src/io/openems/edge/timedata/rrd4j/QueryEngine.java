@@ -0,0 +1,423 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.rrd4j.ConsolFun;
+import org.rrd4j.core.FetchData;
+import org.rrd4j.core.RrdDb;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.CommonTimedataService;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Queries RRD4J files in the requested resolution.
+ *
+ * <p>
+ * The archive is selected by RRD4J: the one with the step closest to the
+ * resolution that covers the whole period. Its rows are then rolled up to
+ * periods of the requested resolution, see {@link Rollup}. Channels are fetched
+ * in parallel on a small pool of threads that is owned by the
+ * {@link Rrd4jTimedataImpl}; values are kept in primitive arrays.
+ */
+public class QueryEngine {
+
+	/**
+	 * Time range before a timestamp that is searched for the counter value at
+	 * that timestamp. Covers at least one row of the coarsest archive.
+	 */
+	private static final int COUNTER_LOOKBACK_SECONDS = 2 * 60 * 60;
+
+	/**
+	 * Maximum number of Channels that are fetched in parallel.
+	 */
+	private static final int NO_OF_THREADS = 4;
+
+	/**
+	 * Idle threads are stopped after this time.
+	 */
+	private static final int THREAD_KEEP_ALIVE_SECONDS = 60;
+
+	private interface ChannelFetcher {
+
+		/**
+		 * Fetches the values of one Channel.
+		 *
+		 * @param address the {@link ChannelAddress}
+		 * @param unit    the {@link Unit} of the Channel
+		 * @return the values
+		 * @throws IOException on error
+		 */
+		public double[] fetch(ChannelAddress address, Unit unit) throws IOException;
+
+	}
+
+	private final Rrd4jTimedataImpl parent;
+
+	private ExecutorService executor = null;
+
+	public QueryEngine(Rrd4jTimedataImpl parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Creates the threads that fetch the Channels. Called on activation of the
+	 * {@link Rrd4jTimedataImpl}.
+	 *
+	 * @param name the name prefix for the threads
+	 */
+	public synchronized void activate(String name) {
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(NO_OF_THREADS, NO_OF_THREADS, //
+				THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, name + "-Query-" + threadNumber.getAndIncrement());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		this.executor = executor;
+	}
+
+	/**
+	 * Stops the threads. Queries that are running are finished. Called on
+	 * deactivation of the {@link Rrd4jTimedataImpl}.
+	 */
+	public synchronized void deactivate() {
+		if (this.executor != null) {
+			this.executor.shutdown();
+			this.executor = null;
+		}
+	}
+
+	private synchronized ExecutorService getExecutor() throws OpenemsException {
+		if (this.executor == null) {
+			throw new OpenemsException("Unable to read historic data: Timedata is not active");
+		}
+		return this.executor;
+	}
+
+	/**
+	 * Queries historic data, see
+	 * {@link CommonTimedataService#queryHistoricData(String, ZonedDateTime, ZonedDateTime, Set, int)}.
+	 *
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param channels   the Channels
+	 * @param resolution the resolution in seconds
+	 * @return the {@link ColumnarData}
+	 * @throws OpenemsNamedException on error
+	 */
+	public ColumnarData queryHistoricData(ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+			int resolution) throws OpenemsNamedException {
+		resolution = this.validateResolution(resolution);
+		long start = Rollup.alignToPeriod(fromDate.toEpochSecond(), resolution);
+		int periods = Rollup.getNumberOfPeriods(start, toDate.toEpochSecond(), resolution);
+		ChannelAddress[] addresses = channels.toArray(new ChannelAddress[channels.size()]);
+		int res = resolution;
+		double[][] values = this.fetchAll(addresses,
+				(address, unit) -> this.fetchChannel(address, unit, start, periods, res));
+		return new ColumnarData(getTimestamps(start, periods, resolution), addresses, values);
+	}
+
+	/**
+	 * Queries historic energy per period from the counter archives, see
+	 * {@link CommonTimedataService#queryHistoricEnergyPerPeriod(String, ZonedDateTime, ZonedDateTime, Set, int)}.
+	 *
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param channels   the Channels
+	 * @param resolution the resolution in seconds
+	 * @return the {@link ColumnarData}
+	 * @throws OpenemsNamedException on error
+	 */
+	public ColumnarData queryHistoricEnergyPerPeriod(ZonedDateTime fromDate, ZonedDateTime toDate,
+			Set<ChannelAddress> channels, int resolution) throws OpenemsNamedException {
+		resolution = this.validateResolution(resolution);
+		long start = Rollup.alignToPeriod(fromDate.toEpochSecond(), resolution);
+		int periods = Rollup.getNumberOfPeriods(start, toDate.toEpochSecond(), resolution);
+		ChannelAddress[] addresses = channels.toArray(new ChannelAddress[channels.size()]);
+		// fetch one additional period to get the counter value before the first period
+		int res = resolution;
+		double[][] counters = this.fetchAll(addresses,
+				(address, unit) -> this.fetchChannel(address, unit, start - res, periods + 1, res));
+		double[][] values = new double[addresses.length][];
+		for (int i = 0; i < addresses.length; i++) {
+			values[i] = Rollup.energyPerPeriod(counters[i]);
+		}
+		return new ColumnarData(getTimestamps(start, periods, resolution), addresses, values);
+	}
+
+	/**
+	 * Queries historic energy, see
+	 * {@link CommonTimedataService#queryHistoricEnergy(String, ZonedDateTime, ZonedDateTime, Set)}.
+	 *
+	 * <p>
+	 * The energy is the counter value at the To-Date minus the counter value at the
+	 * From-Date, each read from the finest archive that still holds it. If a
+	 * counter value is not known at the exact time - e.g. because the To-Date is in
+	 * the future - the first or last known counter value between From-Date and
+	 * To-Date is used instead.
+	 *
+	 * @param fromDate the From-Date
+	 * @param toDate   the To-Date
+	 * @param channels the Channels
+	 * @return the energy per Channel
+	 * @throws OpenemsNamedException on error
+	 */
+	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(ZonedDateTime fromDate, ZonedDateTime toDate,
+			Set<ChannelAddress> channels) throws OpenemsNamedException {
+		long start = fromDate.toEpochSecond();
+		long end = Math.min(toDate.toEpochSecond(),
+				this.parent.componentManager.getClock().instant().getEpochSecond());
+		int resolution = this.validateResolution(CommonTimedataService.calculateResolution(fromDate, toDate));
+		ChannelAddress[] addresses = channels.toArray(new ChannelAddress[channels.size()]);
+		double[][] counters = this.fetchAll(addresses,
+				(address, unit) -> this.fetchBoundaryCounters(address, unit, start, end, resolution));
+		SortedMap<ChannelAddress, JsonElement> result = new TreeMap<>();
+		for (int i = 0; i < addresses.length; i++) {
+			result.put(addresses[i], ColumnarData.toJson(Rollup.energy(counters[i])));
+		}
+		return result;
+	}
+
+	/**
+	 * Fetches the values of all Channels in parallel.
+	 *
+	 * @param addresses the {@link ChannelAddress}es
+	 * @param fetcher   fetches the values of one Channel
+	 * @return the values per Channel in the order of 'addresses'
+	 * @throws OpenemsNamedException on error
+	 */
+	private double[][] fetchAll(ChannelAddress[] addresses, ChannelFetcher fetcher) throws OpenemsNamedException {
+		ExecutorService executor = this.getExecutor();
+		List<CompletableFuture<double[]>> futures = new ArrayList<>(addresses.length);
+		for (ChannelAddress address : addresses) {
+			Unit unit;
+			try {
+				unit = this.parent.componentManager.getChannel(address).channelDoc().getUnit();
+			} catch (IllegalArgumentException e) {
+				throw new OpenemsException("Unable to read historic data: " + e.getMessage());
+			}
+			try {
+				futures.add(CompletableFuture.supplyAsync(() -> {
+					try {
+						return fetcher.fetch(address, unit);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}, executor));
+			} catch (RejectedExecutionException e) {
+				throw new OpenemsException("Unable to read historic data: Timedata is not active");
+			}
+		}
+		double[][] result = new double[addresses.length][];
+		try {
+			for (int i = 0; i < addresses.length; i++) {
+				result[i] = futures.get(i).join();
+			}
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause() != null ? e.getCause() : e;
+			throw new OpenemsException("Unable to read historic data: " + cause.getMessage());
+		}
+		return result;
+	}
+
+	/**
+	 * Fetches the values of a Channel.
+	 *
+	 * <p>
+	 * If {@link Config#oneFilePerComponent()} is active, values are read from the
+	 * Component file. Gaps - e.g. the time before the Component file was created -
+	 * are filled with values from the legacy one-file-per-Channel layout.
+	 *
+	 * @param address    the {@link ChannelAddress}
+	 * @param unit       the {@link Unit} of the Channel
+	 * @param start      the aligned start of the first period in epoch seconds
+	 * @param periods    the number of periods
+	 * @param resolution the resolution in seconds
+	 * @return the values per period; unknown values are NaN
+	 * @throws IOException on error
+	 */
+	private double[] fetchChannel(ChannelAddress address, Unit unit, long start, int periods, int resolution)
+			throws IOException {
+		ConsolFun consolFun = this.parent.getConsolFun(unit);
+		double[] result = null;
+		if (this.parent.isOneFilePerComponent()) {
+			result = this.fetch(this.parent.getComponentDbFile(address.getComponentId(), consolFun),
+					Rrd4jTimedataImpl.toDatasourceName(address.getChannelId()), consolFun, start, periods,
+					resolution);
+		}
+		if (result == null) {
+			result = this.fetch(this.parent.getChannelDbFile(address), Rrd4jTimedataImpl.DEFAULT_DATASOURCE_NAME,
+					consolFun, start, periods, resolution);
+		} else if (Rollup.hasGaps(result)) {
+			Rollup.fillGaps(result, this.fetch(this.parent.getChannelDbFile(address),
+					Rrd4jTimedataImpl.DEFAULT_DATASOURCE_NAME, consolFun, start, periods, resolution));
+		}
+		if (result == null) {
+			result = Rollup.undefined(periods);
+		}
+		return result;
+	}
+
+	/**
+	 * Fetches the counter values of a Channel at the start and the end of a time
+	 * range.
+	 *
+	 * @param address    the {@link ChannelAddress}
+	 * @param unit       the {@link Unit} of the Channel
+	 * @param start      the start in epoch seconds
+	 * @param end        the end in epoch seconds
+	 * @param resolution the resolution in seconds for searching known counter
+	 *                   values inside the time range
+	 * @return the counter values at start and end; unknown values are NaN
+	 * @throws IOException on error
+	 */
+	private double[] fetchBoundaryCounters(ChannelAddress address, Unit unit, long start, long end, int resolution)
+			throws IOException {
+		double first = this.fetchCounter(address, unit, start);
+		double last = this.fetchCounter(address, unit, end);
+		int periods = Rollup.getNumberOfPeriods(start, end, resolution);
+		if ((Double.isNaN(first) || Double.isNaN(last)) && periods > 0) {
+			// fall back to the first and last known counter values inside the time range
+			double[] counters = this.fetchChannel(address, unit, start, periods, resolution);
+			if (Double.isNaN(first)) {
+				first = Rollup.first(counters);
+			}
+			if (Double.isNaN(last)) {
+				last = Rollup.last(counters);
+			}
+		}
+		return new double[] { first, last };
+	}
+
+	/**
+	 * Fetches the counter value of a Channel at a timestamp.
+	 *
+	 * @param address   the {@link ChannelAddress}
+	 * @param unit      the {@link Unit} of the Channel
+	 * @param timestamp the timestamp in epoch seconds
+	 * @return the counter value; NaN if unknown
+	 * @throws IOException on error
+	 */
+	private double fetchCounter(ChannelAddress address, Unit unit, long timestamp) throws IOException {
+		ConsolFun consolFun = this.parent.getConsolFun(unit);
+		double result = Double.NaN;
+		if (this.parent.isOneFilePerComponent()) {
+			result = this.fetchCounter(this.parent.getComponentDbFile(address.getComponentId(), consolFun),
+					Rrd4jTimedataImpl.toDatasourceName(address.getChannelId()), consolFun, timestamp);
+		}
+		if (Double.isNaN(result)) {
+			result = this.fetchCounter(this.parent.getChannelDbFile(address),
+					Rrd4jTimedataImpl.DEFAULT_DATASOURCE_NAME, consolFun, timestamp);
+		}
+		return result;
+	}
+
+	/**
+	 * Fetches the counter value of a datasource at a timestamp from the finest
+	 * archive that covers it.
+	 *
+	 * @param file      the database file
+	 * @param dsName    the datasource name
+	 * @param consolFun the {@link ConsolFun}
+	 * @param timestamp the timestamp in epoch seconds
+	 * @return the counter value; NaN if unknown
+	 * @throws IOException on error
+	 */
+	private double fetchCounter(File file, String dsName, ConsolFun consolFun, long timestamp) throws IOException {
+		RrdDb database = this.parent.getExistingRrdDb(file);
+		if (database == null) {
+			return Double.NaN; // not existing -> abort
+		}
+		final FetchData data;
+		try {
+			if (!database.containsDs(dsName)) {
+				return Double.NaN;
+			}
+			data = database.createFetchRequest(consolFun, timestamp - COUNTER_LOOKBACK_SECONDS, timestamp,
+					Rrd4jTimedataImpl.DEFAULT_STEP_SECONDS).fetchData();
+		} finally {
+			this.parent.close(database, file);
+		}
+		return Rollup.valueAt(data.getTimestamps(), data.getValues(dsName), timestamp);
+	}
+
+	/**
+	 * Fetches the values of a datasource and rolls them up to the resolution.
+	 *
+	 * @param file       the database file
+	 * @param dsName     the datasource name
+	 * @param consolFun  the {@link ConsolFun}
+	 * @param start      the aligned start of the first period in epoch seconds
+	 * @param periods    the number of periods
+	 * @param resolution the resolution in seconds
+	 * @return the values per period; null if the datasource does not exist
+	 * @throws IOException on error
+	 */
+	private double[] fetch(File file, String dsName, ConsolFun consolFun, long start, int periods, int resolution)
+			throws IOException {
+		RrdDb database = this.parent.getExistingRrdDb(file);
+		if (database == null) {
+			return null; // not existing -> abort
+		}
+		final FetchData data;
+		try {
+			if (!database.containsDs(dsName)) {
+				return null;
+			}
+			data = database.createFetchRequest(consolFun, start, start + (long) periods * resolution, resolution)
+					.fetchData();
+		} finally {
+			this.parent.close(database, file);
+		}
+
+		long[] timestamps = data.getTimestamps();
+		double[] values = data.getValues(dsName);
+		switch (consolFun) {
+		case MAX:
+			return Rollup.max(timestamps, values, data.getStep(), start, periods, resolution);
+		default:
+			return Rollup.average(timestamps, values, data.getStep(), start, periods, resolution);
+		}
+	}
+
+	/**
+	 * The resolution can not be smaller than the step of the RRD4J files.
+	 *
+	 * @param resolution the requested resolution in seconds
+	 * @return the resolution to use
+	 */
+	private int validateResolution(int resolution) {
+		return Math.max(resolution, Rrd4jTimedataImpl.DEFAULT_STEP_SECONDS);
+	}
+
+	private static long[] getTimestamps(long start, int periods, int resolution) {
+		long[] result = new long[periods];
+		for (int i = 0; i < periods; i++) {
+			result[i] = start + (long) i * resolution;
+		}
+		return result;
+	}
+
+}
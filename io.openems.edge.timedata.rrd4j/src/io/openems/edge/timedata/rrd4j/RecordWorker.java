@@ -1,13 +1,17 @@
 package io.openems.edge.timedata.rrd4j;
 
-import java.io.IOException;
+import java.io.File;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.OptionalDouble;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Function;
-import java.util.function.ToDoubleFunction;
 import java.util.stream.DoubleStream;
 
 import org.rrd4j.core.RrdDb;
@@ -22,13 +26,22 @@ import io.openems.common.types.OpenemsType;
 import io.openems.common.worker.AbstractImmediateWorker;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.cycle.CycleTimestamp;
 
 public class RecordWorker extends AbstractImmediateWorker {
 
 	protected static final int DEFAULT_NO_OF_CYCLES = 60;
+	protected static final int DEFAULT_MAX_OPEN_FILES = 100;
+
+	// Maximum number of Records that are written in one run
+	private static final int MAX_BATCH_SIZE = 10_000;
+
+	// Maximum number of Records that wait to be written; older Records are dropped
+	protected static final int MAX_QUEUE_SIZE = 100_000;
 
 	private final Logger log = LoggerFactory.getLogger(RecordWorker.class);
 	private final Rrd4jTimedataImpl parent;
+	private final RrdDbCache cache;
 	protected int noOfCycles = DEFAULT_NO_OF_CYCLES; // default, is going to be overwritten by config
 
 	// Counts the number of Cycles till data is recorded
@@ -49,14 +62,24 @@ public class RecordWorker extends AbstractImmediateWorker {
 	}
 
 	// Record queue
-	private LinkedBlockingQueue<Record> records = new LinkedBlockingQueue<>();
+	private final LinkedBlockingQueue<Record> records;
+
+	// Counts the Records that were dropped since the last warning
+	private int droppedRecords = 0;
 
 	// keeps the last recorded timestamp
 	private Instant lastTimestamp = Instant.MIN;
-	private LocalDateTime readChannelValuesSince = LocalDateTime.MIN;
+	private long readChannelValuesSince = Long.MIN_VALUE;
 
 	public RecordWorker(Rrd4jTimedataImpl parent) {
+		this(parent, MAX_QUEUE_SIZE);
+	}
+
+	protected RecordWorker(Rrd4jTimedataImpl parent, int maxQueueSize) {
 		this.parent = parent;
+		this.records = new LinkedBlockingQueue<>(maxQueueSize);
+		this.cache = new RrdDbCache(DEFAULT_MAX_OPEN_FILES,
+				e -> this.parent.logWarn(this.log, "Unable to close database: " + e.getMessage()));
 	}
 
 	/**
@@ -66,7 +89,7 @@ public class RecordWorker extends AbstractImmediateWorker {
 	 */
 	public void collectData() {
 		Instant timestamp = Instant.now().truncatedTo(ChronoUnit.SECONDS);
-		final LocalDateTime nextReadChannelValuesSince = LocalDateTime.now();
+		final long nextReadChannelValuesSince = CycleTimestamp.getMillis();
 
 		// Increase CycleCount
 		if (++this.cycleCount < this.noOfCycles) {
@@ -90,118 +113,151 @@ public class RecordWorker extends AbstractImmediateWorker {
 					// Ignore WRITE_ONLY Channels
 					continue;
 				}
-				
-				
+				if (channel.getType() == OpenemsType.STRING) {
+					// Strings are not supported by RRD4J
+					continue;
+				}
 
-				ToDoubleFunction<? super Object> channelMapFunction = this
-						.getChannelMapFunction(channel.channelDoc().getType());
 				Function<DoubleStream, OptionalDouble> channelAggregateFunction = this
 						.getChannelAggregateFunction(channel.channelDoc().getUnit());
 
 				OptionalDouble value = channelAggregateFunction.apply(//
-						channel.getPastValues() //
-								.tailMap(this.readChannelValuesSince, false) // new values since last recording
-								.values().stream() //
-								.map(v -> v.get()) //
-								.filter(v -> v != null) // only not-null values
-								.mapToDouble(channelMapFunction) // convert to double
+						channel.getPastValuesBuffer() //
+								// only not-null values since last recording, converted to double
+								.doubleStream(this.readChannelValuesSince + 1, Long.MAX_VALUE) //
 				);
 				if (!value.isPresent()) {
 					// only available channels
 					continue;
 				}
 
-				if (this.records.offer(//
-						new Record(timestamp.getEpochSecond(), channel.address(), channel.channelDoc().getUnit(),
-								value.getAsDouble()))) {
-					this.parent._setQueueIsFull(false);
-				} else {
-					this.log.warn("Unable to add record [" + channel.address() + "]. Queue is full!");
-					this.parent._setQueueIsFull(true);
-				}
+				this.addRecord(timestamp.getEpochSecond(), channel.address(), channel.channelDoc().getUnit(),
+						value.getAsDouble());
 			}
 		}
 		this.readChannelValuesSince = nextReadChannelValuesSince;
+		if (this.droppedRecords > 0) {
+			this.parent.logWarn(this.log,
+					"Record queue is full. Dropped the [" + this.droppedRecords + "] oldest records.");
+			this.droppedRecords = 0;
+		}
 		this.triggerNextRun();
 	}
 
+	/**
+	 * Adds a Record to the queue; it is written on the next run. If the queue is
+	 * full - e.g. because writing is slower than recording - the oldest Record is
+	 * dropped.
+	 * 
+	 * @param timestamp the timestamp in epoch seconds
+	 * @param address   the {@link ChannelAddress}
+	 * @param unit      the {@link Unit} of the Channel
+	 * @param value     the value
+	 */
+	protected void addRecord(long timestamp, ChannelAddress address, Unit unit, double value) {
+		Record record = new Record(timestamp, address, unit, value);
+		if (this.records.offer(record)) {
+			this.parent._setQueueIsFull(false);
+			return;
+		}
+		do {
+			if (this.records.poll() != null) {
+				this.droppedRecords++;
+			}
+		} while (!this.records.offer(record));
+		this.parent._setQueueIsFull(true);
+	}
+
 	@Override
 	protected void forever() throws InterruptedException {
-		Record record = this.records.take();
-		RrdDb database = null;
+		// Take all available Records
+		List<Record> records = new ArrayList<>();
+		records.add(this.records.take());
+		this.records.drainTo(records, MAX_BATCH_SIZE - 1);
+
+		// Group Records by database and timestamp, so that each database is opened
+		// once and gets one Sample per timestamp
+		Map<List<Object>, List<Record>> groups = new LinkedHashMap<>();
+		for (Record record : records) {
+			File file = this.parent.getDbFile(record.address, record.unit);
+			groups.computeIfAbsent(Arrays.asList(file, record.timestamp), k -> new ArrayList<>()).add(record);
+		}
+
+		for (Entry<List<Object>, List<Record>> entry : groups.entrySet()) {
+			File file = (File) entry.getKey().get(0);
+			long timestamp = (Long) entry.getKey().get(1);
+			this.write(file, timestamp, entry.getValue());
+		}
+	}
+
+	/**
+	 * Writes one Sample with the given Records to a database.
+	 * 
+	 * @param file      the database file
+	 * @param timestamp the timestamp of the Sample
+	 * @param records   the Records
+	 */
+	private void write(File file, long timestamp, List<Record> records) {
 		try {
-			database = this.parent.getRrdDb(record.address, record.unit, record.timestamp - 1);
+			Map<String, Unit> datasources = new LinkedHashMap<>();
+			for (Record record : records) {
+				datasources.put(this.parent.getDsName(record.address), record.unit);
+			}
+
+			RrdDb database = this.cache.get(file);
+			if (database == null || !this.parent.containsAllDatasources(database, datasources.keySet())) {
+				this.cache.invalidate(file);
+				database = this.parent.getRrdDb(file, datasources, timestamp - 1);
+				this.cache.put(file, database);
+			}
 
-			if (database.getLastUpdateTime() < record.timestamp) {
+			if (database.getLastUpdateTime() < timestamp) {
 				// Avoid and silently ignore error "IllegalArgumentException: Bad sample time:
 				// XXX. Last update time was YYY, at least one second step is required".
 
 				// Add Sample to RRD4J
-				Sample sample = database.createSample(record.timestamp);
-				sample.setValue(0, record.value);
+				Sample sample = database.createSample(timestamp);
+				for (Record record : records) {
+					sample.setValue(this.parent.getDsName(record.address), record.value);
+				}
 				sample.update();
 			}
 
 			this.parent._setUnableToInsertSample(false);
 
 		} catch (Throwable e) {
+			// Force reopening the database on next write
+			this.cache.invalidate(file);
+
 			this.parent._setUnableToInsertSample(true);
-			this.parent.logWarn(this.log, "Unable to insert Sample [" + record.address + "] "
+			this.parent.logWarn(this.log, "Unable to insert Sample [" + file.getName() + "] "
 					+ e.getClass().getSimpleName() + ": " + e.getMessage());
-		} finally {
-			if (database != null) {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.parent.logWarn(this.log,
-							"Unable to close database [" + record.address + "]: " + e.getMessage());
-				}
-			}
 		}
 	}
 
-	private static final ToDoubleFunction<? super Object> MAP_BOOLEAN_TO_DOUBLE = (value) -> {
-		return (Boolean) value ? 1d : 0d;
-	};
-
-	private static final ToDoubleFunction<? super Object> MAP_SHORT_TO_DOUBLE = (value) -> {
-		return ((Short) value).doubleValue();
-	};
-	private static final ToDoubleFunction<? super Object> MAP_INTEGER_TO_DOUBLE = (value) -> {
-		return ((Integer) value).doubleValue();
-	};
-	private static final ToDoubleFunction<? super Object> MAP_LONG_TO_DOUBLE = (value) -> {
-		return ((Long) value).doubleValue();
-	};
-	private static final ToDoubleFunction<? super Object> MAP_FLOAT_TO_DOUBLE = (value) -> {
-		return ((Float) value).doubleValue();
-	};
-	private static final ToDoubleFunction<? super Object> MAP_DOUBLE_TO_DOUBLE = (value) -> {
-		return (Double) value;
-	};
-	private static final ToDoubleFunction<? super Object> MAP_TO_DOUBLE_NOT_SUPPORTED = (value) -> {
-		return 0d;
-	};
-
-	private ToDoubleFunction<? super Object> getChannelMapFunction(OpenemsType openemsType) {
-		switch (openemsType) {
-		case BOOLEAN:
-			return MAP_BOOLEAN_TO_DOUBLE;
-		case SHORT:
-			return MAP_SHORT_TO_DOUBLE;
-		case INTEGER:
-			return MAP_INTEGER_TO_DOUBLE;
-		case LONG:
-			return MAP_LONG_TO_DOUBLE;
-		case FLOAT:
-			return MAP_FLOAT_TO_DOUBLE;
-		case DOUBLE:
-			return MAP_DOUBLE_TO_DOUBLE;
-		case STRING:
-			// Strings are not supported by RRD4J
-			return MAP_TO_DOUBLE_NOT_SUPPORTED;
-		}
-		throw new IllegalArgumentException("Type [" + openemsType + "] is not supported.");
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		this.cache.closeAll();
+	}
+
+	/**
+	 * Closes the cached {@link RrdDb} of the given file, e.g. before the file gets
+	 * modified.
+	 * 
+	 * @param file the RRD4J file
+	 */
+	public void invalidate(File file) {
+		this.cache.invalidate(file);
+	}
+
+	/**
+	 * Sets the maximum number of RRD4J files that are kept open.
+	 * 
+	 * @param maxOpenFiles the maximum number of open files
+	 */
+	public void setMaxOpenFiles(int maxOpenFiles) {
+		this.cache.setMaxOpenFiles(maxOpenFiles);
 	}
 
 	private Function<DoubleStream, OptionalDouble> getChannelAggregateFunction(Unit channelUnit) {
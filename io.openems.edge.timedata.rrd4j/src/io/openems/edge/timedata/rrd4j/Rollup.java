@@ -0,0 +1,257 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.util.Arrays;
+
+/**
+ * Aggregates RRD4J archive rows to periods of the requested resolution.
+ *
+ * <p>
+ * Periods are aligned to multiples of the resolution since epoch, i.e. to UTC -
+ * like 'GROUP BY time()' in InfluxDB. An RRD4J row with timestamp 't' holds the
+ * value of the interval 't - step' to 't', so it is added to the period in which
+ * this interval starts. Undefined values are represented as NaN.
+ */
+public final class Rollup {
+
+	private Rollup() {
+	}
+
+	/**
+	 * Aligns a timestamp to the start of its period.
+	 *
+	 * @param timestamp  the timestamp in epoch seconds
+	 * @param resolution the resolution in seconds
+	 * @return the start of the period in epoch seconds
+	 */
+	public static long alignToPeriod(long timestamp, int resolution) {
+		return Math.floorDiv(timestamp, resolution) * resolution;
+	}
+
+	/**
+	 * Gets the number of periods from the aligned start to the end timestamp.
+	 *
+	 * @param start      the aligned start in epoch seconds
+	 * @param end        the end in epoch seconds (exclusive)
+	 * @param resolution the resolution in seconds
+	 * @return the number of periods
+	 */
+	public static int getNumberOfPeriods(long start, long end, int resolution) {
+		if (end <= start) {
+			return 0;
+		}
+		return (int) ((end - start + resolution - 1) / resolution);
+	}
+
+	/**
+	 * Calculates the average of the rows per period.
+	 *
+	 * @param timestamps the row timestamps in epoch seconds
+	 * @param values     the row values
+	 * @param step       the step of the archive in seconds
+	 * @param start      the aligned start of the first period in epoch seconds
+	 * @param periods    the number of periods
+	 * @param resolution the resolution in seconds
+	 * @return one value per period
+	 */
+	public static double[] average(long[] timestamps, double[] values, long step, long start, int periods,
+			int resolution) {
+		double[] sums = new double[periods];
+		int[] counts = new int[periods];
+		for (int i = 0; i < timestamps.length; i++) {
+			int period = getPeriod(timestamps[i], step, start, periods, resolution);
+			if (period < 0 || Double.isNaN(values[i])) {
+				continue;
+			}
+			sums[period] += values[i];
+			counts[period]++;
+		}
+		for (int period = 0; period < periods; period++) {
+			sums[period] = counts[period] == 0 ? Double.NaN : sums[period] / counts[period];
+		}
+		return sums;
+	}
+
+	/**
+	 * Calculates the maximum of the rows per period. For cumulated counters like
+	 * energy this is the counter value at the end of the period.
+	 *
+	 * @param timestamps the row timestamps in epoch seconds
+	 * @param values     the row values
+	 * @param step       the step of the archive in seconds
+	 * @param start      the aligned start of the first period in epoch seconds
+	 * @param periods    the number of periods
+	 * @param resolution the resolution in seconds
+	 * @return one value per period
+	 */
+	public static double[] max(long[] timestamps, double[] values, long step, long start, int periods,
+			int resolution) {
+		double[] result = undefined(periods);
+		for (int i = 0; i < timestamps.length; i++) {
+			int period = getPeriod(timestamps[i], step, start, periods, resolution);
+			if (period < 0 || Double.isNaN(values[i])) {
+				continue;
+			}
+			if (Double.isNaN(result[period]) || values[i] > result[period]) {
+				result[period] = values[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Calculates the energy per period from cumulated counter values.
+	 *
+	 * <p>
+	 * The energy of a period is its counter value minus the last known counter
+	 * value before the period; negative differences (e.g. after a counter reset)
+	 * are undefined - like 'NON_NEGATIVE_DIFFERENCE(LAST())' in InfluxDB.
+	 *
+	 * @param counters the counter value per period; the first entry is the period
+	 *                 before the first result period
+	 * @return the energy per period; one entry less than 'counters'
+	 */
+	public static double[] energyPerPeriod(double[] counters) {
+		if (counters.length == 0) {
+			return new double[0];
+		}
+		double[] result = new double[counters.length - 1];
+		double lastCounter = counters[0];
+		for (int i = 1; i < counters.length; i++) {
+			double counter = counters[i];
+			if (Double.isNaN(counter)) {
+				result[i - 1] = Double.NaN;
+				continue;
+			}
+			double energy = counter - lastCounter;
+			result[i - 1] = energy >= 0 ? energy : Double.NaN; // NaN - x is NaN
+			lastCounter = counter;
+		}
+		return result;
+	}
+
+	/**
+	 * Calculates the total energy from cumulated counter values.
+	 *
+	 * @param counters the counter value per period; the first entry is the period
+	 *                 before the queried periods
+	 * @return the last counter value minus the counter value before the queried
+	 *         periods - or minus the first known counter value if there is none
+	 *         before
+	 */
+	public static double energy(double[] counters) {
+		double first = Double.NaN;
+		double last = Double.NaN;
+		for (double counter : counters) {
+			if (Double.isNaN(counter)) {
+				continue;
+			}
+			if (Double.isNaN(first)) {
+				first = counter;
+			}
+			last = counter;
+		}
+		return last - first;
+	}
+
+	/**
+	 * Gets the last known value at a timestamp, e.g. the value of a counter.
+	 *
+	 * @param timestamps the row timestamps in epoch seconds
+	 * @param values     the row values
+	 * @param timestamp  the timestamp in epoch seconds
+	 * @return the value of the last row that ends at or before the timestamp; NaN
+	 *         if unknown
+	 */
+	public static double valueAt(long[] timestamps, double[] values, long timestamp) {
+		for (int i = timestamps.length - 1; i >= 0; i--) {
+			if (timestamps[i] <= timestamp && !Double.isNaN(values[i])) {
+				return values[i];
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * Gets the first known value.
+	 *
+	 * @param values the values
+	 * @return the first value that is not NaN; NaN if there is none
+	 */
+	public static double first(double[] values) {
+		for (double value : values) {
+			if (!Double.isNaN(value)) {
+				return value;
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * Gets the last known value.
+	 *
+	 * @param values the values
+	 * @return the last value that is not NaN; NaN if there is none
+	 */
+	public static double last(double[] values) {
+		for (int i = values.length - 1; i >= 0; i--) {
+			if (!Double.isNaN(values[i])) {
+				return values[i];
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * Creates undefined values for the given number of periods.
+	 *
+	 * @param periods the number of periods
+	 * @return the values; all NaN
+	 */
+	public static double[] undefined(int periods) {
+		double[] result = new double[periods];
+		Arrays.fill(result, Double.NaN);
+		return result;
+	}
+
+	/**
+	 * Checks whether there are undefined values.
+	 *
+	 * @param values the values
+	 * @return true if at least one value is NaN
+	 */
+	public static boolean hasGaps(double[] values) {
+		for (double value : values) {
+			if (Double.isNaN(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Fills undefined values with values of another source.
+	 *
+	 * @param values the values; modified in place
+	 * @param fill   the values of the other source; may be null
+	 */
+	public static void fillGaps(double[] values, double[] fill) {
+		if (fill == null) {
+			return;
+		}
+		for (int i = 0; i < values.length; i++) {
+			if (Double.isNaN(values[i])) {
+				values[i] = fill[i];
+			}
+		}
+	}
+
+	private static int getPeriod(long timestamp, long step, long start, int periods, int resolution) {
+		long intervalStart = timestamp - step;
+		if (intervalStart < start) {
+			return -1;
+		}
+		long period = (intervalStart - start) / resolution;
+		return period < periods ? (int) period : -1;
+	}
+
+}
@@ -2,16 +2,16 @@ package io.openems.edge.timedata.rrd4j;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.URISyntaxException;
 import java.nio.file.Paths;
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 
 import org.osgi.service.component.ComponentContext;
@@ -27,26 +27,20 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.DsDef;
-import org.rrd4j.core.FetchData;
-import org.rrd4j.core.FetchRequest;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDef;
 import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
+import org.rrd4j.core.RrdToolkit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
-import com.google.gson.JsonPrimitive;
 
 import io.openems.common.OpenemsConstants;
 import io.openems.common.channel.Unit;
-import io.openems.common.exceptions.NotImplementedException;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
-import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.timedata.CommonTimedataService;
 import io.openems.common.types.ChannelAddress;
-import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -62,15 +56,20 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		implements Rrd4jTimedata, Timedata, OpenemsComponent, EventHandler {
 
 	private static final String RRD4J_PATH = "rrd4j";
-	private static final String DEFAULT_DATASOURCE_NAME = "value";
-	private static final int DEFAULT_STEP_SECONDS = 60;
+	protected static final String DEFAULT_DATASOURCE_NAME = "value";
+	protected static final int DEFAULT_STEP_SECONDS = 60;
 	private static final int DEFAULT_HEARTBEAT_SECONDS = DEFAULT_STEP_SECONDS;
+	private static final int MAX_DATASOURCE_NAME_LENGTH = 20;
 
 	private final Logger log = LoggerFactory.getLogger(Rrd4jTimedataImpl.class);
 
 	private final RecordWorker worker;
+	private final QueryEngine queryEngine;
 	private final RrdRandomAccessFileBackendFactory factory;
 
+	// Stores all Channels of a Component in one file instead of one file per Channel
+	private boolean oneFilePerComponent = false;
+
 	public Rrd4jTimedataImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
@@ -78,6 +77,7 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 				Rrd4jTimedata.ChannelId.values() //
 		);
 		this.worker = new RecordWorker(this);
+		this.queryEngine = new QueryEngine(this);
 		this.factory = new RrdRandomAccessFileBackendFactory();
 	}
 
@@ -87,9 +87,12 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	@Activate
 	void activate(ComponentContext context, Config config) throws Exception {
 		super.activate(context, config.id(), config.alias(), config.enabled());
+		this.queryEngine.activate(config.id());
 
 		if (config.enabled()) {
+			this.oneFilePerComponent = config.oneFilePerComponent();
 			this.worker.setNoOfCycles(config.noOfCycles());
+			this.worker.setMaxOpenFiles(config.maxOpenFiles());
 			this.worker.activate(config.id());
 		}
 	}
@@ -97,6 +100,7 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		this.worker.deactivate();
+		this.queryEngine.deactivate();
 		super.deactivate();
 	}
 
@@ -104,119 +108,22 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, int resolution)
 			throws OpenemsNamedException {
-		ZoneId timezone = fromDate.getZone();
-		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
-
-		RrdDb database = null;
-		try {
-			long fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
-			long toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
-
-			for (ChannelAddress channelAddress : channels) {
-				Channel<?> channel = this.componentManager.getChannel(channelAddress);
-				database = this.getExistingRrdDb(channel.address());
-				if (database == null) {
-					continue; // not existing -> abort
-				}
-
-				ChannelDef chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
-				FetchRequest request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimeStamp);
-				FetchData data = request.fetchData();
-				database.close();
-
-				for (int i = 0; i < data.getTimestamps().length; i++) {
-					Instant timestampInstant = Instant.ofEpochSecond(data.getTimestamps()[i]);
-					ZonedDateTime dateTime = ZonedDateTime.ofInstant(timestampInstant, ZoneOffset.UTC)
-							.withZoneSameInstant(timezone);
-					SortedMap<ChannelAddress, JsonElement> tableRow = table.get(dateTime);
-					if (tableRow == null) {
-						tableRow = new TreeMap<>();
-					}
-					double value = data.getValues(0)[i];
-					if (Double.isNaN(value)) {
-						tableRow.put(channelAddress, JsonNull.INSTANCE);
-					} else {
-						tableRow.put(channelAddress, new JsonPrimitive(value));
-					}
-					table.put(dateTime, tableRow);
-				}
-			}
-		} catch (IOException | IllegalArgumentException e) {
-			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
-		} finally {
-			if (database != null && !database.isClosed()) {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close database: " + e.getMessage());
-				}
-			}
-		}
-		return table;
+		return this.queryEngine.queryHistoricData(fromDate, toDate, channels, resolution) //
+				.toJson(fromDate.getZone());
 	}
 
 	@Override
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
-		SortedMap<ChannelAddress, JsonElement> table = new TreeMap<>();
-		long fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
-		long toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
-
-		RrdDb database = null;
-		try {
-			for (ChannelAddress channelAddress : channels) {
-				Channel<?> channel = this.componentManager.getChannel(channelAddress);
-				database = this.getExistingRrdDb(channel.address());
-				if (database == null) {
-					continue; // not existing -> abort
-				}
-
-				ChannelDef chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
-				FetchRequest request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimeStamp);
-				FetchData data = request.fetchData();
-				database.close();
-
-				// Find first and last energy value != null
-				double first = Double.NaN;
-				double last = Double.NaN;
-				for (Double tmp : data.getValues(0)) {
-					if (Double.isNaN(first) && !Double.isNaN(tmp)) {
-						first = tmp;
-					}
-					if (!Double.isNaN(tmp)) {
-						last = tmp;
-					}
-				}
-
-				// Calculate difference between last and first value
-				double value = last - first;
-
-				if (Double.isNaN(value)) {
-					table.put(channelAddress, JsonNull.INSTANCE);
-				} else {
-					table.put(channelAddress, new JsonPrimitive(value));
-				}
-
-			}
-		} catch (IOException | IllegalArgumentException e) {
-			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
-		} finally {
-			if (database != null && !database.isClosed()) {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close database: " + e.getMessage());
-				}
-			}
-		}
-		return table;
+		return this.queryEngine.queryHistoricEnergy(fromDate, toDate, channels);
 	}
 
 	@Override
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, int resolution)
 			throws OpenemsNamedException {
-		throw new NotImplementedException("QueryHistoryEnergyPerPeriod is not implemented for RRD4j");
+		return this.queryEngine.queryHistoricEnergyPerPeriod(fromDate, toDate, channels, resolution) //
+				.toJson(fromDate.getZone());
 	}
 
 	@Override
@@ -225,63 +132,111 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		final CompletableFuture<Optional<Object>> result = new CompletableFuture<>();
 
 		CompletableFuture.runAsync(() -> {
-			RrdDb database = this.getExistingRrdDb(channelAddress);
-			if (database == null) {
-				result.complete(Optional.empty());
-			}
-			try {
-				result.complete(Optional.of(database.getLastDatasourceValues()[0]));
-			} catch (IOException | ArrayIndexOutOfBoundsException e) {
-				result.complete(Optional.empty());
-			} finally {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close Database for [" + channelAddress + "]: " + e.getMessage());
+			Optional<Object> value = Optional.empty();
+			if (this.oneFilePerComponent) {
+				// Datasource may be in any of the Component files
+				for (ConsolFun consolFun : new ConsolFun[] { ConsolFun.AVERAGE, ConsolFun.MAX }) {
+					value = this.getLastValue(this.getComponentDbFile(channelAddress.getComponentId(), consolFun),
+							toDatasourceName(channelAddress.getChannelId()));
+					if (value.isPresent()) {
+						break;
+					}
 				}
 			}
+			if (!value.isPresent()) {
+				value = this.getLastValue(this.getChannelDbFile(channelAddress), DEFAULT_DATASOURCE_NAME);
+			}
+			result.complete(value);
 		});
 
 		return result;
 	}
 
 	/**
-	 * Gets the RRD4j database for the given Channel-Address.
+	 * Gets the last value of a datasource.
+	 * 
+	 * @param file   the database file
+	 * @param dsName the datasource name
+	 * @return the value; empty if the file or datasource does not exist
+	 */
+	private Optional<Object> getLastValue(File file, String dsName) {
+		RrdDb database = this.getExistingRrdDb(file);
+		if (database == null) {
+			return Optional.empty();
+		}
+		try {
+			if (!database.containsDs(dsName)) {
+				return Optional.empty();
+			}
+			return Optional.of(database.getLastDatasourceValue(dsName));
+		} catch (IOException | IllegalArgumentException e) {
+			return Optional.empty();
+		} finally {
+			this.close(database, file);
+		}
+	}
+
+	/**
+	 * Gets the RRD4j database with the given datasources.
+	 * 
+	 * <p>
+	 * New databases are created with all given datasources; missing datasources are
+	 * added to existing databases. All datasources of one database are expected to
+	 * use the same {@link ConsolFun}, see {@link #getDbFile(ChannelAddress, Unit)}.
 	 * 
 	 * <p>
 	 * The predefined RRD4J archives match the requirements of
 	 * {@link CommonTimedataService#calculateResolution(ZonedDateTime, ZonedDateTime)}
 	 * 
-	 * @param channelAddress the Channel-Address
-	 * @param startTime      the starttime for newly created RrdDbs
+	 * @param file        the database file
+	 * @param datasources the Units by datasource name
+	 * @param startTime   the starttime for newly created RrdDbs
 	 * @return the RrdDb
-	 * @throws IOException        on error
-	 * @throws URISyntaxException on error
+	 * @throws IOException on error
 	 */
-	protected synchronized RrdDb getRrdDb(ChannelAddress channelAddress, Unit channelUnit, long startTime)
-			throws IOException, URISyntaxException {
-		RrdDb rrdDb = this.getExistingRrdDb(channelAddress);
+	protected synchronized RrdDb getRrdDb(File file, Map<String, Unit> datasources, long startTime)
+			throws IOException {
+		RrdDb rrdDb = this.getExistingRrdDb(file);
 		if (rrdDb != null) {
 			/*
 			 * Open existing DB
 			 */
-			return rrdDb;
+			List<DsDef> missingDsDefs = new ArrayList<>();
+			for (Entry<String, Unit> entry : datasources.entrySet()) {
+				if (!rrdDb.containsDs(entry.getKey())) {
+					missingDsDefs.add(this.getDsDef(entry.getKey(), this.getDsDefForChannel(entry.getValue())));
+				}
+			}
+			if (missingDsDefs.isEmpty()) {
+				return rrdDb;
+			}
+
+			/*
+			 * Add missing datasources. The file is rewritten, so the instance cached by the
+			 * RecordWorker has to be closed first.
+			 */
+			this.worker.invalidate(file);
+			rrdDb.close();
+			RrdToolkit.addDatasources(file.getAbsolutePath(), missingDsDefs, false);
+			return this.getExistingRrdDb(file);
 
 		} else {
 			/*
 			 * Create new DB
 			 */
-			ChannelDef channelDef = this.getDsDefForChannel(channelUnit);
+			if (!file.getParentFile().exists()) {
+				file.getParentFile().mkdirs();
+			}
+			ChannelDef channelDef = null;
 			RrdDef rrdDef = new RrdDef(//
-					this.getDbFile(channelAddress).toURI(), //
+					file.toURI(), //
 					startTime, // Start-Time
 					DEFAULT_STEP_SECONDS // Step in [s], default: 60 = 1 minute
 			);
-			rrdDef.addDatasource(//
-					new DsDef(DEFAULT_DATASOURCE_NAME, //
-							channelDef.dsType, //
-							DEFAULT_HEARTBEAT_SECONDS, // Heartbeat in [s], default 60 = 1 minute
-							channelDef.minValue, channelDef.maxValue));
+			for (Entry<String, Unit> entry : datasources.entrySet()) {
+				channelDef = this.getDsDefForChannel(entry.getValue());
+				rrdDef.addDatasource(this.getDsDef(entry.getKey(), channelDef));
+			}
 			// detailed recordings
 			rrdDef.addArchive(channelDef.consolFun, 0.5, 1, 1_440); // 1 step (1 minute), 1440 rows (1 day)
 			rrdDef.addArchive(channelDef.consolFun, 0.5, 5, 2_880); // 5 steps (5 minutes), 2880 rows (10 days)
@@ -296,16 +251,37 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		}
 	}
 
+	private DsDef getDsDef(String dsName, ChannelDef channelDef) {
+		return new DsDef(dsName, //
+				channelDef.dsType, //
+				DEFAULT_HEARTBEAT_SECONDS, // Heartbeat in [s], default 60 = 1 minute
+				channelDef.minValue, channelDef.maxValue);
+	}
+
+	/**
+	 * Checks whether a database contains all given datasources.
+	 * 
+	 * @param database the {@link RrdDb}
+	 * @param dsNames  the datasource names
+	 * @return true if all datasources exist
+	 * @throws IOException on error
+	 */
+	protected boolean containsAllDatasources(RrdDb database, Collection<String> dsNames) throws IOException {
+		for (String dsName : dsNames) {
+			if (!database.containsDs(dsName)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Gets an existing RrdDb.
 	 * 
-	 * @param channelAddress the ChannelAddress
+	 * @param file the database file
 	 * @return the RrdDb or null
-	 * @throws IOException        on error
-	 * @throws URISyntaxException on error
 	 */
-	protected synchronized RrdDb getExistingRrdDb(ChannelAddress channelAddress) {
-		File file = this.getDbFile(channelAddress);
+	protected synchronized RrdDb getExistingRrdDb(File file) {
 		if (!file.exists()) {
 			return null;
 		}
@@ -321,18 +297,102 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		}
 	}
 
-	private File getDbFile(ChannelAddress channelAddress) {
-		File file = Paths.get(//
+	protected void close(RrdDb database, File file) {
+		try {
+			database.close();
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to close database [" + file.getName() + "]: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Is {@link Config#oneFilePerComponent()} active?.
+	 * 
+	 * @return true if all Channels of a Component are stored in one file
+	 */
+	protected boolean isOneFilePerComponent() {
+		return this.oneFilePerComponent;
+	}
+
+	/**
+	 * Gets the database file for a Channel, depending on
+	 * {@link Config#oneFilePerComponent()}.
+	 * 
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param channelUnit    the {@link Unit} of the Channel
+	 * @return the file
+	 */
+	protected File getDbFile(ChannelAddress channelAddress, Unit channelUnit) {
+		if (this.oneFilePerComponent) {
+			return this.getComponentDbFile(channelAddress.getComponentId(),
+					this.getDsDefForChannel(channelUnit).consolFun);
+		} else {
+			return this.getChannelDbFile(channelAddress);
+		}
+	}
+
+	/**
+	 * Gets the datasource name for a Channel, depending on
+	 * {@link Config#oneFilePerComponent()}.
+	 * 
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return the datasource name
+	 */
+	protected String getDsName(ChannelAddress channelAddress) {
+		if (this.oneFilePerComponent) {
+			return toDatasourceName(channelAddress.getChannelId());
+		} else {
+			return DEFAULT_DATASOURCE_NAME;
+		}
+	}
+
+	/**
+	 * Gets the legacy file that holds exactly one Channel.
+	 * 
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return the file
+	 */
+	protected File getChannelDbFile(ChannelAddress channelAddress) {
+		return Paths.get(//
 				OpenemsConstants.getOpenemsDataDir(), //
 				RRD4J_PATH, //
 				this.id(), //
 				channelAddress.getComponentId(), //
 				channelAddress.getChannelId()) //
 				.toFile();
-		if (!file.getParentFile().exists()) {
-			file.getParentFile().mkdirs();
+	}
+
+	/**
+	 * Gets the file that holds all Channels of a Component with the given
+	 * {@link ConsolFun}, e.g. 'meter0.average.rrd'.
+	 * 
+	 * @param componentId the Component-ID
+	 * @param consolFun   the {@link ConsolFun}
+	 * @return the file
+	 */
+	protected File getComponentDbFile(String componentId, ConsolFun consolFun) {
+		return Paths.get(//
+				OpenemsConstants.getOpenemsDataDir(), //
+				RRD4J_PATH, //
+				this.id(), //
+				componentId + "." + consolFun.name().toLowerCase() + ".rrd") //
+				.toFile();
+	}
+
+	/**
+	 * Converts a Channel-ID to a valid RRD4J datasource name. RRD4J limits
+	 * datasource names to 20 characters; longer Channel-IDs are shortened and
+	 * suffixed with a hash.
+	 * 
+	 * @param channelId the Channel-ID
+	 * @return the datasource name
+	 */
+	protected static String toDatasourceName(String channelId) {
+		if (channelId.length() <= MAX_DATASOURCE_NAME_LENGTH) {
+			return channelId;
 		}
-		return file;
+		String hash = String.format("%07x", channelId.hashCode() & 0xFFFFFFF);
+		return channelId.substring(0, MAX_DATASOURCE_NAME_LENGTH - hash.length() - 1) + "_" + hash;
 	}
 
 	private static class ChannelDef {
@@ -349,6 +409,16 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		}
 	}
 
+	/**
+	 * Gets the {@link ConsolFun} that is used for a Channel.
+	 * 
+	 * @param channelUnit the {@link Unit} of the Channel
+	 * @return the {@link ConsolFun}
+	 */
+	protected ConsolFun getConsolFun(Unit channelUnit) {
+		return this.getDsDefForChannel(channelUnit).consolFun;
+	}
+
 	/**
 	 * Defines the datasource properties for a given Channel, i.e. min/max allowed
 	 * value and GAUGE vs. COUNTER type.
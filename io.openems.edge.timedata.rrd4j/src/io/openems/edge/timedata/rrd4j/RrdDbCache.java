@@ -0,0 +1,137 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
+
+import org.rrd4j.core.RrdDb;
+
+/**
+ * Keeps the most recently used {@link RrdDb}s open, so that they do not have to
+ * be opened and closed for every Sample.
+ *
+ * <p>
+ * The cached {@link RrdDb}s are opened via the RRD4J pool. Queries that open
+ * the same file get the same instance; the file is only closed when it is
+ * evicted from this cache and no query holds it.
+ */
+public class RrdDbCache {
+
+	private final Consumer<Exception> onCloseError;
+	private final LinkedHashMap<File, RrdDb> databases;
+
+	private int maxOpenFiles;
+
+	/**
+	 * Creates a {@link RrdDbCache}.
+	 *
+	 * @param maxOpenFiles the maximum number of open files
+	 * @param onCloseError callback for errors on closing a file
+	 */
+	public RrdDbCache(int maxOpenFiles, Consumer<Exception> onCloseError) {
+		this.maxOpenFiles = maxOpenFiles;
+		this.onCloseError = onCloseError;
+		this.databases = new LinkedHashMap<File, RrdDb>(16, 0.75f, true /* access-order */) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Entry<File, RrdDb> eldest) {
+				if (this.size() > RrdDbCache.this.maxOpenFiles) {
+					RrdDbCache.this.close(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Sets the maximum number of open files.
+	 *
+	 * @param maxOpenFiles the maximum number of open files
+	 */
+	public synchronized void setMaxOpenFiles(int maxOpenFiles) {
+		this.maxOpenFiles = Math.max(1, maxOpenFiles);
+		List<File> evict = new ArrayList<>(this.databases.keySet());
+		for (int i = 0; i < evict.size() - this.maxOpenFiles; i++) {
+			this.invalidate(evict.get(i));
+		}
+	}
+
+	/**
+	 * Gets the cached {@link RrdDb} for the given file.
+	 *
+	 * @param file the RRD4J file
+	 * @return the {@link RrdDb}; or null if it is not cached
+	 */
+	public synchronized RrdDb get(File file) {
+		RrdDb database = this.databases.get(file);
+		if (database != null && database.isClosed()) {
+			this.databases.remove(file);
+			return null;
+		}
+		return database;
+	}
+
+	/**
+	 * Adds an open {@link RrdDb} to the cache. The cache takes over the
+	 * responsibility to close it.
+	 *
+	 * @param file     the RRD4J file
+	 * @param database the {@link RrdDb}
+	 */
+	public synchronized void put(File file, RrdDb database) {
+		RrdDb previous = this.databases.put(file, database);
+		if (previous != null && previous != database) {
+			this.close(previous);
+		}
+	}
+
+	/**
+	 * Closes and removes the {@link RrdDb} for the given file, e.g. before the
+	 * file gets modified or after an error.
+	 *
+	 * @param file the RRD4J file
+	 */
+	public synchronized void invalidate(File file) {
+		RrdDb database = this.databases.remove(file);
+		if (database != null) {
+			this.close(database);
+		}
+	}
+
+	/**
+	 * Gets the number of open files.
+	 *
+	 * @return the number of open files
+	 */
+	public synchronized int size() {
+		return this.databases.size();
+	}
+
+	/**
+	 * Closes all {@link RrdDb}s.
+	 */
+	public synchronized void closeAll() {
+		for (RrdDb database : this.databases.values()) {
+			this.close(database);
+		}
+		this.databases.clear();
+	}
+
+	private void close(RrdDb database) {
+		if (database.isClosed()) {
+			return;
+		}
+		try {
+			database.close();
+		} catch (IOException e) {
+			this.onCloseError.accept(e);
+		}
+	}
+
+}
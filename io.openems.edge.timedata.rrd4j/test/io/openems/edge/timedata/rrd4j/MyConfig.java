@@ -0,0 +1,73 @@
+package io.openems.edge.timedata.rrd4j;
+
+import io.openems.edge.common.test.AbstractComponentConfig;
+
+@SuppressWarnings("all")
+public class MyConfig extends AbstractComponentConfig implements Config {
+
+	protected static class Builder {
+		private String id;
+		private int noOfCycles = RecordWorker.DEFAULT_NO_OF_CYCLES;
+		private boolean oneFilePerComponent = false;
+		private int maxOpenFiles = RecordWorker.DEFAULT_MAX_OPEN_FILES;
+
+		private Builder() {
+		}
+
+		public Builder setId(String id) {
+			this.id = id;
+			return this;
+		}
+
+		public Builder setNoOfCycles(int noOfCycles) {
+			this.noOfCycles = noOfCycles;
+			return this;
+		}
+
+		public Builder setOneFilePerComponent(boolean oneFilePerComponent) {
+			this.oneFilePerComponent = oneFilePerComponent;
+			return this;
+		}
+
+		public Builder setMaxOpenFiles(int maxOpenFiles) {
+			this.maxOpenFiles = maxOpenFiles;
+			return this;
+		}
+
+		public MyConfig build() {
+			return new MyConfig(this);
+		}
+	}
+
+	/**
+	 * Create a Config builder.
+	 * 
+	 * @return a {@link Builder}
+	 */
+	public static Builder create() {
+		return new Builder();
+	}
+
+	private final Builder builder;
+
+	private MyConfig(Builder builder) {
+		super(Config.class, builder.id);
+		this.builder = builder;
+	}
+
+	@Override
+	public int noOfCycles() {
+		return this.builder.noOfCycles;
+	}
+
+	@Override
+	public boolean oneFilePerComponent() {
+		return this.builder.oneFilePerComponent;
+	}
+
+	@Override
+	public int maxOpenFiles() {
+		return this.builder.maxOpenFiles;
+	}
+
+}
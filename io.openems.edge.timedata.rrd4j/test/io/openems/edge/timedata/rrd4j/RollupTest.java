@@ -0,0 +1,82 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RollupTest {
+
+	private static final double NAN = Double.NaN;
+	private static final double DELTA = 0.0001;
+
+	@Test
+	public void testAlignToPeriod() {
+		assertEquals(900, Rollup.alignToPeriod(1_000, 900));
+		assertEquals(1_800, Rollup.alignToPeriod(1_800, 900));
+		assertEquals(0, Rollup.getNumberOfPeriods(900, 900, 900));
+		assertEquals(1, Rollup.getNumberOfPeriods(900, 901, 900));
+		assertEquals(2, Rollup.getNumberOfPeriods(900, 2_700, 900));
+	}
+
+	@Test
+	public void testAverage() {
+		// 5 minute archive rows; every row holds the interval before its timestamp
+		long[] timestamps = { 0, 300, 600, 900, 1_200, 1_500, 1_800, 2_100 };
+		double[] values = { 99, 10, 20, NAN, 40, 50, NAN, NAN };
+		double[] result = Rollup.average(timestamps, values, 300, 0, 3, 900);
+		assertArrayEquals(new double[] { 15, 45, NAN }, result, DELTA);
+	}
+
+	@Test
+	public void testMax() {
+		long[] timestamps = { 0, 300, 600, 900, 1_200, 1_500, 1_800 };
+		double[] values = { 1, 2, 3, 4, 5, 6, 7 };
+		double[] result = Rollup.max(timestamps, values, 300, 0, 2, 900);
+		assertArrayEquals(new double[] { 4, 7 }, result, DELTA);
+	}
+
+	@Test
+	public void testEnergyPerPeriod() {
+		double[] counters = { 100, 110, NAN, 150, 140, 160 };
+		assertArrayEquals(new double[] { 10, NAN, 40, NAN, 20 }, Rollup.energyPerPeriod(counters), DELTA);
+
+		// counter before the first period is unknown
+		assertArrayEquals(new double[] { NAN, 5 }, Rollup.energyPerPeriod(new double[] { NAN, 100, 105 }), DELTA);
+		assertEquals(0, Rollup.energyPerPeriod(new double[0]).length);
+	}
+
+	@Test
+	public void testEnergy() {
+		assertEquals(60, Rollup.energy(new double[] { 100, 110, NAN, 160, NAN }), DELTA);
+		assertEquals(5, Rollup.energy(new double[] { NAN, 100, 105 }), DELTA);
+		assertTrue(Double.isNaN(Rollup.energy(new double[] { NAN, NAN })));
+	}
+
+	@Test
+	public void testValueAt() {
+		long[] timestamps = { 60, 120, 180, 240 };
+		double[] values = { 100, 110, NAN, NAN };
+		assertEquals(110, Rollup.valueAt(timestamps, values, 200), DELTA);
+		assertEquals(100, Rollup.valueAt(timestamps, values, 119), DELTA);
+		assertTrue(Double.isNaN(Rollup.valueAt(timestamps, values, 59)));
+
+		assertEquals(100, Rollup.first(new double[] { NAN, 100, 110, NAN }), DELTA);
+		assertEquals(110, Rollup.last(new double[] { NAN, 100, 110, NAN }), DELTA);
+		assertTrue(Double.isNaN(Rollup.last(new double[] { NAN })));
+	}
+
+	@Test
+	public void testFillGaps() {
+		double[] values = { 1, NAN, NAN };
+		assertTrue(Rollup.hasGaps(values));
+		Rollup.fillGaps(values, new double[] { 9, 2, NAN });
+		assertArrayEquals(new double[] { 1, 2, NAN }, values, DELTA);
+		Rollup.fillGaps(values, new double[] { 9, 9, 3 });
+		assertFalse(Rollup.hasGaps(values));
+		assertArrayEquals(new double[] { 1, 2, 3 }, values, DELTA);
+	}
+
+}
@@ -0,0 +1,247 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.core.RrdDb;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.JsonElement;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.test.ComponentTest;
+import io.openems.edge.common.test.DummyComponentManager;
+
+public class Rrd4jTimedataImplTest {
+
+	private static final String OPENEMS_DATA_DIR = "openems.data.dir";
+	private static final String TIMEDATA_ID = "rrd4j0";
+
+	private static final ChannelAddress SUM_GRID_ACTIVE_POWER = new ChannelAddress("_sum", "GridActivePower");
+	private static final ChannelAddress SUM_PRODUCTION_ACTIVE_POWER = new ChannelAddress("_sum",
+			"ProductionActivePower");
+	private static final ChannelAddress SUM_PRODUCTION_MAX_AC_ACTIVE_POWER = new ChannelAddress("_sum",
+			"ProductionMaxAcActivePower");
+	private static final ChannelAddress SUM_CONSUMPTION_ACTIVE_POWER = new ChannelAddress("_sum",
+			"ConsumptionActivePower");
+	private static final ChannelAddress SUM_PRODUCTION_ACTIVE_ENERGY = new ChannelAddress("_sum",
+			"ProductionActiveEnergy");
+
+	// aligned to full hours
+	private static final long START = 1_600_000_000L / 3600 * 3600;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private String openemsDataDir;
+
+	@Before
+	public void before() {
+		this.openemsDataDir = System.getProperty(OPENEMS_DATA_DIR);
+		System.setProperty(OPENEMS_DATA_DIR, this.folder.getRoot().getAbsolutePath());
+	}
+
+	@After
+	public void after() {
+		if (this.openemsDataDir == null) {
+			System.clearProperty(OPENEMS_DATA_DIR);
+		} else {
+			System.setProperty(OPENEMS_DATA_DIR, this.openemsDataDir);
+		}
+	}
+
+	private static Rrd4jTimedataImpl activate(boolean oneFilePerComponent) throws Exception {
+		Rrd4jTimedataImpl sut = new Rrd4jTimedataImpl();
+		new ComponentTest(sut) //
+				.addReference("componentManager", new DummyComponentManager() //
+						.addComponent(new DummySum())) //
+				.activate(MyConfig.create() //
+						.setId(TIMEDATA_ID) //
+						.setOneFilePerComponent(oneFilePerComponent) //
+						.build()); //
+		return sut;
+	}
+
+	private static double getLastValue(Rrd4jTimedataImpl sut, File file, ChannelAddress channel)
+			throws Exception {
+		RrdDb database = sut.getExistingRrdDb(file);
+		try {
+			return database.getLastDatasourceValue(sut.getDsName(channel));
+		} finally {
+			sut.close(database, file);
+		}
+	}
+
+	private static long getLastUpdateTime(Rrd4jTimedataImpl sut, File file) throws Exception {
+		RrdDb database = sut.getExistingRrdDb(file);
+		try {
+			return database.getLastUpdateTime();
+		} finally {
+			sut.close(database, file);
+		}
+	}
+
+	@Test
+	public void testToDatasourceName() {
+		// RRD4J allows up to 20 characters
+		assertEquals("GridActivePower", Rrd4jTimedataImpl.toDatasourceName("GridActivePower"));
+		assertEquals("GridActivePowerL1234", Rrd4jTimedataImpl.toDatasourceName("GridActivePowerL1234"));
+
+		String name = Rrd4jTimedataImpl.toDatasourceName("ProductionMaxAcActivePower");
+		assertEquals(20, name.length());
+		assertTrue(name, name.startsWith("ProductionMa_"));
+		assertEquals(name, Rrd4jTimedataImpl.toDatasourceName("ProductionMaxAcActivePower"));
+
+		// same prefix -> different hash suffix
+		assertNotEquals(name, Rrd4jTimedataImpl.toDatasourceName("ProductionMaxDcActualPower"));
+		assertNotEquals(Rrd4jTimedataImpl.toDatasourceName("GridActivePowerL1234_"),
+				Rrd4jTimedataImpl.toDatasourceName("GridActivePowerL1234__"));
+
+		// no collisions between the Channels of one Component
+		Set<String> names = new HashSet<>();
+		for (Sum.ChannelId channelId : Sum.ChannelId.values()) {
+			name = Rrd4jTimedataImpl.toDatasourceName(channelId.id());
+			assertTrue(name, name.length() <= 20);
+			assertTrue("Collision [" + name + "]", names.add(name));
+		}
+	}
+
+	@Test
+	public void testBatchByFileAndTimestamp() throws Exception {
+		Rrd4jTimedataImpl sut = activate(true);
+		RecordWorker worker = new RecordWorker(sut);
+		File averageFile = sut.getComponentDbFile("_sum", ConsolFun.AVERAGE);
+		File maxFile = sut.getComponentDbFile("_sum", ConsolFun.MAX);
+		try {
+			// all Records of one timestamp end up in one Sample per file; a Sample per
+			// Record would be rejected by RRD4J for the same timestamp
+			worker.addRecord(START, SUM_GRID_ACTIVE_POWER, Unit.WATT, 100);
+			worker.addRecord(START, SUM_PRODUCTION_ACTIVE_POWER, Unit.WATT, 200);
+			worker.addRecord(START, SUM_PRODUCTION_MAX_AC_ACTIVE_POWER, Unit.WATT, 300);
+			worker.addRecord(START, SUM_PRODUCTION_ACTIVE_ENERGY, Unit.WATT_HOURS, 1000);
+			worker.forever();
+
+			assertEquals(START, getLastUpdateTime(sut, averageFile));
+			assertEquals(100, getLastValue(sut, averageFile, SUM_GRID_ACTIVE_POWER), 0);
+			assertEquals(200, getLastValue(sut, averageFile, SUM_PRODUCTION_ACTIVE_POWER), 0);
+			assertEquals(300, getLastValue(sut, averageFile, SUM_PRODUCTION_MAX_AC_ACTIVE_POWER), 0);
+			assertEquals(1000, getLastValue(sut, maxFile, SUM_PRODUCTION_ACTIVE_ENERGY), 0);
+			assertFalse(sut.getUnableToInsertSampleChannel().getNextValue().get());
+
+			// two timestamps in one run; a new Channel gets added to the existing file
+			worker.addRecord(START + 60, SUM_GRID_ACTIVE_POWER, Unit.WATT, 110);
+			worker.addRecord(START + 120, SUM_GRID_ACTIVE_POWER, Unit.WATT, 120);
+			worker.addRecord(START + 120, SUM_CONSUMPTION_ACTIVE_POWER, Unit.WATT, 500);
+			worker.forever();
+
+			assertEquals(START + 120, getLastUpdateTime(sut, averageFile));
+			assertEquals(120, getLastValue(sut, averageFile, SUM_GRID_ACTIVE_POWER), 0);
+			assertEquals(500, getLastValue(sut, averageFile, SUM_CONSUMPTION_ACTIVE_POWER), 0);
+			assertEquals(START, getLastUpdateTime(sut, maxFile));
+			assertFalse(sut.getUnableToInsertSampleChannel().getNextValue().get());
+
+		} finally {
+			worker.deactivate();
+			sut.deactivate();
+		}
+	}
+
+	@Test
+	public void testDropOldestRecords() throws Exception {
+		Rrd4jTimedataImpl sut = activate(true);
+		RecordWorker worker = new RecordWorker(sut, 2);
+		File averageFile = sut.getComponentDbFile("_sum", ConsolFun.AVERAGE);
+		File maxFile = sut.getComponentDbFile("_sum", ConsolFun.MAX);
+		try {
+			worker.addRecord(START, SUM_PRODUCTION_ACTIVE_ENERGY, Unit.WATT_HOURS, 1000);
+			worker.addRecord(START + 60, SUM_GRID_ACTIVE_POWER, Unit.WATT, 110);
+			assertFalse(sut.getQueueIsFullChannel().getNextValue().get());
+
+			// queue is full -> the oldest Record is dropped
+			worker.addRecord(START + 120, SUM_GRID_ACTIVE_POWER, Unit.WATT, 120);
+			assertTrue(sut.getQueueIsFullChannel().getNextValue().get());
+			worker.forever();
+
+			assertEquals(START + 120, getLastUpdateTime(sut, averageFile));
+			assertEquals(120, getLastValue(sut, averageFile, SUM_GRID_ACTIVE_POWER), 0);
+			assertFalse(maxFile.exists());
+
+		} finally {
+			worker.deactivate();
+			sut.deactivate();
+		}
+	}
+
+	@Test
+	public void testFillGapsFromLegacyFiles() throws Exception {
+		// Legacy one-file-per-Channel layout for the first 20 minutes
+		Rrd4jTimedataImpl legacy = activate(false);
+		RecordWorker worker = new RecordWorker(legacy);
+		try {
+			for (long timestamp = START; timestamp <= START + 1200; timestamp += 60) {
+				worker.addRecord(timestamp, SUM_GRID_ACTIVE_POWER, Unit.WATT, 100);
+			}
+			worker.forever();
+		} finally {
+			worker.deactivate();
+			legacy.deactivate();
+		}
+
+		// Switch to one file per Component for the next 20 minutes
+		Rrd4jTimedataImpl sut = activate(true);
+		worker = new RecordWorker(sut);
+		try {
+			for (long timestamp = START + 1260; timestamp <= START + 2400; timestamp += 60) {
+				worker.addRecord(timestamp, SUM_GRID_ACTIVE_POWER, Unit.WATT, 200);
+			}
+			worker.forever();
+		} finally {
+			worker.deactivate();
+		}
+
+		try {
+			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> result = sut.queryHistoricData(null,
+					toDate(START + 300), toDate(START + 2400), ImmutableSet.of(SUM_GRID_ACTIVE_POWER), 300);
+			assertEquals(7, result.size());
+			for (long timestamp = START + 300; timestamp < START + 1200; timestamp += 300) {
+				// read from the legacy file
+				assertEquals(100, get(result, timestamp), 0);
+			}
+			for (long timestamp = START + 1500; timestamp < START + 2400; timestamp += 300) {
+				// read from the Component file
+				assertEquals(200, get(result, timestamp), 0);
+			}
+		} finally {
+			sut.deactivate();
+		}
+	}
+
+	private static ZonedDateTime toDate(long epochSecond) {
+		return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+	}
+
+	private static double get(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> result,
+			long epochSecond) {
+		return result.get(toDate(epochSecond)).get(SUM_GRID_ACTIVE_POWER).getAsDouble();
+	}
+
+}
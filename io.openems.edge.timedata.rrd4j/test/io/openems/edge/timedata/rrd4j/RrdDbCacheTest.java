@@ -0,0 +1,152 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+
+public class RrdDbCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private List<Exception> closeErrors;
+	private RrdDbCache sut;
+
+	@Before
+	public void before() {
+		this.closeErrors = new ArrayList<>();
+		this.sut = new RrdDbCache(2, this.closeErrors::add);
+	}
+
+	@After
+	public void after() {
+		this.sut.closeAll();
+		assertTrue(this.closeErrors.isEmpty());
+	}
+
+	private RrdDb create(File file) throws IOException {
+		RrdDef rrdDef = new RrdDef(file.toURI(), 0, 60);
+		rrdDef.addDatasource("value", DsType.GAUGE, 60, Double.NaN, Double.NaN);
+		rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 10);
+		return RrdDb.getBuilder() //
+				.setRrdDef(rrdDef) //
+				.build();
+	}
+
+	@Test
+	public void testEvictLeastRecentlyUsed() throws IOException {
+		File file0 = this.folder.newFile();
+		File file1 = this.folder.newFile();
+		File file2 = this.folder.newFile();
+		RrdDb db0 = this.create(file0);
+		RrdDb db1 = this.create(file1);
+		RrdDb db2 = this.create(file2);
+
+		this.sut.put(file0, db0);
+		this.sut.put(file1, db1);
+		// access makes file0 the most recently used
+		assertSame(db0, this.sut.get(file0));
+
+		this.sut.put(file2, db2);
+		assertEquals(2, this.sut.size());
+		assertTrue(db1.isClosed());
+		assertNull(this.sut.get(file1));
+		assertFalse(db0.isClosed());
+		assertFalse(db2.isClosed());
+	}
+
+	@Test
+	public void testPutReplaces() throws IOException {
+		File file = this.folder.newFile();
+		RrdDb db0 = this.create(file);
+		this.sut.put(file, db0);
+
+		// putting the same instance again keeps it open
+		this.sut.put(file, db0);
+		assertFalse(db0.isClosed());
+
+		db0.close();
+		RrdDb db1 = this.create(file);
+		this.sut.put(file, db1);
+		assertSame(db1, this.sut.get(file));
+		assertEquals(1, this.sut.size());
+	}
+
+	@Test
+	public void testInvalidate() throws IOException {
+		File file = this.folder.newFile();
+		RrdDb db = this.create(file);
+		this.sut.put(file, db);
+
+		this.sut.invalidate(file);
+		assertTrue(db.isClosed());
+		assertNull(this.sut.get(file));
+		assertEquals(0, this.sut.size());
+
+		// unknown file is ignored
+		this.sut.invalidate(this.folder.newFile());
+	}
+
+	@Test
+	public void testClosedExternally() throws IOException {
+		File file = this.folder.newFile();
+		RrdDb db = this.create(file);
+		this.sut.put(file, db);
+
+		db.close();
+		assertNull(this.sut.get(file));
+		assertEquals(0, this.sut.size());
+	}
+
+	@Test
+	public void testSetMaxOpenFiles() throws IOException {
+		File file0 = this.folder.newFile();
+		File file1 = this.folder.newFile();
+		RrdDb db0 = this.create(file0);
+		RrdDb db1 = this.create(file1);
+		this.sut.put(file0, db0);
+		this.sut.put(file1, db1);
+
+		this.sut.setMaxOpenFiles(1);
+		assertEquals(1, this.sut.size());
+		assertTrue(db0.isClosed());
+		assertSame(db1, this.sut.get(file1));
+
+		// at least one file is kept open
+		this.sut.setMaxOpenFiles(0);
+		assertSame(db1, this.sut.get(file1));
+	}
+
+	@Test
+	public void testCloseAll() throws IOException {
+		File file0 = this.folder.newFile();
+		File file1 = this.folder.newFile();
+		RrdDb db0 = this.create(file0);
+		RrdDb db1 = this.create(file1);
+		this.sut.put(file0, db0);
+		this.sut.put(file1, db1);
+
+		this.sut.closeAll();
+		assertEquals(0, this.sut.size());
+		assertTrue(db0.isClosed());
+		assertTrue(db1.isClosed());
+	}
+
+}
@@ -43,6 +43,7 @@ public class InfluxConnector {
 	private static final int CONNECT_TIMEOUT = 10; // [s]
 	private static final int READ_TIMEOUT = 10; // [s]
 	private static final int WRITE_TIMEOUT = 10; // [s]
+	private static final int TIME_WEIGHTED_STEPS_PER_PERIOD = 60;
 
 	private final String ip;
 	private final int port;
@@ -51,6 +52,9 @@ public class InfluxConnector {
 	private final String database;
 	private final String retentionPolicy;
 	private final boolean isReadOnly;
+	private final int batchSize;
+	private final int flushInterval;
+	private final int fillForwardSeconds;
 	private final BiConsumer<Iterable<Point>, Throwable> onWriteError;
 
 	/**
@@ -69,6 +73,36 @@ public class InfluxConnector {
 	 */
 	public InfluxConnector(String ip, int port, String username, String password, String database,
 			String retentionPolicy, boolean isReadOnly, BiConsumer<Iterable<Point>, Throwable> onWriteError) {
+		this(ip, port, username, password, database, retentionPolicy, isReadOnly,
+				BatchOptions.DEFAULT_BATCH_ACTIONS_LIMIT, BatchOptions.DEFAULT_BATCH_INTERVAL_DURATION, 0,
+				onWriteError);
+	}
+
+	/**
+	 * The Constructor.
+	 * 
+	 * @param ip                 IP-Address of the InfluxDB-Server
+	 * @param port               Port of the InfluxDB-Server
+	 * @param username           The username
+	 * @param password           The password
+	 * @param database           The database name. If it does not exist, it will
+	 *                           be created
+	 * @param isReadOnly         If true, a 'Read-Only-Mode' is activated, where no
+	 *                           data is actually written to the database
+	 * @param batchSize          the number of Points that are collected - for all
+	 *                           Edges - before they are written
+	 * @param flushInterval      the maximum time in [ms] Points are collected
+	 *                           before they are written
+	 * @param fillForwardSeconds if greater than zero, values are only written when
+	 *                           they change - but at least every
+	 *                           'fillForwardSeconds'. Historic data queries then
+	 *                           fill missing values with the previous value
+	 * @param onWriteError       A callback for write-errors, i.e. '(failedPoints,
+	 *                           throwable) -> {}'
+	 */
+	public InfluxConnector(String ip, int port, String username, String password, String database,
+			String retentionPolicy, boolean isReadOnly, int batchSize, int flushInterval, int fillForwardSeconds,
+			BiConsumer<Iterable<Point>, Throwable> onWriteError) {
 		super();
 		this.ip = ip;
 		this.port = port;
@@ -77,6 +111,9 @@ public class InfluxConnector {
 		this.database = database;
 		this.retentionPolicy = retentionPolicy;
 		this.isReadOnly = isReadOnly;
+		this.batchSize = batchSize;
+		this.flushInterval = flushInterval;
+		this.fillForwardSeconds = fillForwardSeconds;
 		this.onWriteError = onWriteError;
 	}
 
@@ -107,6 +144,8 @@ public class InfluxConnector {
 			influxDB.setDatabase(this.database);
 			influxDB.setRetentionPolicy(this.retentionPolicy);
 			influxDB.enableBatch(BatchOptions.DEFAULTS //
+					.actions(this.batchSize) //
+					.flushDuration(this.flushInterval) //
 					.jitterDuration(500) //
 					.exceptionHandler(this.onWriteError));
 			this._influxDB = influxDB;
@@ -281,6 +320,13 @@ public class InfluxConnector {
 	/**
 	 * Queries historic data.
 	 * 
+	 * <p>
+	 * If only changed values are written (see 'fillForwardSeconds'), 'MEAN()'
+	 * would weight the sparse points equally. The mean is then calculated by
+	 * InfluxDB as time-weighted mean, see
+	 * {@link #buildTimeWeightedHistoricDataQuery(int, ZonedDateTime, ZonedDateTime, Set, int, int)}.
+	 * This is only possible for the points of one Edge.
+	 * 
 	 * @param influxEdgeId the unique, numeric Edge-ID; or Empty to query all Edges
 	 * @param fromDate     the From-Date
 	 * @param toDate       the To-Date
@@ -293,24 +339,36 @@ public class InfluxConnector {
 			Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
 			int resolution) throws OpenemsNamedException {
 		// Prepare query string
-		StringBuilder query = new StringBuilder("SELECT ");
-		query.append(InfluxConnector.toChannelAddressStringData(channels));
-		query.append(" FROM data WHERE ");
-		if (influxEdgeId.isPresent()) {
-			query.append(InfluxConstants.TAG + " = '" + influxEdgeId.get() + "' AND ");
+		String query;
+		if (this.fillForwardSeconds > 0) {
+			if (!influxEdgeId.isPresent()) {
+				throw new OpenemsException("Querying historic data of all Edges is not supported "
+						+ "if only changed values are written");
+			}
+			query = InfluxConnector.buildTimeWeightedHistoricDataQuery(influxEdgeId.get(), fromDate, toDate, channels,
+					resolution, this.fillForwardSeconds);
+
+		} else {
+			StringBuilder b = new StringBuilder("SELECT ");
+			b.append(InfluxConnector.toChannelAddressStringData(channels));
+			b.append(" FROM data WHERE ");
+			if (influxEdgeId.isPresent()) {
+				b.append(InfluxConstants.TAG + " = '" + influxEdgeId.get() + "' AND ");
+			}
+			b.append("time > ");
+			b.append(String.valueOf(fromDate.toEpochSecond()));
+			b.append("s");
+			b.append(" AND time < ");
+			b.append(String.valueOf(toDate.toEpochSecond()));
+			b.append("s");
+			b.append(" GROUP BY time(");
+			b.append(resolution);
+			b.append("s) fill(null)");
+			query = b.toString();
 		}
-		query.append("time > ");
-		query.append(String.valueOf(fromDate.toEpochSecond()));
-		query.append("s");
-		query.append(" AND time < ");
-		query.append(String.valueOf(toDate.toEpochSecond()));
-		query.append("s");
-		query.append(" GROUP BY time(");
-		query.append(resolution);
-		query.append("s) fill(null)");
 
 		// Execute query
-		QueryResult queryResult = this.executeQuery(query.toString());
+		QueryResult queryResult = this.executeQuery(query);
 
 		// Prepare result
 		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> result = InfluxConnector
@@ -319,6 +377,79 @@ public class InfluxConnector {
 		return result;
 	}
 
+	/**
+	 * Builds the query for historic data of one Edge, if only changed values are
+	 * written.
+	 * 
+	 * <p>
+	 * The inner query samples every Channel in short steps with 'LAST()' and
+	 * 'fill(previous)'; the outer query calculates the 'MEAN()' of these steps per
+	 * period. This approximates the time-weighted mean without transferring the
+	 * raw points. The inner query starts 'fillForwardSeconds' earlier, so that the
+	 * first steps get the value that was valid before 'fromDate'.
+	 * 
+	 * <p>
+	 * Note: 'fill(previous)' has no limit in InfluxQL, so the last value is also
+	 * continued over outages of the Edge and after a Channel became null.
+	 * 
+	 * @param influxEdgeId       the unique, numeric Edge-ID
+	 * @param fromDate           the From-Date
+	 * @param toDate             the To-Date
+	 * @param channels           the Channels to query
+	 * @param resolution         the resolution in seconds
+	 * @param fillForwardSeconds values are written at least every
+	 *                           'fillForwardSeconds'
+	 * @return the query
+	 * @throws OpenemsException on error
+	 */
+	protected static String buildTimeWeightedHistoricDataQuery(int influxEdgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels, int resolution, int fillForwardSeconds)
+			throws OpenemsException {
+		StringBuilder b = new StringBuilder("SELECT ");
+		b.append(InfluxConnector.toChannelAddressStringData(channels));
+		b.append(" FROM (SELECT ");
+		b.append(InfluxConnector.toChannelAddressStringLast(channels));
+		b.append(" FROM data WHERE ");
+		b.append(InfluxConstants.TAG + " = '" + influxEdgeId + "' AND ");
+		b.append("time > ");
+		b.append(String.valueOf(fromDate.toEpochSecond() - fillForwardSeconds));
+		b.append("s");
+		b.append(" AND time < ");
+		b.append(String.valueOf(toDate.toEpochSecond()));
+		b.append("s");
+		b.append(" GROUP BY time(");
+		b.append(InfluxConnector.getTimeWeightedStep(resolution));
+		b.append("s) fill(previous)) WHERE time > ");
+		b.append(String.valueOf(fromDate.toEpochSecond()));
+		b.append("s");
+		b.append(" AND time < ");
+		b.append(String.valueOf(toDate.toEpochSecond()));
+		b.append("s");
+		b.append(" GROUP BY time(");
+		b.append(resolution);
+		b.append("s) fill(null)");
+		return b.toString();
+	}
+
+	/**
+	 * Gets the step of the inner query of
+	 * {@link #buildTimeWeightedHistoricDataQuery(int, ZonedDateTime, ZonedDateTime, Set, int, int)}:
+	 * the largest divisor of the resolution that gives at least
+	 * {@link #TIME_WEIGHTED_STEPS_PER_PERIOD} steps per period. Because the step
+	 * divides the resolution, the steps are aligned with the periods.
+	 * 
+	 * @param resolution the resolution in seconds
+	 * @return the step in seconds
+	 */
+	protected static int getTimeWeightedStep(int resolution) {
+		for (int step = resolution / TIME_WEIGHTED_STEPS_PER_PERIOD; step > 1; step--) {
+			if (resolution % step == 0) {
+				return step;
+			}
+		}
+		return 1;
+	}
+
 	/**
 	 * Converts the QueryResult of a Historic-Data query to a properly typed Table.
 	 * 
@@ -446,6 +577,14 @@ public class InfluxConnector {
 		return String.join(", ", channelAddresses);
 	}
 
+	protected static String toChannelAddressStringLast(Set<ChannelAddress> channels) throws OpenemsException {
+		ArrayList<String> channelAddresses = new ArrayList<>();
+		for (ChannelAddress channel : channels) {
+			channelAddresses.add("LAST(\"" + channel.toString() + "\") AS \"" + channel.toString() + "\"");
+		}
+		return String.join(", ", channelAddresses);
+	}
+
 	protected static String toChannelAddressStringEnergy(Set<ChannelAddress> channels) throws OpenemsException {
 		ArrayList<String> channelAddresses = new ArrayList<>();
 		for (ChannelAddress channel : channels) {
@@ -0,0 +1,38 @@
+package io.openems.shared.influxdb;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+
+public class InfluxConnectorTest {
+
+	@Test
+	public void testGetTimeWeightedStep() {
+		assertEquals(5, InfluxConnector.getTimeWeightedStep(300));
+		assertEquals(1440, InfluxConnector.getTimeWeightedStep(86_400));
+		assertEquals(7, InfluxConnector.getTimeWeightedStep(7 * 61));
+		assertEquals(1, InfluxConnector.getTimeWeightedStep(60));
+		assertEquals(1, InfluxConnector.getTimeWeightedStep(1));
+	}
+
+	@Test
+	public void testBuildTimeWeightedHistoricDataQuery() throws OpenemsException {
+		ZonedDateTime fromDate = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		ZonedDateTime toDate = fromDate.plusDays(1);
+		String query = InfluxConnector.buildTimeWeightedHistoricDataQuery(7, fromDate, toDate,
+				Sets.newHashSet(new ChannelAddress("_sum", "EssSoc")), 300, 300);
+		assertEquals("SELECT MEAN(\"_sum/EssSoc\") AS \"_sum/EssSoc\" FROM (" //
+				+ "SELECT LAST(\"_sum/EssSoc\") AS \"_sum/EssSoc\" FROM data WHERE " + InfluxConstants.TAG
+				+ " = '7' AND time > 1577836500s AND time < 1577923200s GROUP BY time(5s) fill(previous)) " //
+				+ "WHERE time > 1577836800s AND time < 1577923200s GROUP BY time(300s) fill(null)", query);
+	}
+
+}
@@ -6,6 +6,7 @@ import { CurrentData } from './currentdata';
 import { CurrentDataNotification } from '../jsonrpc/notification/currentDataNotification';
 import { DeleteComponentConfigRequest } from '../jsonrpc/request/deleteComponentConfigRequest';
 import { EdgeConfig } from './edgeconfig';
+import { EdgeConfigDeltaNotification } from '../jsonrpc/notification/edgeConfigDeltaNotification';
 import { EdgeConfigNotification } from '../jsonrpc/notification/edgeConfigNotification';
 import { EdgeRpcRequest } from '../jsonrpc/request/edgeRpcRequest';
 import { environment as env } from '../../../environments';
@@ -43,6 +44,9 @@ export class Edge {
   // holds config
   private config: BehaviorSubject<EdgeConfig> = new BehaviorSubject<EdgeConfig>(null);
 
+  // holds the version of the config as announced by the Backend; null if unknown
+  private configHash: string = null;
+
   // determine if subscribe on channels was successful
   // used in live component to hide elements while no channel data available
   public subscribeChannelsSuccessful: boolean = false;
@@ -72,6 +76,8 @@ export class Edge {
   private refreshConfig(websocket: Websocket): void {
     // make sure to send not faster than every 1000 ms
     if (this.isRefreshConfigBlocked) {
+      // refresh as soon as it is unblocked
+      this.isRefreshConfigPending = true;
       return;
     }
     // block refreshConfig()
@@ -79,18 +85,25 @@ export class Edge {
     setTimeout(() => {
       // unblock refreshConfig()
       this.isRefreshConfigBlocked = false;
+      if (this.isRefreshConfigPending) {
+        this.isRefreshConfigPending = false;
+        this.refreshConfig(websocket);
+      }
     }, 1000);
 
     let request = new GetEdgeConfigRequest();
     this.sendRequest(websocket, request).then(response => {
       let edgeConfigResponse = response as GetEdgeConfigResponse;
+      this.configHash = edgeConfigResponse.result.hash || null;
       this.config.next(new EdgeConfig(this, edgeConfigResponse.result));
     }).catch(reason => {
       console.warn("Unable to refresh config", reason)
+      this.configHash = null;
       this.config.next(new EdgeConfig(this));
     });
   }
   private isRefreshConfigBlocked: boolean = false;
+  private isRefreshConfigPending: boolean = false;
 
   /**
    * Add Channels to subscription
@@ -166,9 +179,56 @@ export class Edge {
    * Handles a EdgeConfigNotification
    */
   public handleEdgeConfigNotification(message: EdgeConfigNotification): void {
+    // version is not announced; the next delta requests the complete config
+    this.configHash = null;
     this.config.next(new EdgeConfig(this, message.params));
   }
 
+  /**
+   * Handles a EdgeConfigDeltaNotification
+   * 
+   * The delta is only applied if it is based on the current version of the
+   * config; otherwise - e.g. after a missed delta - the complete config is
+   * requested again.
+   * 
+   * @param websocket the Websocket
+   * @param message   the EdgeConfigDeltaNotification
+   */
+  public handleEdgeConfigDeltaNotification(websocket: Websocket, message: EdgeConfigDeltaNotification): void {
+    let config = this.config.value;
+    if (config == null || !config.isValid()) {
+      // no complete config yet; it is requested on demand
+      return;
+    }
+    if (this.configHash == null || this.configHash != message.params.baseHash) {
+      // config is outdated or its version is unknown
+      this.refreshConfig(websocket);
+      return;
+    }
+    let source = {
+      components: Object.assign({}, config.components),
+      factories: Object.assign({}, config.factories)
+    } as EdgeConfig;
+    for (let componentId in message.params.components) {
+      let component = message.params.components[componentId];
+      if (component == null) {
+        delete source.components[componentId];
+      } else {
+        source.components[componentId] = component;
+      }
+    }
+    for (let factoryId in message.params.factories) {
+      let factory = message.params.factories[factoryId];
+      if (factory == null) {
+        delete source.factories[factoryId];
+      } else {
+        source.factories[factoryId] = factory;
+      }
+    }
+    this.configHash = message.params.hash;
+    this.config.next(new EdgeConfig(this, source));
+  }
+
   /**
    * Handles a CurrentDataNotification
    */
@@ -0,0 +1,36 @@
+import { JsonrpcNotification } from "../base";
+
+/**
+ * Represents a JSON-RPC Notification with the changes of an EdgeConfig.
+ * 
+ * Deleted Components and Factories are marked with 'null'.
+ *  
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "method": "edgeConfigDelta",
+ *   "params": {
+ *     "baseHash": string,
+ *     "hash": string,
+ *     "components": { [id: string]: EdgeConfig.Component | null },
+ *     "factories": { [id: string]: EdgeConfig.Factory | null }
+ *   }
+ * }
+ * </pre>
+ */
+export class EdgeConfigDeltaNotification extends JsonrpcNotification {
+
+    public static readonly METHOD: string = "edgeConfigDelta";
+
+    public constructor(
+        public readonly params: {
+            baseHash: string,
+            hash: string,
+            components: { [id: string]: any },
+            factories: { [id: string]: any }
+        }
+    ) {
+        super(EdgeConfigDeltaNotification.METHOD, params);
+    }
+
+}
@@ -8,15 +8,20 @@ import { JsonrpcResponseSuccess } from "../base";
  * {
  *   "jsonrpc": "2.0",
  *   "id": UUID,
- *   "result": EdgeConfig
+ *   "result": EdgeConfig & {
+ *     "hash"?: string
+ *   }
  * }
  * </pre>
+ * 
+ * The 'hash' is set by the Backend and identifies the version of the EdgeConfig;
+ * it is the base for following EdgeConfigDeltaNotifications.
  */
 export class GetEdgeConfigResponse extends JsonrpcResponseSuccess {
 
     public constructor(
         public readonly id: string,
-        public readonly result: EdgeConfig
+        public readonly result: EdgeConfig & { hash?: string }
     ) {
         super(id, result);
     }
@@ -4,6 +4,7 @@ import { BehaviorSubject, Subject } from 'rxjs';
 import { CurrentDataNotification } from '../jsonrpc/notification/currentDataNotification';
 import { DefaultTypes } from './defaulttypes';
 import { delay, retryWhen } from 'rxjs/operators';
+import { EdgeConfigDeltaNotification } from '../jsonrpc/notification/edgeConfigDeltaNotification';
 import { EdgeConfigNotification } from '../jsonrpc/notification/edgeConfigNotification';
 import { EdgeRpcNotification } from '../jsonrpc/notification/edgeRpcNotification';
 import { environment as env } from '../../../environments';
@@ -283,6 +284,10 @@ export class Websocket {
         this.handleEdgeConfigNotification(edgeId, message as EdgeConfigNotification);
         break;
 
+      case EdgeConfigDeltaNotification.METHOD:
+        this.handleEdgeConfigDeltaNotification(edgeId, message as EdgeConfigDeltaNotification);
+        break;
+
       case CurrentDataNotification.METHOD:
         this.handleCurrentDataNotification(edgeId, message as CurrentDataNotification);
         break;
@@ -307,6 +312,20 @@ export class Websocket {
     }
   }
 
+  /**
+   * Handles a EdgeConfigDeltaNotification.
+   * 
+   * @param message 
+   */
+  private handleEdgeConfigDeltaNotification(edgeId: string, message: EdgeConfigDeltaNotification): void {
+    let edges = this.service.edges.getValue();
+
+    if (edgeId in edges) {
+      let edge = edges[edgeId];
+      edge.handleEdgeConfigDeltaNotification(this, message);
+    }
+  }
+
   /**
    * Handles a CurrentDataNotification.
    * 